@@ -0,0 +1,117 @@
+package hello.spring_ai.config;
+
+import hello.spring_ai.support.StubChatModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 모델 수에 따른 시작 비용: 모델마다 ChatClient 빈을 만드는 방식과 ModelRegistry 빈 하나를 등록하는 방식
+ * 두 방식 모두 애플리케이션 컨텍스트를 새로 만들고 refresh 한 뒤 닫는 시간을 잰다.
+ * ChatClient는 스텁 ChatModel로 만들므로 실제 OpenAI 클라이언트(HTTP 클라이언트 포함)보다 가벼워
+ * 빈 방식의 비용은 하한 값이다. lookup은 시작 후 요청마다 모델을 찾는 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ModelRegistryStartupBenchmark {
+
+    @Param({"3", "24"})
+    public int models;
+
+    private ChatModel chatModel;
+    private List<ModelDefinition> definitions;
+    private ModelClientFactory factory;
+    private ModelRegistry registry;
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        chatModel = new StubChatModel(Duration.ZERO);
+        definitions = IntStream.range(0, models)
+                .mapToObj(i -> new ModelDefinition("model-" + i, "gpt-4o-mini", 0.7, 1000, null))
+                .toList();
+        factory = definition -> ChatClient.builder(chatModel)
+                .defaultOptions(OpenAiChatOptions.builder()
+                        .model(definition.model())
+                        .temperature(definition.temperature())
+                        .maxTokens(definition.maxTokens())
+                        .build())
+                .build();
+        registry = new ModelRegistry(definitions, factory);
+        names = definitions.stream().map(ModelDefinition::name).toArray(String[]::new);
+        for (String name : names) {
+            registry.require(name).client();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.destroy();
+    }
+
+    /**
+     * 기존 방식: 모델마다 @Bean ChatClient (시작 시 모두 생성)
+     */
+    @Benchmark
+    public GenericApplicationContext eagerBeans() {
+        GenericApplicationContext context = new GenericApplicationContext();
+        for (ModelDefinition definition : definitions) {
+            context.registerBean(definition.name(), ChatClient.class, () -> factory.create(definition));
+        }
+        context.refresh();
+        context.close();
+        return context;
+    }
+
+    /**
+     * ModelRegistry 빈 하나 (ChatClient는 만들지 않음)
+     */
+    @Benchmark
+    public GenericApplicationContext lazyRegistry() {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(ModelRegistry.class, () -> new ModelRegistry(definitions, factory));
+        context.refresh();
+        context.close();
+        return context;
+    }
+
+    /**
+     * ModelRegistry 시작 후 첫 요청에서 모델 하나의 ChatClient 생성까지
+     */
+    @Benchmark
+    public ChatClient lazyRegistryFirstRequest() {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(ModelRegistry.class, () -> new ModelRegistry(definitions, factory));
+        context.refresh();
+        ChatClient client = context.getBean(ModelRegistry.class).require(names[0]).client();
+        context.close();
+        return client;
+    }
+
+    /**
+     * 시작 후 요청마다 모델과 ChatClient를 찾는 비용 (여러 스레드 동시 조회)
+     */
+    @Benchmark
+    @Threads(4)
+    public ChatClient lookup() {
+        return registry.require(names[ThreadLocalRandom.current().nextInt(names.length)]).client();
+    }
+}
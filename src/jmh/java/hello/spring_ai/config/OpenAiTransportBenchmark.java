@@ -0,0 +1,129 @@
+package hello.spring_ai.config;
+
+import hello.spring_ai.support.StubOpenAiServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OpenAI 호출 HTTP 클라이언트별 연결 재사용과 지연 시간
+ * StubOpenAiServer(응답 지연 20ms)에 64개 스레드가 동시에 chat completion을 호출한다.
+ * SampleTime 모드 결과의 p0.99 값과 AverageTime 모드의 보조 카운터 connections(측정 구간에 새로 맺은 연결 수)를 비교한다.
+ * (JMH는 SampleTime 모드에서 보조 카운터를 보고하지 않는다)
+ * <ul>
+ *     <li>simple: HttpURLConnection (keep-alive 연결을 목적지당 5개만 보관하므로 동시 호출이 많으면 연결을 계속 새로 맺는다)</li>
+ *     <li>jdk: 연결 풀 설정이 없는 JDK HttpClient (풀을 끈 경우의 모델별 전용 클라이언트)</li>
+ *     <li>pooled: OpenAiTransport (Reactor Netty 연결 풀)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class OpenAiTransportBenchmark {
+
+    @Param({"simple", "jdk", "pooled"})
+    public String transport;
+
+    private StubOpenAiServer upstream;
+    private OpenAiTransport openAiTransport;
+    private OpenAiApi openAiApi;
+    private ChatCompletionRequest request;
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Connections {
+
+        public long connections;
+        private boolean reporter;
+        private int before;
+
+        @Setup(Level.Trial)
+        public void assign(OpenAiTransportBenchmark benchmark) {
+            // 연결 수는 서버 전체 값이므로 스레드 하나만 기록한다 (EVENTS는 스레드별 값을 더함)
+            reporter = benchmark.threadIndex.getAndIncrement() == 0;
+        }
+
+        @Setup(Level.Iteration)
+        public void start(OpenAiTransportBenchmark benchmark) {
+            connections = 0;
+            before = benchmark.upstream.connections();
+        }
+
+        @TearDown(Level.Iteration)
+        public void finish(OpenAiTransportBenchmark benchmark) {
+            if (reporter) {
+                connections = benchmark.upstream.connections() - before;
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        upstream = StubOpenAiServer.start(Duration.ofMillis(20));
+        openAiTransport = new OpenAiTransport(OpenAiTransportProperties.defaults());
+        openAiApi = OpenAiApi.builder()
+                .baseUrl(upstream.baseUrl())
+                .apiKey("stub-key")
+                .restClientBuilder(RestClient.builder().requestFactory(requestFactory()))
+                .build();
+        request = new ChatCompletionRequest(
+                List.of(new ChatCompletionMessage("사과에 대한 짧은 글을 써 주세요", ChatCompletionMessage.Role.USER)),
+                "gpt-3.5-turbo", 0.7);
+    }
+
+    private ClientHttpRequestFactory requestFactory() {
+        Duration timeout = Duration.ofSeconds(30);
+        return switch (transport) {
+            case "simple" -> {
+                SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+                factory.setConnectTimeout(timeout);
+                factory.setReadTimeout(timeout);
+                yield factory;
+            }
+            case "jdk" -> {
+                JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                        .connectTimeout(timeout)
+                        .build());
+                factory.setReadTimeout(timeout);
+                yield factory;
+            }
+            case "pooled" -> openAiTransport.requestFactory("gpt-3.5-turbo", timeout, false);
+            default -> throw new IllegalArgumentException("알 수 없는 transport: " + transport);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        openAiTransport.destroy();
+        upstream.close();
+    }
+
+    @Benchmark
+    public Object chatCompletion(Connections connections) {
+        return openAiApi.chatCompletionEntity(request).getBody();
+    }
+}
@@ -0,0 +1,172 @@
+package hello.spring_ai.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.ResponseSource;
+import hello.spring_ai.reading.budget.TokenEstimate;
+import hello.spring_ai.reading.coverage.WordCoverage;
+import hello.spring_ai.reading.readability.ReadabilityAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * /api/reading/generate 응답(세 모델의 비교 결과) 인코딩 비교: JSON, CBOR, Smile과 gzip 압축
+ * <ul>
+ *     <li>encode: 출력 스트림에 바로 쓰기 (HTTP 변환기와 같은 경로, 할당량은 -prof gc)</li>
+ *     <li>encodeToString: 지금 NDJSON 경로처럼 writeValueAsString으로 문자열을 만든 뒤 UTF-8로 쓰기 (json만)</li>
+ *     <li>encodeGzip: 인코딩과 gzip 압축 (level, Tomcat과 Reactor Netty의 기본은 6)</li>
+ * </ul>
+ * 형식별 응답 크기(원본, gzip 단계별)는 측정 전에 한 번 계산해 출력한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseEncodingBenchmark {
+
+    private static final List<String> CONTENTS = List.of("""
+            제목: 전통 시장의 하루
+
+            아침 일찍 시장에 가면 상인들이 가게 문을 열고 물건을 정리하는 모습을 볼 수 있습니다. \
+            채소 가게에는 배추와 무가 가득 쌓여 있고, 생선 가게에서는 오늘 들어온 고등어를 얼음 위에 올려놓습니다. \
+            할머니들은 단골 가게에 들러 안부를 묻고, 상인은 덤으로 파 한 단을 더 얹어 줍니다. \
+            요즘은 대형 마트와 온라인 쇼핑이 늘어 시장을 찾는 사람이 줄었지만, 시장만의 정과 활기는 여전히 남아 있습니다. \
+            점심때가 되면 떡볶이와 순대를 파는 분식집 앞에 줄이 길게 늘어서고, 사람들은 서서 뜨거운 어묵 국물을 마십니다. \
+            시장은 물건을 사고파는 곳일 뿐 아니라 이웃과 이야기를 나누는 동네의 사랑방이기도 합니다.
+            """, """
+            제목: 시장에서 배우는 우리 문화
+
+            한국의 전통 시장은 오랜 역사를 가진 생활 공간입니다. 조선 시대에는 닷새마다 장이 열렸는데, 이를 오일장이라고 불렀습니다. \
+            사람들은 장날이 되면 먼 마을에서 걸어와 곡식과 옷감을 바꾸고 소식을 전했습니다. \
+            오늘날에도 지방에는 오일장이 남아 있어 장날마다 각지의 특산물과 먹거리가 모입니다. \
+            시장에서는 값을 깎는 흥정이 자연스럽고, 상인과 손님 사이에 짧은 대화가 오갑니다. \
+            최근에는 젊은 상인들이 시장에 들어와 새로운 가게를 열고, 전통과 현대가 어우러진 모습을 보여 주고 있습니다. \
+            이러한 변화 덕분에 전통 시장은 다시 관광객과 젊은 세대의 관심을 받고 있습니다.
+            """, """
+            제목: 동네 시장 산책
+
+            주말 오후에 가족과 함께 동네 시장을 걸었습니다. 입구에서부터 고소한 참기름 냄새가 났습니다. \
+            어머니는 과일 가게에서 사과와 배를 고르셨고, 아버지는 떡집에서 따뜻한 인절미를 사 오셨습니다. \
+            동생은 풀빵을 먹고 싶다고 졸라서 우리는 작은 포장마차 앞에 잠시 멈췄습니다. \
+            상인 아주머니가 웃으며 하나를 더 넣어 주셔서 동생이 무척 좋아했습니다. \
+            시장을 다 둘러보고 나오니 장바구니가 가득 찼고, 우리는 다음 주에도 다시 오기로 약속했습니다.
+            """);
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter writer;
+    private ObjectMapper mapper;
+    private List<ModelComparisonResponse> responses;
+    private final ByteSink sink = new ByteSink();
+
+    @State(Scope.Thread)
+    public static class Gzip {
+
+        @Param({"1", "6", "9"})
+        public int level;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "json" -> new Jackson2ObjectMapperBuilder().build();
+            case "cbor" -> BinaryFormatConfig.cborMapper(new Jackson2ObjectMapperBuilder());
+            case "smile" -> BinaryFormatConfig.smileMapper(new Jackson2ObjectMapperBuilder());
+            default -> throw new IllegalArgumentException("알 수 없는 format: " + format);
+        };
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class,
+                ModelComparisonResponse.class));
+        List<String> models = List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview");
+        responses = List.of(response(models.get(0), CONTENTS.get(0)), response(models.get(1), CONTENTS.get(1)),
+                response(models.get(2), CONTENTS.get(2)));
+
+        byte[] encoded = writer.writeValueAsBytes(responses);
+        StringBuilder sizes = new StringBuilder().append(format).append(": ").append(encoded.length).append(" bytes");
+        for (int level : new int[]{1, 6, 9}) {
+            int gzipped = gzip(encoded, level).length;
+            sizes.append(String.format(", gzip %d: %d bytes (%.0f%%)", level, gzipped, 100.0 * gzipped / encoded.length));
+        }
+        System.out.println();
+        System.out.println(sizes);
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        sink.reset();
+        writer.writeValue(sink, responses);
+        return sink.size();
+    }
+
+    @Benchmark
+    public int encodeToString() throws IOException {
+        if (!"json".equals(format)) {
+            return 0;
+        }
+        sink.reset();
+        sink.write(mapper.writeValueAsString(responses).getBytes(StandardCharsets.UTF_8));
+        return sink.size();
+    }
+
+    @Benchmark
+    public int encodeGzip(Gzip gzip) throws IOException {
+        sink.reset();
+        try (OutputStream out = new LevelGzipOutputStream(sink, gzip.level)) {
+            writer.writeValue(out, responses);
+        }
+        return sink.size();
+    }
+
+    private static ModelComparisonResponse response(String model, String content) {
+        return new ModelComparisonResponse(model, null, content, 412, 256, 540, 952, 7840.5, null,
+                ResponseSource.UPSTREAM, new WordCoverage(3, 3, 1.0, List.of(), 0),
+                ReadabilityAnalyzer.bundled().analyze(KoreanLevel.INTERMEDIATE, content),
+                new TokenEstimate(420, 560, 700, null), null);
+    }
+
+    private static byte[] gzip(byte[] data, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream gzip = new LevelGzipOutputStream(out, level)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 압축 단계를 고를 수 있는 GZIPOutputStream
+     */
+    private static final class LevelGzipOutputStream extends GZIPOutputStream {
+
+        private LevelGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+
+    /**
+     * 재사용하는 출력 버퍼 (측정마다 새 배열을 할당하지 않도록)
+     */
+    private static final class ByteSink extends ByteArrayOutputStream {
+
+        private ByteSink() {
+            super(16 * 1024);
+        }
+    }
+}
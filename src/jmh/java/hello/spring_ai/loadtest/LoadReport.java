@@ -0,0 +1,88 @@
+package hello.spring_ai.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 시나리오 하나의 측정 결과
+ *
+ * @param scenario            시나리오 이름
+ * @param stack               servlet 또는 reactive
+ * @param requests            보낸 요청 수
+ * @param statuses            응답 상태별 요청 수 (연결 실패, 제한 시간 초과는 "error")
+ * @param durationSeconds     첫 요청부터 마지막 응답까지의 시간
+ * @param throughput          초당 200 응답 수
+ * @param p50Ms               응답 시간 중앙값 (모든 응답)
+ * @param p90Ms               응답 시간 90분위
+ * @param p99Ms               응답 시간 99분위
+ * @param maxMs               가장 긴 응답 시간
+ * @param probeP99Ms          부하 중 100ms마다 보낸 모델 목록 조회(GET /api/reading/models)의 응답 시간 99분위
+ * @param peakHeapMb          부하 중 힙 사용량 최대값
+ * @param meanHeapMb          부하 중 힙 사용량 평균
+ * @param peakThreads         부하 중 JVM 스레드 수 최대값
+ * @param upstreamRequests    스텁 OpenAI 서버가 받은 요청 수 (비교, 재시도 포함)
+ * @param upstreamRateLimited 스텁이 429로 응답한 수
+ * @param upstreamErrors      스텁이 500으로 응답한 수
+ */
+public record LoadReport(
+        String scenario,
+        String stack,
+        long requests,
+        Map<String, Long> statuses,
+        double durationSeconds,
+        double throughput,
+        double p50Ms,
+        double p90Ms,
+        double p99Ms,
+        double maxMs,
+        double probeP99Ms,
+        double peakHeapMb,
+        double meanHeapMb,
+        int peakThreads,
+        long upstreamRequests,
+        long upstreamRateLimited,
+        long upstreamErrors
+) {
+
+    /**
+     * 응답 시간 목록에서 분위 값 계산 (nearest-rank)
+     *
+     * @param sortedNanos 오름차순 정렬된 응답 시간
+     */
+    static double percentileMs(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sortedNanos.length);
+        return sortedNanos[Math.max(0, Math.min(sortedNanos.length - 1, rank - 1))] / 1_000_000.0;
+    }
+
+    static long[] sorted(long[] nanos) {
+        long[] copy = Arrays.copyOf(nanos, nanos.length);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /**
+     * 여러 결과를 Markdown 표로 정리
+     */
+    public static String markdown(List<LoadReport> reports) {
+        StringBuilder table = new StringBuilder()
+                .append("| scenario | stack | requests | statuses | rps(200) | p50 ms | p90 ms | p99 ms | max ms ")
+                .append("| models p99 ms | peak heap MB | mean heap MB | peak threads | upstream (429/500) |\n")
+                .append("|---|---|---:|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---|\n");
+        for (LoadReport report : reports) {
+            table.append(String.format("| %s | %s | %d | %s | %.1f | %.0f | %.0f | %.0f | %.0f | %.0f | %.0f | %.0f | %d | %d (%d/%d) |%n",
+                    report.scenario, report.stack, report.requests,
+                    report.statuses.entrySet().stream()
+                            .map(entry -> entry.getKey() + ":" + entry.getValue())
+                            .collect(Collectors.joining(" ")),
+                    report.throughput, report.p50Ms, report.p90Ms, report.p99Ms, report.maxMs,
+                    report.probeP99Ms, report.peakHeapMb, report.meanHeapMb, report.peakThreads,
+                    report.upstreamRequests, report.upstreamRateLimited, report.upstreamErrors));
+        }
+        return table.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package hello.spring_ai.loadtest;
+
+import hello.spring_ai.support.StubOpenAiServer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 부하 시나리오
+ * SUSTAINED는 응답을 기다리지 않고 일정 간격으로 요청을 보내므로(open model) 서버가 느려져도 부하가 줄지 않는다.
+ * BURST는 동시 요청 concurrency개를 한꺼번에 보내고 모두 끝나기를 rounds번 반복한다.
+ *
+ * @param name        시나리오 이름 (--scenarios로 고를 때 사용)
+ * @param description 설명
+ * @param path        요청 경로
+ * @param shape       부하 형태
+ * @param rate        SUSTAINED: 초당 요청 수, BURST: 한 번에 보내는 요청 수
+ * @param duration    SUSTAINED: 부하 시간 (BURST에서는 사용하지 않음)
+ * @param rounds      BURST: 반복 횟수 (SUSTAINED에서는 사용하지 않음)
+ * @param upstream    시나리오 동안 스텁 OpenAI 서버의 응답 방식
+ */
+public record LoadScenario(
+        String name,
+        String description,
+        String path,
+        Shape shape,
+        int rate,
+        Duration duration,
+        int rounds,
+        StubOpenAiServer.Profile upstream
+) {
+
+    public static final String SINGLE_PATH = "/api/reading/generate/gpt-3.5-turbo";
+    public static final String COMPARE_PATH = "/api/reading/generate";
+
+    public enum Shape {
+        SUSTAINED,
+        BURST
+    }
+
+    public static LoadScenario sustained(String name, String description, String path,
+                                         int requestsPerSecond, Duration duration, StubOpenAiServer.Profile upstream) {
+        return new LoadScenario(name, description, path, Shape.SUSTAINED, requestsPerSecond, duration, 0, upstream);
+    }
+
+    public static LoadScenario burst(String name, String description, String path,
+                                     int concurrency, int rounds, StubOpenAiServer.Profile upstream) {
+        return new LoadScenario(name, description, path, Shape.BURST, concurrency, Duration.ZERO, rounds, upstream);
+    }
+
+    /**
+     * 기본 시나리오 모음
+     * 보통 응답은 첫 바이트 중앙값 800ms(로그 정규 분포 spread 0.3), 초당 60토큰 생성이다.
+     */
+    public static List<LoadScenario> defaults() {
+        StubOpenAiServer.Profile typical = StubOpenAiServer.Profile.fixed(Duration.ofMillis(800))
+                .withLatency(Duration.ofMillis(800), 0.3)
+                .withTokenRate(60, 8);
+        return List.of(
+                sustained("sustained-single", "단일 모델 생성 20 rps, 60초", SINGLE_PATH,
+                        20, Duration.ofSeconds(60), typical),
+                sustained("sustained-compare", "세 모델 비교 5 rps(모델 호출 15 rps), 60초", COMPARE_PATH,
+                        5, Duration.ofSeconds(60), typical),
+                burst("burst-single", "단일 모델 생성 동시 500개 x 3회", SINGLE_PATH,
+                        500, 3, typical),
+                sustained("slow-upstream", "모델 첫 바이트 중앙값 8초(spread 0.5)에서 단일 모델 20 rps, 60초", SINGLE_PATH,
+                        20, Duration.ofSeconds(60), typical.withLatency(Duration.ofSeconds(8), 0.5)),
+                sustained("overload-single", "모델 첫 바이트 중앙값 8초(spread 0.5)에서 단일 모델 100 rps, 30초 "
+                                + "(동시 요청이 Tomcat 스레드 수를 넘는 부하, 수용 한도를 넘는 요청은 503)", SINGLE_PATH,
+                        100, Duration.ofSeconds(30), typical.withLatency(Duration.ofSeconds(8), 0.5)),
+                sustained("upstream-faults", "모델 응답 429 10%, 500 2%에서 단일 모델 20 rps, 30초", SINGLE_PATH,
+                        20, Duration.ofSeconds(30), typical.withFaults(0.02, 0.10, Duration.ofSeconds(1)))
+        );
+    }
+
+    /**
+     * 부하 크기만 scale배로 바꾼 시나리오 (rate와 부하 시간, 최소 1)
+     */
+    public LoadScenario scaled(double scale) {
+        int scaledRate = Math.max(1, (int) Math.round(rate * scale));
+        Duration scaledDuration = shape == Shape.SUSTAINED
+                ? Duration.ofMillis(Math.max(1000, Math.round(duration.toMillis() * Math.min(1.0, scale))))
+                : duration;
+        return new LoadScenario(name, description, path, shape, scaledRate, scaledDuration, rounds, upstream);
+    }
+}
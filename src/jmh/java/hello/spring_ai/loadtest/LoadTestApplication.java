@@ -0,0 +1,63 @@
+package hello.spring_ai.loadtest;
+
+import hello.spring_ai.SpringAiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 부하 측정용으로 애플리케이션 전체를 띄우는 도우미
+ * 모델 호출은 StubOpenAiServer로 보내고, 요청 경로 자체를 재도록 캐시, 저장소, 자체 속도 제한, 보충 요청은 끈다.
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    /**
+     * 애플리케이션 시작
+     *
+     * @param stack           servlet 또는 reactive
+     * @param upstreamBaseUrl 스텁 OpenAI 서버 주소
+     * @param extraArgs       덧붙일 명령행 설정 (--key=value)
+     */
+    public static ConfigurableApplicationContext start(String stack, String upstreamBaseUrl, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.ai.openai.api-key=stub-key",
+                "--spring.ai.openai.base-url=" + upstreamBaseUrl,
+                "--spring.http.client.factory=jdk",
+                // 모델 호출 쪽 연결 풀이 병목이 되지 않도록 넉넉히 잡는다
+                "--reading.transport.max-connections=4096",
+                "--reading.transport.max-pending-acquires=8192",
+                // Spring AI 기본 재시도(최대 10회, 2초부터 5배씩 대기)는 오류 주입 시 측정 시간을 지배하므로 한 번만 다시 시도한다
+                "--spring.ai.retry.max-attempts=2",
+                "--spring.ai.retry.backoff.initial-interval=200ms",
+                "--reading.cache.enabled=false",
+                "--reading.store.enabled=false",
+                "--reading.rate-limit.enabled=false",
+                "--reading.coverage.revision-enabled=false",
+                "--logging.level.hello.spring_ai=WARN",
+                "--logging.level.org.springframework.ai=WARN"
+        ));
+        if ("reactive".equals(stack)) {
+            args.add("--spring.profiles.active=reactive");
+        } else if (!"servlet".equals(stack)) {
+            throw new IllegalArgumentException("stack은 servlet 또는 reactive여야 합니다: " + stack);
+        }
+        args.addAll(List.of(extraArgs));
+
+        return SpringApplication.run(SpringAiApplication.class, args.toArray(String[]::new));
+    }
+
+    /**
+     * 실행 중인 애플리케이션의 주소
+     */
+    public static URI baseUri(ConfigurableApplicationContext application) {
+        int port = application.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        return URI.create("http://127.0.0.1:" + port);
+    }
+}
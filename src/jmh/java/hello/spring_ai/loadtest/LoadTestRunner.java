@@ -0,0 +1,223 @@
+package hello.spring_ai.loadtest;
+
+import hello.spring_ai.support.StubOpenAiServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 시나리오 실행기
+ * 실행 중인 애플리케이션에 HTTP 요청을 보내고, 응답 시간과 상태, 힙과 스레드 사용량, 스텁 서버의 호출 수를 모은다.
+ * 응답 시간은 요청을 보내기로 한 시각부터 재므로 서버가 밀려 요청이 늦게 나가도 그만큼 응답 시간에 포함된다.
+ * 부하를 거는 동안 모델 목록 조회를 100ms마다 보내, 생성 요청이 몰려도 가벼운 요청이 응답하는지 함께 잰다.
+ */
+public final class LoadTestRunner implements AutoCloseable {
+
+    private static final String REQUEST_BODY = """
+            {"level":"BEGINNER","targetWords":["사과","바나나"],"topic":"과일","targetLength":150}
+            """;
+
+    private static final String PROBE_PATH = "/api/reading/models";
+    private static final Duration PROBE_INTERVAL = Duration.ofMillis(100);
+
+    private final URI baseUri;
+    private final StubOpenAiServer upstream;
+    private final Duration requestTimeout;
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+
+    public LoadTestRunner(URI baseUri, StubOpenAiServer upstream, Duration requestTimeout) {
+        this.baseUri = baseUri;
+        this.upstream = upstream;
+        this.requestTimeout = requestTimeout;
+        this.clientExecutor = Executors.newFixedThreadPool(8);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * 측정 전 JIT와 연결을 데우는 요청
+     */
+    public void warmUp(int requests) {
+        StubOpenAiServer.Profile profile = upstream.profile();
+        upstream.profile(StubOpenAiServer.Profile.fixed(Duration.ofMillis(10)));
+        try {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+            for (int i = 0; i < requests; i++) {
+                String path = i % 2 == 0 ? LoadScenario.SINGLE_PATH : LoadScenario.COMPARE_PATH;
+                futures[i] = client.sendAsync(request(path), HttpResponse.BodyHandlers.discarding());
+            }
+            CompletableFuture.allOf(futures).exceptionally(e -> null).join();
+        } finally {
+            upstream.profile(profile);
+        }
+    }
+
+    /**
+     * 시나리오 실행
+     *
+     * @param stack 보고서에 적을 스택 이름
+     */
+    public LoadReport run(LoadScenario scenario, String stack) throws InterruptedException {
+        upstream.profile(scenario.upstream());
+        long upstreamRequests = upstream.requests();
+        long upstreamRateLimited = upstream.rateLimited();
+        long upstreamErrors = upstream.failed();
+
+        Recorder recorder = new Recorder();
+        Recorder probe = new Recorder();
+        HttpRequest request = request(scenario.path());
+        HttpRequest probeRequest = HttpRequest.newBuilder(baseUri.resolve(PROBE_PATH))
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+        Queue<CompletableFuture<?>> probes = new ConcurrentLinkedQueue<>();
+        ScheduledExecutorService prober = Executors.newSingleThreadScheduledExecutor();
+        long startNanos = System.nanoTime();
+
+        try (ResourceSampler sampler = ResourceSampler.start(Duration.ofMillis(20))) {
+            prober.scheduleAtFixedRate(() -> probes.add(send(probeRequest, probe, System.nanoTime())),
+                    0, PROBE_INTERVAL.toNanos(), TimeUnit.NANOSECONDS);
+            if (scenario.shape() == LoadScenario.Shape.SUSTAINED) {
+                sustained(scenario, request, recorder);
+            } else {
+                for (int round = 0; round < scenario.rounds(); round++) {
+                    CompletableFuture<?>[] futures = new CompletableFuture<?>[scenario.rate()];
+                    for (int i = 0; i < futures.length; i++) {
+                        futures[i] = send(request, recorder, System.nanoTime());
+                    }
+                    CompletableFuture.allOf(futures).join();
+                }
+            }
+            prober.shutdownNow();
+            sampler.close();
+
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+            CompletableFuture.allOf(probes.toArray(CompletableFuture<?>[]::new)).join();
+            long[] latencies = LoadReport.sorted(recorder.latencies());
+            long ok = recorder.statuses.getOrDefault("200", new LongAdder()).sum();
+            return new LoadReport(
+                    scenario.name(),
+                    stack,
+                    recorder.sent.get(),
+                    recorder.statusCounts(),
+                    elapsedSeconds,
+                    ok / elapsedSeconds,
+                    LoadReport.percentileMs(latencies, 0.50),
+                    LoadReport.percentileMs(latencies, 0.90),
+                    LoadReport.percentileMs(latencies, 0.99),
+                    LoadReport.percentileMs(latencies, 1.0),
+                    LoadReport.percentileMs(LoadReport.sorted(probe.latencies()), 0.99),
+                    sampler.peakHeapBytes() / 1024.0 / 1024.0,
+                    sampler.meanHeapBytes() / 1024.0 / 1024.0,
+                    sampler.peakThreads(),
+                    upstream.requests() - upstreamRequests,
+                    upstream.rateLimited() - upstreamRateLimited,
+                    upstream.failed() - upstreamErrors
+            );
+        } finally {
+            prober.shutdownNow();
+        }
+    }
+
+    /**
+     * 응답을 기다리지 않고 일정 간격으로 요청 (각 요청의 시작 시각은 예정 시각)
+     */
+    private void sustained(LoadScenario scenario, HttpRequest request, Recorder recorder) throws InterruptedException {
+        long periodNanos = 1_000_000_000L / scenario.rate();
+        long total = scenario.duration().toNanos() / periodNanos;
+        long firstNanos = System.nanoTime();
+        Queue<CompletableFuture<?>> inFlight = new ConcurrentLinkedQueue<>();
+        AtomicLong scheduled = new AtomicLong();
+
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ticker.scheduleAtFixedRate(() -> {
+                long sequence = scheduled.getAndIncrement();
+                if (sequence < total) {
+                    inFlight.add(send(request, recorder, firstNanos + sequence * periodNanos));
+                }
+            }, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+            while (scheduled.get() < total) {
+                Thread.sleep(10);
+            }
+        } finally {
+            ticker.shutdownNow();
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture<?>[]::new)).join();
+    }
+
+    private CompletableFuture<?> send(HttpRequest request, Recorder recorder, long intendedNanos) {
+        recorder.sent.incrementAndGet();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, e) -> {
+                    recorder.record(response != null ? String.valueOf(response.statusCode()) : "error",
+                            System.nanoTime() - intendedNanos);
+                    return null;
+                });
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .timeout(requestTimeout)
+                .POST(HttpRequest.BodyPublishers.ofString(REQUEST_BODY))
+                .build();
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+
+    /**
+     * 응답 시간과 상태 기록 (여러 HTTP 클라이언트 스레드에서 호출)
+     */
+    private static final class Recorder {
+
+        private final AtomicLong sent = new AtomicLong();
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        private long[] latencies = new long[1024];
+        private int size;
+
+        private void record(String status, long latencyNanos) {
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            synchronized (this) {
+                if (size == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, size * 2);
+                }
+                latencies[size++] = latencyNanos;
+            }
+        }
+
+        private synchronized long[] latencies() {
+            return Arrays.copyOf(latencies, size);
+        }
+
+        private Map<String, Long> statusCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package hello.spring_ai.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hello.spring_ai.support.StubOpenAiServer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 오프라인 용량 산정용 부하 시나리오 모음 실행
+ * 스텁 OpenAI 서버와 애플리케이션을 같은 JVM에 띄우고 시나리오를 차례로 실행한 뒤,
+ * 처리량, 응답 시간 분위, 힙과 스레드 사용량을 스택별 JSON과 Markdown 표로 남긴다.
+ *
+ * <p>실행: {@code ./gradlew loadTest -PloadTestArgs="--stack=both --scenarios=sustained-single,burst-single --scale=0.5"}
+ * <ul>
+ *     <li>--stack: servlet, reactive, both (기본 both)</li>
+ *     <li>--scenarios: 실행할 시나리오 이름 (쉼표 구분, 기본 전체, {@link LoadScenario#defaults()} 참고)</li>
+ *     <li>--scale: 초당 요청 수와 동시 요청 수 배율 (기본 1.0, 1보다 작으면 부하 시간도 줄인다)</li>
+ *     <li>--admission: false이면 생성 엔드포인트 수용 제어를 끄고 잰다 (기본 true, 보고서의 stack에 "-no-admission"을 붙임)</li>
+ *     <li>--out: 결과 디렉터리 (기본 build/reports/load-test)</li>
+ * </ul>
+ */
+public final class LoadTestSuite {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final int WARM_UP_REQUESTS = 200;
+
+    private LoadTestSuite() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+
+        String stackOption = options.getOrDefault("stack", "both");
+        List<String> stacks = "both".equals(stackOption) ? List.of("servlet", "reactive") : List.of(stackOption);
+        double scale = Double.parseDouble(options.getOrDefault("scale", "1.0"));
+        boolean admission = Boolean.parseBoolean(options.getOrDefault("admission", "true"));
+        Path out = Path.of(options.getOrDefault("out", "build/reports/load-test"));
+        List<LoadScenario> scenarios = select(options.get("scenarios"), scale);
+
+        List<LoadReport> all = new ArrayList<>();
+        try (StubOpenAiServer upstream = StubOpenAiServer.start(Duration.ZERO)) {
+            for (String stack : stacks) {
+                List<LoadReport> reports = runStack(stack, admission, upstream, scenarios);
+                write(out.resolve("load-test-" + label(stack, admission) + ".json"), reports);
+                all.addAll(reports);
+            }
+        }
+
+        String table = LoadReport.markdown(all);
+        Files.createDirectories(out);
+        Files.writeString(out.resolve("load-test.md"), table);
+        System.out.println();
+        System.out.println(table);
+        System.exit(0);
+    }
+
+    private static List<LoadReport> runStack(String stack, boolean admission, StubOpenAiServer upstream,
+                                             List<LoadScenario> scenarios) throws InterruptedException {
+        List<LoadReport> reports = new ArrayList<>();
+        String label = label(stack, admission);
+        try (ConfigurableApplicationContext application = LoadTestApplication.start(stack, upstream.baseUrl(),
+                "--reading.admission.enabled=" + admission);
+             LoadTestRunner runner = new LoadTestRunner(LoadTestApplication.baseUri(application), upstream, REQUEST_TIMEOUT)) {
+            runner.warmUp(WARM_UP_REQUESTS);
+            for (LoadScenario scenario : scenarios) {
+                System.out.printf("[%s] %s - %s%n", label, scenario.name(), scenario.description());
+                System.gc();
+                LoadReport report = runner.run(scenario, label);
+                System.out.printf("[%s] %s - rps(200) %.1f, p50 %.0fms, p99 %.0fms, 모델 목록 p99 %.0fms, 상태 %s%n",
+                        label, scenario.name(), report.throughput(), report.p50Ms(), report.p99Ms(),
+                        report.probeP99Ms(), report.statuses());
+                reports.add(report);
+            }
+        }
+        return reports;
+    }
+
+    private static String label(String stack, boolean admission) {
+        return admission ? stack : stack + "-no-admission";
+    }
+
+    private static List<LoadScenario> select(String names, double scale) {
+        List<LoadScenario> defaults = LoadScenario.defaults();
+        if (names == null || names.isBlank()) {
+            return defaults.stream().map(scenario -> scenario.scaled(scale)).toList();
+        }
+        Set<String> selected = Arrays.stream(names.split(",")).map(String::strip).collect(Collectors.toSet());
+        List<LoadScenario> scenarios = defaults.stream()
+                .filter(scenario -> selected.contains(scenario.name()))
+                .map(scenario -> scenario.scaled(scale))
+                .toList();
+        if (scenarios.size() != selected.size()) {
+            throw new IllegalArgumentException("알 수 없는 시나리오가 있습니다: " + names + " (사용 가능: "
+                    + defaults.stream().map(LoadScenario::name).collect(Collectors.joining(",")) + ")");
+        }
+        return scenarios;
+    }
+
+    private static void write(Path file, List<LoadReport> reports) {
+        try {
+            Files.createDirectories(file.getParent());
+            new ObjectMapper()
+                    .findAndRegisterModules()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(file.toFile(), reports);
+        } catch (IOException e) {
+            throw new IllegalStateException("부하 측정 결과를 저장하지 못했습니다: " + file, e);
+        }
+    }
+}
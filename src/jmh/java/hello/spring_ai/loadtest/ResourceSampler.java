@@ -0,0 +1,89 @@
+package hello.spring_ai.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+
+/**
+ * 부하 중 힙 사용량과 스레드 수를 일정 간격으로 기록
+ * 같은 JVM 전체를 재므로 부하 생성기의 HTTP 클라이언트와 스텁 서버 스레드도 포함된다 (두 스택 비교에서는 같은 값이 더해진다).
+ */
+public final class ResourceSampler implements AutoCloseable {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final Thread sampler;
+    private final long intervalNanos;
+    private volatile boolean running = true;
+    private volatile long peakHeapBytes;
+    private volatile long heapBytesSum;
+    private volatile long samples;
+    private volatile int peakThreads;
+
+    private ResourceSampler(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        this.sampler = new Thread(this::run, "resource-sampler");
+        this.sampler.setDaemon(true);
+    }
+
+    /**
+     * 기록 시작
+     */
+    public static ResourceSampler start(Duration interval) {
+        ResourceSampler resourceSampler = new ResourceSampler(interval);
+        resourceSampler.sample();
+        resourceSampler.sampler.start();
+        return resourceSampler;
+    }
+
+    public long peakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    public long meanHeapBytes() {
+        return samples == 0 ? 0 : heapBytesSum / samples;
+    }
+
+    public int peakThreads() {
+        return peakThreads;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(intervalNanos / 1_000_000, (int) (intervalNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                return;
+            }
+            sample();
+        }
+    }
+
+    // 기록 스레드 하나만 값을 바꾼다 (start의 첫 기록은 스레드 시작 전)
+    private void sample() {
+        long heap = memory.getHeapMemoryUsage().getUsed();
+        peakHeapBytes = Math.max(peakHeapBytes, heap);
+        heapBytesSum += heap;
+        samples++;
+        peakThreads = Math.max(peakThreads, threads.getThreadCount());
+    }
+
+    /**
+     * 기록 중지 (마지막 값까지 반영된 뒤 반환, 여러 번 호출해도 된다)
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        sampler.interrupt();
+        try {
+            sampler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sample();
+    }
+}
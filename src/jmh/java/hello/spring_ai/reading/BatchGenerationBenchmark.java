@@ -0,0 +1,90 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.support.StubChatModel;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 일괄 생성 처리량 (items/sec)
+ * 스텁 모델 지연 20ms, 모델별 동시 호출 8, 세 모델에 고르게 나눈 배치 크기 10/100/1000
+ * 결과의 items 보조 카운터가 초당 처리 항목 수다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class BatchGenerationBenchmark {
+
+    private static final List<String> MODELS = List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview");
+
+    @Param({"10", "100", "1000"})
+    public int batchSize;
+
+    private BatchGenerationService batchService;
+    private ValidatorFactory validatorFactory;
+    private List<BatchGenerationRequest.Item> items;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ItemCounter {
+
+        public long items;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            items = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Duration latency = Duration.ofMillis(20);
+        var service = new ReadingMaterialService(
+                ChatClient.create(new StubChatModel(latency)),
+                ChatClient.create(new StubChatModel(latency)),
+                ChatClient.create(new StubChatModel(latency))
+        );
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        batchService = new BatchGenerationService(service, validatorFactory.getValidator(),
+                new BatchProperties(32, 8, Map.of(), Duration.ofMinutes(10)));
+        items = IntStream.range(0, batchSize)
+                .mapToObj(i -> new BatchGenerationRequest.Item(MODELS.get(i % MODELS.size()),
+                        new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("단어" + i), "주제 " + i, 150)))
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        batchService.destroy();
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public BatchSummary batch(ItemCounter counter) {
+        BatchSummary summary = batchService.generate(items, result -> {
+        }).join();
+        counter.items += summary.total();
+        return summary;
+    }
+}
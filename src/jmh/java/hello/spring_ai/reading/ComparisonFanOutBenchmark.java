@@ -0,0 +1,69 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.support.StubChatModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 모델 비교 요청의 순차 실행과 동시 실행 지연 시간 비교
+ * SampleTime 모드 결과의 p0.50 / p0.99 값을 비교한다.
+ * 스텁 모델 지연: gpt-3.5-turbo 40ms, gpt-4 120ms, gpt-4-turbo-preview 80ms
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class ComparisonFanOutBenchmark {
+
+    private static final List<String> MODELS = List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview");
+
+    @Param({"1"})
+    public int latencyScale;
+
+    private ReadingMaterialService service;
+    private ModelComparisonExecutor executor;
+    private ReadingMaterialRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new ReadingMaterialService(
+                ChatClient.create(new StubChatModel(Duration.ofMillis(40L * latencyScale))),
+                ChatClient.create(new StubChatModel(Duration.ofMillis(120L * latencyScale))),
+                ChatClient.create(new StubChatModel(Duration.ofMillis(80L * latencyScale)))
+        );
+        executor = new ModelComparisonExecutor(service,
+                new ComparisonProperties(32, 128, Duration.ofSeconds(10)));
+        request = new ReadingMaterialRequest(KoreanLevel.INTERMEDIATE, List.of("한국", "문화"), "한국 문화", 200);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.destroy();
+    }
+
+    @Benchmark
+    public List<ModelComparisonResponse> sequential() {
+        return MODELS.stream()
+                .map(model -> service.generateWithModel(model, request))
+                .toList();
+    }
+
+    @Benchmark
+    public List<ModelComparisonResponse> fanOut() {
+        return executor.compare(MODELS, request);
+    }
+}
@@ -0,0 +1,148 @@
+package hello.spring_ai.reading;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.spring_ai.reading.budget.BudgetProperties;
+import hello.spring_ai.reading.budget.TokenizerEncoding;
+import hello.spring_ai.reading.job.GenerationJobService;
+import hello.spring_ai.reading.job.JobProperties;
+import hello.spring_ai.reading.metrics.PricingProperties;
+import hello.spring_ai.reading.routing.ModelRouter;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.reading.routing.RoutingProperties;
+import hello.spring_ai.support.StubChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 읽기 자료 요청 경로 단계별 벤치마크
+ * OpenAI 대신 지연 시간을 지정할 수 있는 StubChatModel을 사용하므로 네트워크 없이 실행된다.
+ * <ul>
+ *     <li>generateWithModel: 프롬프트 구성 + ChatClient 호출 + 응답 변환 (스텁 지연 포함)</li>
+ *     <li>validateRequest: ReadingMaterialRequest Bean Validation</li>
+ *     <li>serializeComparison: List&lt;ModelComparisonResponse&gt; JSON 직렬화</li>
+ *     <li>controllerGenerateSingle / controllerGenerateComparison: MockMvc를 통한 컨트롤러 전체 경로</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadingRequestPathBenchmark {
+
+    @Param({"0", "5"})
+    public int latencyMs;
+
+    private ReadingMaterialService service;
+    private ModelComparisonExecutor executor;
+    private BatchGenerationService batchService;
+    private HedgedGenerationService hedgedService;
+    private GenerationJobService jobService;
+    private Validator validator;
+    private ValidatorFactory validatorFactory;
+    private ObjectMapper objectMapper;
+    private MockMvc mockMvc;
+
+    private ReadingMaterialRequest request;
+    private List<ModelComparisonResponse> comparison;
+    private byte[] requestJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Duration latency = Duration.ofMillis(latencyMs);
+        service = new ReadingMaterialService(
+                ChatClient.create(StubChatModel.withJitter(latency, Duration.ofMillis(1), 35L)),
+                ChatClient.create(StubChatModel.withJitter(latency, Duration.ofMillis(1), 36L)),
+                ChatClient.create(StubChatModel.withJitter(latency, Duration.ofMillis(1), 37L))
+        );
+        executor = new ModelComparisonExecutor(service,
+                new ComparisonProperties(16, 64, Duration.ofSeconds(10)));
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        objectMapper = new ObjectMapper();
+        batchService = new BatchGenerationService(service, validator, new BatchProperties(8, 4, Map.of(), Duration.ofMinutes(1)));
+        hedgedService = new HedgedGenerationService(service, ModelStatistics.standalone(), new HedgingProperties(8, 64, 0.95, 20,
+                Duration.ofSeconds(10), Duration.ofMillis(200), Duration.ofSeconds(60), Duration.ofSeconds(120), Map.of()),
+                new SimpleMeterRegistry());
+        ModelRouter router = new ModelRouter(service, ModelStatistics.standalone(), RoutingProperties.defaults(),
+                new PricingProperties(Map.of()), new BudgetProperties(true, 0.3, 64, 200, 6000, Map.of(),
+                BudgetProperties.OverBudget.DOWNGRADE, TokenizerEncoding.CL100K_BASE, Map.of()),
+                new SimpleMeterRegistry());
+        jobService = new GenerationJobService(service, executor, new JobProperties(false, Path.of("."), 8, 10000, 3,
+                Duration.ofHours(24), Duration.ofSeconds(30), Duration.ofMinutes(10)), objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new ReadingMaterialController(service, executor, batchService, hedgedService, router, jobService,
+                                objectMapper))
+                .setControllerAdvice(new ReadingApiExceptionHandler())
+                .build();
+
+        request = new ReadingMaterialRequest(KoreanLevel.INTERMEDIATE, List.of("한국", "문화", "전통"), "한국 문화", 300);
+        comparison = executor.compare(List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview"), request);
+        requestJson = objectMapper.writeValueAsBytes(request);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        jobService.destroy();
+        executor.destroy();
+        batchService.destroy();
+        hedgedService.destroy();
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public ModelComparisonResponse generateWithModel() {
+        return service.generateWithModel("gpt-4", request);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ReadingMaterialRequest>> validateRequest() {
+        return validator.validate(request);
+    }
+
+    @Benchmark
+    public byte[] serializeComparison() throws Exception {
+        return objectMapper.writeValueAsBytes(comparison);
+    }
+
+    @Benchmark
+    public MvcResult controllerGenerateSingle() throws Exception {
+        return mockMvc.perform(post("/api/reading/generate/gpt-4")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult controllerGenerateComparison() throws Exception {
+        return mockMvc.perform(post("/api/reading/generate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andReturn();
+    }
+}
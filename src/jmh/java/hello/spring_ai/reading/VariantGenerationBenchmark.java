@@ -0,0 +1,143 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.config.ModelRegistry;
+import hello.spring_ai.reading.budget.TokenBudget;
+import hello.spring_ai.reading.cache.GenerationStore;
+import hello.spring_ai.reading.cache.ReadingMaterialCache;
+import hello.spring_ai.reading.cache.SemanticCache;
+import hello.spring_ai.reading.coverage.CoverageProperties;
+import hello.spring_ai.reading.metrics.PricingProperties;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.ratelimit.RateLimiterRegistry;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.support.StubOpenAiServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 같은 요청의 대안 글 variants개를 받는 방법별 지연 시간과 토큰 비용
+ * 첫 바이트 200ms, 글 하나에 생성 토큰 80개를 초당 400개로 만드는(200ms) StubOpenAiServer를 사용한다.
+ * <ul>
+ *     <li>choices: generateVariants로 한 번에 받음 (OpenAI n 옵션)</li>
+ *     <li>sequential: generateUncached를 variants번 차례로 호출</li>
+ *     <li>parallel: generateUncached를 variants번 동시에 호출</li>
+ * </ul>
+ * 보조 카운터 promptTokens, completionTokens가 호출 한 번(글 variants개)에 청구된 토큰으로,
+ * choices는 프롬프트 토큰을 한 번만 내고 나머지 둘은 variants번 낸다.
+ * 스텁은 여러 choice를 함께 생성한다고 보므로 choices의 지연은 글 하나와 같다. 실제 제공자는 choice가 늘면 조금 느려질 수 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VariantGenerationBenchmark {
+
+    private static final String MODEL = "gpt-4o-mini";
+
+    @Param({"2", "3", "5"})
+    public int variants;
+
+    private StubOpenAiServer upstream;
+    private ReadingMaterialService service;
+    private ExecutorService callers;
+    private ReadingMaterialRequest request;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Tokens {
+
+        public long promptTokens;
+        public long completionTokens;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            promptTokens = 0;
+            completionTokens = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        upstream = StubOpenAiServer.start(StubOpenAiServer.Profile.fixed(Duration.ofMillis(200))
+                .withTokenRate(400, 16));
+        OpenAiApi openAiApi = OpenAiApi.builder()
+                .baseUrl(upstream.baseUrl())
+                .apiKey("stub-key")
+                .build();
+        ChatClient client = ChatClient.create(OpenAiChatModel.builder()
+                .openAiApi(openAiApi)
+                .defaultOptions(OpenAiChatOptions.builder().model(MODEL).build())
+                .build());
+        service = new ReadingMaterialService(
+                ModelRegistry.fixed(List.of(MODEL), name -> client),
+                ReadingMaterialCache.disabled(),
+                GenerationStore.disabled(), SemanticCache.disabled(),
+                new ReadingMetrics(new SimpleMeterRegistry(), new PricingProperties(Map.of())),
+                RateLimiterRegistry.disabled(), CoverageProperties.checkOnly(), TokenBudget.unlimited(),
+                ModelStatistics.standalone());
+        callers = Executors.newFixedThreadPool(ReadingMaterialService.MAX_VARIANTS);
+        request = new ReadingMaterialRequest(KoreanLevel.INTERMEDIATE, List.of("한국", "문화"), "한국 문화", 300);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        callers.shutdownNow();
+        upstream.close();
+    }
+
+    @Benchmark
+    public VariantGenerationResponse choices(Tokens tokens) {
+        VariantGenerationResponse response = service.generateVariants(MODEL, request, variants);
+        tokens.promptTokens += response.promptTokens();
+        tokens.completionTokens += response.completionTokens();
+        return response;
+    }
+
+    @Benchmark
+    public List<ModelComparisonResponse> sequential(Tokens tokens) {
+        List<ModelComparisonResponse> responses = IntStream.range(0, variants)
+                .mapToObj(i -> service.generateUncached(MODEL, request))
+                .toList();
+        count(tokens, responses);
+        return responses;
+    }
+
+    @Benchmark
+    public List<ModelComparisonResponse> parallel(Tokens tokens) {
+        List<CompletableFuture<ModelComparisonResponse>> calls = IntStream.range(0, variants)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> service.generateUncached(MODEL, request), callers))
+                .toList();
+        List<ModelComparisonResponse> responses = calls.stream().map(CompletableFuture::join).toList();
+        count(tokens, responses);
+        return responses;
+    }
+
+    private static void count(Tokens tokens, List<ModelComparisonResponse> responses) {
+        for (ModelComparisonResponse response : responses) {
+            tokens.promptTokens += response.promptTokens();
+            tokens.completionTokens += response.completionTokens();
+        }
+    }
+}
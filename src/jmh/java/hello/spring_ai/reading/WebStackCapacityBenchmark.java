@@ -0,0 +1,159 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.loadtest.LoadScenario;
+import hello.spring_ai.loadtest.LoadTestApplication;
+import hello.spring_ai.loadtest.ResourceSampler;
+import hello.spring_ai.support.StubOpenAiServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * servlet 모드와 reactive 모드의 동시 요청 처리 용량
+ * 애플리케이션 전체를 띄우고 OpenAI 대신 StubOpenAiServer(응답 지연 500ms)를 호출하게 한 뒤,
+ * 단일 모델 생성 요청 concurrency개를 한꺼번에 보내 모두 끝날 때까지의 시간을 잰다.
+ * servlet 모드는 요청마다 Tomcat 스레드(기본 200개)를 점유하므로 동시 요청이 스레드 수를 넘으면 대기열에서 기다리고,
+ * reactive 모드는 이벤트 루프 스레드 몇 개로 모든 요청을 동시에 기다린다.
+ * 보조 카운터:
+ * <ul>
+ *     <li>failed: 200이 아닌 응답 또는 연결 실패 수</li>
+ *     <li>peakThreads: 요청 중 JVM 전체 스레드 수의 최대값 (벤치마크 HTTP 클라이언트, 스텁 서버 스레드 포함)</li>
+ *     <li>heapPerRequestKb: 요청 중 힙 사용량 최대값에서 시작 전 사용량을 뺀 값을 동시 요청 수로 나눈 값 (근사값)</li>
+ * </ul>
+ * 캐시, 저장소, 속도 제한, 보충 요청은 끄고 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+public class WebStackCapacityBenchmark {
+
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(500);
+    private static final String REQUEST_BODY = """
+            {"level":"BEGINNER","targetWords":["사과","바나나"],"topic":"과일","targetLength":150}
+            """;
+
+    @Param({"servlet", "reactive"})
+    public String stack;
+
+    @Param({"100", "1000"})
+    public int concurrency;
+
+    private StubOpenAiServer upstream;
+    private ConfigurableApplicationContext application;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Capacity {
+
+        public long failed;
+        public long peakThreads;
+        public long heapPerRequestKb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            failed = 0;
+            peakThreads = 0;
+            heapPerRequestKb = 0;
+        }
+    }
+
+    /**
+     * 요청을 보내기 직전의 힙 사용량
+     */
+    @State(Scope.Thread)
+    public static class Baseline {
+
+        private long heapBytes;
+
+        @Setup(Level.Invocation)
+        public void settle() {
+            System.gc();
+            heapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        upstream = StubOpenAiServer.start(UPSTREAM_LATENCY);
+        application = LoadTestApplication.start(stack, upstream.baseUrl());
+
+        clientExecutor = Executors.newFixedThreadPool(8);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        request = HttpRequest.newBuilder(LoadTestApplication.baseUri(application).resolve(LoadScenario.SINGLE_PATH))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(REQUEST_BODY))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+        upstream.close();
+        clientExecutor.shutdownNow();
+    }
+
+    /**
+     * 동시 요청 concurrency개를 보내고 모두 끝날 때까지 대기
+     */
+    @Benchmark
+    public int burst(Capacity capacity, Baseline baseline) {
+        ResourceSampler sampler = ResourceSampler.start(Duration.ofMillis(2));
+
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+
+        int succeeded = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            try {
+                if (response.join().statusCode() == 200) {
+                    succeeded++;
+                }
+            } catch (CompletionException e) {
+                // 연결 실패, 제한 시간 초과는 failed로 센다
+            }
+        }
+
+        sampler.close();
+        capacity.failed += concurrency - succeeded;
+        capacity.peakThreads = Math.max(capacity.peakThreads, sampler.peakThreads());
+        long heapPerRequest = Math.max(0, sampler.peakHeapBytes() - baseline.heapBytes) / concurrency;
+        capacity.heapPerRequestKb = Math.max(capacity.heapPerRequestKb, heapPerRequest / 1024);
+        return succeeded;
+    }
+}
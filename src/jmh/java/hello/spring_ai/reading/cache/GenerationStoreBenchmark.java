@@ -0,0 +1,128 @@
+package hello.spring_ai.reading.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GenerationStore 시작 시간과 조회 지연 시간 측정
+ * <ul>
+ *     <li>startupMappedIndex: 인덱스를 매핑하여 시작 (로그를 다시 읽지 않음)</li>
+ *     <li>startupReplayLog: 인덱스 없이 로그 전체를 읽어 시작</li>
+ *     <li>lookup: 저장된 키 무작위 조회</li>
+ * </ul>
+ */
+public class GenerationStoreBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @State(Scope.Benchmark)
+    public static class PopulatedStore {
+
+        @Param({"10000", "100000"})
+        public int entries;
+
+        Path directory;
+        ReadingMaterialCacheKey[] keys;
+
+        @Setup(Level.Trial)
+        public void populate() throws IOException {
+            directory = Files.createTempDirectory("generation-store-bench");
+            keys = new ReadingMaterialCacheKey[entries];
+            GenerationStore store = open(directory);
+            for (int i = 0; i < entries; i++) {
+                keys[i] = key(i);
+                store.put(keys[i], response(i));
+            }
+            store.destroy();
+        }
+
+        @TearDown(Level.Trial)
+        public void cleanUp() throws IOException {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OpenedStore {
+
+        GenerationStore store;
+
+        @Setup(Level.Trial)
+        public void open(PopulatedStore populated) {
+            store = GenerationStoreBenchmark.open(populated.directory);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            store.destroy();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int startupMappedIndex(PopulatedStore populated) throws IOException {
+        GenerationStore store = open(populated.directory);
+        int size = store.size();
+        store.destroy();
+        return size;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int startupReplayLog(PopulatedStore populated) throws IOException {
+        Files.deleteIfExists(populated.directory.resolve("generations.idx"));
+        GenerationStore store = open(populated.directory);
+        int size = store.size();
+        store.destroy();
+        return size;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Optional<ModelComparisonResponse> lookup(PopulatedStore populated, OpenedStore opened) {
+        int i = ThreadLocalRandom.current().nextInt(populated.entries);
+        return opened.store.get(populated.keys[i]);
+    }
+
+    private static GenerationStore open(Path directory) {
+        return new GenerationStore(
+                new GenerationStoreProperties(true, directory, Duration.ofDays(30), 4096, 0.5, DataSize.ofGigabytes(1)),
+                OBJECT_MAPPER);
+    }
+
+    private static ReadingMaterialCacheKey key(int i) {
+        return ReadingMaterialCacheKey.of("gpt-4",
+                new ReadingMaterialRequest(KoreanLevel.INTERMEDIATE, List.of("한국", "문화", "단어" + i), "한국 문화 " + i, 300));
+    }
+
+    private static ModelComparisonResponse response(int i) {
+        return new ModelComparisonResponse("gpt-4", "제목: 한국 문화\n\n한국의 전통 문화와 현대 문화에 대한 글입니다. " + i,
+                180, 420, 600, 8200.0);
+    }
+}
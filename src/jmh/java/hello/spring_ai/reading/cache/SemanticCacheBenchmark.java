@@ -0,0 +1,126 @@
+package hello.spring_ai.reading.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유사 요청 캐시 검색: entries개의 주제 임베딩을 넣은 HNSW 인덱스에서 가장 가까운 항목 찾기
+ * 주제는 명사 어휘를 2~4개씩 무작위로 이어 만들고, 질의는 저장된 주제에 조사를 붙이거나 단어 하나를 바꾼 변형이다.
+ * 비교군 exact는 모든 항목과 내적을 계산하는 전체 비교이다.
+ * 인덱스 구성은 항목 수에 비례해 오래 걸리므로(100k에서 수십 초) 측정 전 한 번만 만들고,
+ * recall@1(근사 검색의 1위가 전체 비교의 1위와 같은 비율)은 구성 직후 queries개로 계산해 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SemanticCacheBenchmark {
+
+    private static final List<String> NOUNS = List.of(
+            "한국", "음식", "문화", "전통", "역사", "여행", "학교", "친구", "가족", "공원",
+            "도서관", "시장", "날씨", "환경", "기술", "미래", "에너지", "사회", "경제", "예술",
+            "병원", "은행", "지하철", "버스", "비행기", "바다", "산", "강", "하늘", "계절",
+            "여름", "겨울", "봄", "가을", "축제", "명절", "음악", "영화", "운동", "건강",
+            "직업", "회사", "쇼핑", "요리", "과일", "채소", "동물", "식물", "도시", "시골");
+
+    private static final List<String> PARTICLES = List.of("의", "과", "와", "에서", "을", "를");
+
+    @Param({"100000"})
+    public int entries;
+
+    @Param({"32", "64", "128"})
+    public int efSearch;
+
+    @Param({"1000"})
+    public int queries;
+
+    private TopicEmbedder embedder;
+    private HnswIndex index;
+    private float[][] queryVectors;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        embedder = new TopicEmbedder(SemanticCacheProperties.defaults().dimensions());
+        index = new HnswIndex(embedder.dimensions(), 16, 100, 42L);
+
+        List<String> topics = new ArrayList<>(entries);
+        long started = System.nanoTime();
+        for (int i = 0; i < entries; i++) {
+            String topic = topic(random);
+            topics.add(topic);
+            index.add(embedder.embed(topic, List.of(noun(random), noun(random))));
+        }
+        long buildMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        queryVectors = new float[queries][];
+        for (int i = 0; i < queries; i++) {
+            String stored = topics.get(random.nextInt(entries));
+            queryVectors[i] = embedder.embed(variant(stored, random), List.of(noun(random), noun(random)));
+        }
+
+        int found = 0;
+        for (float[] query : queryVectors) {
+            if (index.search(query, 1, efSearch).get(0).similarity()
+                    >= index.exactSearch(query, 1).get(0).similarity() - 1e-6f) {
+                found++;
+            }
+        }
+        System.out.printf("%n항목 %d개 인덱스 구성 %dms, efSearch %d recall@1 = %.3f%n",
+                entries, buildMs, efSearch, (double) found / queries);
+    }
+
+    @Benchmark
+    public List<HnswIndex.Match> hnsw() {
+        return index.search(nextQuery(), 4, efSearch);
+    }
+
+    @Benchmark
+    public List<HnswIndex.Match> exact() {
+        return index.exactSearch(nextQuery(), 4);
+    }
+
+    private float[] nextQuery() {
+        float[] query = queryVectors[next];
+        next = next + 1 == queryVectors.length ? 0 : next + 1;
+        return query;
+    }
+
+    private static String topic(SplittableRandom random) {
+        int words = 2 + random.nextInt(3);
+        StringBuilder topic = new StringBuilder(noun(random));
+        for (int i = 1; i < words; i++) {
+            topic.append(' ').append(noun(random));
+        }
+        return topic.toString();
+    }
+
+    /**
+     * 저장된 주제의 변형: 첫 단어에 조사를 붙이거나 마지막 단어를 바꾼다
+     */
+    private static String variant(String topic, SplittableRandom random) {
+        String[] words = topic.split(" ");
+        if (random.nextBoolean()) {
+            words[0] = words[0] + PARTICLES.get(random.nextInt(PARTICLES.size()));
+        } else {
+            words[words.length - 1] = noun(random);
+        }
+        return String.join(" ", words);
+    }
+
+    private static String noun(SplittableRandom random) {
+        return NOUNS.get(random.nextInt(NOUNS.size()));
+    }
+}
@@ -0,0 +1,90 @@
+package hello.spring_ai.reading.coverage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목표 단어 검사 처리량: Aho-Corasick 한 번 훑기와 검색 형태마다 indexOf 반복 비교
+ * 본문 길이(글자 수)와 목표 단어 수를 바꿔 가며 측정한다. 글자/초는 본문 길이 / 평균 시간으로 계산한다.
+ * indexOf 비교군은 첫 등장만 찾고 어절 경계도 보지 않으므로 실제보다 유리한 기준선이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TargetWordMatcherBenchmark {
+
+    private static final List<String> WORDS = List.of(
+            "사과", "바나나", "학교", "친구", "가족", "공원", "도서관", "시장", "음식", "날씨",
+            "먹다", "가다", "보다", "마시다", "공부하다", "만들다", "듣다", "덥다", "모르다", "쓰다",
+            "환경", "기술", "미래", "에너지", "문화", "전통", "사회", "경제", "역사", "예술",
+            "여행하다", "운동하다", "일하다", "배우다", "가르치다", "읽다", "걷다", "살다", "돕다", "부르다",
+            "병원", "은행", "우체국", "지하철", "버스", "비행기", "바다", "산", "강", "하늘");
+
+    private static final List<String> SENTENCES = List.of(
+            "오늘은 친구와 함께 공원에서 산책을 했어요. ",
+            "우리 가족은 주말마다 시장에 가서 과일을 사요. ",
+            "도서관에서 한국 역사에 관한 책을 읽었습니다. ",
+            "날씨가 더워서 시원한 음료수를 마셨어요. ",
+            "미래의 에너지 기술은 환경을 지키는 데 중요합니다. ",
+            "할머니께서 전통 음식을 만드는 방법을 가르쳐 주셨어요. ",
+            "지하철을 타고 병원에 갔는데 사람이 많았어요. ",
+            "저는 음악을 들으면서 한국어를 공부해요. ");
+
+    @Param({"1000", "100000", "1000000"})
+    public int textLength;
+
+    @Param({"5", "50"})
+    public int wordCount;
+
+    private String text;
+    private List<String> targetWords;
+    private TargetWordMatcher matcher;
+    private String[] forms;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder builder = new StringBuilder(textLength + 64);
+        while (builder.length() < textLength) {
+            builder.append(SENTENCES.get(random.nextInt(SENTENCES.size())));
+        }
+        text = builder.substring(0, textLength);
+        targetWords = WORDS.subList(0, wordCount);
+        matcher = TargetWordMatcher.compile(targetWords);
+        forms = targetWords.stream()
+                .flatMap(word -> KoreanStems.variants(word).stream())
+                .map(KoreanStems.Form::text)
+                .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public WordCoverage ahoCorasick() {
+        return matcher.coverage(text);
+    }
+
+    @Benchmark
+    public WordCoverage compileAndScan() {
+        return TargetWordMatcher.compile(targetWords).coverage(text);
+    }
+
+    @Benchmark
+    public int indexOfPerForm() {
+        int found = 0;
+        for (String form : forms) {
+            if (text.indexOf(form) >= 0) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,87 @@
+package hello.spring_ai.reading.job;
+
+import hello.spring_ai.reading.ComparisonProperties;
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ModelComparisonExecutor;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import hello.spring_ai.reading.ReadingMaterialService;
+import hello.spring_ai.support.StubChatModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 생성 작업의 제출 처리량과 대기열 지연
+ * submit은 8개 스레드가 동시에 제출할 때의 처리량으로, durable=true이면 제출마다 저널 fsync를 기다린다(group commit).
+ * submitAndAwait는 모델 응답이 즉시 올 때 제출부터 결과 조회까지 걸리는 시간(대기열 + 저널 기록)이다.
+ * 끝난 작업은 1초마다 지워 측정 동안 메모리와 저널이 계속 커지지 않게 한다.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class GenerationJobBenchmark {
+
+    @Param({"false", "true"})
+    public boolean durable;
+
+    private Path directory;
+    private ModelComparisonExecutor executor;
+    private GenerationJobService jobService;
+    private ReadingMaterialRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var service = new ReadingMaterialService(
+                ChatClient.create(new StubChatModel(Duration.ZERO)),
+                ChatClient.create(new StubChatModel(Duration.ZERO)),
+                ChatClient.create(new StubChatModel(Duration.ZERO))
+        );
+        directory = Files.createTempDirectory("generation-job-benchmark");
+        executor = new ModelComparisonExecutor(service, new ComparisonProperties(16, 64, Duration.ofSeconds(10)));
+        jobService = new GenerationJobService(service, executor, new JobProperties(durable, directory, 8, 1_000_000, 3,
+                Duration.ZERO, Duration.ofSeconds(30), Duration.ofSeconds(1)), Jackson2ObjectMapperBuilder.json().build());
+        request = new ReadingMaterialRequest(KoreanLevel.INTERMEDIATE, List.of("한국", "문화", "전통"), "한국 문화", 300);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        jobService.destroy();
+        executor.destroy();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    public GenerationJobService.Submission submit() {
+        return jobService.submit(null, "gpt-4", request);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public GenerationJob submitAndAwait() {
+        String jobId = jobService.submit(null, "gpt-4", request).job().id();
+        return jobService.await(jobId, Duration.ofSeconds(30)).join().orElseThrow();
+    }
+}
@@ -0,0 +1,84 @@
+package hello.spring_ai.reading.prompt;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 프롬프트 앞부분 캐시를 고려하기 전의 프롬프트 배치 (비교 기준)
+ * 시스템 프롬프트에는 수준별 규칙만 있고, 사용자 프롬프트가 주제와 목표 단어 뒤에 고정 요구사항을 붙인다.
+ */
+final class LegacyPrompts {
+
+    private static final Map<KoreanLevel, String> SYSTEM_PROMPTS = new EnumMap<>(Map.of(
+            KoreanLevel.BEGINNER, """
+                    당신은 한국어 초급 학습자를 위한 교육 콘텐츠 제작자입니다.
+
+                    작성 규칙:
+                    - 기본 문법만 사용 (현재형, 과거형, 기본 조사)
+                    - 짧고 간단한 문장 구성 (한 문장당 10-15자)
+                    - 일상생활 관련 내용 (가족, 음식, 학교, 취미 등)
+                    - 한자어나 외래어 사용 최소화
+                    - 기본 동사와 형용사 위주
+
+                    목표: 초급 학습자가 쉽게 읽고 이해할 수 있는 자연스러운 한국어 글
+                    """,
+
+            KoreanLevel.INTERMEDIATE, """
+                    당신은 한국어 중급 학습자를 위한 교육 콘텐츠 제작자입니다.
+
+                    작성 규칙:
+                    - 다양한 문법 구조 사용 가능 (연결어미, 종결어미, 간접화법 등)
+                    - 중급 어휘 및 관용 표현 포함
+                    - 사회, 문화, 직장 생활 등 다양한 주제
+                    - 복문과 중문 사용 가능
+                    - 한자어와 외래어 적절히 사용
+
+                    목표: 중급 학습자의 어휘력과 표현력을 향상시키는 흥미로운 글
+                    """,
+
+            KoreanLevel.ADVANCED, """
+                    당신은 한국어 고급 학습자를 위한 교육 콘텐츠 제작자입니다.
+
+                    작성 규칙:
+                    - 복잡한 문법 및 고급 어휘 사용
+                    - 추상적 개념 및 전문 용어 포함
+                    - 학술, 시사, 문학, 전문 분야 내용
+                    - 긴 문장과 복잡한 문장 구조 사용
+                    - 관용구, 속담, 사자성어 활용
+                    - 격식체와 비격식체 적절히 조합
+
+                    목표: 고급 학습자가 원어민 수준의 한국어 이해력과 표현력을 갖추도록 돕는 깊이 있는 글
+                    """
+    ));
+
+    private static final String USER_FORMAT = """
+            다음 조건으로 한국어 읽기 자료를 작성해주세요:
+
+            주제: %s
+            반드시 포함할 단어: %s
+            목표 길이: 약 %d자
+
+            요구사항:
+            1. 지정된 단어들을 자연스럽게 모두 포함시켜주세요
+            2. 주제에 맞는 흥미롭고 교육적인 내용으로 작성해주세요
+            3. 문법적으로 정확하고 자연스러운 한국어를 사용해주세요
+            4. 학습자가 읽기 연습과 어휘 학습을 동시에 할 수 있도록 해주세요
+
+            제목과 본문을 포함하여 작성해주세요.
+            """;
+
+    private LegacyPrompts() {
+    }
+
+    static String systemPrompt(KoreanLevel level) {
+        return SYSTEM_PROMPTS.get(level);
+    }
+
+    static String userPrompt(ReadingMaterialRequest request) {
+        return String.format(USER_FORMAT, request.topic(), String.join(", ", request.targetWords()),
+                request.targetLength());
+    }
+}
@@ -0,0 +1,113 @@
+package hello.spring_ai.reading.prompt;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import hello.spring_ai.support.StubOpenAiServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프롬프트 배치별 제공자 프롬프트 캐시 재사용량과 첫 바이트까지 시간
+ * 앞부분 캐시를 흉내 내는 StubOpenAiServer(기본 지연 200ms, 캐시되지 않은 프롬프트 토큰 1000개당 250ms)에
+ * 수준별로 주제와 목표 단어가 매번 다른 요청을 보낸다.
+ * <ul>
+ *     <li>legacy: 시스템 프롬프트에 수준별 규칙만 두고 사용자 프롬프트가 주제 뒤에 고정 요구사항을 붙이던 배치</li>
+ *     <li>stable: ReadingPrompts (고정 지시문을 모두 시스템 프롬프트로 옮기고 사용자 프롬프트에는 요청 값만 둠)</li>
+ * </ul>
+ * 보조 카운터 promptTokens, cachedPromptTokens의 비율이 수준별 캐시 재사용 비율이다.
+ * promptCacheMinTokens=1024는 OpenAI의 최소 캐시 길이로, 지금 프롬프트는 이보다 짧아 어느 배치도 캐시되지 않는다.
+ * 더 짧은 앞부분도 캐시하는 제공자나 프롬프트가 길어진 경우는 128로 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PromptCacheBenchmark {
+
+    private static final List<String> TOPICS = List.of(
+            "한국 음식", "주말 계획", "환경 보호", "전통 시장", "지하철 여행", "가족 모임", "미래 기술", "계절과 날씨");
+
+    private static final List<List<String>> WORDS = List.of(
+            List.of("김치", "밥"), List.of("공원", "친구", "산책"), List.of("에너지", "미래"), List.of("시장", "과일"),
+            List.of("지하철", "버스", "도시"), List.of("할머니", "명절"), List.of("기술", "사회"), List.of("여름", "바다"));
+
+    @Param({"BEGINNER", "INTERMEDIATE", "ADVANCED"})
+    public KoreanLevel level;
+
+    @Param({"legacy", "stable"})
+    public String layout;
+
+    @Param({"128", "1024"})
+    public int promptCacheMinTokens;
+
+    private StubOpenAiServer upstream;
+    private OpenAiApi openAiApi;
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Tokens {
+
+        public long promptTokens;
+        public long cachedPromptTokens;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            promptTokens = 0;
+            cachedPromptTokens = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        upstream = StubOpenAiServer.start(StubOpenAiServer.Profile.fixed(Duration.ofMillis(200))
+                .withPromptCache(promptCacheMinTokens, Duration.ofMillis(250)));
+        openAiApi = OpenAiApi.builder()
+                .baseUrl(upstream.baseUrl())
+                .apiKey("stub-key")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        upstream.close();
+    }
+
+    @Benchmark
+    public ChatCompletion generate(Tokens tokens) {
+        int i = next++;
+        var request = new ReadingMaterialRequest(level, WORDS.get(i % WORDS.size()),
+                TOPICS.get((i / WORDS.size()) % TOPICS.size()), 300);
+        boolean stable = "stable".equals(layout);
+        String systemPrompt = stable ? ReadingPrompts.systemPrompt(level) : LegacyPrompts.systemPrompt(level);
+        String userPrompt = stable ? ReadingPrompts.userPrompt(request) : LegacyPrompts.userPrompt(request);
+
+        ChatCompletion completion = openAiApi.chatCompletionEntity(new ChatCompletionRequest(List.of(
+                        new ChatCompletionMessage(systemPrompt, ChatCompletionMessage.Role.SYSTEM),
+                        new ChatCompletionMessage(userPrompt, ChatCompletionMessage.Role.USER)),
+                "gpt-4o-mini", 0.7)).getBody();
+
+        OpenAiApi.Usage usage = completion.usage();
+        tokens.promptTokens += usage.promptTokens();
+        if (usage.promptTokensDetails() != null && usage.promptTokensDetails().cachedTokens() != null) {
+            tokens.cachedPromptTokens += usage.promptTokensDetails().cachedTokens();
+        }
+        return completion;
+    }
+}
@@ -0,0 +1,81 @@
+package hello.spring_ai.reading.prompt;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프롬프트 렌더링 비교: 기존 String.format + switch 구현과 미리 파싱된 템플릿
+ * 할당량은 -prof gc (gc.alloc.rate.norm)로 확인한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PromptRenderBenchmark {
+
+    private final ReadingMaterialRequest request = new ReadingMaterialRequest(
+            KoreanLevel.INTERMEDIATE, List.of("환경", "기술", "미래", "에너지"), "사회와 기술", 300);
+
+    @Benchmark
+    public int stringFormat() {
+        return legacySystemPrompt(request.level()).length() + legacyUserPrompt(request).length();
+    }
+
+    @Benchmark
+    public int compiledTemplate() {
+        return ReadingPrompts.systemPrompt(request.level()).length() + ReadingPrompts.userPrompt(request).length();
+    }
+
+    private static String legacySystemPrompt(KoreanLevel level) {
+        return switch (level) {
+            case BEGINNER -> """
+                    당신은 한국어 초급 학습자를 위한 교육 콘텐츠 제작자입니다.
+                    """;
+            case INTERMEDIATE -> """
+                    당신은 한국어 중급 학습자를 위한 교육 콘텐츠 제작자입니다.
+
+                    작성 규칙:
+                    - 다양한 문법 구조 사용 가능 (연결어미, 종결어미, 간접화법 등)
+                    - 중급 어휘 및 관용 표현 포함
+                    - 사회, 문화, 직장 생활 등 다양한 주제
+                    - 복문과 중문 사용 가능
+                    - 한자어와 외래어 적절히 사용
+
+                    목표: 중급 학습자의 어휘력과 표현력을 향상시키는 흥미로운 글
+                    """;
+            case ADVANCED -> """
+                    당신은 한국어 고급 학습자를 위한 교육 콘텐츠 제작자입니다.
+                    """;
+        };
+    }
+
+    private static String legacyUserPrompt(ReadingMaterialRequest request) {
+        return String.format("""
+                다음 조건으로 한국어 읽기 자료를 작성해주세요:
+
+                주제: %s
+                반드시 포함할 단어: %s
+                목표 길이: 약 %d자
+
+                요구사항:
+                1. 지정된 단어들을 자연스럽게 모두 포함시켜주세요
+                2. 주제에 맞는 흥미롭고 교육적인 내용으로 작성해주세요
+                3. 문법적으로 정확하고 자연스러운 한국어를 사용해주세요
+                4. 학습자가 읽기 연습과 어휘 학습을 동시에 할 수 있도록 해주세요
+
+                제목과 본문을 포함하여 작성해주세요.
+                """,
+                request.topic(),
+                String.join(", ", request.targetWords()),
+                request.targetLength()
+        );
+    }
+}
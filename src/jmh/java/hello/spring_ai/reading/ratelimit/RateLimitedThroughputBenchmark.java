@@ -0,0 +1,103 @@
+package hello.spring_ai.reading.ratelimit;
+
+import hello.spring_ai.config.ModelRegistry;
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import hello.spring_ai.reading.ReadingMaterialService;
+import hello.spring_ai.reading.budget.TokenBudget;
+import hello.spring_ai.reading.cache.GenerationStore;
+import hello.spring_ai.reading.cache.ReadingMaterialCache;
+import hello.spring_ai.reading.cache.SemanticCache;
+import hello.spring_ai.reading.coverage.CoverageProperties;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.support.RateLimitedStubChatModel;
+import hello.spring_ai.support.StubChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청 한도가 있는 스텁 upstream(초당 20건, 지연 30ms)에 32개 스레드로 부하를 줄 때의 처리량
+ * <ul>
+ *     <li>limited=false: 속도 제한 없이 호출 (429가 그대로 실패로 이어짐)</li>
+ *     <li>limited=true: 모델별 토큰 버킷 + AIMD 동시 호출 제한 + 대기열</li>
+ * </ul>
+ * succeeded / failed 보조 카운터로 초당 성공, 실패 건수를 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class RateLimitedThroughputBenchmark {
+
+    private static final int UPSTREAM_RPS = 20;
+
+    @Param({"false", "true"})
+    public boolean limited;
+
+    private ReadingMaterialService service;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+
+        public long succeeded;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            succeeded = 0;
+            failed = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ChatClient client = ChatClient.create(
+                new RateLimitedStubChatModel(new StubChatModel(Duration.ofMillis(30)), UPSTREAM_RPS));
+        RateLimiterRegistry rateLimiters = new RateLimiterRegistry(
+                new RateLimitProperties(limited, 2, Duration.ofMillis(200),
+                        new RateLimitProperties.ModelLimit(UPSTREAM_RPS * 60, 1_000_000, 4, 1, 16, 256,
+                                Duration.ofSeconds(30), Duration.ofSeconds(5), 200),
+                        Map.of()),
+                new SimpleMeterRegistry());
+        service = new ReadingMaterialService(
+                ModelRegistry.fixed(List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview"), name -> client),
+                ReadingMaterialCache.disabled(), GenerationStore.disabled(), SemanticCache.disabled(), ReadingMetrics.noop(),
+                rateLimiters, CoverageProperties.checkOnly(), TokenBudget.unlimited(), ModelStatistics.standalone());
+    }
+
+    @Benchmark
+    public void generate(Outcomes outcomes) {
+        long i = sequence.incrementAndGet();
+        try {
+            service.generateWithModel("gpt-4",
+                    new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("단어" + i), "주제 " + i, 150));
+            outcomes.succeeded++;
+        } catch (RuntimeException e) {
+            outcomes.failed++;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package hello.spring_ai.reading.readability;
+
+import hello.spring_ai.reading.KoreanLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 하나를 읽기 난이도 분석하는 데 더해지는 시간 (목표: p99 1ms 미만)
+ * SampleTime 모드의 analyze·p0.99, streamed·p0.99 값을 본다.
+ * <ul>
+ *     <li>analyze: 블로킹 경로처럼 완성된 본문을 한 번에 분석</li>
+ *     <li>streamed: 스트리밍 경로처럼 토큰 크기(2~6자) 조각으로 나눠 넣은 뒤 결과 계산</li>
+ * </ul>
+ * 본문 길이는 초급 요청(150자)부터 고급 요청의 긴 글까지 바꿔 가며 측정한다.
+ * 어휘 목록은 Setup에서 미리 읽으므로 처음 한 번 읽는 시간은 포함하지 않는다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadabilityAnalyzerBenchmark {
+
+    private static final List<String> SENTENCES = List.of(
+            "우리 가족은 네 명이에요. ",
+            "오늘은 친구와 함께 공원에서 산책을 했어요. ",
+            "엄마는 시장에서 과일을 샀어요. ",
+            "날씨가 더워서 시원한 음료수를 마셨어요. ",
+            "도서관에서 한국 역사에 관한 책을 읽었습니다. ",
+            "미래의 에너지 기술은 환경을 지키는 데 중요합니다. ",
+            "세계화와 고령화는 한국 사회의 경제 구조를 근본적으로 바꾸고 있다.\n",
+            "따라서 지속 가능한 발전을 위한 사회적 합의와 협력이 무엇보다 중요하다. ");
+
+    @Param({"150", "1000", "4000"})
+    public int textLength;
+
+    @Param({"BEGINNER", "ADVANCED"})
+    public KoreanLevel level;
+
+    private ReadabilityAnalyzer analyzer;
+    private String text;
+    private String[] chunks;
+
+    @Setup
+    public void setUp() {
+        analyzer = ReadabilityAnalyzer.bundled();
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder builder = new StringBuilder("제목: 오늘의 이야기\n\n");
+        while (builder.length() < textLength) {
+            builder.append(SENTENCES.get(random.nextInt(SENTENCES.size())));
+        }
+        text = builder.substring(0, textLength);
+
+        List<String> pieces = new ArrayList<>();
+        for (int i = 0; i < text.length(); ) {
+            int end = Math.min(text.length(), i + 2 + random.nextInt(5));
+            pieces.add(text.substring(i, end));
+            i = end;
+        }
+        chunks = pieces.toArray(String[]::new);
+    }
+
+    @Benchmark
+    public Readability analyze() {
+        return analyzer.analyze(level, text);
+    }
+
+    @Benchmark
+    public Readability streamed() {
+        ReadabilityAnalyzer.Scan scan = analyzer.newScan(level);
+        for (String chunk : chunks) {
+            scan.feed(chunk);
+        }
+        return scan.result();
+    }
+}
@@ -0,0 +1,313 @@
+package hello.spring_ai.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hello.spring_ai.support.StubOpenAiServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 빌드 변형별 시작 비용 측정
+ * 변형마다 애플리케이션을 새 프로세스로 여러 번 띄워 준비 완료(/actuator/health/readiness)까지 걸린 시간,
+ * 첫 생성 요청의 응답을 받기까지 걸린 시간, 그 직후의 RSS를 재고 JSON과 Markdown 표로 남긴다.
+ * 모델 호출은 이 JVM에 띄운 StubOpenAiServer로 보내고, 저장소는 끄고 작업 저널은 실행마다 새 임시 디렉터리에 둔다.
+ *
+ * <p>변형 (산출물이 없으면 이유를 출력하고 건너뛴다)
+ * <ul>
+ *     <li>jvm: 풀어 둔 bootJar를 그대로 실행</li>
+ *     <li>jvm-lazy: 빈 지연 초기화 (spring.main.lazy-initialization=true)</li>
+ *     <li>jvm-warmup: 모델 클라이언트와 연결을 준비한 뒤 준비 완료를 알림 (reading.transport.warmup-before-readiness=true)</li>
+ *     <li>cds: CDS 아카이브 사용 (-XX:SharedArchiveFile)</li>
+ *     <li>aot, aot-cds: AOT 처리된 jar(-Paot)에서 -Dspring.aot.enabled=true로 실행, CDS와 함께</li>
+ *     <li>native: GraalVM 네이티브 실행 파일 (-Pnative, nativeCompile)</li>
+ * </ul>
+ * AOT 처리는 빌드 시점에 프로파일을 정하므로 aot, aot-cds, native는 --stack이 빌드한 프로파일(--aot-profiles)과 같을 때만 잰다.
+ *
+ * <p>실행: {@code ./gradlew startupBenchmark -Paot -PstartupArgs="--runs=10 --variants=jvm,cds,aot-cds"}
+ * <ul>
+ *     <li>--stack: servlet, reactive (기본 servlet)</li>
+ *     <li>--variants: 잴 변형 이름 (쉼표 구분, 기본 전체)</li>
+ *     <li>--runs: 변형마다 띄울 횟수 (기본 5, 첫 실행은 파일 캐시를 데우려고 한 번 더 띄운 뒤 버린다)</li>
+ *     <li>--timeout: 준비 완료를 기다릴 최대 시간 (기본 120s)</li>
+ *     <li>--java, --jar, --cds-archive, --aot, --aot-profiles, --native: 산출물 위치 (Gradle 태스크가 넘긴다)</li>
+ *     <li>--out: 결과 디렉터리 (기본 build/reports/startup, 프로세스 출력은 logs 아래에 남긴다)</li>
+ * </ul>
+ */
+public final class StartupBenchmark {
+
+    private static final String GENERATE_PATH = "/api/reading/generate/gpt-3.5-turbo";
+    private static final String READINESS_PATH = "/actuator/health/readiness";
+    private static final String REQUEST_BODY = """
+            {"level":"BEGINNER","targetWords":["사과","바나나"],"topic":"과일","targetLength":150}""";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long POLL_INTERVAL_MILLIS = 5;
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private StartupBenchmark() {
+    }
+
+    /**
+     * 변형 하나
+     *
+     * @param name    변형 이름
+     * @param command 실행 명령 (애플리케이션 설정 인자 제외)
+     * @param workDir 작업 디렉터리 (CDS 아카이브를 만들 때와 같은 상대 경로로 jar를 실행하도록)
+     * @param skipped 건너뛰는 이유 (잴 수 있으면 null)
+     */
+    private record Variant(String name, List<String> command, Path workDir, String skipped) {
+
+        static Variant of(String name, Path workDir, List<String> command) {
+            return new Variant(name, command, workDir, null);
+        }
+
+        static Variant skip(String name, String reason) {
+            return new Variant(name, List.of(), null, reason);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+
+        String stack = options.getOrDefault("stack", "servlet");
+        if (!"servlet".equals(stack) && !"reactive".equals(stack)) {
+            throw new IllegalArgumentException("stack은 servlet 또는 reactive여야 합니다: " + stack);
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Duration timeout = Duration.parse("PT" + options.getOrDefault("timeout", "120s"));
+        Path out = Path.of(options.getOrDefault("out", "build/reports/startup"));
+        List<Variant> variants = select(options.get("variants"), variants(options, stack));
+
+        List<StartupReport> reports = new ArrayList<>();
+        try (StubOpenAiServer upstream = StubOpenAiServer.start(Duration.ZERO)) {
+            for (Variant variant : variants) {
+                if (variant.skipped() != null) {
+                    System.out.printf("[%s] 건너뜀 - %s%n", variant.name(), variant.skipped());
+                    continue;
+                }
+                Path log = out.resolve("logs").resolve(variant.name() + ".log");
+                Files.createDirectories(log.getParent());
+                Files.deleteIfExists(log);
+
+                // 첫 실행은 jar와 클래스 파일을 파일 캐시에 올리는 용도로 버린다
+                measure(variant, stack, upstream, log, timeout);
+                List<StartupReport.Run> measured = new ArrayList<>();
+                for (int i = 0; i < runs; i++) {
+                    StartupReport.Run run = measure(variant, stack, upstream, log, timeout);
+                    System.out.printf("[%s] %d/%d - 준비 %.0fms, 첫 응답 %.0fms, RSS %.0fMB%n",
+                            variant.name(), i + 1, runs, run.readyMs(), run.firstResponseMs(), run.rssMb());
+                    measured.add(run);
+                }
+                reports.add(StartupReport.of(variant.name(), stack, variant.command(), measured));
+            }
+        }
+
+        write(out.resolve("startup-" + stack + ".json"), reports);
+        String table = StartupReport.markdown(reports);
+        Files.writeString(out.resolve("startup-" + stack + ".md"), table);
+        System.out.println();
+        System.out.println(table);
+        System.exit(0);
+    }
+
+    private static List<Variant> variants(Map<String, String> options, String stack) {
+        String java = options.getOrDefault("java", Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Path jar = options.containsKey("jar") ? Path.of(options.get("jar")).toAbsolutePath() : null;
+        Path archive = options.containsKey("cds-archive") ? Path.of(options.get("cds-archive")).toAbsolutePath() : null;
+        boolean aot = Boolean.parseBoolean(options.getOrDefault("aot", "false"));
+        String aotStack = options.getOrDefault("aot-profiles", "").contains("reactive") ? "reactive" : "servlet";
+        Path nativeImage = options.containsKey("native") ? Path.of(options.get("native")).toAbsolutePath() : null;
+
+        boolean hasJar = jar != null && Files.isRegularFile(jar);
+        boolean hasArchive = hasJar && archive != null && Files.isRegularFile(archive);
+        String noJar = "jar가 없습니다 (./gradlew cdsArchive): " + jar;
+        String noArchive = "CDS 아카이브가 없습니다 (./gradlew cdsArchive): " + archive;
+        String aotMismatch = aot && !aotStack.equals(stack)
+                ? "AOT 처리한 프로파일(" + aotStack + ")과 --stack(" + stack + ")이 다릅니다 (-PaotProfiles)" : null;
+        String noAot = !aot ? "AOT 처리된 jar가 아닙니다 (-Paot)" : aotMismatch;
+
+        List<Variant> variants = new ArrayList<>();
+        Path workDir = hasJar ? jar.getParent() : null;
+        List<String> runJar = hasJar ? List.of("-jar", jar.getFileName().toString()) : List.of();
+        String cds = hasArchive ? "-XX:SharedArchiveFile=" + archive : null;
+        String aotEnabled = "-Dspring.aot.enabled=true";
+
+        variants.add(hasJar ? Variant.of("jvm", workDir, concat(List.of(java), runJar)) : Variant.skip("jvm", noJar));
+        variants.add(hasJar ? Variant.of("jvm-lazy", workDir, concat(List.of(java), runJar, List.of("--spring.main.lazy-initialization=true")))
+                : Variant.skip("jvm-lazy", noJar));
+        variants.add(hasJar ? Variant.of("jvm-warmup", workDir, concat(List.of(java), runJar, List.of("--reading.transport.warmup-before-readiness=true")))
+                : Variant.skip("jvm-warmup", noJar));
+        variants.add(hasArchive ? Variant.of("cds", workDir, concat(List.of(java, cds), runJar))
+                : Variant.skip("cds", hasJar ? noArchive : noJar));
+        variants.add(!hasJar ? Variant.skip("aot", noJar)
+                : noAot != null ? Variant.skip("aot", noAot)
+                : Variant.of("aot", workDir, concat(List.of(java, aotEnabled), runJar)));
+        variants.add(!hasArchive ? Variant.skip("aot-cds", hasJar ? noArchive : noJar)
+                : noAot != null ? Variant.skip("aot-cds", noAot)
+                : Variant.of("aot-cds", workDir, concat(List.of(java, cds, aotEnabled), runJar)));
+        variants.add(nativeImage == null || !Files.isExecutable(nativeImage)
+                ? Variant.skip("native", "네이티브 실행 파일이 없습니다 (./gradlew nativeCompile -Pnative): " + nativeImage)
+                : aotMismatch != null ? Variant.skip("native", aotMismatch)
+                : Variant.of("native", nativeImage.getParent(), List.of(nativeImage.toString())));
+        return variants;
+    }
+
+    private static List<Variant> select(String names, List<Variant> variants) {
+        if (names == null || names.isBlank()) {
+            return variants;
+        }
+        Set<String> selected = Arrays.stream(names.split(",")).map(String::strip).collect(Collectors.toSet());
+        List<Variant> chosen = variants.stream().filter(variant -> selected.contains(variant.name())).toList();
+        if (chosen.size() != selected.size()) {
+            throw new IllegalArgumentException("알 수 없는 변형이 있습니다: " + names + " (사용 가능: "
+                    + variants.stream().map(Variant::name).collect(Collectors.joining(",")) + ")");
+        }
+        return chosen;
+    }
+
+    /**
+     * 프로세스를 한 번 띄워 재고 종료
+     */
+    private static StartupReport.Run measure(Variant variant, String stack, StubOpenAiServer upstream, Path log,
+                                             Duration timeout) throws IOException, InterruptedException {
+        int port = freePort();
+        Path jobDirectory = Files.createTempDirectory("startup-jobs");
+        List<String> command = new ArrayList<>(variant.command());
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.ai.openai.api-key=stub-key",
+                "--spring.ai.openai.base-url=" + upstream.baseUrl(),
+                "--reading.store.enabled=false",
+                "--reading.job.directory=" + jobDirectory,
+                "--logging.level.root=WARN"
+        ));
+        if ("reactive".equals(stack)) {
+            command.add("--spring.profiles.active=reactive");
+        }
+
+        URI base = URI.create("http://127.0.0.1:" + port);
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(variant.workDir().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+                .start();
+        try {
+            awaitReady(process, base, start + timeout.toNanos(), log);
+            long ready = System.nanoTime();
+            generate(base);
+            long firstResponse = System.nanoTime();
+            double rssMb = rssMb(process.pid());
+            generate(base);
+            long secondResponse = System.nanoTime();
+            return new StartupReport.Run(
+                    (ready - start) / 1_000_000.0,
+                    (firstResponse - start) / 1_000_000.0,
+                    (firstResponse - ready) / 1_000_000.0,
+                    (secondResponse - firstResponse) / 1_000_000.0,
+                    rssMb);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void awaitReady(Process process, URI base, long deadlineNanos, Path log) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(READINESS_PATH))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        while (System.nanoTime() < deadlineNanos) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션이 준비 전에 종료되었습니다 (종료 코드 "
+                        + process.exitValue() + ", 출력: " + log + ")");
+            }
+            try {
+                if (CLIENT.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 아직 포트를 열지 않음
+            }
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+        throw new IllegalStateException("제한 시간 안에 준비되지 않았습니다 (출력: " + log + ")");
+    }
+
+    private static void generate(URI base) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(GENERATE_PATH))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(REQUEST_BODY))
+                .build();
+        HttpResponse<String> response = CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("생성 요청이 실패했습니다: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    /**
+     * 프로세스의 RSS (리눅스 /proc/{pid}/status의 VmRSS, 읽을 수 없으면 0)
+     */
+    private static double rssMb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024.0;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // 리눅스가 아님
+        }
+        return 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @SafeVarargs
+    private static List<String> concat(List<String>... parts) {
+        return Arrays.stream(parts).flatMap(List::stream).toList();
+    }
+
+    private static void write(Path file, List<StartupReport> reports) {
+        try {
+            Files.createDirectories(file.getParent());
+            new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(file.toFile(), reports);
+        } catch (IOException e) {
+            throw new IllegalStateException("시작 측정 결과를 저장하지 못했습니다: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package hello.spring_ai.startup;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 빌드 변형 하나의 시작 측정 결과 (실행마다 새 프로세스)
+ *
+ * @param variant              변형 이름 (jvm, jvm-lazy, cds, aot, aot-cds, native)
+ * @param stack                servlet 또는 reactive
+ * @param command              실행 명령 (애플리케이션 설정 인자 제외)
+ * @param runs                 성공한 실행 수
+ * @param readyP50Ms           프로세스 시작부터 준비 완료(/actuator/health/readiness가 200)까지 걸린 시간 중앙값
+ * @param readyMaxMs           준비 완료까지 걸린 시간 최대값
+ * @param firstResponseP50Ms   프로세스 시작부터 첫 생성 요청의 응답을 받기까지 걸린 시간 중앙값
+ * @param firstResponseMaxMs   첫 응답까지 걸린 시간 최대값
+ * @param firstRequestP50Ms    준비 완료 뒤 보낸 첫 생성 요청 자체의 응답 시간 중앙값
+ * @param secondRequestP50Ms   이어서 보낸 두 번째 생성 요청의 응답 시간 중앙값 (첫 요청과의 차이가 첫 요청에 남은 초기화 비용)
+ * @param rssP50Mb             첫 응답 직후 프로세스 RSS 중앙값 (/proc를 읽을 수 없으면 0)
+ * @param rssMaxMb             RSS 최대값
+ */
+public record StartupReport(
+        String variant,
+        String stack,
+        List<String> command,
+        int runs,
+        double readyP50Ms,
+        double readyMaxMs,
+        double firstResponseP50Ms,
+        double firstResponseMaxMs,
+        double firstRequestP50Ms,
+        double secondRequestP50Ms,
+        double rssP50Mb,
+        double rssMaxMb
+) {
+
+    /**
+     * 실행별 측정 값
+     *
+     * @param readyMs         준비 완료까지 걸린 시간
+     * @param firstResponseMs 첫 응답까지 걸린 시간
+     * @param firstRequestMs  첫 생성 요청의 응답 시간
+     * @param secondRequestMs 두 번째 생성 요청의 응답 시간
+     * @param rssMb           첫 응답 직후 RSS
+     */
+    record Run(double readyMs, double firstResponseMs, double firstRequestMs, double secondRequestMs, double rssMb) {
+    }
+
+    static StartupReport of(String variant, String stack, List<String> command, List<Run> runs) {
+        return new StartupReport(variant, stack, command, runs.size(),
+                median(runs.stream().mapToDouble(Run::readyMs).toArray()),
+                max(runs.stream().mapToDouble(Run::readyMs).toArray()),
+                median(runs.stream().mapToDouble(Run::firstResponseMs).toArray()),
+                max(runs.stream().mapToDouble(Run::firstResponseMs).toArray()),
+                median(runs.stream().mapToDouble(Run::firstRequestMs).toArray()),
+                median(runs.stream().mapToDouble(Run::secondRequestMs).toArray()),
+                median(runs.stream().mapToDouble(Run::rssMb).toArray()),
+                max(runs.stream().mapToDouble(Run::rssMb).toArray()));
+    }
+
+    private static double median(double[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static double max(double[] values) {
+        return Arrays.stream(values).max().orElse(0);
+    }
+
+    /**
+     * 여러 결과를 Markdown 표로 정리
+     */
+    public static String markdown(List<StartupReport> reports) {
+        StringBuilder table = new StringBuilder()
+                .append("| variant | stack | runs | ready p50 ms | ready max ms | first response p50 ms | first response max ms ")
+                .append("| 1st request p50 ms | 2nd request p50 ms | RSS p50 MB | RSS max MB |\n")
+                .append("|---|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (StartupReport report : reports) {
+            table.append(String.format("| %s | %s | %d | %.0f | %.0f | %.0f | %.0f | %.0f | %.0f | %.0f | %.0f |%n",
+                    report.variant, report.stack, report.runs, report.readyP50Ms, report.readyMaxMs,
+                    report.firstResponseP50Ms, report.firstResponseMaxMs, report.firstRequestP50Ms,
+                    report.secondRequestP50Ms, report.rssP50Mb, report.rssMaxMb));
+        }
+        return table.toString();
+    }
+}
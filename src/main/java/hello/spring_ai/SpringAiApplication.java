@@ -1,11 +1,16 @@
 package hello.spring_ai;
 
+import hello.spring_ai.config.ReadingRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.context.annotation.PropertySource;
 
 @SpringBootApplication
-@PropertySource("classpath:api-keys.properties")
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(ReadingRuntimeHints.class)
+@PropertySource(value = "classpath:api-keys.properties", ignoreResourceNotFound = true)
 public class SpringAiApplication {
 
 	public static void main(String[] args) {
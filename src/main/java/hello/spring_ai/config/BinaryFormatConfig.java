@@ -0,0 +1,83 @@
+package hello.spring_ai.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * JSON 대신 쓸 수 있는 이진 응답 형식 (CBOR, Smile)
+ * Accept: application/cbor 또는 application/x-jackson-smile로 요청하면 같은 응답을 이진 형식으로 보낸다 (요청 본문도 같은 형식 가능).
+ * 두 형식 모두 Jackson 생성기가 출력 스트림에 바로 쓰므로 JSON 문자열 같은 중간 문자열을 만들지 않는다.
+ * Spring Boot의 Jackson 설정(spring.jackson.*)이 JSON과 똑같이 적용되도록 자동 구성된 Jackson2ObjectMapperBuilder로 만든다.
+ * JSON 변환기 뒤에 등록되므로 Accept가 없거나 모든 형식을 허용하면 지금처럼 JSON으로 응답한다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BinaryFormatConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * builder의 설정으로 만든 CBOR 매퍼 (builder는 다시 써도 된다)
+     */
+    static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory()).build();
+    }
+
+    /**
+     * builder의 설정으로 만든 Smile 매퍼
+     */
+    static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new SmileFactory()).build();
+    }
+
+    /**
+     * servlet 모드: 같은 종류의 기본 변환기 자리를 Spring Boot가 이 빈으로 바꾼다
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Servlet {
+
+        @Bean
+        MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+            return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+        }
+
+        @Bean
+        MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+            return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+        }
+    }
+
+    /**
+     * reactive 모드: CBOR는 기본 코덱에 없으므로 추가하고, Smile은 기본 코덱을 같은 설정의 매퍼로 바꾼다
+     * (CBOR 인코더는 Flux 스트림을 지원하지 않으므로 Mono 응답에만 쓰인다)
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive {
+
+        @Bean
+        CodecCustomizer binaryFormatCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+            ObjectMapper cbor = cborMapper(builder);
+            ObjectMapper smile = smileMapper(builder);
+            return configurer -> {
+                configurer.customCodecs().register(new Jackson2CborEncoder(cbor));
+                configurer.customCodecs().register(new Jackson2CborDecoder(cbor));
+                configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile));
+                configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile));
+            };
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package hello.spring_ai.config;
+
+import org.springframework.ai.chat.client.ChatClient;
+
+/**
+ * 등록된 모델의 ChatClient를 만드는 팩토리
+ * ModelRegistry가 모델을 처음 사용할 때 한 번 호출한다.
+ */
+@FunctionalInterface
+public interface ModelClientFactory {
+
+    ChatClient create(ModelDefinition definition);
+}
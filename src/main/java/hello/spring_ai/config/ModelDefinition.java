@@ -0,0 +1,40 @@
+package hello.spring_ai.config;
+
+import java.time.Duration;
+
+/**
+ * 설정으로 등록하는 모델 하나
+ *
+ * @param name        API에서 쓰는 모델 이름 (/api/reading/generate/{name})
+ * @param model       OpenAI에 보낼 모델 ID (없으면 name)
+ * @param temperature 샘플링 온도 (없으면 OpenAI 기본값)
+ * @param maxTokens   생성 토큰 상한 (토큰 예산으로 정한 한도가 더 작으면 그 값을 사용)
+ * @param timeout     HTTP 응답 대기 제한 시간 (없으면 공용 OpenAI 클라이언트 사용)
+ */
+public record ModelDefinition(
+        String name,
+        String model,
+        Double temperature,
+        Integer maxTokens,
+        Duration timeout
+) {
+
+    public ModelDefinition {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("모델 이름은 필수입니다");
+        }
+        if (model == null || model.isBlank()) {
+            model = name;
+        }
+        if (maxTokens != null && maxTokens <= 0) {
+            throw new IllegalArgumentException("maxTokens는 양수여야 합니다: " + name);
+        }
+    }
+
+    /**
+     * 이름만 있는 모델 (나머지는 기본값)
+     */
+    public static ModelDefinition named(String name) {
+        return new ModelDefinition(name, null, null, null, null);
+    }
+}
@@ -0,0 +1,210 @@
+package hello.spring_ai.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 설정으로 등록한 모델 목록
+ * 모델 추가는 reading.models.definitions에 항목을 추가하는 것으로 끝나며, ChatClient는 모델을 처음 사용할 때 만든다.
+ *
+ * <p>등록 정보는 변경되지 않는 스냅숏(이름 → 모델 해시 맵, 이름 목록)으로 보관하고 volatile 참조 하나로 교체하므로
+ * 조회는 잠금 없이 O(1)이다. 목록 변경(reload)만 서로 순서대로 처리하며, 정의가 바뀌지 않은 모델은
+ * 이미 만든 ChatClient를 그대로 이어서 사용한다.
+ * configFile을 설정하면 reloadInterval마다 파일 변경을 확인해 재시작 없이 모델 목록을 다시 읽는다.
+ */
+@Component
+public class ModelRegistry implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelRegistry.class);
+
+    private static final String DEFINITIONS_KEY = "reading.models.definitions";
+
+    private final ModelClientFactory clientFactory;
+    private final Path configFile;
+    private final ScheduledExecutorService reloader;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private FileTime configFileModified;
+
+    @Autowired
+    public ModelRegistry(ModelRegistryProperties properties, ModelClientFactory clientFactory) {
+        this.clientFactory = clientFactory;
+        this.configFile = properties.configFile();
+
+        List<ModelDefinition> definitions = properties.definitions();
+        if (configFile != null && Files.isRegularFile(configFile)) {
+            definitions = readConfigFile().orElse(definitions);
+        }
+        reload(definitions);
+
+        if (configFile != null) {
+            this.reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "model-registry-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = properties.reloadInterval().toMillis();
+            reloader.scheduleWithFixedDelay(this::reloadIfChanged, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.reloader = null;
+        }
+    }
+
+    /**
+     * 설정 파일 없이 모델 목록으로 만드는 레지스트리
+     */
+    public ModelRegistry(List<ModelDefinition> definitions, ModelClientFactory clientFactory) {
+        this(new ModelRegistryProperties(definitions, null, null), clientFactory);
+    }
+
+    /**
+     * 이미 만든 ChatClient로 고정된 레지스트리 (테스트, 벤치마크용)
+     *
+     * @param names   등록 순서대로의 모델 이름
+     * @param clients 모델 이름별 ChatClient
+     */
+    public static ModelRegistry fixed(List<String> names, Function<String, ChatClient> clients) {
+        ModelRegistry registry = new ModelRegistry(List.of(), definition -> clients.apply(definition.name()));
+        Map<String, RegisteredModel> models = new LinkedHashMap<>();
+        for (String name : names) {
+            models.put(name, new RegisteredModel(ModelDefinition.named(name), clients.apply(name)));
+        }
+        registry.snapshot = Snapshot.of(models);
+        return registry;
+    }
+
+    /**
+     * 모델 조회
+     */
+    public Optional<RegisteredModel> find(String name) {
+        return Optional.ofNullable(snapshot.models().get(name));
+    }
+
+    /**
+     * 모델 조회
+     *
+     * @throws IllegalArgumentException 등록되지 않은 모델인 경우
+     */
+    public RegisteredModel require(String name) {
+        RegisteredModel model = snapshot.models().get(name);
+        if (model == null) {
+            throw new IllegalArgumentException("지원하지 않는 모델입니다: " + name);
+        }
+        return model;
+    }
+
+    /**
+     * 등록된 모델인지 여부
+     */
+    public boolean contains(String name) {
+        return snapshot.models().containsKey(name);
+    }
+
+    /**
+     * 등록된 모델 이름 (설정 순서)
+     */
+    public List<String> names() {
+        return snapshot.names();
+    }
+
+    /**
+     * 모델 목록 교체
+     * 정의가 같은 모델은 기존 ChatClient를 그대로 쓰고, 빠진 모델은 다음 조회부터 찾을 수 없다.
+     *
+     * @throws IllegalArgumentException 이름이 중복된 경우
+     */
+    public synchronized void reload(List<ModelDefinition> definitions) {
+        Map<String, RegisteredModel> current = snapshot.models();
+        Map<String, RegisteredModel> models = new LinkedHashMap<>();
+        for (ModelDefinition definition : definitions) {
+            RegisteredModel existing = current.get(definition.name());
+            RegisteredModel model = existing != null && existing.definition().equals(definition)
+                    ? existing
+                    : new RegisteredModel(definition, clientFactory);
+            if (models.putIfAbsent(definition.name(), model) != null) {
+                throw new IllegalArgumentException("모델 이름이 중복되었습니다: " + definition.name());
+            }
+        }
+        Snapshot next = Snapshot.of(models);
+        if (!next.names().equals(snapshot.names())) {
+            log.info("모델 목록 갱신 - {}", next.names());
+        }
+        snapshot = next;
+    }
+
+    private synchronized void reloadIfChanged() {
+        try {
+            if (!Files.isRegularFile(configFile)) {
+                return;
+            }
+            FileTime modified = Files.getLastModifiedTime(configFile);
+            if (modified.equals(configFileModified)) {
+                return;
+            }
+            readConfigFile().ifPresent(this::reload);
+        } catch (IOException | RuntimeException e) {
+            log.warn("모델 목록 파일을 다시 읽지 못했습니다 - 기존 목록 유지: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 설정 파일의 모델 목록 읽기
+     *
+     * @return 파일에 정의된 모델 목록 (목록 키가 없으면 빈 값)
+     */
+    private Optional<List<ModelDefinition>> readConfigFile() {
+        Properties properties = new Properties();
+        try {
+            configFileModified = Files.getLastModifiedTime(configFile);
+            try (Reader reader = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        } catch (IOException e) {
+            log.warn("모델 목록 파일을 읽지 못했습니다: {}", configFile, e);
+            return Optional.empty();
+        }
+        Binder binder = new Binder(new MapConfigurationPropertySource(properties));
+        return binder.bind(DEFINITIONS_KEY, Bindable.listOf(ModelDefinition.class)).map(List::copyOf).toOptional();
+    }
+
+    @Override
+    public void destroy() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * 조회에 쓰는 변경되지 않는 등록 정보
+     */
+    private record Snapshot(Map<String, RegisteredModel> models, List<String> names) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), List.of());
+
+        static Snapshot of(Map<String, RegisteredModel> ordered) {
+            return new Snapshot(Map.copyOf(ordered), List.copyOf(ordered.keySet()));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package hello.spring_ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 모델 목록 설정
+ * 예: reading.models.definitions[0].name=gpt-4, reading.models.definitions[0].temperature=0.7
+ *
+ * @param definitions    등록할 모델 (목록 순서가 비교, 모델 목록 API의 순서)
+ * @param configFile     모델 목록을 다시 읽을 properties 파일 (같은 reading.models.definitions 키 사용, 없으면 다시 읽지 않음)
+ * @param reloadInterval configFile 변경 확인 주기
+ */
+@ConfigurationProperties(prefix = "reading.models")
+public record ModelRegistryProperties(
+        List<ModelDefinition> definitions,
+        Path configFile,
+        @DefaultValue("10s") Duration reloadInterval
+) {
+
+    public ModelRegistryProperties {
+        definitions = definitions == null ? List.of() : List.copyOf(definitions);
+    }
+}
@@ -0,0 +1,91 @@
+package hello.spring_ai.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.autoconfigure.openai.OpenAiConnectionProperties;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 시작할 때 모델 ChatClient를 만들고 OpenAI 연결을 미리 열어 두는 구성 요소
+ * 첫 요청들이 ChatClient 생성(클래스 로딩 포함)과 TCP, TLS 연결 비용을 치르지 않게 한다. 실패해도 시작은 계속한다.
+ * 기본은 요청을 받기 시작한 뒤(readiness) 백그라운드에서 진행하므로 인스턴스를 늘릴 때 준비 완료가 늦어지지 않는다.
+ * warmupBeforeReadiness=true면 서버가 뜬 뒤 준비 완료를 알리기 전에 끝날 때까지(warmupTimeout) 기다린다.
+ */
+@Component
+public class OpenAiConnectionWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenAiConnectionWarmer.class);
+
+    private final OpenAiTransport transport;
+    private final ModelRegistry modelRegistry;
+    private final OpenAiConnectionProperties connection;
+    private final OpenAiTransportProperties properties;
+
+    public OpenAiConnectionWarmer(
+            OpenAiTransport transport,
+            ModelRegistry modelRegistry,
+            OpenAiConnectionProperties connection,
+            OpenAiTransportProperties properties
+    ) {
+        this.transport = transport;
+        this.modelRegistry = modelRegistry;
+        this.connection = connection;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        Mono<Integer> warmUp = createClients()
+                .then(openConnections())
+                .timeout(properties.warmupTimeout())
+                .doOnNext(warmed -> log.info("OpenAI 클라이언트, 연결 미리 준비 완료 - 모델: {}, 연결 응답: {}, 소요: {}ms",
+                        modelRegistry.names().size(), warmed, (System.nanoTime() - start) / 1_000_000));
+
+        if (!properties.warmupBeforeReadiness()) {
+            warmUp.subscribe(warmed -> {
+            }, e -> log.warn("OpenAI 연결을 미리 열지 못했습니다 - 첫 요청에서 연결: {}", e.getMessage()));
+            return;
+        }
+        try {
+            warmUp.block();
+        } catch (RuntimeException e) {
+            log.warn("OpenAI 연결을 미리 열지 못했습니다 - 첫 요청에서 연결: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 등록된 모델의 ChatClient 만들기 (생성은 CPU 작업이므로 boundedElastic 스케줄러에서)
+     */
+    private Mono<Void> createClients() {
+        return Mono.<Void>fromRunnable(() -> modelRegistry.names().forEach(name -> modelRegistry.find(name)
+                        .ifPresent(RegisteredModel::client)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 풀마다 연결 미리 열기 (공용 풀이면 모델 하나로 충분)
+     *
+     * @return 응답을 받은 요청 수
+     */
+    private Mono<Integer> openConnections() {
+        if (!transport.enabled() || properties.warmupConnections() == 0) {
+            return Mono.just(0);
+        }
+        Map<String, String> modelByPool = new LinkedHashMap<>();
+        for (String model : modelRegistry.names()) {
+            modelByPool.putIfAbsent(transport.poolName(model), model);
+        }
+        return Flux.fromIterable(modelByPool.values())
+                .flatMap(model -> transport.warmUp(model, connection.getBaseUrl(), connection.getApiKey()))
+                .reduce(0, Integer::sum);
+    }
+}
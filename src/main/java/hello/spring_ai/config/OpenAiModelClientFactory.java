@@ -0,0 +1,122 @@
+package hello.spring_ai.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.autoconfigure.openai.OpenAiConnectionProperties;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.ai.retry.RetryUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * OpenAI 모델용 ChatClient 팩토리
+ * 연결 풀(OpenAiTransport)을 쓰면 모든 모델의 OpenAI API가 풀의 HTTP 클라이언트로 호출하고,
+ * 모델의 제한 시간은 응답 대기 제한 시간으로 적용한다.
+ * 풀을 끄면 제한 시간이 없는 모델은 자동 구성된 공용 OpenAI 클라이언트를 함께 쓰고,
+ * 제한 시간이 있는 모델은 그 시간을 적용한 전용 HTTP 클라이언트로 OpenAI API를 만든다.
+ */
+@Component
+public class OpenAiModelClientFactory implements ModelClientFactory {
+
+    private final ObjectProvider<ChatClient.Builder> chatClientBuilders;
+    private final ObjectProvider<RestClient.Builder> restClientBuilders;
+    private final ObjectProvider<WebClient.Builder> webClientBuilders;
+    private final ObjectProvider<RetryTemplate> retryTemplates;
+    private final ObjectProvider<ResponseErrorHandler> responseErrorHandlers;
+    private final ObjectProvider<ObservationRegistry> observationRegistries;
+    private final OpenAiConnectionProperties connection;
+    private final OpenAiTransport transport;
+
+    public OpenAiModelClientFactory(
+            ObjectProvider<ChatClient.Builder> chatClientBuilders,
+            ObjectProvider<RestClient.Builder> restClientBuilders,
+            ObjectProvider<WebClient.Builder> webClientBuilders,
+            ObjectProvider<RetryTemplate> retryTemplates,
+            ObjectProvider<ResponseErrorHandler> responseErrorHandlers,
+            ObjectProvider<ObservationRegistry> observationRegistries,
+            OpenAiConnectionProperties connection,
+            OpenAiTransport transport
+    ) {
+        this.chatClientBuilders = chatClientBuilders;
+        this.restClientBuilders = restClientBuilders;
+        this.webClientBuilders = webClientBuilders;
+        this.retryTemplates = retryTemplates;
+        this.responseErrorHandlers = responseErrorHandlers;
+        this.observationRegistries = observationRegistries;
+        this.connection = connection;
+        this.transport = transport;
+    }
+
+    @Override
+    public ChatClient create(ModelDefinition definition) {
+        OpenAiChatOptions options = OpenAiChatOptions.builder()
+                .model(definition.model())
+                .temperature(definition.temperature())
+                .maxTokens(definition.maxTokens())
+                .build();
+
+        if (transport.enabled()) {
+            return pooled(definition, options);
+        }
+
+        if (definition.timeout() == null) {
+            return chatClientBuilders.getObject()
+                    .defaultOptions(options)
+                    .build();
+        }
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(definition.timeout())
+                .build());
+        requestFactory.setReadTimeout(definition.timeout());
+
+        OpenAiApi openAiApi = OpenAiApi.builder()
+                .baseUrl(connection.getBaseUrl())
+                .apiKey(connection.getApiKey())
+                .restClientBuilder(restClientBuilders.getObject().requestFactory(requestFactory))
+                .build();
+        return chatClient(openAiApi, options);
+    }
+
+    /**
+     * 연결 풀의 HTTP 클라이언트로 호출하는 ChatClient
+     */
+    private ChatClient pooled(ModelDefinition definition, OpenAiChatOptions options) {
+        String baseUrl = connection.getBaseUrl();
+        boolean https = OpenAiTransport.isHttps(baseUrl);
+        Duration readTimeout = definition.timeout();
+
+        OpenAiApi openAiApi = OpenAiApi.builder()
+                .baseUrl(baseUrl)
+                .apiKey(connection.getApiKey())
+                .restClientBuilder(restClientBuilders.getIfAvailable(RestClient::builder)
+                        .requestFactory(transport.requestFactory(definition.name(), readTimeout, https)))
+                .webClientBuilder(webClientBuilders.getIfAvailable(WebClient::builder)
+                        .clientConnector(transport.connector(definition.name(), readTimeout, https)))
+                .responseErrorHandler(responseErrorHandlers.getIfAvailable(() -> RetryUtils.DEFAULT_RESPONSE_ERROR_HANDLER))
+                .build();
+        return chatClient(openAiApi, options);
+    }
+
+    private ChatClient chatClient(OpenAiApi openAiApi, OpenAiChatOptions options) {
+        OpenAiChatModel chatModel = OpenAiChatModel.builder()
+                .openAiApi(openAiApi)
+                .defaultOptions(options)
+                .retryTemplate(retryTemplates.getIfAvailable(() -> RetryUtils.DEFAULT_RETRY_TEMPLATE))
+                .observationRegistry(observationRegistries.getIfUnique(() -> ObservationRegistry.NOOP))
+                .build();
+        return ChatClient.builder(chatModel)
+                .defaultOptions(options)
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package hello.spring_ai.config;
+
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * OpenAI 호출용 HTTP 연결 풀
+ * 일반 호출(RestClient)과 스트리밍 호출(WebClient)이 같은 Reactor Netty 연결 풀을 쓰므로,
+ * 요청마다 TCP, TLS 연결을 새로 맺지 않고 keep-alive 연결을 재사용한다.
+ * https 주소에서는 HTTP/2를 협상해 연결 하나로 여러 요청을 동시에 보낸다.
+ * 기본은 모든 모델이 풀 하나를 함께 쓰고, perModelPools=true면 모델마다 풀을 따로 만든다.
+ * 모델별 응답 대기 제한 시간은 같은 풀 위에 시간만 바꾼 클라이언트로 적용한다.
+ *
+ * <p>풀 사용량은 Reactor Netty 지표로 내보낸다 (pending이 0보다 크게 유지되면 풀이 가득 찬 상태).
+ * <ul>
+ *     <li>reactor.netty.connection.provider.{total,active,idle,pending}.connections</li>
+ *     <li>reactor.netty.connection.provider.pending.connections.time</li>
+ *     <li>reactor.netty.http.client.{connect,tls.handshake}.time</li>
+ * </ul>
+ */
+@Component
+public class OpenAiTransport implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenAiTransport.class);
+
+    private static final String SHARED_POOL = "openai";
+
+    private final OpenAiTransportProperties properties;
+    private final Map<String, ConnectionProvider> pools = new ConcurrentHashMap<>();
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+    public OpenAiTransport(OpenAiTransportProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 연결 풀 사용 여부
+     */
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * 모델의 HTTP 클라이언트
+     *
+     * @param model       모델 이름 (perModelPools=true일 때 풀 구분에 사용)
+     * @param readTimeout 응답 대기 제한 시간 (없으면 설정의 readTimeout)
+     * @param https       https 주소 여부 (HTTP/2 협상 가능 여부)
+     */
+    public HttpClient httpClient(String model, Duration readTimeout, boolean https) {
+        String pool = poolName(model);
+        HttpClient client = clients.computeIfAbsent(pool + "|" + https, key -> newClient(pool, https));
+        return client.responseTimeout(readTimeout != null ? readTimeout : properties.readTimeout());
+    }
+
+    /**
+     * RestClient에 넣을 요청 팩토리
+     */
+    public ClientHttpRequestFactory requestFactory(String model, Duration readTimeout, boolean https) {
+        return new ReactorClientHttpRequestFactory(httpClient(model, readTimeout, https));
+    }
+
+    /**
+     * WebClient에 넣을 커넥터
+     */
+    public ClientHttpConnector connector(String model, Duration readTimeout, boolean https) {
+        return new ReactorClientHttpConnector(httpClient(model, readTimeout, https));
+    }
+
+    /**
+     * 모델이 쓰는 연결 풀 이름
+     */
+    public String poolName(String model) {
+        return properties.perModelPools() ? SHARED_POOL + "-" + model : SHARED_POOL;
+    }
+
+    /**
+     * 풀에 연결을 미리 열어 둔다
+     * 토큰을 쓰지 않는 모델 목록 조회(GET /v1/models)를 warmupConnections개 동시에 보내며,
+     * 응답 상태와 상관없이 응답을 받은 요청 수를 반환한다 (실패는 로그만 남긴다).
+     *
+     * @param model   모델 이름
+     * @param baseUrl OpenAI 주소
+     * @param apiKey  API 키
+     * @return 응답을 받은 요청 수
+     */
+    public Mono<Integer> warmUp(String model, String baseUrl, String apiKey) {
+        int connections = properties.warmupConnections();
+        if (!properties.enabled() || connections == 0) {
+            return Mono.just(0);
+        }
+        HttpClient client = httpClient(model, properties.warmupTimeout(), isHttps(baseUrl))
+                .headers(headers -> headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey));
+        String uri = baseUrl.replaceAll("/+$", "") + "/v1/models";
+
+        return Flux.range(0, connections)
+                .flatMap(i -> client.get()
+                        .uri(uri)
+                        .responseSingle((response, body) -> body.then(Mono.just(1)))
+                        .onErrorResume(e -> {
+                            log.debug("연결 미리 열기 실패 - 풀: {}, 원인: {}", poolName(model), e.toString());
+                            return Mono.just(0);
+                        }), connections)
+                .reduce(0, Integer::sum);
+    }
+
+    /**
+     * https 주소 여부
+     */
+    public static boolean isHttps(String baseUrl) {
+        return baseUrl != null && baseUrl.regionMatches(true, 0, "https:", 0, 6);
+    }
+
+    private HttpClient newClient(String pool, boolean https) {
+        ConnectionProvider provider = pools.computeIfAbsent(pool, name -> ConnectionProvider.builder(name)
+                .maxConnections(properties.maxConnections())
+                .pendingAcquireMaxCount(properties.maxPendingAcquires())
+                .pendingAcquireTimeout(properties.pendingAcquireTimeout())
+                .maxIdleTime(properties.maxIdleTime())
+                .maxLifeTime(properties.maxLifeTime())
+                .evictInBackground(properties.maxIdleTime().dividedBy(2))
+                .metrics(true)
+                .build());
+
+        HttpClient client = HttpClient.create(provider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .metrics(true, Function.identity());
+        if (https && properties.http2()) {
+            client = client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+        log.info("OpenAI 연결 풀 생성 - 풀: {}, 최대 연결: {}, HTTP/2: {}", pool, properties.maxConnections(),
+                https && properties.http2());
+        return client;
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(ConnectionProvider::dispose);
+        pools.clear();
+        clients.clear();
+    }
+}
@@ -0,0 +1,60 @@
+package hello.spring_ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * OpenAI 호출용 HTTP 연결 설정
+ *
+ * @param enabled               연결 풀 사용 여부 (false면 Spring Boot가 자동 구성한 HTTP 클라이언트 사용)
+ * @param perModelPools         모델마다 연결 풀을 따로 둘지 여부 (느린 모델이 다른 모델의 연결을 모두 차지하지 않도록 분리)
+ * @param maxConnections        풀 하나의 최대 연결 수
+ * @param maxPendingAcquires    연결을 기다릴 수 있는 요청 수 (초과 시 즉시 실패)
+ * @param pendingAcquireTimeout 연결을 기다리는 최대 시간
+ * @param connectTimeout        TCP 연결 제한 시간
+ * @param readTimeout           응답 대기 제한 시간 (읽기 사이 간격, 모델 설정의 timeout이 있으면 그 값)
+ * @param maxIdleTime           쉬고 있는 연결을 닫기까지의 시간 (서버의 keep-alive 시간보다 짧게)
+ * @param maxLifeTime           연결 하나를 최대로 쓰는 시간 (DNS 변경을 반영하도록 주기적으로 새로 연결)
+ * @param http2                 https 주소에서 HTTP/2 사용 여부 (ALPN으로 협상하며, 서버가 지원하지 않으면 HTTP/1.1)
+ * @param warmupConnections     시작할 때 미리 열어 둘 풀당 연결 수 (0이면 하지 않음)
+ * @param warmupTimeout         시작 시 연결을 미리 여는 데 기다리는 최대 시간
+ * @param warmupBeforeReadiness 미리 열기가 끝날 때까지 readiness를 미룰지 여부
+ *                              (false면 요청을 받기 시작한 뒤 백그라운드에서 연다)
+ */
+@ConfigurationProperties(prefix = "reading.transport")
+public record OpenAiTransportProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("false") boolean perModelPools,
+        @DefaultValue("500") int maxConnections,
+        @DefaultValue("1000") int maxPendingAcquires,
+        @DefaultValue("10s") Duration pendingAcquireTimeout,
+        @DefaultValue("5s") Duration connectTimeout,
+        @DefaultValue("120s") Duration readTimeout,
+        @DefaultValue("55s") Duration maxIdleTime,
+        @DefaultValue("10m") Duration maxLifeTime,
+        @DefaultValue("true") boolean http2,
+        @DefaultValue("4") int warmupConnections,
+        @DefaultValue("5s") Duration warmupTimeout,
+        @DefaultValue("false") boolean warmupBeforeReadiness
+) {
+
+    public OpenAiTransportProperties {
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("maxConnections는 양수여야 합니다: " + maxConnections);
+        }
+        if (warmupConnections < 0) {
+            throw new IllegalArgumentException("warmupConnections는 0 이상이어야 합니다: " + warmupConnections);
+        }
+    }
+
+    /**
+     * 기본 설정 (테스트, 벤치마크용)
+     */
+    public static OpenAiTransportProperties defaults() {
+        return new OpenAiTransportProperties(true, false, 500, 1000, Duration.ofSeconds(10), Duration.ofSeconds(5),
+                Duration.ofSeconds(120), Duration.ofSeconds(55), Duration.ofMinutes(10), true, 4, Duration.ofSeconds(5),
+                false);
+    }
+}
@@ -0,0 +1,21 @@
+package hello.spring_ai.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * reactive 모드의 내장 서버 설정
+ * servlet 모드용 Tomcat도 클래스패스에 있으면 Spring Boot는 reactive 모드에서도 Tomcat을 고르므로,
+ * 이벤트 루프 기반인 Reactor Netty 서버를 직접 등록한다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,23 @@
+package hello.spring_ai.config;
+
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.job.GenerationJob;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * AOT 처리(네이티브 이미지)에서 Spring이 스스로 찾지 못하는 리소스와 Jackson 바인딩 대상
+ * 컨트롤러가 주고받는 타입은 Spring이 힌트를 만들지만, 저장소(GenerationStore)와 작업 저널(JobJournal)이
+ * 직접 ObjectMapper로 읽고 쓰는 타입과 클래스패스에서 읽는 어휘 목록은 여기서 알려 준다.
+ * JVM에서 실행할 때는 쓰이지 않는다.
+ */
+public class ReadingRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("readability/korean-vocabulary.tsv");
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                ModelComparisonResponse.class, GenerationJob.class);
+    }
+}
@@ -0,0 +1,73 @@
+package hello.spring_ai.config;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.openai.OpenAiChatOptions;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 레지스트리에 등록된 모델
+ * ChatClient는 처음 요청할 때 만든다. 여러 스레드가 동시에 처음 요청하면 각자 만들 수 있지만
+ * 먼저 등록된 하나만 계속 사용하고 나머지는 버린다 (잠금 없음).
+ */
+public final class RegisteredModel {
+
+    private final ModelDefinition definition;
+    private final ModelClientFactory clientFactory;
+    private final AtomicReference<ChatClient> client = new AtomicReference<>();
+
+    RegisteredModel(ModelDefinition definition, ModelClientFactory clientFactory) {
+        this.definition = definition;
+        this.clientFactory = clientFactory;
+    }
+
+    RegisteredModel(ModelDefinition definition, ChatClient client) {
+        this(definition, ignored -> client);
+        this.client.set(client);
+    }
+
+    public String name() {
+        return definition.name();
+    }
+
+    public ModelDefinition definition() {
+        return definition;
+    }
+
+    /**
+     * 모델의 ChatClient (처음 요청할 때 생성)
+     */
+    public ChatClient client() {
+        ChatClient existing = client.get();
+        if (existing != null) {
+            return existing;
+        }
+        ChatClient created = clientFactory.create(definition);
+        ChatClient winner = client.compareAndExchange(null, created);
+        return winner != null ? winner : created;
+    }
+
+    /**
+     * ChatClient를 이미 만들었는지 여부
+     */
+    public boolean initialized() {
+        return client.get() != null;
+    }
+
+    /**
+     * 요청별 호출 옵션
+     * 요청별 옵션은 클라이언트 기본 옵션을 대신하므로 모델 ID와 온도를 함께 지정한다.
+     *
+     * @param maxTokens 토큰 예산으로 정한 생성 토큰 한도 (null이면 모델 설정값만 사용)
+     */
+    public OpenAiChatOptions.Builder options(Integer maxTokens) {
+        Integer limit = maxTokens;
+        if (definition.maxTokens() != null) {
+            limit = maxTokens == null ? definition.maxTokens() : Math.min(maxTokens, definition.maxTokens());
+        }
+        return OpenAiChatOptions.builder()
+                .model(definition.model())
+                .temperature(definition.temperature())
+                .maxTokens(limit);
+    }
+}
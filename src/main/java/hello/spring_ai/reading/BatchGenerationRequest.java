@@ -0,0 +1,32 @@
+package hello.spring_ai.reading;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 여러 읽기 자료를 한 번에 생성하는 요청
+ * 개별 항목의 요청 내용은 생성 시점에 검증되며, 잘못된 항목은 해당 항목만 실패로 보고된다.
+ */
+public record BatchGenerationRequest(
+        @NotEmpty(message = "일괄 생성 항목은 최소 1개 이상이어야 합니다")
+        @Size(max = 1000, message = "일괄 생성 항목은 최대 1000개입니다")
+        List<@NotNull Item> items
+) {
+
+    /**
+     * @param model   사용할 모델 이름
+     * @param request 자료 생성 요청
+     */
+    public record Item(
+            @NotBlank(message = "모델은 필수입니다")
+            String model,
+
+            @NotNull(message = "생성 요청은 필수입니다")
+            ReadingMaterialRequest request
+    ) {
+    }
+}
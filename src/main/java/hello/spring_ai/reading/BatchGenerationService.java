@@ -0,0 +1,216 @@
+package hello.spring_ai.reading;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 읽기 자료를 한 번에 생성하는 서비스
+ * 항목을 모델별로 나누고 모델별 동시 호출 수 안에서 실행하며, 끝나는 순서대로 결과를 전달한다.
+ * 실패한 항목은 실패 결과로 전달하고 나머지 항목은 계속 처리한다.
+ * 생성은 ReadingMaterialService를 거치므로 캐시와 지표가 그대로 적용된다.
+ *
+ * <p>모델마다 대기열(ModelLane)을 두고, 동시 호출 수에 여유가 있을 때만 항목을 작업 스레드에 넘긴다.
+ * 작업 스레드는 허가를 기다리며 멈추지 않으므로, 동시 호출 수가 작은 모델의 항목이 몰려도
+ * 다른 모델의 항목과 다른 일괄 요청이 스레드를 얻지 못하는 일이 없다.
+ */
+@Service
+public class BatchGenerationService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchGenerationService.class);
+
+    private final ReadingMaterialService readingMaterialService;
+    private final Validator validator;
+    private final BatchProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ModelLane> lanes = new ConcurrentHashMap<>();
+
+    public BatchGenerationService(
+            ReadingMaterialService readingMaterialService,
+            Validator validator,
+            BatchProperties properties
+    ) {
+        this.readingMaterialService = readingMaterialService;
+        this.validator = validator;
+        this.properties = properties;
+        this.executor = new ThreadPoolExecutor(
+                properties.workerThreads(),
+                properties.workerThreads(),
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamedThreadFactory("reading-batch-")
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 일괄 생성 실행
+     *
+     * @param items 생성 항목 목록
+     * @param sink  항목이 끝날 때마다 호출되는 결과 처리 함수 (여러 스레드에서 호출될 수 있음)
+     * @return 모든 항목이 끝나면 완료되는 요약. sink가 예외를 던지면 남은 항목을 중단하고 예외로 완료된다.
+     */
+    public CompletableFuture<BatchSummary> generate(List<BatchGenerationRequest.Item> items,
+                                                    Consumer<BatchItemResult> sink) {
+        long startNanos = System.nanoTime();
+        log.info("일괄 생성 시작 - 항목: {}", items.size());
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            int index = i;
+            BatchGenerationRequest.Item item = items.get(i);
+            ModelComparisonResponse rejected = reject(item, startNanos);
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            tasks.add(done);
+
+            Runnable task = () -> {
+                if (cancelled.get()) {
+                    done.complete(null);
+                    return;
+                }
+                ModelComparisonResponse result = rejected != null ? rejected : generateItem(item);
+                (result.succeeded() ? succeeded : failed).incrementAndGet();
+                try {
+                    sink.accept(new BatchItemResult(index, result));
+                    done.complete(null);
+                } catch (RuntimeException e) {
+                    cancelled.set(true);
+                    done.completeExceptionally(e);
+                }
+            };
+
+            // 잘못된 항목은 모델을 부르지 않으므로 모델 대기열을 거치지 않는다
+            if (rejected != null) {
+                executor.execute(task);
+            } else {
+                lanes.computeIfAbsent(item.model(), model -> new ModelLane(properties.concurrencyFor(model)))
+                        .submit(task);
+            }
+        }
+
+        return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    double elapsedMs = (System.nanoTime() - startNanos) / 1_000_000.0;
+                    BatchSummary summary = new BatchSummary(items.size(), succeeded.get(), failed.get(), elapsedMs,
+                            elapsedMs > 0 ? items.size() * 1000.0 / elapsedMs : 0.0);
+                    log.info("일괄 생성 완료 - 성공: {}, 실패: {}, 시간: {}ms", summary.succeeded(), summary.failed(), elapsedMs);
+                    return summary;
+                });
+    }
+
+    /**
+     * 일괄 요청 응답 스트림의 제한 시간
+     */
+    public Duration timeout() {
+        return properties.timeout();
+    }
+
+    /**
+     * 모델을 부르기 전에 실패로 끝낼 항목의 결과 (검증 실패, 지원하지 않는 모델), 실행할 항목이면 null
+     */
+    private ModelComparisonResponse reject(BatchGenerationRequest.Item item, long startNanos) {
+        String model = item.model();
+        Set<ConstraintViolation<ReadingMaterialRequest>> violations = validator.validate(item.request());
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return ModelComparisonResponse.failed(model, "잘못된 요청: " + message, elapsedMs(startNanos));
+        }
+        if (!readingMaterialService.supportsModel(model)) {
+            return ModelComparisonResponse.failed(model, "지원하지 않는 모델입니다: " + model, elapsedMs(startNanos));
+        }
+        return null;
+    }
+
+    private ModelComparisonResponse generateItem(BatchGenerationRequest.Item item) {
+        long startNanos = System.nanoTime();
+        String model = item.model();
+        try {
+            return readingMaterialService.generateWithModel(model, item.request());
+        } catch (RuntimeException e) {
+            log.warn("일괄 생성 항목 실패 - 모델: {}, 원인: {}", model, e.getMessage());
+            return ModelComparisonResponse.failed(model, e.getMessage(), elapsedMs(startNanos));
+        }
+    }
+
+    private static double elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 모델 하나의 대기열 (모든 일괄 요청이 함께 씀)
+     * 실행 중인 항목이 동시 호출 수보다 적으면 바로 작업 스레드에 넘기고, 아니면 제출 순서대로 기다리게 했다가
+     * 실행 중인 항목이 끝날 때 다음 항목을 넘긴다.
+     */
+    private final class ModelLane {
+
+        private final int limit;
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+
+        private ModelLane(int limit) {
+            this.limit = Math.max(1, limit);
+        }
+
+        void submit(Runnable task) {
+            synchronized (this) {
+                if (running >= limit) {
+                    waiting.add(task);
+                    return;
+                }
+                running++;
+            }
+            start(task);
+        }
+
+        private void start(Runnable task) {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    Runnable next;
+                    synchronized (this) {
+                        next = waiting.poll();
+                        if (next == null) {
+                            running--;
+                        }
+                    }
+                    if (next != null) {
+                        start(next);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package hello.spring_ai.reading;
+
+/**
+ * 일괄 생성 항목 하나의 결과 (NDJSON 한 줄)
+ *
+ * @param index  요청 items 안에서의 순서
+ * @param result 생성 결과 (실패 시 error가 담긴 결과)
+ */
+public record BatchItemResult(
+        int index,
+        ModelComparisonResponse result
+) {
+}
@@ -0,0 +1,35 @@
+package hello.spring_ai.reading;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 일괄 생성 설정
+ *
+ * @param workerThreads       일괄 생성 작업에 쓰는 전체 스레드 수
+ * @param defaultConcurrency  모델별 동시 호출 수 기본값 (모든 일괄 요청이 함께 나눠 씀)
+ * @param modelConcurrency    모델별 동시 호출 수 (예: reading.batch.model-concurrency[gpt-4]=2)
+ * @param timeout             일괄 요청 하나의 응답 스트림 제한 시간
+ */
+@ConfigurationProperties(prefix = "reading.batch")
+public record BatchProperties(
+        @DefaultValue("32") int workerThreads,
+        @DefaultValue("4") int defaultConcurrency,
+        Map<String, Integer> modelConcurrency,
+        @DefaultValue("30m") Duration timeout
+) {
+
+    public BatchProperties {
+        modelConcurrency = modelConcurrency == null ? Map.of() : Map.copyOf(modelConcurrency);
+    }
+
+    /**
+     * 모델의 동시 호출 수
+     */
+    public int concurrencyFor(String model) {
+        return modelConcurrency.getOrDefault(model, defaultConcurrency);
+    }
+}
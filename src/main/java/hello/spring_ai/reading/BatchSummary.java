@@ -0,0 +1,19 @@
+package hello.spring_ai.reading;
+
+/**
+ * 일괄 생성 전체 결과 요약 (NDJSON 마지막 줄)
+ *
+ * @param total         전체 항목 수
+ * @param succeeded     성공한 항목 수
+ * @param failed        실패한 항목 수
+ * @param elapsedMs     전체 처리 시간
+ * @param itemsPerSecond 초당 처리 항목 수
+ */
+public record BatchSummary(
+        int total,
+        int succeeded,
+        int failed,
+        double elapsedMs,
+        double itemsPerSecond
+) {
+}
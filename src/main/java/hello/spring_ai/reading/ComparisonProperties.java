@@ -0,0 +1,28 @@
+package hello.spring_ai.reading;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 모든 모델 비교 요청의 동시 실행 설정
+ * 모델별 제한 시간은 모델 설정(reading.models.definitions[n].timeout)을 따르고, 없으면 defaultTimeout을 쓴다.
+ *
+ * @param maxConcurrency 동시에 실행할 수 있는 모델 호출 수
+ * @param queueCapacity  실행 대기열 크기 (초과 시 해당 모델은 실패 결과로 반환)
+ * @param defaultTimeout 모델 설정에 제한 시간이 없는 모델의 제한 시간
+ */
+@ConfigurationProperties(prefix = "reading.comparison")
+public record ComparisonProperties(
+        @DefaultValue("16") int maxConcurrency,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("60s") Duration defaultTimeout
+) {
+
+    public ComparisonProperties {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency는 양수여야 합니다: " + maxConcurrency);
+        }
+    }
+}
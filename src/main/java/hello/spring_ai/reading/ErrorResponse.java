@@ -0,0 +1,7 @@
+package hello.spring_ai.reading;
+
+/**
+ * 에러 응답 DTO
+ */
+public record ErrorResponse(String message) {
+}
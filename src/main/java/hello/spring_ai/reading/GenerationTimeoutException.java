@@ -0,0 +1,26 @@
+package hello.spring_ai.reading;
+
+import java.time.Duration;
+
+/**
+ * 읽기 자료 생성이 제한 시간 안에 끝나지 않았을 때 발생하는 예외
+ */
+public class GenerationTimeoutException extends RuntimeException {
+
+    private final String model;
+    private final Duration timeout;
+
+    public GenerationTimeoutException(String model, Duration timeout) {
+        super("모델 " + model + " 응답 시간 초과 (" + timeout.toMillis() + "ms)");
+        this.model = model;
+        this.timeout = timeout;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,11 @@
+package hello.spring_ai.reading;
+
+/**
+ * 헤지 요청 모드의 실행 대기열이 가득 차 요청을 받지 못한 경우
+ */
+public class HedgeQueueFullException extends RuntimeException {
+
+    public HedgeQueueFullException(int queued) {
+        super("헤지 요청 실행 대기열이 가득 찼습니다: " + queued);
+    }
+}
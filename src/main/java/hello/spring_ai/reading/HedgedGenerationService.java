@@ -0,0 +1,319 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.reading.routing.ModelStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 헤지 요청으로 단일 모델 생성의 꼬리 지연을 줄이는 서비스
+ * 요청한 모델이 최근 응답 시간의 p95(설정값) 안에 답하지 않거나 먼저 실패하면 대체 모델로 한 번 더 요청하고,
+ * 먼저 성공한 결과를 반환한 뒤 남은 호출은 취소한다.
+ * 최근 응답 시간은 헤지 여부와 상관없이 모든 모델 호출이 기록되는 모델 호출 통계에서 모델, 수준별로 읽는다.
+ * 결과의 modelName은 실제로 응답한 모델, requestedModel은 요청한 모델이다.
+ * <ul>
+ *     <li>reading.hedge.requests: 요청 결과 (outcome=primary, hedge, failed, timeout, rejected)</li>
+ *     <li>reading.hedge.launched: 헤지 요청을 보낸 횟수</li>
+ *     <li>reading.hedge.delay: 현재 헤지 대기 시간</li>
+ * </ul>
+ */
+@Service
+public class HedgedGenerationService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgedGenerationService.class);
+
+    private final ReadingMaterialService readingMaterialService;
+    private final ModelStatistics statistics;
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> delayGauges = ConcurrentHashMap.newKeySet();
+
+    public HedgedGenerationService(
+            ReadingMaterialService readingMaterialService,
+            ModelStatistics statistics,
+            HedgingProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.readingMaterialService = readingMaterialService;
+        this.statistics = statistics;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(
+                properties.workerThreads(),
+                properties.workerThreads(),
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(properties.queueCapacity()),
+                new NamedThreadFactory("reading-hedge-")
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 헤지 요청을 사용해 읽기 자료 생성
+     *
+     * @param modelName 요청한 모델 이름
+     * @param request   자료 생성 요청 정보
+     * @return 먼저 성공한 모델의 결과 (requestedModel에 요청한 모델 이름)
+     * @throws GenerationTimeoutException 전체 제한 시간 안에 어떤 호출도 성공하지 못한 경우
+     * @throws HedgeQueueFullException    실행 대기열이 가득 차 원래 호출을 시작하지 못한 경우
+     */
+    public ModelComparisonResponse generate(String modelName, ReadingMaterialRequest request) {
+        if (!readingMaterialService.supportsModel(modelName)) {
+            throw new IllegalArgumentException("지원하지 않는 모델입니다: " + modelName);
+        }
+        registerDelayGauge(modelName, request.level());
+
+        long deadlineNanos = System.nanoTime() + properties.deadline().toNanos();
+        Hedge hedge = new Hedge(modelName, properties.hedgeModelFor(modelName), request);
+        if (!hedge.launch(false)) {
+            outcome(modelName, "rejected").increment();
+            throw new HedgeQueueFullException(executor.getQueue().size());
+        }
+
+        // 헤지 대기 시간은 원래 호출이 실행 스레드를 얻은 때부터 잰다 (대기열에서 기다린 시간은 모델 응답 시간이 아님)
+        ModelComparisonResponse response = null;
+        Long primaryStartNanos = awaitStart(hedge, deadlineNanos - System.nanoTime());
+        if (primaryStartNanos != null) {
+            long hedgeAtNanos = primaryStartNanos + hedgeDelay(modelName, request.level()).toNanos();
+            long now = System.nanoTime();
+            response = await(hedge, Math.min(hedgeAtNanos - now, deadlineNanos - now));
+        }
+        if (response == null) {
+            if (hedge.launch(true)) {
+                log.info("모델 {} 응답 지연 - {}(으)로 헤지 요청", modelName, hedge.hedgeModel);
+            }
+            response = await(hedge, deadlineNanos - System.nanoTime());
+        }
+
+        if (response == null) {
+            hedge.cancelRunning(null);
+            outcome(modelName, "timeout").increment();
+            throw new GenerationTimeoutException(modelName, properties.deadline());
+        }
+        return response;
+    }
+
+    /**
+     * 모델, 수준의 현재 헤지 대기 시간
+     * 표본이 충분하면 최근 응답 시간의 분위 값을 minDelay ~ maxDelay 범위로 제한해서 사용한다.
+     */
+    public Duration hedgeDelay(String modelName, KoreanLevel level) {
+        OptionalLong observedNanos = statistics.latencyNanos(modelName, level,
+                properties.percentile(), properties.minSamples());
+        if (observedNanos.isEmpty()) {
+            return properties.initialDelay();
+        }
+        Duration observed = Duration.ofNanos(observedNanos.getAsLong());
+        if (observed.compareTo(properties.minDelay()) < 0) {
+            return properties.minDelay();
+        }
+        return observed.compareTo(properties.maxDelay()) > 0 ? properties.maxDelay() : observed;
+    }
+
+    /**
+     * 원래 호출이 실행을 시작할 때까지 대기
+     *
+     * @return 실행을 시작한 시각 (System.nanoTime 기준, 제한 시간 안에 시작하지 못했으면 null)
+     */
+    private Long awaitStart(Hedge hedge, long timeoutNanos) {
+        try {
+            return hedge.primaryStarted.get(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            hedge.cancelRunning(null);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("헤지 요청 대기 중 중단되었습니다", e);
+        }
+    }
+
+    private ModelComparisonResponse await(Hedge hedge, long timeoutNanos) {
+        try {
+            return hedge.winner.get(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (ExecutionException e) {
+            outcome(hedge.requestedModel, "failed").increment();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            hedge.cancelRunning(null);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("헤지 요청 대기 중 중단되었습니다", e);
+        }
+    }
+
+    private void registerDelayGauge(String modelName, KoreanLevel level) {
+        if (delayGauges.add(modelName + ":" + level)) {
+            TimeGauge.builder("reading.hedge.delay", this, TimeUnit.NANOSECONDS,
+                            service -> service.hedgeDelay(modelName, level).toNanos())
+                    .description("현재 헤지 대기 시간")
+                    .tag("model", modelName)
+                    .tag("level", level.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    private Counter outcome(String modelName, String outcome) {
+        return Counter.builder("reading.hedge.requests")
+                .description("헤지 요청 모드로 처리한 요청 수")
+                .tag("model", modelName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 요청 하나에 대한 원래 호출과 헤지 호출
+     * 상태 변경은 이 객체의 잠금 안에서만 일어난다.
+     */
+    private final class Hedge {
+
+        private final String requestedModel;
+        private final String hedgeModel;
+        private final ReadingMaterialRequest request;
+        private final CompletableFuture<ModelComparisonResponse> winner = new CompletableFuture<>();
+        private final CompletableFuture<Long> primaryStarted = new CompletableFuture<>();
+        private final List<Attempt> attempts = new ArrayList<>(2);
+        private boolean hedged;
+        private int pending;
+        private RuntimeException firstError;
+
+        private Hedge(String requestedModel, String hedgeModel, ReadingMaterialRequest request) {
+            this.requestedModel = requestedModel;
+            this.hedgeModel = hedgeModel;
+            this.request = request;
+        }
+
+        /**
+         * 호출 시작
+         *
+         * @param hedge 헤지 호출인지 여부
+         * @return 새로 시작했으면 true (이미 끝났거나, 헤지 호출을 보냈거나, 실행 대기열이 가득 찬 경우 false)
+         */
+        private synchronized boolean launch(boolean hedge) {
+            if (winner.isDone() || (hedge && hedged)) {
+                return false;
+            }
+
+            String model = hedge ? hedgeModel : requestedModel;
+            Future<?> task;
+            try {
+                task = executor.submit(() -> run(model, hedge));
+            } catch (RejectedExecutionException e) {
+                log.warn("헤지 요청 실행 대기열이 가득 차 모델 {} 호출을 시작하지 못했습니다", model);
+                return false;
+            }
+            hedged |= hedge;
+            pending++;
+            attempts.add(new Attempt(model, hedge, task));
+
+            if (hedge) {
+                Counter.builder("reading.hedge.launched")
+                        .description("헤지 요청을 보낸 횟수")
+                        .tag("model", requestedModel)
+                        .tag("hedge_model", model)
+                        .register(meterRegistry)
+                        .increment();
+            }
+            return true;
+        }
+
+        private void run(String model, boolean hedge) {
+            if (!hedge) {
+                primaryStarted.complete(System.nanoTime());
+            }
+            try {
+                // 같은 모델로 보내는 헤지 호출은 캐시에서 원래 호출을 기다리지 않도록 캐시를 거치지 않는다
+                ModelComparisonResponse response = hedge && model.equals(requestedModel)
+                        ? readingMaterialService.generateUncached(model, request)
+                        : readingMaterialService.generateWithModel(model, request);
+                succeeded(model, hedge, response);
+            } catch (RuntimeException e) {
+                failed(model, e);
+            }
+        }
+
+        private synchronized void succeeded(String model, boolean hedge, ModelComparisonResponse response) {
+            if (!winner.complete(response.withRequestedModel(requestedModel))) {
+                return;
+            }
+
+            outcome(requestedModel, hedge ? "hedge" : "primary").increment();
+            if (hedge) {
+                log.info("헤지 요청 {} 응답 사용 - 요청 모델: {}", model, requestedModel);
+            }
+            cancelRunning(hedge);
+        }
+
+        private synchronized void failed(String model, RuntimeException e) {
+            pending--;
+            if (winner.isDone()) {
+                return;
+            }
+            if (firstError == null) {
+                firstError = e;
+            }
+
+            // 원래 호출이 먼저 실패하면 헤지 대기 시간을 기다리지 않고 바로 헤지 요청
+            log.warn("모델 {} 호출 실패: {}", model, e.getMessage());
+            if (launch(true)) {
+                log.info("모델 {} 실패 - {}(으)로 헤지 요청", requestedModel, hedgeModel);
+                return;
+            }
+            if (pending == 0) {
+                winner.completeExceptionally(firstError);
+            }
+        }
+
+        /**
+         * 끝나지 않은 호출 취소
+         * 아직 대기열에 있는 호출은 실행되지 않고, 실행 중인 호출은 중단하지 않고 결과만 버린다.
+         * generateWithModel은 같은 요청을 기다리는 다른 호출과 캐시 로딩을 함께 쓰므로, 중단하면 그 요청들까지 실패한다.
+         * 끝까지 실행된 호출의 응답 시간은 모델 호출 통계에 그대로 기록된다.
+         *
+         * @param winnerHedge 성공한 호출이 헤지 호출인지 여부 (그 호출은 취소하지 않음, null이면 모두 취소)
+         */
+        private synchronized void cancelRunning(Boolean winnerHedge) {
+            for (Attempt attempt : attempts) {
+                if (winnerHedge != null && attempt.hedge() == winnerHedge) {
+                    continue;
+                }
+                if (!attempt.task().isDone() && attempt.task().cancel(false)) {
+                    log.debug("모델 {} 호출 취소", attempt.model());
+                }
+            }
+        }
+    }
+
+    private record Attempt(String model, boolean hedge, Future<?> task) {
+    }
+}
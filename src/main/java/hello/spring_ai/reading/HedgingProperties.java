@@ -0,0 +1,50 @@
+package hello.spring_ai.reading;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 단일 모델 생성의 헤지 요청 설정
+ * 요청한 모델이 최근 응답 시간의 percentile 안에 답하지 않으면 대체 모델(없으면 같은 모델)로 한 번 더 요청한다.
+ * 최근 응답 시간은 모델 호출 통계(reading.routing.window-size개 창)에서 모델, 수준별로 읽는다.
+ *
+ * @param workerThreads 모델 호출에 쓰는 스레드 수
+ * @param queueCapacity 실행을 기다리는 호출 수 한도 (가득 차면 원래 호출은 거절하고 헤지 호출은 보내지 않음)
+ * @param percentile    헤지 요청을 보낼 기준 응답 시간 분위 (0.95면 p95)
+ * @param minSamples    성공한 호출 표본이 이보다 적으면 initialDelay를 기준으로 사용
+ * @param initialDelay  표본이 부족할 때의 헤지 대기 시간
+ * @param minDelay      헤지 대기 시간 하한
+ * @param maxDelay      헤지 대기 시간 상한
+ * @param deadline      요청 하나의 전체 제한 시간 (넘기면 504)
+ * @param fallbacks     모델별 대체 모델 (예: reading.hedge.fallbacks[gpt-4]=gpt-4-turbo-preview)
+ */
+@ConfigurationProperties(prefix = "reading.hedge")
+public record HedgingProperties(
+        @DefaultValue("32") int workerThreads,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("0.95") double percentile,
+        @DefaultValue("20") int minSamples,
+        @DefaultValue("10s") Duration initialDelay,
+        @DefaultValue("200ms") Duration minDelay,
+        @DefaultValue("60s") Duration maxDelay,
+        @DefaultValue("120s") Duration deadline,
+        Map<String, String> fallbacks
+) {
+
+    public HedgingProperties {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile은 0보다 크고 1 이하여야 합니다: " + percentile);
+        }
+        fallbacks = fallbacks == null ? Map.of() : Map.copyOf(fallbacks);
+    }
+
+    /**
+     * 헤지 요청에 사용할 모델 (대체 모델이 없으면 같은 모델)
+     */
+    public String hedgeModelFor(String model) {
+        return fallbacks.getOrDefault(model, model);
+    }
+}
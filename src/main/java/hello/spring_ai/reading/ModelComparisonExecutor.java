@@ -0,0 +1,113 @@
+package hello.spring_ai.reading;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 여러 모델 호출을 동시에 실행하는 실행기
+ * 전체 비교 시간이 모델별 시간의 합이 아니라 가장 느린 모델의 시간이 되도록 한다.
+ * 제한 시간을 넘기거나 실패한 모델은 전체 요청을 실패시키지 않고 실패 결과로 반환한다.
+ * 제한 시간을 넘긴 호출은 시작 전이면 실행하지 않고, 이미 실행 중이면 끝나도록 두고 결과만 버린다.
+ * 제한 시간은 모델 설정의 timeout이며, 없으면 reading.comparison.default-timeout이다.
+ */
+@Component
+public class ModelComparisonExecutor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelComparisonExecutor.class);
+
+    private final ReadingMaterialService readingMaterialService;
+    private final ComparisonProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    public ModelComparisonExecutor(ReadingMaterialService readingMaterialService, ComparisonProperties properties) {
+        this.readingMaterialService = readingMaterialService;
+        this.properties = properties;
+        this.executor = new ThreadPoolExecutor(
+                properties.maxConcurrency(),
+                properties.maxConcurrency(),
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(properties.queueCapacity()),
+                new NamedThreadFactory("reading-compare-")
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 모든 모델로 동시에 읽기 자료 생성
+     *
+     * @param models  사용할 모델 목록
+     * @param request 자료 생성 요청
+     * @return 모델 순서대로 정렬된 생성 결과 (실패한 모델 포함)
+     */
+    public List<ModelComparisonResponse> compare(List<String> models, ReadingMaterialRequest request) {
+        List<CompletableFuture<ModelComparisonResponse>> futures = models.stream()
+                .map(model -> submit(model, request))
+                .toList();
+
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    private CompletableFuture<ModelComparisonResponse> submit(String model, ReadingMaterialRequest request) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<ModelComparisonResponse> result = new CompletableFuture<>();
+
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(readingMaterialService.generateWithModel(model, request));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("모델 {} 실행 대기열이 가득 찼습니다", model);
+            return CompletableFuture.completedFuture(
+                    ModelComparisonResponse.failed(model, "요청이 많아 처리하지 못했습니다", elapsedMs(startNanos)));
+        }
+
+        long timeoutMs = readingMaterialService.modelTimeout(model).orElse(properties.defaultTimeout()).toMillis();
+        return result
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    // 실행 중인 호출은 중단하지 않는다. 같은 키를 기다리는 다른 요청과 함께 쓰는 캐시 로딩이
+                    // 이 스레드에서 돌고 있으므로, 중단하면 그 요청들까지 실패한다. 결과만 버린다.
+                    task.cancel(false);
+                    return ModelComparisonResponse.failed(model, failureMessage(model, e, timeoutMs), elapsedMs(startNanos));
+                });
+    }
+
+    private String failureMessage(String model, Throwable e, long timeoutMs) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof TimeoutException) {
+            log.warn("모델 {} 응답 시간 초과 ({}ms)", model, timeoutMs);
+            return "응답 시간 초과 (" + timeoutMs + "ms)";
+        }
+        log.warn("모델 {} 비교 생성 실패: {}", model, cause.getMessage());
+        return cause.getMessage();
+    }
+
+    private static double elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -1,14 +1,94 @@
 package hello.spring_ai.reading;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import hello.spring_ai.reading.budget.TokenEstimate;
+import hello.spring_ai.reading.coverage.WordCoverage;
+import hello.spring_ai.reading.readability.Readability;
+
 /**
  * 모델별 읽기 자료 생성 결과
+ * 생성에 실패한 모델은 content와 토큰 정보 없이 error 메시지만 담는다.
+ * timeToFirstTokenMs는 스트리밍 생성에서만 측정된다.
+ * source가 UPSTREAM이 아니면 토큰 수와 생성 시간은 이번 요청이 아닌 최초 생성 당시의 값이다.
+ * requestedModel은 헤지 요청에서만 채워지며, 요청한 모델 대신 대체 모델이 응답하면 modelName과 달라진다.
+ * coverage는 본문에 목표 단어가 얼마나 포함되었는지와 보충 요청 횟수를 담는다.
+ * readability는 본문의 문장 길이, 어휘 수준과 요청한 학습자 수준에 맞는 정도(levelFit)를 담는다.
+ * tokenEstimate는 호출 전에 추정한 토큰 수와 생성 토큰 한도로, 실제 토큰 수와 비교해 추정 정확도를 볼 수 있다.
+ * cachedPromptTokens는 promptTokens 중 모델 제공자의 프롬프트 캐시에서 재사용된 토큰 수로, 제공자가 알려 준 경우에만 채워진다.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ModelComparisonResponse(
         String modelName,
+        String requestedModel,
         String content,
         Integer promptTokens,
+        Integer cachedPromptTokens,
         Integer completionTokens,
         Integer totalTokens,
-        double generationTimeMs
+        double generationTimeMs,
+        Double timeToFirstTokenMs,
+        ResponseSource source,
+        WordCoverage coverage,
+        Readability readability,
+        TokenEstimate tokenEstimate,
+        String error
 ) {
+
+    public ModelComparisonResponse(
+            String modelName,
+            String content,
+            Integer promptTokens,
+            Integer completionTokens,
+            Integer totalTokens,
+            double generationTimeMs
+    ) {
+        this(modelName, null, content, promptTokens, null, completionTokens, totalTokens, generationTimeMs, null,
+                ResponseSource.UPSTREAM, null, null, null, null);
+    }
+
+    /**
+     * 생성에 실패한 모델의 결과
+     *
+     * @param modelName        모델 이름
+     * @param error            실패 사유
+     * @param generationTimeMs 실패까지 걸린 시간
+     */
+    public static ModelComparisonResponse failed(String modelName, String error, double generationTimeMs) {
+        return new ModelComparisonResponse(modelName, null, null, null, null, null, null, generationTimeMs, null, null,
+                null, null, null, error);
+    }
+
+    /**
+     * 제공한 곳만 바꾼 결과
+     */
+    public ModelComparisonResponse withSource(ResponseSource source) {
+        return new ModelComparisonResponse(modelName, requestedModel, content, promptTokens, cachedPromptTokens,
+                completionTokens, totalTokens, generationTimeMs, timeToFirstTokenMs, source, coverage, readability,
+                tokenEstimate, error);
+    }
+
+    /**
+     * 요청한 모델 이름을 붙인 결과 (헤지 요청용)
+     */
+    public ModelComparisonResponse withRequestedModel(String requestedModel) {
+        return new ModelComparisonResponse(modelName, requestedModel, content, promptTokens, cachedPromptTokens,
+                completionTokens, totalTokens, generationTimeMs, timeToFirstTokenMs, source, coverage, readability,
+                tokenEstimate, error);
+    }
+
+    /**
+     * 목표 단어 포함 현황만 바꾼 결과 (다른 요청의 목표 단어로 다시 검사한 경우)
+     */
+    public ModelComparisonResponse withCoverage(WordCoverage coverage) {
+        return new ModelComparisonResponse(modelName, requestedModel, content, promptTokens, cachedPromptTokens,
+                completionTokens, totalTokens, generationTimeMs, timeToFirstTokenMs, source, coverage, readability,
+                tokenEstimate, error);
+    }
+
+    /**
+     * 정상적으로 생성된 결과인지 여부
+     */
+    public boolean succeeded() {
+        return error == null;
+    }
 }
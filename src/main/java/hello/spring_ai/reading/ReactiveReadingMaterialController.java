@@ -0,0 +1,263 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.reading.job.GenerationJob;
+import hello.spring_ai.reading.job.GenerationJobService;
+import hello.spring_ai.reading.routing.ModelRouter;
+import hello.spring_ai.reading.routing.RoutingDecision;
+import hello.spring_ai.reading.routing.RoutingObjective;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 한국어 읽기 자료 생성 API (reactive 모드)
+ * ReadingMaterialController와 같은 경로, 요청, 응답을 제공하지만 모델 응답을 기다리는 동안 이벤트 루프 스레드를 점유하지 않는다.
+ * 동시 요청 수가 스레드 수에 묶이지 않으므로, 응답이 느린 모델 호출이 많이 몰려도 스레드와 메모리가 요청 수만큼 늘지 않는다.
+ * spring.main.web-application-type=reactive(reactive 프로필)일 때만 등록된다.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/reading")
+public class ReactiveReadingMaterialController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadingMaterialController.class);
+
+    private final ReadingMaterialService readingMaterialService;
+    private final BatchGenerationService batchGenerationService;
+    private final HedgedGenerationService hedgedGenerationService;
+    private final ModelRouter modelRouter;
+    private final GenerationJobService jobService;
+    private final ComparisonProperties comparisonProperties;
+
+    public ReactiveReadingMaterialController(
+            ReadingMaterialService readingMaterialService,
+            BatchGenerationService batchGenerationService,
+            HedgedGenerationService hedgedGenerationService,
+            ModelRouter modelRouter,
+            GenerationJobService jobService,
+            ComparisonProperties comparisonProperties
+    ) {
+        this.readingMaterialService = readingMaterialService;
+        this.batchGenerationService = batchGenerationService;
+        this.hedgedGenerationService = hedgedGenerationService;
+        this.modelRouter = modelRouter;
+        this.jobService = jobService;
+        this.comparisonProperties = comparisonProperties;
+    }
+
+    /**
+     * 모든 모델로 읽기 자료를 동시에 생성하고 비교
+     * 제한 시간을 넘기거나 실패한 모델은 error가 담긴 결과로 반환된다.
+     *
+     * @param request 자료 생성 요청
+     * @return 모델 순서대로 정렬된 생성 결과 목록
+     */
+    @PostMapping("/generate")
+    public Mono<List<ModelComparisonResponse>> generateComparison(
+            @Valid @RequestBody ReadingMaterialRequest request
+    ) {
+        log.info("모든 모델 비교 요청 - 수준: {}, 주제: {}", request.level(), request.topic());
+
+        return Flux.fromIterable(readingMaterialService.models())
+                .flatMapSequential(model -> compareOne(model, request))
+                .collectList();
+    }
+
+    private Mono<ModelComparisonResponse> compareOne(String model, ReadingMaterialRequest request) {
+        long startNanos = System.nanoTime();
+        Duration timeout = readingMaterialService.modelTimeout(model).orElse(comparisonProperties.defaultTimeout());
+
+        return readingMaterialService.generateReactive(model, request)
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    String message;
+                    if (e instanceof TimeoutException) {
+                        log.warn("모델 {} 응답 시간 초과 ({}ms)", model, timeout.toMillis());
+                        message = "응답 시간 초과 (" + timeout.toMillis() + "ms)";
+                    } else {
+                        log.warn("모델 {} 비교 생성 실패: {}", model, e.getMessage());
+                        message = e.getMessage();
+                    }
+                    return Mono.just(ModelComparisonResponse.failed(model, message,
+                            (System.nanoTime() - startNanos) / 1_000_000.0));
+                });
+    }
+
+    /**
+     * 모든 모델로 읽기 자료를 스트리밍 생성
+     * 모델별 토큰 조각(token)이 도착하는 대로 전송하고, 모델마다 요약(summary 또는 error) 이벤트로 끝난다.
+     *
+     * @param request 자료 생성 요청
+     * @return 모델 이름이 붙은 SSE 이벤트 스트림
+     */
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ReadingStreamEvent>> generateComparisonStream(
+            @Valid @RequestBody ReadingMaterialRequest request
+    ) {
+        log.info("모든 모델 스트리밍 요청 - 수준: {}, 주제: {}", request.level(), request.topic());
+
+        return Flux.fromIterable(readingMaterialService.models())
+                .flatMap(model -> readingMaterialService.streamWithModel(model, request))
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.eventName())
+                        .build());
+    }
+
+    /**
+     * 특정 모델로만 읽기 자료 생성
+     * 요청 파라미터는 ReadingMaterialController.generateSingle과 같다.
+     * 헤지 요청은 호출을 취소하며 경쟁시키는 블로킹 실행기를 그대로 쓰므로 boundedElastic 스케줄러에서 실행한다.
+     *
+     * @param model     사용할 모델 이름 (auto이면 자동 선택)
+     * @param hedge     헤지 요청 사용 여부
+     * @param objective auto 모델의 선택 기준 (없으면 설정의 기본 기준)
+     * @param sloMs     cheapest 기준의 지연 목표 (밀리초, 없으면 설정의 기본 목표)
+     * @param request   자료 생성 요청
+     * @return 생성 결과
+     */
+    @PostMapping("/generate/{model}")
+    public Mono<ResponseEntity<ModelComparisonResponse>> generateSingle(
+            @PathVariable String model,
+            @RequestParam(defaultValue = "false") boolean hedge,
+            @RequestParam(required = false) String objective,
+            @RequestParam(required = false) Long sloMs,
+            @Valid @RequestBody ReadingMaterialRequest request
+    ) {
+        log.info("단일 모델 요청 - 모델: {}, 수준: {}, 주제: {}, 헤지: {}", model, request.level(), request.topic(), hedge);
+
+        String targetModel = model;
+        if (ModelRouter.AUTO.equals(model)) {
+            RoutingDecision decision = modelRouter.route(request,
+                    objective != null ? RoutingObjective.from(objective) : null,
+                    sloMs != null ? Duration.ofMillis(sloMs) : null);
+            targetModel = decision.model();
+        } else if (!readingMaterialService.supportsModel(model)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        String resolvedModel = targetModel;
+        Mono<ModelComparisonResponse> response = hedge
+                ? Mono.fromCallable(() -> hedgedGenerationService.generate(resolvedModel, request))
+                        .subscribeOn(Schedulers.boundedElastic())
+                : readingMaterialService.generateReactive(resolvedModel, request);
+        return response.map(result -> ResponseEntity.ok(
+                resolvedModel.equals(model) ? result : result.withRequestedModel(model)));
+    }
+
+    /**
+     * 특정 모델로 같은 요청의 대안 글 여러 개를 한 번의 호출로 생성
+     * 요청과 응답은 ReadingMaterialController.generateVariants와 같다.
+     * n 옵션 응답은 스트리밍으로 받아도 글별로 조각이 섞여 오므로 블로킹 호출을 boundedElastic 스케줄러에서 실행한다.
+     *
+     * @param model    사용할 모델 이름
+     * @param variants 받을 글 수 (1 ~ 5, 기본 3)
+     * @param request  자료 생성 요청
+     * @return 글별 본문과 토큰 사용량
+     */
+    @PostMapping("/generate/{model}/variants")
+    public Mono<ResponseEntity<VariantGenerationResponse>> generateVariants(
+            @PathVariable String model,
+            @RequestParam(defaultValue = "3") int variants,
+            @Valid @RequestBody ReadingMaterialRequest request
+    ) {
+        log.info("대안 글 요청 - 모델: {}, 글 수: {}, 수준: {}, 주제: {}", model, variants, request.level(), request.topic());
+
+        if (!readingMaterialService.supportsModel(model)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return Mono.fromCallable(() -> readingMaterialService.generateVariants(model, request, variants))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 여러 읽기 자료를 한 번에 생성
+     * 항목이 끝나는 순서대로 NDJSON 한 줄씩(BatchItemResult) 전송하고, 마지막 줄에 전체 요약(BatchSummary)을 보낸다.
+     * 실패한 항목은 error가 담긴 결과로 보고되며 나머지 항목은 계속 처리된다.
+     *
+     * @param request 일괄 생성 요청
+     * @return NDJSON 응답 스트림
+     */
+    @PostMapping(value = "/generate/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> generateBatch(
+            @Valid @RequestBody BatchGenerationRequest request
+    ) {
+        log.info("일괄 생성 요청 - 항목: {}", request.items().size());
+
+        return Flux.<Object>create(sink -> batchGenerationService.generate(request.items(), sink::next)
+                        .whenComplete((summary, e) -> {
+                            if (e != null) {
+                                sink.error(e);
+                                return;
+                            }
+                            sink.next(summary);
+                            sink.complete();
+                        }), FluxSink.OverflowStrategy.BUFFER)
+                .timeout(batchGenerationService.timeout());
+    }
+
+    /**
+     * 생성 작업 제출
+     * 요청과 응답은 ReadingMaterialController.submitJob과 같다.
+     * 제출은 저널 fsync를 기다리므로 boundedElastic 스케줄러에서 실행한다.
+     *
+     * @param idempotencyKey 멱등 키 (선택)
+     * @param model          생성할 모델 (없으면 모든 모델 비교)
+     * @param request        자료 생성 요청
+     * @return 작업 (Location: 작업 조회 경로)
+     */
+    @PostMapping("/jobs")
+    public Mono<ResponseEntity<GenerationJob>> submitJob(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestParam(required = false) String model,
+            @Valid @RequestBody ReadingMaterialRequest request
+    ) {
+        return Mono.fromCallable(() -> jobService.submit(idempotencyKey, model, request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(submission -> ResponseEntity.status(submission.created() ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                        .location(URI.create("/api/reading/jobs/" + submission.job().id()))
+                        .body(submission.job()));
+    }
+
+    /**
+     * 생성 작업 조회
+     * waitMs 동안 기다리는 중에도 스레드를 점유하지 않는다.
+     *
+     * @param jobId  작업 ID
+     * @param waitMs 작업이 끝나기를 기다릴 시간 (밀리초, 기본 0)
+     * @return 작업 (없으면 404 Not Found)
+     */
+    @GetMapping("/jobs/{jobId}")
+    public Mono<ResponseEntity<GenerationJob>> getJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") long waitMs
+    ) {
+        return Mono.fromFuture(() -> jobService.await(jobId, Duration.ofMillis(waitMs)))
+                .map(job -> job.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    /**
+     * 지원하는 모델 목록 조회
+     *
+     * @return 사용 가능한 모델 목록 (설정 순서)
+     */
+    @GetMapping("/models")
+    public Mono<List<String>> getSupportedModels() {
+        return Mono.just(readingMaterialService.models());
+    }
+}
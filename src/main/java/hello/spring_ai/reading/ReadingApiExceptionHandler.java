@@ -0,0 +1,97 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.reading.budget.TokenBudgetExceededException;
+import hello.spring_ai.reading.job.IdempotencyConflictException;
+import hello.spring_ai.reading.job.JobQueueFullException;
+import hello.spring_ai.reading.ratelimit.RateLimitExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.stream.Collectors;
+
+/**
+ * 읽기 자료 API 예외 처리
+ * servlet 모드의 ReadingMaterialController와 reactive 모드의 ReactiveReadingMaterialController가 함께 사용한다.
+ */
+@RestControllerAdvice(basePackageClasses = ReadingApiExceptionHandler.class)
+public class ReadingApiExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadingApiExceptionHandler.class);
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
+        log.error("잘못된 요청: {}", e.getMessage());
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler({MethodArgumentNotValidException.class, WebExchangeBindException.class})
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(Exception e) {
+        BindingResult result = (BindingResult) e;
+        String fields = result.getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        log.warn("요청 값 검증 실패: {}", fields);
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse("요청 값이 올바르지 않습니다 - " + fields));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException e) {
+        log.warn("요청 한도 초과: {}", e.getMessage());
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."));
+    }
+
+    @ExceptionHandler(TokenBudgetExceededException.class)
+    public ResponseEntity<ErrorResponse> handleTokenBudgetExceeded(TokenBudgetExceededException e) {
+        log.warn("토큰 예산 초과: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(new ErrorResponse("요청한 목표 길이가 토큰 예산을 넘습니다. 목표 길이를 줄여주세요."));
+    }
+
+    @ExceptionHandler(GenerationTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleGenerationTimeout(GenerationTimeoutException e) {
+        log.warn("생성 시간 초과: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(new ErrorResponse("응답 시간이 초과되었습니다. 잠시 후 다시 시도해주세요."));
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(IdempotencyConflictException e) {
+        log.warn("멱등 키 충돌: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse("같은 Idempotency-Key로 다른 요청이 이미 제출되었습니다."));
+    }
+
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleJobQueueFull(JobQueueFullException e) {
+        log.warn("작업 대기열 가득 참: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse("대기 중인 작업이 많아 접수하지 못했습니다. 잠시 후 다시 시도해주세요."));
+    }
+
+    @ExceptionHandler(HedgeQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleHedgeQueueFull(HedgeQueueFullException e) {
+        log.warn("헤지 요청 대기열 가득 참: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."));
+    }
+
+        @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleException(Exception e) {
+        log.error("서버 오류 발생", e);
+        return ResponseEntity.internalServerError()
+                .body(new ErrorResponse("서버 오류가 발생했습니다. 잠시 후 다시 시도해주세요."));
+    }
+}
@@ -1,36 +1,74 @@
 package hello.spring_ai.reading;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.spring_ai.reading.job.GenerationJob;
+import hello.spring_ai.reading.job.GenerationJobService;
+import hello.spring_ai.reading.routing.ModelRouter;
+import hello.spring_ai.reading.routing.RoutingDecision;
+import hello.spring_ai.reading.routing.RoutingObjective;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * 한국어 읽기 자료 생성 API
+ * 한국어 읽기 자료 생성 API (servlet 모드)
+ * 모델 호출을 기다리는 동안 요청 스레드를 점유한다. reactive 모드에서는 ReactiveReadingMaterialController가 대신 등록된다.
+ * 예외 응답은 ReadingApiExceptionHandler가 만든다.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/reading")
 public class ReadingMaterialController {
 
     private static final Logger log = LoggerFactory.getLogger(ReadingMaterialController.class);
 
     private final ReadingMaterialService readingMaterialService;
+    private final ModelComparisonExecutor comparisonExecutor;
+    private final BatchGenerationService batchGenerationService;
+    private final HedgedGenerationService hedgedGenerationService;
+    private final ModelRouter modelRouter;
+    private final GenerationJobService jobService;
+    private final ObjectMapper objectMapper;
 
-    private static final List<String> SUPPORTED_MODELS = List.of(
-            "gpt-3.5-turbo",
-            "gpt-4",
-            "gpt-4-turbo-preview"
-    );
+    private static final MediaType NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
 
-    public ReadingMaterialController(ReadingMaterialService readingMaterialService) {
+    public ReadingMaterialController(
+            ReadingMaterialService readingMaterialService,
+            ModelComparisonExecutor comparisonExecutor,
+            BatchGenerationService batchGenerationService,
+            HedgedGenerationService hedgedGenerationService,
+            ModelRouter modelRouter,
+            GenerationJobService jobService,
+            ObjectMapper objectMapper
+    ) {
         this.readingMaterialService = readingMaterialService;
+        this.comparisonExecutor = comparisonExecutor;
+        this.batchGenerationService = batchGenerationService;
+        this.hedgedGenerationService = hedgedGenerationService;
+        this.modelRouter = modelRouter;
+        this.jobService = jobService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * 모든 모델로 읽기 자료를 생성하고 비교
+     * 모든 모델로 읽기 자료를 동시에 생성하고 비교
+     * 제한 시간을 넘기거나 실패한 모델은 error가 담긴 결과로 반환된다.
      *
      * @param request 자료 생성 요청
      * @return 모델별 생성 결과 목록
@@ -41,65 +79,181 @@ public class ReadingMaterialController {
     ) {
         log.info("모든 모델 비교 요청 - 수준: {}, 주제: {}", request.level(), request.topic());
 
-        List<ModelComparisonResponse> responses = SUPPORTED_MODELS.stream()
-                .map(model -> readingMaterialService.generateWithModel(model, request))
-                .toList();
+        List<ModelComparisonResponse> responses = comparisonExecutor.compare(readingMaterialService.models(), request);
 
         return ResponseEntity.ok(responses);
     }
 
     /**
-     * 특정 모델로만 읽기 자료 생성
+     * 모든 모델로 읽기 자료를 스트리밍 생성
+     * 모델별 토큰 조각(token)이 도착하는 대로 전송하고, 모델마다 요약(summary 또는 error) 이벤트로 끝난다.
      *
-     * @param model   사용할 모델 이름
      * @param request 자료 생성 요청
+     * @return 모델 이름이 붙은 SSE 이벤트 스트림
+     */
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ReadingStreamEvent>> generateComparisonStream(
+            @Valid @RequestBody ReadingMaterialRequest request
+    ) {
+        log.info("모든 모델 스트리밍 요청 - 수준: {}, 주제: {}", request.level(), request.topic());
+
+        List<Flux<ReadingStreamEvent>> streams = readingMaterialService.models().stream()
+                .map(model -> readingMaterialService.streamWithModel(model, request))
+                .toList();
+
+        return Flux.merge(streams)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.eventName())
+                        .build());
+    }
+
+    /**
+     * 특정 모델로만 읽기 자료 생성
+     * hedge=true이면 모델이 최근 p95 응답 시간 안에 답하지 않을 때 대체 모델로 한 번 더 요청하고 먼저 온 결과를 반환한다.
+     * 이때 modelName은 실제로 응답한 모델, requestedModel은 요청한 모델이다.
+     * model이 auto이면 모델, 수준별 최근 통계로 objective(cheapest, fastest)에 맞는 모델을 골라 생성한다.
+     * cheapest는 최근 p95 응답 시간이 sloMs 안인 모델 중 가장 싼 모델을 고른다.
+     *
+     * @param model     사용할 모델 이름 (auto이면 자동 선택)
+     * @param hedge     헤지 요청 사용 여부
+     * @param objective auto 모델의 선택 기준 (없으면 설정의 기본 기준)
+     * @param sloMs     cheapest 기준의 지연 목표 (밀리초, 없으면 설정의 기본 목표)
+     * @param request   자료 생성 요청
      * @return 생성 결과
      */
     @PostMapping("/generate/{model}")
     public ResponseEntity<ModelComparisonResponse> generateSingle(
             @PathVariable String model,
+            @RequestParam(defaultValue = "false") boolean hedge,
+            @RequestParam(required = false) String objective,
+            @RequestParam(required = false) Long sloMs,
             @Valid @RequestBody ReadingMaterialRequest request
     ) {
-        log.info("단일 모델 요청 - 모델: {}, 수준: {}, 주제: {}", model, request.level(), request.topic());
+        log.info("단일 모델 요청 - 모델: {}, 수준: {}, 주제: {}, 헤지: {}", model, request.level(), request.topic(), hedge);
 
-        if (!SUPPORTED_MODELS.contains(model)) {
+        String targetModel = model;
+        if (ModelRouter.AUTO.equals(model)) {
+            RoutingDecision decision = modelRouter.route(request,
+                    objective != null ? RoutingObjective.from(objective) : null,
+                    sloMs != null ? Duration.ofMillis(sloMs) : null);
+            targetModel = decision.model();
+        } else if (!readingMaterialService.supportsModel(model)) {
             return ResponseEntity.badRequest().build();
         }
 
-        ModelComparisonResponse response = readingMaterialService.generateWithModel(model, request);
-        return ResponseEntity.ok(response);
+        ModelComparisonResponse response = hedge
+                ? hedgedGenerationService.generate(targetModel, request)
+                : readingMaterialService.generateWithModel(targetModel, request);
+        return ResponseEntity.ok(targetModel.equals(model) ? response : response.withRequestedModel(model));
     }
 
     /**
-     * 지원하는 모델 목록 조회
+     * 특정 모델로 같은 요청의 대안 글 여러 개를 한 번의 호출로 생성
+     * 프롬프트 토큰은 한 번만 청구되며, 결과는 캐시하지 않는다.
      *
-     * @return 사용 가능한 모델 목록
+     * @param model    사용할 모델 이름
+     * @param variants 받을 글 수 (1 ~ 5, 기본 3)
+     * @param request  자료 생성 요청
+     * @return 글별 본문과 토큰 사용량
      */
-    @GetMapping("/models")
-    public ResponseEntity<List<String>> getSupportedModels() {
-        return ResponseEntity.ok(SUPPORTED_MODELS);
+    @PostMapping("/generate/{model}/variants")
+    public ResponseEntity<VariantGenerationResponse> generateVariants(
+            @PathVariable String model,
+            @RequestParam(defaultValue = "3") int variants,
+            @Valid @RequestBody ReadingMaterialRequest request
+    ) {
+        log.info("대안 글 요청 - 모델: {}, 글 수: {}, 수준: {}, 주제: {}", model, variants, request.level(), request.topic());
+
+        if (!readingMaterialService.supportsModel(model)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(readingMaterialService.generateVariants(model, request, variants));
     }
 
     /**
-     * 예외 처리
+     * 여러 읽기 자료를 한 번에 생성
+     * 항목이 끝나는 순서대로 NDJSON 한 줄씩(BatchItemResult) 전송하고, 마지막 줄에 전체 요약(BatchSummary)을 보낸다.
+     * 실패한 항목은 error가 담긴 결과로 보고되며 나머지 항목은 계속 처리된다.
+     *
+     * @param request 일괄 생성 요청
+     * @return NDJSON 응답 스트림
+     */
+    @PostMapping(value = "/generate/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> generateBatch(
+            @Valid @RequestBody BatchGenerationRequest request
+    ) {
+        log.info("일괄 생성 요청 - 항목: {}", request.items().size());
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(batchGenerationService.timeout().toMillis());
+        batchGenerationService.generate(request.items(), result -> sendLine(emitter, result))
+                .whenComplete((summary, e) -> {
+                    if (e != null) {
+                        emitter.completeWithError(e);
+                        return;
+                    }
+                    sendLine(emitter, summary);
+                    emitter.complete();
+                });
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(emitter);
+    }
+
+    private void sendLine(ResponseBodyEmitter emitter, Object line) {
+        try {
+            emitter.send(objectMapper.writeValueAsString(line) + "\n", NDJSON);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 생성 작업 제출
+     * 작업을 기록한 뒤 바로 202 Accepted와 작업 ID를 반환하고, 생성은 뒤에서 실행된다.
+     * 같은 Idempotency-Key로 같은 요청을 다시 보내면 먼저 만든 작업을 200 OK로 반환한다 (다른 요청이면 409 Conflict).
+     *
+     * @param idempotencyKey 멱등 키 (선택)
+     * @param model          생성할 모델 (없으면 모든 모델 비교)
+     * @param request        자료 생성 요청
+     * @return 작업 (Location: 작업 조회 경로)
      */
-    @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
-        log.error("잘못된 요청: {}", e.getMessage());
-        return ResponseEntity.badRequest()
-                .body(new ErrorResponse(e.getMessage()));
+    @PostMapping("/jobs")
+    public ResponseEntity<GenerationJob> submitJob(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestParam(required = false) String model,
+            @Valid @RequestBody ReadingMaterialRequest request
+    ) {
+        GenerationJobService.Submission submission = jobService.submit(idempotencyKey, model, request);
+        return ResponseEntity.status(submission.created() ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .location(URI.create("/api/reading/jobs/" + submission.job().id()))
+                .body(submission.job());
     }
 
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleException(Exception e) {
-        log.error("서버 오류 발생", e);
-        return ResponseEntity.internalServerError()
-                .body(new ErrorResponse("서버 오류가 발생했습니다. 잠시 후 다시 시도해주세요."));
+    /**
+     * 생성 작업 조회
+     * waitMs를 주면 작업이 끝나거나 그 시간(설정의 최대 대기 시간까지)이 지날 때까지 기다렸다가 응답한다.
+     *
+     * @param jobId  작업 ID
+     * @param waitMs 작업이 끝나기를 기다릴 시간 (밀리초, 기본 0)
+     * @return 작업 (없으면 404 Not Found)
+     */
+    @GetMapping("/jobs/{jobId}")
+    public CompletableFuture<ResponseEntity<GenerationJob>> getJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") long waitMs
+    ) {
+        return jobService.await(jobId, Duration.ofMillis(waitMs))
+                .thenApply(job -> job.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     /**
-     * 에러 응답 DTO
+     * 지원하는 모델 목록 조회
+     *
+     * @return 사용 가능한 모델 목록 (설정 순서)
      */
-    public record ErrorResponse(String message) {
+    @GetMapping("/models")
+    public ResponseEntity<List<String>> getSupportedModels() {
+        return ResponseEntity.ok(readingMaterialService.models());
     }
 }
@@ -22,4 +22,11 @@ public record ReadingMaterialRequest(
         @Positive(message = "목표 길이는 양수여야 합니다")
         int targetLength
 ) {
+
+    /**
+     * 목표 길이만 바꾼 요청
+     */
+    public ReadingMaterialRequest withTargetLength(int targetLength) {
+        return new ReadingMaterialRequest(level, targetWords, topic, targetLength);
+    }
 }
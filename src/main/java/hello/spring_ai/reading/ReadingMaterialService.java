@@ -1,15 +1,47 @@
 package hello.spring_ai.reading;
 
+import hello.spring_ai.config.ModelRegistry;
+import hello.spring_ai.config.RegisteredModel;
+import hello.spring_ai.reading.budget.TokenBudget;
+import hello.spring_ai.reading.budget.TokenBudgetExceededException;
+import hello.spring_ai.reading.budget.TokenEstimate;
+import hello.spring_ai.reading.budget.TokenEstimator;
+import hello.spring_ai.reading.cache.GenerationStore;
+import hello.spring_ai.reading.cache.ReadingMaterialCache;
+import hello.spring_ai.reading.cache.ReadingMaterialCacheKey;
+import hello.spring_ai.reading.cache.SemanticCache;
+import hello.spring_ai.reading.coverage.CoverageProperties;
+import hello.spring_ai.reading.coverage.TargetWordMatcher;
+import hello.spring_ai.reading.coverage.WordCoverage;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.prompt.ReadingPrompts;
+import hello.spring_ai.reading.ratelimit.ModelRateLimiter;
+import hello.spring_ai.reading.ratelimit.RateLimitExceededException;
+import hello.spring_ai.reading.ratelimit.RateLimitSignals;
+import hello.spring_ai.reading.ratelimit.RateLimiterRegistry;
+import hello.spring_ai.reading.readability.Readability;
+import hello.spring_ai.reading.readability.ReadabilityAnalyzer;
+import hello.spring_ai.reading.routing.ModelStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.chat.model.ChatResponse;
-import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.openai.OpenAiChatOptions;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 한국어 읽기 자료 생성 서비스
@@ -20,144 +52,782 @@ public class ReadingMaterialService {
 
     private static final Logger log = LoggerFactory.getLogger(ReadingMaterialService.class);
 
-    private final Map<String, ChatClient> modelClients;
+    /**
+     * generateVariants로 한 번에 받을 수 있는 최대 글 수
+     */
+    public static final int MAX_VARIANTS = 5;
+
+    /**
+     * 생성된 글의 읽기 난이도 분석기 (함께 배포되는 어휘 목록 사용)
+     */
+    private static final ReadabilityAnalyzer READABILITY = ReadabilityAnalyzer.bundled();
+
+    private final ModelRegistry models;
+    private final ReadingMaterialCache cache;
+    private final GenerationStore store;
+    private final SemanticCache semanticCache;
+    private final ReadingMetrics metrics;
+    private final RateLimiterRegistry rateLimiters;
+    private final CoverageProperties coverageProperties;
+    private final TokenBudget tokenBudget;
+    private final ModelStatistics statistics;
 
+    @Autowired
     public ReadingMaterialService(
-            @Qualifier("gpt35Client") ChatClient gpt35Client,
-            @Qualifier("gpt4Client") ChatClient gpt4Client,
-            @Qualifier("gpt4TurboClient") ChatClient gpt4TurboClient
+            ModelRegistry models,
+            ReadingMaterialCache cache,
+            GenerationStore store,
+            SemanticCache semanticCache,
+            ReadingMetrics metrics,
+            RateLimiterRegistry rateLimiters,
+            CoverageProperties coverageProperties,
+            TokenBudget tokenBudget,
+            ModelStatistics statistics
     ) {
-        this.modelClients = Map.of(
-                "gpt-3.5-turbo", gpt35Client,
-                "gpt-4", gpt4Client,
-                "gpt-4-turbo-preview", gpt4TurboClient
-        );
+        this.models = models;
+        this.cache = cache;
+        this.store = store;
+        this.semanticCache = semanticCache;
+        this.metrics = metrics;
+        this.rateLimiters = rateLimiters;
+        this.coverageProperties = coverageProperties;
+        this.tokenBudget = tokenBudget;
+        this.statistics = statistics;
+    }
+
+    /**
+     * 캐시 없이 모델을 직접 호출하는 서비스 (테스트, 벤치마크용)
+     * 목표 단어 포함 여부와 토큰 수는 검사, 추정만 하고 보충 문장 요청이나 생성 토큰 한도는 적용하지 않는다.
+     */
+    public ReadingMaterialService(ChatClient gpt35Client, ChatClient gpt4Client, ChatClient gpt4TurboClient) {
+        this(ModelRegistry.fixed(List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview"), model -> switch (model) {
+                    case "gpt-3.5-turbo" -> gpt35Client;
+                    case "gpt-4" -> gpt4Client;
+                    default -> gpt4TurboClient;
+                }),
+                ReadingMaterialCache.disabled(), GenerationStore.disabled(), SemanticCache.disabled(),
+                ReadingMetrics.noop(), RateLimiterRegistry.disabled(), CoverageProperties.checkOnly(),
+                TokenBudget.unlimited(), ModelStatistics.standalone());
     }
 
     /**
      * 지정된 모델로 읽기 자료 생성
+     * 정규화된 요청이 같은 결과가 메모리 캐시나 디스크 저장소에 있으면 모델을 호출하지 않고 저장된 결과를 반환한다.
+     * 둘 다 없으면 유사 요청 캐시에서 주제와 목표 단어가 비슷한 결과를 찾는다.
+     * 새로 생성한 결과는 디스크 저장소와 유사 요청 캐시에도 기록한다.
+     * 본문에 빠진 목표 단어가 있으면 그 단어를 넣은 짧은 보충 문장을 요청해 덧붙인다.
+     * 목표 길이로 생성 토큰 한도를 정하며, 토큰 예산을 넘는 요청은 설정에 따라 거절하거나 목표 길이를 줄인다.
      *
-     * @param modelName 사용할 모델 이름 (gpt-3.5-turbo, gpt-4, gpt-4-turbo-preview)
+     * @param modelName 사용할 모델 이름 (reading.models.definitions에 등록된 이름)
      * @param request   자료 생성 요청 정보
      * @return 생성된 자료 및 토큰 사용량 정보
      */
     public ModelComparisonResponse generateWithModel(String modelName, ReadingMaterialRequest request) {
-        ChatClient client = modelClients.get(modelName);
-        if (client == null) {
-            throw new IllegalArgumentException("지원하지 않는 모델입니다: " + modelName);
+        RegisteredModel model = models.require(modelName);
+        ReadingMaterialCacheKey key = ReadingMaterialCacheKey.of(modelName, request);
+
+        return cache.get(key, () -> store.get(key)
+                .map(stored -> stored.withSource(ResponseSource.STORE))
+                .or(() -> semanticCache.find(key))
+                .orElseGet(() -> {
+                    ModelComparisonResponse generated = generateUpstream(model, request);
+                    store.put(key, generated);
+                    semanticCache.put(key, generated);
+                    return generated;
+                }));
+    }
+
+    /**
+     * 캐시를 거치지 않고 모델을 바로 호출
+     * 같은 요청을 생성 중인 호출이 있어도 기다리지 않고 한 번 더 호출한다 (같은 모델로 보내는 헤지 요청용).
+     * 생성한 결과는 디스크 저장소와 유사 요청 캐시에 기록한다.
+     *
+     * @param modelName 사용할 모델 이름
+     * @param request   자료 생성 요청 정보
+     * @return 생성된 자료 및 토큰 사용량 정보
+     */
+    public ModelComparisonResponse generateUncached(String modelName, ReadingMaterialRequest request) {
+        RegisteredModel model = models.require(modelName);
+        ModelComparisonResponse generated = generateUpstream(model, request);
+        ReadingMaterialCacheKey key = ReadingMaterialCacheKey.of(modelName, request);
+        store.put(key, generated);
+        semanticCache.put(key, generated);
+        return generated;
+    }
+
+    /**
+     * 같은 요청으로 대안 글 여러 개를 한 번의 모델 호출로 생성 (OpenAI n 옵션)
+     * 글마다 따로 호출하면 프롬프트 토큰을 글 수만큼 내지만, 한 번에 받으면 프롬프트 토큰은 한 번만 청구된다.
+     * 매번 새 글을 원하는 요청이므로 캐시와 저장소를 거치지 않으며, 목표 단어가 빠진 글에 보충 요청도 하지 않는다.
+     * 토큰 예산은 프롬프트 토큰과 글 수만큼의 생성 토큰 한도를 합해 검사한다.
+     * 속도 제한 토큰 버킷에도 글 하나가 아닌 글 수만큼의 생성 토큰 추정치(plan.estimate())를 예약한다.
+     *
+     * @param modelName 사용할 모델 이름
+     * @param request   자료 생성 요청 정보
+     * @param variants  받을 글 수 (1 ~ MAX_VARIANTS)
+     * @return 글별 본문, 목표 단어 포함 현황과 토큰 사용량
+     */
+    public VariantGenerationResponse generateVariants(String modelName, ReadingMaterialRequest request, int variants) {
+        if (variants < 1 || variants > MAX_VARIANTS) {
+            throw new IllegalArgumentException("variants는 1에서 " + MAX_VARIANTS + " 사이여야 합니다: " + variants);
         }
+        RegisteredModel model = models.require(modelName);
+        log.info("모델 {}로 읽기 자료 {}개 생성 시작 - 수준: {}, 주제: {}",
+                modelName, variants, request.level(), request.topic());
+
+        String systemPrompt = ReadingPrompts.systemPrompt(request.level());
+        TokenBudget.Plan plan = tokenBudget.plan(modelName, request, systemPrompt, variants);
+        TokenEstimate estimate = plan.estimate();
 
+        UpstreamCall call = callUpstream(model, request.level(), systemPrompt, plan.userPrompt(), estimate, variants);
+        metrics.recordTokenEstimate(modelName, "prompt", estimate.promptTokens(), call.promptTokens());
+        metrics.recordTokenEstimate(modelName, "completion", estimate.completionTokens(), call.completionTokens());
+
+        TargetWordMatcher matcher = TargetWordMatcher.compile(request.targetWords());
+        int[] completionShares = TokenEstimator.apportion(call.completionTokens(), call.contents(),
+                tokenBudget.encodingFor(modelName));
+        List<VariantGenerationResponse.Variant> generated = new ArrayList<>();
+        for (int i = 0; i < call.contents().size(); i++) {
+            String content = call.contents().get(i);
+            Readability readability = READABILITY.analyze(request.level(), content);
+            metrics.recordReadability(modelName, readability);
+            generated.add(new VariantGenerationResponse.Variant(i, content, completionShares[i],
+                    matcher.coverage(content), readability));
+        }
+        if (generated.size() < variants) {
+            log.warn("모델 {}가 요청한 {}개 중 {}개만 돌려주었습니다", modelName, variants, generated.size());
+        }
+
+        return new VariantGenerationResponse(modelName, generated, call.promptTokens(), call.cachedPromptTokens(),
+                call.completionTokens(), call.promptTokens() + call.completionTokens(),
+                call.durationNanos() / 1_000_000.0, estimate);
+    }
+
+    /**
+     * 호출 스레드를 막지 않는 generateWithModel (reactive 모드용)
+     * 캐시, 저장소, 유사 요청 캐시, 보충 요청, 토큰 예산, 속도 제한은 generateWithModel과 같게 적용한다.
+     * 모델 응답은 스트리밍 호출로 받아 모으므로 응답을 기다리는 동안 스레드를 점유하지 않는다.
+     * 디스크 저장소 읽기/쓰기, 유사 요청 캐시 검색과 속도 제한 대기만 boundedElastic 스케줄러에서 실행한다.
+     *
+     * @param modelName 사용할 모델 이름
+     * @param request   자료 생성 요청 정보
+     * @return 생성된 자료 및 토큰 사용량 정보
+     */
+    public Mono<ModelComparisonResponse> generateReactive(String modelName, ReadingMaterialRequest request) {
+        return Mono.defer(() -> {
+            RegisteredModel model = models.require(modelName);
+            ReadingMaterialCacheKey key = ReadingMaterialCacheKey.of(modelName, request);
+
+            return Mono.fromFuture(cache.getAsync(key, () -> Mono.fromCallable(() -> store.get(key)
+                            .map(stored -> stored.withSource(ResponseSource.STORE))
+                            .or(() -> semanticCache.find(key)))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(saved -> saved
+                            .map(Mono::just)
+                            .orElseGet(() -> generateUpstreamReactive(model, request)
+                                    .publishOn(Schedulers.boundedElastic())
+                                    .doOnNext(generated -> {
+                                        store.put(key, generated);
+                                        semanticCache.put(key, generated);
+                                    })))
+                    .toFuture()));
+        });
+    }
+
+    private ModelComparisonResponse generateUpstream(RegisteredModel model, ReadingMaterialRequest request) {
+        String modelName = model.name();
         log.info("모델 {}로 읽기 자료 생성 시작 - 수준: {}, 주제: {}", modelName, request.level(), request.topic());
 
         // 1. 수준별 시스템 프롬프트 구성
-        String systemPrompt = buildSystemPrompt(request.level());
+        String systemPrompt = ReadingPrompts.systemPrompt(request.level());
 
-        // 2. 사용자 프롬프트 구성
-        String userPrompt = buildUserPrompt(request);
+        // 2. 사용자 프롬프트 구성 및 토큰 예산 검사 (예산을 넘으면 거절하거나 목표 길이를 줄임)
+        TokenBudget.Plan plan = tokenBudget.plan(modelName, request, systemPrompt);
+        TokenEstimate estimate = plan.estimate();
 
-        // 3. ChatClient 호출 및 토큰 사용량 측정
-        long startTime = System.currentTimeMillis();
+        // 3. 모델 호출 및 토큰 사용량 측정
+        UpstreamCall call = callUpstream(model, request.level(), systemPrompt, plan.userPrompt(), estimate);
 
-        try {
-            ChatResponse response = client.prompt()
+        // 4. 목표 단어 포함 검사
+        //    빠진 단어가 있으면 글 전체를 다시 만들지 않고, 끝부분만 보내 이어 붙일 짧은 보충 문장을 요청
+        Draft draft = new Draft(modelName, request, systemPrompt, estimate, call);
+        for (Revision revision = draft.nextRevision(); revision != null; revision = draft.nextRevision()) {
+            draft.append(revision, callUpstream(model, request.level(), systemPrompt, revision.prompt(),
+                    revision.estimate()));
+        }
+        return draft.response();
+    }
+
+    private Mono<ModelComparisonResponse> generateUpstreamReactive(RegisteredModel model, ReadingMaterialRequest request) {
+        return Mono.defer(() -> {
+            String modelName = model.name();
+            log.info("모델 {}로 읽기 자료 생성 시작 - 수준: {}, 주제: {}", modelName, request.level(), request.topic());
+
+            String systemPrompt = ReadingPrompts.systemPrompt(request.level());
+            TokenBudget.Plan plan = tokenBudget.plan(modelName, request, systemPrompt);
+            TokenEstimate estimate = plan.estimate();
+
+            return callUpstreamReactive(model, request.level(), systemPrompt, plan.userPrompt(), estimate, 0)
+                    .flatMap(call -> revise(model, new Draft(modelName, request, systemPrompt, estimate, call)));
+        });
+    }
+
+    /**
+     * 빠진 목표 단어가 없어지거나 보충 횟수를 다 쓸 때까지 보충 문장을 요청
+     */
+    private Mono<ModelComparisonResponse> revise(RegisteredModel model, Draft draft) {
+        Revision revision = draft.nextRevision();
+        if (revision == null) {
+            return Mono.fromSupplier(draft::response);
+        }
+        return callUpstreamReactive(model, draft.level, draft.systemPrompt, revision.prompt(),
+                revision.estimate(), 0)
+                .flatMap(call -> {
+                    draft.append(revision, call);
+                    return revise(model, draft);
+                });
+    }
+
+    /**
+     * 속도 제한 허가를 받은 뒤 모델을 한 번 호출
+     * 속도 제한 토큰 버킷에는 이 호출의 예상 토큰 수를 예약한다.
+     * 429 응답이면 동시 호출 수를 줄이고 잠시 기다린 뒤 다시 시도한다.
+     *
+     * @param estimate 호출 전 추정한 토큰 수와 생성 토큰 한도 (한도가 null이면 한도 없음)
+     */
+    private UpstreamCall callUpstream(RegisteredModel model, KoreanLevel level,
+                                      String systemPrompt, String userPrompt, TokenEstimate estimate) {
+        return callUpstream(model, level, systemPrompt, userPrompt, estimate, 1);
+    }
+
+    /**
+     * 한 번의 호출로 글 choices개를 받는 callUpstream (OpenAI n 옵션)
+     * 프롬프트 토큰은 한 번만 청구되고, 생성 토큰은 글마다 청구되어 합계로 돌아온다.
+     *
+     * @param estimate 호출 전 추정한 토큰 수와 글 하나의 생성 토큰 한도 (한도가 null이면 한도 없음)
+     */
+    private UpstreamCall callUpstream(RegisteredModel model, KoreanLevel level,
+                                      String systemPrompt, String userPrompt, TokenEstimate estimate, int choices) {
+        String modelName = model.name();
+        Integer maxTokens = estimate.maxTokens();
+        for (int attempt = 0; ; attempt++) {
+            ModelRateLimiter.Permit permit = rateLimiters.acquire(modelName, reservedTokens(estimate));
+            // 시스템 시계 조정의 영향을 받지 않는 단조 시계 사용
+            long startNanos = System.nanoTime();
+
+            try {
+                OpenAiChatOptions.Builder options = model.options(maxTokens);
+                if (choices > 1) {
+                    options.N(choices);
+                }
+                ChatResponse response = model.client().prompt()
+                        .system(systemPrompt)
+                        .user(userPrompt)
+                        .options(options.build())
+                        .call()
+                        .chatResponse();
+
+                return completed(modelName, level, permit, maxTokens, System.nanoTime() - startNanos,
+                        response.getResults().stream()
+                                .map(generation -> Objects.requireNonNullElse(generation.getOutput().getText(), ""))
+                                .toList(),
+                        response.getMetadata().getUsage(),
+                        finishReasonOf(response));
+
+            } catch (Exception e) {
+                if (failed(modelName, level, permit, System.nanoTime() - startNanos, e, attempt)) {
+                    backoff(attempt);
+                    continue;
+                }
+                throw new RuntimeException("읽기 자료 생성 중 오류가 발생했습니다: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 호출 스레드를 막지 않는 callUpstream
+     * 스트리밍 호출로 받은 조각을 모아 한 번의 호출 결과로 만든다.
+     * 속도 제한 허가는 기다려야 할 수 있으므로 속도 제한을 켠 경우에만 boundedElastic 스케줄러에서 받는다.
+     */
+    private Mono<UpstreamCall> callUpstreamReactive(RegisteredModel model, KoreanLevel level,
+                                                    String systemPrompt, String userPrompt,
+                                                    TokenEstimate estimate, int attempt) {
+        String modelName = model.name();
+        Integer maxTokens = estimate.maxTokens();
+        return permit(modelName, estimate).flatMap(permit -> {
+            long startNanos = System.nanoTime();
+
+            return model.client().prompt()
                     .system(systemPrompt)
                     .user(userPrompt)
-                    .call()
-                    .chatResponse();
+                    .options(model.options(maxTokens)
+                            .streamUsage(true)
+                            .build())
+                    .stream()
+                    .chatResponse()
+                    .doOnCancel(permit::failed)
+                    .collect(StreamedCall::new, StreamedCall::add)
+                    .map(streamed -> completed(modelName, level, permit, maxTokens, System.nanoTime() - startNanos,
+                            List.of(streamed.content.toString()), streamed.usage, streamed.finishReason))
+                    .onErrorResume(e -> {
+                        if (failed(modelName, level, permit, System.nanoTime() - startNanos, e, attempt)) {
+                            return Mono.delay(rateLimiters.backoff(attempt))
+                                    .then(callUpstreamReactive(model, level, systemPrompt, userPrompt,
+                                            estimate, attempt + 1));
+                        }
+                        return Mono.error(new RuntimeException("읽기 자료 생성 중 오류가 발생했습니다: " + e.getMessage(), e));
+                    });
+        });
+    }
 
-            long generationTime = System.currentTimeMillis() - startTime;
+    /**
+     * 호출 스레드를 막지 않고 속도 제한 허가 받기
+     * 허가는 기다려야 할 수 있으므로 속도 제한을 켠 경우에만 boundedElastic 스케줄러에서 받는다.
+     * 허가를 받는 사이에 취소되어 버려진 허가는 바로 반납한다.
+     */
+    private Mono<ModelRateLimiter.Permit> permit(String modelName, TokenEstimate estimate) {
+        int reserved = reservedTokens(estimate);
+        Mono<ModelRateLimiter.Permit> permit = rateLimiters.enabled()
+                ? Mono.fromCallable(() -> rateLimiters.acquire(modelName, reserved)).subscribeOn(Schedulers.boundedElastic())
+                : Mono.fromSupplier(() -> rateLimiters.acquire(modelName, reserved));
+        return permit.doOnDiscard(ModelRateLimiter.Permit.class, ModelRateLimiter.Permit::failed);
+    }
 
-            // 4. 토큰 사용량 추출
-            var usage = response.getMetadata().getUsage();
-            String content = response.getResult().getOutput().getText();
+    /**
+     * 속도 제한 토큰 버킷에 예약할 토큰 수 (추정 프롬프트 토큰 + 추정 생성 토큰)
+     */
+    private static int reservedTokens(TokenEstimate estimate) {
+        return estimate.promptTokens() + estimate.completionTokens();
+    }
 
-            log.info("모델 {} 생성 완료 - 시간: {}ms, 토큰: {}", modelName, generationTime, usage.getTotalTokens());
+    /**
+     * 성공한 호출의 허가 반납과 지표 기록
+     */
+    private UpstreamCall completed(String modelName, KoreanLevel level, ModelRateLimiter.Permit permit,
+                                   Integer maxTokens, long durationNanos,
+                                   List<String> contents, Usage usage, String finishReason) {
+        if ("length".equalsIgnoreCase(finishReason)) {
+            log.warn("모델 {} 생성 토큰 한도({})에 도달해 글이 잘렸습니다", modelName, maxTokens);
+        }
 
-            // Spring AI 1.0.0-M6에서는 getGenerationTokens() 사용 (deprecated이지만 현재 사용 가능)
-            return new ModelComparisonResponse(
-                    modelName,
-                    content,
-                    usage.getPromptTokens().intValue(),
-                    usage.getGenerationTokens().intValue(),
-                    usage.getTotalTokens().intValue(),
-                    generationTime
-            );
+        // Spring AI 1.0.0-M6에서는 getGenerationTokens() 사용 (deprecated이지만 현재 사용 가능)
+        int promptTokens = usage != null && usage.getPromptTokens() != null ? usage.getPromptTokens().intValue() : 0;
+        int completionTokens = usage != null && usage.getGenerationTokens() != null
+                ? usage.getGenerationTokens().intValue() : 0;
+        Integer cachedPromptTokens = cachedPromptTokens(usage);
+        permit.success(durationNanos, promptTokens + completionTokens);
+        double cost = metrics.recordGeneration(modelName, level, durationNanos, promptTokens, completionTokens);
+        if (cachedPromptTokens != null) {
+            metrics.recordCachedPromptTokens(modelName, level, cachedPromptTokens);
+        }
+        statistics.recordSuccess(modelName, level, durationNanos, completionTokens,
+                contents.stream().mapToInt(String::length).sum());
+
+        log.info("모델 {} 생성 완료 - 시간: {}ms, 토큰: {}, 예상 비용: ${}",
+                modelName, durationNanos / 1_000_000.0, promptTokens + completionTokens, cost);
+
+        return new UpstreamCall(contents, promptTokens, cachedPromptTokens, completionTokens, durationNanos);
+    }
 
-        } catch (Exception e) {
-            log.error("모델 {}로 자료 생성 실패", modelName, e);
-            throw new RuntimeException("읽기 자료 생성 중 오류가 발생했습니다: " + e.getMessage(), e);
+    /**
+     * 실패한 호출의 허가 반납과 지표 기록
+     * 429 응답이면 동시 호출 수를 줄인다.
+     *
+     * @return 잠시 기다린 뒤 다시 시도해야 하면 true
+     */
+    private boolean failed(String modelName, KoreanLevel level, ModelRateLimiter.Permit permit,
+                           long failedNanos, Throwable e, int attempt) {
+        metrics.recordFailure(modelName, level, failedNanos);
+        statistics.recordFailure(modelName, level, failedNanos);
+
+        if (RateLimitSignals.isRateLimited(e)) {
+            rateLimiters.throttled(modelName, permit);
+            if (attempt < rateLimiters.maxRetries()) {
+                log.warn("모델 {} 요청 한도 초과(429) - {}번째 재시도", modelName, attempt + 1);
+                return true;
+            }
+        } else {
+            permit.failed();
+        }
+
+        log.error("모델 {}로 자료 생성 실패", modelName, e);
+        return false;
+    }
+
+    private static String tail(CharSequence content, int length) {
+        int start = Math.max(0, content.length() - length);
+        return content.subSequence(start, content.length()).toString();
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(rateLimiters.backoff(attempt).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재시도 대기 중 중단되었습니다", e);
         }
     }
 
     /**
-     * 사용자 수준에 맞는 시스템 프롬프트 생성
+     * 지정된 모델로 읽기 자료를 스트리밍 생성
+     * 토큰 조각이 도착할 때마다 TOKEN 이벤트를 내보내고, 마지막에 토큰 사용량과 시간이 담긴 SUMMARY 이벤트를 내보낸다.
+     * 목표 단어 포함 여부와 읽기 난이도는 조각이 도착할 때마다 이어서 검사해 SUMMARY에 담는다 (이미 보낸 글이므로 보충 요청은 하지 않음).
+     * 블로킹 호출과 같은 모델별 속도 제한 허가를 받은 뒤 호출하고, 끝나면 사용 토큰으로 정산한다.
+     * 429 응답이면 동시 호출 수를 줄이지만, 이미 보낸 조각이 있을 수 있으므로 다시 시도하지 않는다.
+     * 생성 중 오류가 나거나 허가를 받지 못하면 스트림을 실패시키지 않고 ERROR 이벤트로 끝낸다.
+     * 클라이언트가 연결을 끊어 스트림이 취소되면 허가를 실패로 반납한다.
+     *
+     * @param modelName 사용할 모델 이름
+     * @param request   자료 생성 요청 정보
+     * @return 모델 이름이 붙은 스트리밍 이벤트
+     */
+    public Flux<ReadingStreamEvent> streamWithModel(String modelName, ReadingMaterialRequest request) {
+        RegisteredModel model = models.require(modelName);
+        String systemPrompt = ReadingPrompts.systemPrompt(request.level());
+
+        return Flux.defer(() -> {
+            log.info("모델 {}로 스트리밍 생성 시작 - 수준: {}, 주제: {}", modelName, request.level(), request.topic());
+
+            long startNanos = System.nanoTime();
+            TokenBudget.Plan plan;
+            try {
+                plan = tokenBudget.plan(modelName, request, systemPrompt);
+            } catch (TokenBudgetExceededException e) {
+                log.warn("모델 {} 스트리밍 생성 거절: {}", modelName, e.getMessage());
+                return Flux.just(ReadingStreamEvent.error(ModelComparisonResponse.failed(
+                        modelName, e.getMessage(), elapsedMs(startNanos, System.nanoTime()))));
+            }
+            TokenEstimate estimate = plan.estimate();
+
+            return permit(modelName, estimate)
+                    .flatMapMany(permit -> streamTokens(model, request, systemPrompt, plan.userPrompt(), estimate, permit))
+                    .onErrorResume(RateLimitExceededException.class, e -> {
+                        log.warn("모델 {} 스트리밍 생성 거절: {}", modelName, e.getMessage());
+                        return Flux.just(ReadingStreamEvent.error(ModelComparisonResponse.failed(
+                                modelName, e.getMessage(), elapsedMs(startNanos, System.nanoTime()))));
+                    });
+        });
+    }
+
+    /**
+     * 허가를 받은 뒤의 스트리밍 호출 (허가는 요약, 오류, 취소 중 한 곳에서 반납한다)
+     */
+    private Flux<ReadingStreamEvent> streamTokens(RegisteredModel model, ReadingMaterialRequest request,
+                                                  String systemPrompt, String userPrompt,
+                                                  TokenEstimate estimate, ModelRateLimiter.Permit permit) {
+        String modelName = model.name();
+        return Flux.defer(() -> {
+            long startNanos = System.nanoTime();
+            AtomicLong firstTokenNanos = new AtomicLong();
+            AtomicReference<Usage> usage = new AtomicReference<>();
+            StringBuilder content = new StringBuilder();
+            TargetWordMatcher.Scan scan = TargetWordMatcher.compile(request.targetWords()).newScan();
+            ReadabilityAnalyzer.Scan readabilityScan = READABILITY.newScan(request.level());
+
+            Flux<ReadingStreamEvent> tokens = model.client().prompt()
+                    .system(systemPrompt)
+                    .user(userPrompt)
+                    .options(model.options(estimate.maxTokens())
+                            .streamUsage(true)
+                            .build())
+                    .stream()
+                    .chatResponse()
+                    .concatMap(chunk -> {
+                        Usage chunkUsage = usageOf(chunk);
+                        if (chunkUsage != null) {
+                            usage.set(chunkUsage);
+                        }
+
+                        String delta = deltaOf(chunk);
+                        if (delta.isEmpty()) {
+                            return Flux.empty();
+                        }
+                        firstTokenNanos.compareAndSet(0, System.nanoTime());
+                        content.append(delta);
+                        scan.feed(delta);
+                        readabilityScan.feed(delta);
+                        return Flux.just(ReadingStreamEvent.token(modelName, delta));
+                    });
+
+            Mono<ReadingStreamEvent> summary = Mono.fromSupplier(() -> {
+                long endNanos = System.nanoTime();
+                double generationTime = elapsedMs(startNanos, endNanos);
+                Double timeToFirstToken = firstTokenNanos.get() == 0 ? null : elapsedMs(startNanos, firstTokenNanos.get());
+                Usage finalUsage = usage.get();
+                // 사용량 조각이 없거나(stream_options.include_usage 미지원, 프록시가 제거) 일부 값이 비어 있으면 모름(null)으로 둔다
+                Integer promptTokens = finalUsage != null ? tokenCount(finalUsage.getPromptTokens()) : null;
+                Integer completionTokens = finalUsage != null ? tokenCount(finalUsage.getGenerationTokens()) : null;
+                Integer totalTokens = finalUsage != null ? tokenCount(finalUsage.getTotalTokens()) : null;
+                Integer cachedPromptTokens = cachedPromptTokens(finalUsage);
+                // 사용량을 모르면 예상 토큰 수로 정산해 토큰 버킷을 실제보다 적게 쓰지 않게 한다
+                permit.success(endNanos - startNanos, totalTokens != null ? totalTokens : reservedTokens(estimate));
+                Readability readability = readabilityScan.result();
+                metrics.recordReadability(modelName, readability);
+
+                if (firstTokenNanos.get() != 0) {
+                    metrics.recordTimeToFirstToken(modelName, request.level(), firstTokenNanos.get() - startNanos);
+                }
+                if (finalUsage != null) {
+                    metrics.recordGeneration(modelName, request.level(), endNanos - startNanos,
+                            Objects.requireNonNullElse(promptTokens, 0), Objects.requireNonNullElse(completionTokens, 0));
+                    if (promptTokens != null) {
+                        metrics.recordTokenEstimate(modelName, "prompt", estimate.promptTokens(), promptTokens);
+                    }
+                    if (completionTokens != null) {
+                        metrics.recordTokenEstimate(modelName, "completion", estimate.completionTokens(), completionTokens);
+                    }
+                    if (cachedPromptTokens != null) {
+                        metrics.recordCachedPromptTokens(modelName, request.level(), cachedPromptTokens);
+                    }
+                    statistics.recordSuccess(modelName, request.level(), endNanos - startNanos,
+                            Objects.requireNonNullElse(completionTokens, 0), content.length());
+                }
+
+                log.info("모델 {} 스트리밍 완료 - 시간: {}ms, 첫 토큰: {}ms", modelName, generationTime, timeToFirstToken);
+
+                return ReadingStreamEvent.summary(new ModelComparisonResponse(
+                        modelName,
+                        null,
+                        content.toString(),
+                        promptTokens,
+                        cachedPromptTokens,
+                        completionTokens,
+                        totalTokens,
+                        generationTime,
+                        timeToFirstToken,
+                        ResponseSource.UPSTREAM,
+                        scan.coverage(),
+                        readability,
+                        estimate,
+                        null
+                ));
+            });
+
+            return tokens.concatWith(summary)
+                    .doOnCancel(permit::failed)
+                    .onErrorResume(e -> {
+                        long failedNanos = System.nanoTime() - startNanos;
+                        if (RateLimitSignals.isRateLimited(e)) {
+                            rateLimiters.throttled(modelName, permit);
+                        } else {
+                            permit.failed();
+                        }
+                        metrics.recordFailure(modelName, request.level(), failedNanos);
+                        statistics.recordFailure(modelName, request.level(), failedNanos);
+                        log.error("모델 {} 스트리밍 생성 실패", modelName, e);
+                        return Flux.just(ReadingStreamEvent.error(ModelComparisonResponse.failed(
+                                modelName, "읽기 자료 생성 중 오류가 발생했습니다: " + e.getMessage(),
+                                elapsedMs(startNanos, System.nanoTime()))));
+                    });
+        });
+    }
+
+    /**
+     * 지원하는 모델인지 여부
+     */
+    public boolean supportsModel(String modelName) {
+        return models.contains(modelName);
+    }
+
+    /**
+     * 지원하는 모델 이름 (설정 순서, 모델 목록을 다시 읽으면 바뀔 수 있음)
+     */
+    public List<String> models() {
+        return models.names();
+    }
+
+    /**
+     * 모델 설정의 응답 제한 시간 (설정하지 않았거나 등록되지 않은 모델이면 비어 있음)
+     */
+    public Optional<Duration> modelTimeout(String modelName) {
+        return models.find(modelName).map(model -> model.definition().timeout());
+    }
+
+    private static double elapsedMs(long startNanos, long endNanos) {
+        return (endNanos - startNanos) / 1_000_000.0;
+    }
+
+    /**
+     * 토큰 수 (값이 없으면 null)
      */
-    private String buildSystemPrompt(KoreanLevel level) {
-        return switch (level) {
-            case BEGINNER -> """
-                    당신은 한국어 초급 학습자를 위한 교육 콘텐츠 제작자입니다.
+    private static Integer tokenCount(Number tokens) {
+        return tokens != null ? tokens.intValue() : null;
+    }
 
-                    작성 규칙:
-                    - 기본 문법만 사용 (현재형, 과거형, 기본 조사)
-                    - 짧고 간단한 문장 구성 (한 문장당 10-15자)
-                    - 일상생활 관련 내용 (가족, 음식, 학교, 취미 등)
-                    - 한자어나 외래어 사용 최소화
-                    - 기본 동사와 형용사 위주
+    /**
+     * 스트리밍 조각의 본문 조각 (없으면 빈 문자열)
+     */
+    private static String deltaOf(ChatResponse chunk) {
+        String delta = chunk.getResult() != null ? chunk.getResult().getOutput().getText() : null;
+        return delta != null ? delta : "";
+    }
 
-                    목표: 초급 학습자가 쉽게 읽고 이해할 수 있는 자연스러운 한국어 글
-                    """;
+    /**
+     * 스트리밍 조각의 토큰 사용량 (사용량이 담긴 마지막 조각이 아니면 null)
+     */
+    private static Usage usageOf(ChatResponse chunk) {
+        Usage usage = chunk.getMetadata().getUsage();
+        return usage != null && usage.getTotalTokens() != null && usage.getTotalTokens() > 0 ? usage : null;
+    }
 
-            case INTERMEDIATE -> """
-                    당신은 한국어 중급 학습자를 위한 교육 콘텐츠 제작자입니다.
+    /**
+     * 프롬프트 토큰 중 제공자의 프롬프트 캐시에서 재사용된 토큰 수
+     * Spring AI의 Usage에는 없으므로 OpenAI 응답의 usage.prompt_tokens_details.cached_tokens를 읽는다.
+     *
+     * @return 제공자가 알려 주지 않았으면 null
+     */
+    static Integer cachedPromptTokens(Usage usage) {
+        if (usage != null && usage.getNativeUsage() instanceof OpenAiApi.Usage openAiUsage
+                && openAiUsage.promptTokensDetails() != null) {
+            return openAiUsage.promptTokensDetails().cachedTokens();
+        }
+        return null;
+    }
 
-                    작성 규칙:
-                    - 다양한 문법 구조 사용 가능 (연결어미, 종결어미, 간접화법 등)
-                    - 중급 어휘 및 관용 표현 포함
-                    - 사회, 문화, 직장 생활 등 다양한 주제
-                    - 복문과 중문 사용 가능
-                    - 한자어와 외래어 적절히 사용
+    /**
+     * 응답의 종료 이유 (글이 여러 개면 생성 토큰 한도로 잘린 글이 하나라도 있을 때 length)
+     */
+    private static String finishReasonOf(ChatResponse response) {
+        return response.getResults().stream()
+                .map(generation -> generation.getMetadata().getFinishReason())
+                .filter("length"::equalsIgnoreCase)
+                .findFirst()
+                .orElseGet(() -> response.getResult().getMetadata().getFinishReason());
+    }
 
-                    목표: 중급 학습자의 어휘력과 표현력을 향상시키는 흥미로운 글
-                    """;
+    /**
+     * 모델 호출 한 번의 결과
+     *
+     * @param contents           받은 글 (n 옵션을 쓰지 않았으면 하나)
+     * @param cachedPromptTokens 프롬프트 캐시에서 재사용된 토큰 수 (알 수 없으면 null)
+     * @param completionTokens   모든 글의 생성 토큰 합계
+     */
+    private record UpstreamCall(List<String> contents, int promptTokens, Integer cachedPromptTokens,
+                                int completionTokens, long durationNanos) {
 
-            case ADVANCED -> """
-                    당신은 한국어 고급 학습자를 위한 교육 콘텐츠 제작자입니다.
+        private String content() {
+            return contents.get(0);
+        }
+    }
+
+    /**
+     * 스트리밍 호출로 받은 조각을 모은 결과
+     */
+    private static final class StreamedCall {
 
-                    작성 규칙:
-                    - 복잡한 문법 및 고급 어휘 사용
-                    - 추상적 개념 및 전문 용어 포함
-                    - 학술, 시사, 문학, 전문 분야 내용
-                    - 긴 문장과 복잡한 문장 구조 사용
-                    - 관용구, 속담, 사자성어 활용
-                    - 격식체와 비격식체 적절히 조합
+        private final StringBuilder content = new StringBuilder();
+        private Usage usage;
+        private String finishReason;
 
-                    목표: 고급 학습자가 원어민 수준의 한국어 이해력과 표현력을 갖추도록 돕는 깊이 있는 글
-                    """;
-        };
+        private void add(ChatResponse chunk) {
+            content.append(deltaOf(chunk));
+            Usage chunkUsage = usageOf(chunk);
+            if (chunkUsage != null) {
+                usage = chunkUsage;
+            }
+            if (chunk.getResult() != null && chunk.getResult().getMetadata().getFinishReason() != null) {
+                finishReason = chunk.getResult().getMetadata().getFinishReason();
+            }
+        }
     }
 
     /**
-     * 자료 생성을 위한 사용자 프롬프트 생성
+     * 보충 요청 한 번
      */
-    private String buildUserPrompt(ReadingMaterialRequest request) {
-        return String.format("""
-                다음 조건으로 한국어 읽기 자료를 작성해주세요:
+    private record Revision(String prompt, TokenEstimate estimate) {
+    }
 
-                주제: %s
-                반드시 포함할 단어: %s
-                목표 길이: 약 %d자
+    /**
+     * 보충 문장을 덧붙여 가는 생성 중인 글
+     * 블로킹 경로와 reactive 경로가 같은 보충 규칙을 쓰도록 본문, 토큰 수, 목표 단어와 읽기 난이도 검사 상태를 모아 둔다.
+     * 한 요청 안에서 순서대로만 사용되므로 동기화하지 않는다.
+     */
+    private final class Draft {
 
-                요구사항:
-                1. 지정된 단어들을 자연스럽게 모두 포함시켜주세요
-                2. 주제에 맞는 흥미롭고 교육적인 내용으로 작성해주세요
-                3. 문법적으로 정확하고 자연스러운 한국어를 사용해주세요
-                4. 학습자가 읽기 연습과 어휘 학습을 동시에 할 수 있도록 해주세요
+        private final String modelName;
+        private final KoreanLevel level;
+        private final String systemPrompt;
+        private final StringBuilder content;
+        private final TargetWordMatcher.Scan scan;
+        private final ReadabilityAnalyzer.Scan readability;
+        private TokenEstimate estimate;
+        private WordCoverage coverage;
+        private int promptTokens;
+        private Integer cachedPromptTokens;
+        private int completionTokens;
+        private long durationNanos;
+        private int revisions;
+
+        private Draft(String modelName, ReadingMaterialRequest request, String systemPrompt,
+                      TokenEstimate estimate, UpstreamCall call) {
+            this.modelName = modelName;
+            this.level = request.level();
+            this.systemPrompt = systemPrompt;
+            this.estimate = estimate;
+            this.content = new StringBuilder(call.content());
+            this.promptTokens = call.promptTokens();
+            this.cachedPromptTokens = call.cachedPromptTokens();
+            this.completionTokens = call.completionTokens();
+            this.durationNanos = call.durationNanos();
+            this.scan = TargetWordMatcher.compile(request.targetWords()).newScan().feed(content);
+            this.coverage = scan.coverage();
+            this.readability = READABILITY.newScan(level).feed(content);
+            metrics.recordTokenEstimate(modelName, "prompt", estimate.promptTokens(), call.promptTokens());
+            metrics.recordTokenEstimate(modelName, "completion", estimate.completionTokens(), call.completionTokens());
+        }
 
-                제목과 본문을 포함하여 작성해주세요.
-                """,
-                request.topic(),
-                String.join(", ", request.targetWords()),
-                request.targetLength()
-        );
+        /**
+         * 다음 보충 요청 (빠진 단어가 없거나 보충 횟수를 다 썼으면 null)
+         */
+        private Revision nextRevision() {
+            if (coverage.complete() || revisions >= coverageProperties.revisionLimit()) {
+                return null;
+            }
+            revisions++;
+            log.info("모델 {} 목표 단어 누락 {} - 보충 문장 요청 ({}번째)", modelName, coverage.missingWords(), revisions);
+
+            String prompt = ReadingPrompts.revisionPrompt(
+                    tail(content, coverageProperties.contextLength()), coverage.missingWords());
+            return new Revision(prompt, tokenBudget.revision(modelName, systemPrompt, prompt));
+        }
+
+        private void append(Revision revision, UpstreamCall call) {
+            estimate = estimate.plus(revision.estimate());
+            String supplement = "\n" + call.content().strip();
+            content.append(supplement);
+            promptTokens += call.promptTokens();
+            if (call.cachedPromptTokens() != null) {
+                cachedPromptTokens = (cachedPromptTokens == null ? 0 : cachedPromptTokens) + call.cachedPromptTokens();
+            }
+            completionTokens += call.completionTokens();
+            durationNanos += call.durationNanos();
+            coverage = scan.feed(supplement).coverage();
+            readability.feed(supplement);
+        }
+
+        private ModelComparisonResponse response() {
+            if (!coverage.complete()) {
+                log.warn("모델 {} 목표 단어 누락 - {}", modelName, coverage.missingWords());
+            }
+            Readability result = readability.result();
+            metrics.recordReadability(modelName, result);
+
+            return new ModelComparisonResponse(
+                    modelName,
+                    null,
+                    content.toString(),
+                    promptTokens,
+                    cachedPromptTokens,
+                    completionTokens,
+                    promptTokens + completionTokens,
+                    durationNanos / 1_000_000.0,
+                    null,
+                    ResponseSource.UPSTREAM,
+                    coverage.withRevisions(revisions),
+                    result,
+                    estimate,
+                    null
+            );
+        }
     }
 }
@@ -0,0 +1,45 @@
+package hello.spring_ai.reading;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 스트리밍 생성 중 모델별로 전송되는 이벤트
+ *
+ * @param type    이벤트 종류
+ * @param model   이벤트를 만든 모델 이름
+ * @param delta   새로 생성된 토큰 조각 (TOKEN 이벤트)
+ * @param summary 생성 결과 요약 (SUMMARY, ERROR 이벤트)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReadingStreamEvent(
+        Type type,
+        String model,
+        String delta,
+        ModelComparisonResponse summary
+) {
+
+    public static ReadingStreamEvent token(String model, String delta) {
+        return new ReadingStreamEvent(Type.TOKEN, model, delta, null);
+    }
+
+    public static ReadingStreamEvent summary(ModelComparisonResponse summary) {
+        return new ReadingStreamEvent(Type.SUMMARY, summary.modelName(), null, summary);
+    }
+
+    public static ReadingStreamEvent error(ModelComparisonResponse failed) {
+        return new ReadingStreamEvent(Type.ERROR, failed.modelName(), null, failed);
+    }
+
+    /**
+     * SSE event 이름
+     */
+    public String eventName() {
+        return type.name().toLowerCase();
+    }
+
+    public enum Type {
+        TOKEN,
+        SUMMARY,
+        ERROR
+    }
+}
@@ -0,0 +1,27 @@
+package hello.spring_ai.reading;
+
+/**
+ * 생성 결과를 제공한 곳
+ * 캐시에서 제공된 결과의 토큰 수와 생성 시간은 최초 생성 당시의 값이다.
+ */
+public enum ResponseSource {
+    /**
+     * 이번 요청에서 모델을 직접 호출하여 생성
+     */
+    UPSTREAM,
+
+    /**
+     * 메모리 캐시에서 제공
+     */
+    CACHE,
+
+    /**
+     * 디스크 저장소에서 제공
+     */
+    STORE,
+
+    /**
+     * 주제와 목표 단어가 비슷한 이전 요청의 결과를 제공 (유사 요청 캐시)
+     */
+    SEMANTIC_CACHE
+}
@@ -0,0 +1,53 @@
+package hello.spring_ai.reading;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import hello.spring_ai.reading.budget.TokenEstimate;
+import hello.spring_ai.reading.coverage.WordCoverage;
+import hello.spring_ai.reading.readability.Readability;
+
+import java.util.List;
+
+/**
+ * 한 번의 모델 호출로 받은 여러 읽기 자료 (같은 요청의 대안 글)
+ * 프롬프트는 한 번만 보내므로 promptTokens는 모든 글이 함께 쓴 값이고, completionTokens는 글별 생성 토큰의 합계다.
+ * 글별 completionTokens는 제공자가 합계만 알려 주므로 합계를 글별 추정 토큰 수에 비례해 나눈 값이다.
+ * 보충 요청은 하지 않으므로 목표 단어가 빠진 글은 coverage로만 알린다.
+ *
+ * @param modelName          생성한 모델
+ * @param variants           받은 글 (모델이 돌려준 순서)
+ * @param promptTokens       프롬프트 토큰 수 (한 번만 청구)
+ * @param cachedPromptTokens promptTokens 중 프롬프트 캐시에서 재사용된 토큰 수 (제공자가 알려 준 경우)
+ * @param completionTokens   모든 글의 생성 토큰 합계
+ * @param totalTokens        promptTokens + completionTokens
+ * @param generationTimeMs   모델 호출 시간
+ * @param tokenEstimate      호출 전 추정치 (생성 토큰은 모든 글의 합계, 생성 한도는 글 하나 기준)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record VariantGenerationResponse(
+        String modelName,
+        List<Variant> variants,
+        int promptTokens,
+        Integer cachedPromptTokens,
+        int completionTokens,
+        int totalTokens,
+        double generationTimeMs,
+        TokenEstimate tokenEstimate
+) {
+
+    public VariantGenerationResponse {
+        variants = List.copyOf(variants);
+    }
+
+    /**
+     * 대안 글 하나
+     *
+     * @param index            글 순번 (0부터)
+     * @param content          본문
+     * @param completionTokens 이 글에 나눈 생성 토큰 수
+     * @param coverage         목표 단어 포함 현황
+     * @param readability      읽기 난이도와 수준 적합도
+     */
+    public record Variant(int index, String content, int completionTokens, WordCoverage coverage,
+                          Readability readability) {
+    }
+}
@@ -0,0 +1,160 @@
+package hello.spring_ai.reading.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 관찰한 응답 시간에 맞춰 바뀌는 동시 처리 한도 (gradient 방식)
+ * 평소 응답 시간(longRtt, 긴 구간의 지수 이동 평균)과 최근 응답 시간(shortRtt)을 비교해,
+ * 최근 응답이 느려지면 그 비율만큼 한도를 줄이고 비슷하면 √limit만큼 늘린다.
+ * <pre>
+ * gradient = clamp(rttTolerance × longRtt / shortRtt, 0.5, 1.0)
+ * newLimit = limit × gradient + √limit
+ * limit    = limit × (1 - smoothing) + newLimit × smoothing
+ * </pre>
+ * Little's law(동시 처리 수 = 처리량 × 응답 시간)로 보면 처리량이 더 늘지 않는데 동시 처리 수를 늘리면 응답 시간만 늘어나므로,
+ * 한도는 응답 시간이 늘기 시작하는 지점 근처에 머문다.
+ *
+ * <ul>
+ *     <li>한도의 절반도 쓰지 않을 때 받은 요청은 한도를 판단할 근거가 되지 않으므로 응답 시간만 기록한다.</li>
+ *     <li>응답 시간이 한동안 길다가 짧아지면 longRtt가 shortRtt의 두 배를 넘는 동안 longRtt를 조금씩 낮춰 따라가게 한다.</li>
+ *     <li>시간 초과나 429처럼 과부하를 뜻하는 실패는 한도를 바로 10% 줄인다.</li>
+ * </ul>
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final int SHORT_WINDOW = 10;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_RATIO = 0.9;
+    private static final double LONG_RTT_DECAY = 0.95;
+
+    private final AdmissionProperties.PoolLimit settings;
+    private final double shortWeight;
+    private final double longWeight;
+
+    private double limit;
+    private int inFlight;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(AdmissionProperties.PoolLimit settings) {
+        this.settings = settings;
+        this.shortWeight = 2.0 / (SHORT_WINDOW + 1);
+        this.longWeight = 2.0 / (Math.max(1, settings.longWindow()) + 1);
+        this.limit = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), settings.initialLimit()));
+    }
+
+    /**
+     * 한도 안이면 처리 자리 하나를 받는다.
+     *
+     * @return 요청이 끝나면 결과와 함께 반납해야 하는 자리 (한도가 차 있으면 null)
+     */
+    public synchronized Slot tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return null;
+        }
+        inFlight++;
+        return new Slot(this, inFlight);
+    }
+
+    /**
+     * 현재 동시 처리 한도
+     */
+    public synchronized double limit() {
+        return limit;
+    }
+
+    /**
+     * 처리 중인 요청 수
+     */
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * 자리 하나가 빌 때까지 예상 시간 (최근 응답 시간 / 한도, 아직 응답이 없으면 0)
+     * 한도만큼 동시에 처리하면 자리는 응답 시간마다 limit개씩 빈다.
+     */
+    public synchronized Duration estimatedWait() {
+        return Duration.ofNanos((long) (shortRttNanos / Math.max(1, limit)));
+    }
+
+    private synchronized void onSuccess(Slot slot, long rttNanos) {
+        inFlight--;
+        if (shortRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) * shortWeight;
+            longRttNanos += (rttNanos - longRttNanos) * longWeight;
+        }
+        if (longRttNanos > shortRttNanos * 2) {
+            longRttNanos *= LONG_RTT_DECAY;
+        }
+        if (slot.inFlightAtStart < limit / 2 || shortRttNanos <= 0) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, settings.rttTolerance() * longRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - settings.smoothing()) + newLimit * settings.smoothing());
+    }
+
+    private synchronized void onDropped() {
+        inFlight--;
+        limit = clamp(limit * DROP_RATIO);
+    }
+
+    private synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    private double clamp(double value) {
+        return Math.max(settings.minLimit(), Math.min(settings.maxLimit(), value));
+    }
+
+    /**
+     * 처리 자리
+     * 요청이 끝나면 success, dropped, ignored 중 하나로 반납하며, 두 번째 반납부터는 무시한다.
+     */
+    public static final class Slot {
+
+        static final Slot UNLIMITED = new Slot(null, 0);
+
+        private final AdaptiveConcurrencyLimit owner;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Slot(AdaptiveConcurrencyLimit owner, int inFlightAtStart) {
+            this.owner = owner;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * 정상 응답한 요청 반납 (응답 시간을 한도 계산에 반영)
+         */
+        public void success(long latencyNanos) {
+            if (owner != null && released.compareAndSet(false, true)) {
+                owner.onSuccess(this, latencyNanos);
+            }
+        }
+
+        /**
+         * 시간 초과나 속도 제한처럼 과부하로 실패한 요청 반납
+         */
+        public void dropped() {
+            if (owner != null && released.compareAndSet(false, true)) {
+                owner.onDropped();
+            }
+        }
+
+        /**
+         * 한도 계산과 관계없는 요청 반납 (잘못된 요청, 클라이언트 연결 끊김 등)
+         */
+        public void ignored() {
+            if (owner != null && released.compareAndSet(false, true)) {
+                owner.onIgnored();
+            }
+        }
+    }
+}
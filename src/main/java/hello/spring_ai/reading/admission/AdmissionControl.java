@@ -0,0 +1,134 @@
+package hello.spring_ai.reading.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 생성 엔드포인트 수용 제어
+ * 묶음(AdmissionPool)마다 응답 시간에 맞춰 바뀌는 동시 처리 한도를 두고, 한도를 넘는 요청은 기다리게 하지 않고 바로 거절한다.
+ * 제공자가 느려져 요청이 쌓여도 작업 스레드가 모두 묶이지 않으므로 모델 목록 같은 가벼운 요청은 계속 응답한다.
+ * servlet 모드는 ServletAdmissionFilter, reactive 모드는 ReactiveAdmissionFilter가 사용한다.
+ * <ul>
+ *     <li>reading.admission.requests: 받은 요청(accepted)과 거절한 요청(shed) 수 (pool, outcome 태그)</li>
+ *     <li>reading.admission.limit: 현재 동시 처리 한도</li>
+ *     <li>reading.admission.inflight: 처리 중인 요청 수</li>
+ * </ul>
+ */
+@Component
+public class AdmissionControl {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+
+    /**
+     * 거절 응답 메시지
+     */
+    static final String SHED_MESSAGE = "요청이 많아 지금은 처리할 수 없습니다. 잠시 후 다시 시도해주세요.";
+
+    private final AdmissionProperties properties;
+    private final Map<AdmissionPool, AdaptiveConcurrencyLimit> limits = new EnumMap<>(AdmissionPool.class);
+    private final Map<AdmissionPool, Counter> accepted = new EnumMap<>(AdmissionPool.class);
+    private final Map<AdmissionPool, Counter> shed = new EnumMap<>(AdmissionPool.class);
+
+    public AdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (AdmissionPool pool : AdmissionPool.values()) {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties.limitFor(pool));
+            limits.put(pool, limit);
+            String tag = pool.name().toLowerCase(Locale.ROOT);
+            accepted.put(pool, requests(meterRegistry, tag, "accepted"));
+            shed.put(pool, requests(meterRegistry, tag, "shed"));
+            Gauge.builder("reading.admission.limit", limit, AdaptiveConcurrencyLimit::limit)
+                    .description("현재 동시 처리 한도")
+                    .tag("pool", tag)
+                    .register(meterRegistry);
+            Gauge.builder("reading.admission.inflight", limit, AdaptiveConcurrencyLimit::inFlight)
+                    .description("처리 중인 요청 수")
+                    .tag("pool", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 수용 제어 사용 여부 (꺼져 있으면 필터가 요청을 그대로 넘긴다)
+     */
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * 요청을 받을 수 있으면 처리 자리 하나를 받는다.
+     *
+     * @return 요청이 끝나면 complete로 반납해야 하는 자리 (한도가 차 있어 거절해야 하면 null)
+     */
+    public AdaptiveConcurrencyLimit.Slot tryAcquire(AdmissionPool pool) {
+        if (!properties.enabled()) {
+            return AdaptiveConcurrencyLimit.Slot.UNLIMITED;
+        }
+        AdaptiveConcurrencyLimit limit = limits.get(pool);
+        AdaptiveConcurrencyLimit.Slot slot = limit.tryAcquire();
+        if (slot == null) {
+            shed.get(pool).increment();
+            log.debug("{} 요청 거절 - 동시 처리 한도: {}", pool, (int) limit.limit());
+        } else {
+            accepted.get(pool).increment();
+        }
+        return slot;
+    }
+
+    /**
+     * 끝난 요청의 자리 반납
+     * 2xx, 3xx 응답은 응답 시간을 한도 계산에 반영하고, 429, 503, 504는 과부하로 보고 한도를 줄이며, 그 외 오류는 반영하지 않는다.
+     *
+     * @param status       응답 상태 코드
+     * @param latencyNanos 요청을 받은 뒤 응답을 마칠 때까지 걸린 시간
+     */
+    public void complete(AdaptiveConcurrencyLimit.Slot slot, int status, long latencyNanos) {
+        if (status < 400) {
+            slot.success(latencyNanos);
+        } else if (status == HttpStatus.TOO_MANY_REQUESTS.value()
+                || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            slot.dropped();
+        } else {
+            slot.ignored();
+        }
+    }
+
+    /**
+     * 거절 응답의 Retry-After (초, 자리 하나가 빌 때까지 예상 시간을 minRetryAfter ~ maxRetryAfter로 제한)
+     */
+    public long retryAfterSeconds(AdmissionPool pool) {
+        Duration wait = limits.get(pool).estimatedWait();
+        if (wait.compareTo(properties.minRetryAfter()) < 0) {
+            wait = properties.minRetryAfter();
+        } else if (wait.compareTo(properties.maxRetryAfter()) > 0) {
+            wait = properties.maxRetryAfter();
+        }
+        return Math.max(1, (wait.toMillis() + 999) / 1000);
+    }
+
+    /**
+     * 묶음의 동시 처리 한도
+     */
+    public AdaptiveConcurrencyLimit limit(AdmissionPool pool) {
+        return limits.get(pool);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String pool, String outcome) {
+        return Counter.builder("reading.admission.requests")
+                .description("수용 제어를 거친 생성 요청 수")
+                .tag("pool", pool)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
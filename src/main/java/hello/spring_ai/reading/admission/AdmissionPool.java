@@ -0,0 +1,50 @@
+package hello.spring_ai.reading.admission;
+
+/**
+ * 동시 처리 한도를 따로 두는 생성 엔드포인트 묶음
+ * 모델 호출이 많은 요청이 몰려도 단일 모델 생성까지 막히지 않도록 한도를 나눈다.
+ * 모델 목록, 비동기 작업 제출과 조회는 모델 응답을 기다리지 않으므로 어느 묶음에도 속하지 않는다.
+ */
+public enum AdmissionPool {
+
+    /**
+     * 모델 호출 한 번: POST /generate/{model}, POST /generate/{model}/variants
+     */
+    CHEAP,
+
+    /**
+     * 모델 호출 여러 번이나 긴 응답: POST /generate (모든 모델 비교), /generate/stream, /generate/batch
+     */
+    EXPENSIVE;
+
+    private static final String GENERATE_PATH = "/api/reading/generate";
+
+    /**
+     * 요청이 속한 묶음
+     *
+     * @param method HTTP 메서드
+     * @param path   애플리케이션 안의 요청 경로 (context path 제외)
+     * @return 묶음 (수용 제어 대상이 아니면 null)
+     */
+    public static AdmissionPool of(String method, String path) {
+        if (!"POST".equals(method) || !path.startsWith(GENERATE_PATH)) {
+            return null;
+        }
+        String rest = path.substring(GENERATE_PATH.length());
+        if (rest.isEmpty()) {
+            return EXPENSIVE;
+        }
+        if (rest.charAt(0) != '/' || rest.length() == 1) {
+            return null;
+        }
+
+        String[] segments = rest.substring(1).split("/");
+        if (segments.length == 1) {
+            return "stream".equals(segments[0]) || "batch".equals(segments[0]) ? EXPENSIVE : CHEAP;
+        }
+        if (segments.length == 2 && "variants".equals(segments[1])) {
+            return CHEAP;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+package hello.spring_ai.reading.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 생성 엔드포인트 수용 제어 설정
+ * pools에 없는 묶음은 defaults를 사용한다.
+ *
+ * @param enabled       수용 제어 사용 여부
+ * @param minRetryAfter 거절 응답 Retry-After의 하한
+ * @param maxRetryAfter 거절 응답 Retry-After의 상한
+ * @param defaults      묶음별 설정 기본값
+ * @param pools         묶음별 설정 (예: reading.admission.pools.expensive.max-limit=40)
+ */
+@ConfigurationProperties(prefix = "reading.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1s") Duration minRetryAfter,
+        @DefaultValue("30s") Duration maxRetryAfter,
+        @DefaultValue PoolLimit defaults,
+        Map<AdmissionPool, PoolLimit> pools
+) {
+
+    public AdmissionProperties {
+        pools = pools == null ? Map.of() : Map.copyOf(pools);
+    }
+
+    /**
+     * 묶음의 한도 설정
+     */
+    public PoolLimit limitFor(AdmissionPool pool) {
+        return pools.getOrDefault(pool, defaults);
+    }
+
+    /**
+     * @param initialLimit 동시 처리 한도 초기값
+     * @param minLimit     동시 처리 한도 하한
+     * @param maxLimit     동시 처리 한도 상한 (servlet 모드에서는 묶음별 상한의 합이 Tomcat 작업 스레드 수보다 작아야 한다)
+     * @param rttTolerance 최근 응답 시간이 평소의 몇 배까지 늘어도 한도를 줄이지 않을지
+     * @param smoothing    새로 계산한 한도를 반영하는 비율 (0 ~ 1)
+     * @param longWindow   평소 응답 시간을 구할 때 평균하는 요청 수 (지수 이동 평균)
+     */
+    public record PoolLimit(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("100") int maxLimit,
+            @DefaultValue("1.5") double rttTolerance,
+            @DefaultValue("0.2") double smoothing,
+            @DefaultValue("600") int longWindow
+    ) {
+
+        public PoolLimit {
+            if (minLimit <= 0 || maxLimit < minLimit) {
+                throw new IllegalArgumentException("동시 처리 한도는 0 < minLimit <= maxLimit이어야 합니다: "
+                        + minLimit + ", " + maxLimit);
+            }
+            if (smoothing <= 0 || smoothing > 1) {
+                throw new IllegalArgumentException("smoothing은 0보다 크고 1 이하여야 합니다: " + smoothing);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package hello.spring_ai.reading.admission;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.spring_ai.reading.ErrorResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * reactive 모드의 생성 엔드포인트 수용 제어
+ * 한도를 넘는 요청은 컨트롤러에 닿기 전에 503과 Retry-After로 바로 응답한다.
+ * 응답 본문(스트림 포함)을 다 쓰면 자리를 반납하고, 클라이언트가 연결을 끊은 요청은 한도 계산에 반영하지 않는다.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ReactiveAdmissionFilter implements WebFilter {
+
+    private final AdmissionControl admission;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveAdmissionFilter(AdmissionControl admission, ObjectMapper objectMapper) {
+        this.admission = admission;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        AdmissionPool pool = AdmissionPool.of(exchange.getRequest().getMethod().name(),
+                exchange.getRequest().getPath().pathWithinApplication().value());
+        if (pool == null || !admission.enabled()) {
+            return chain.filter(exchange);
+        }
+
+        AdaptiveConcurrencyLimit.Slot slot = admission.tryAcquire(pool);
+        if (slot == null) {
+            return reject(exchange.getResponse(), pool);
+        }
+
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.ON_COMPLETE) {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        admission.complete(slot, status == null ? HttpStatus.OK.value() : status.value(),
+                                System.nanoTime() - startNanos);
+                    } else {
+                        slot.ignored();
+                    }
+                });
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, AdmissionPool pool) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new ErrorResponse(AdmissionControl.SHED_MESSAGE));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds(pool)));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
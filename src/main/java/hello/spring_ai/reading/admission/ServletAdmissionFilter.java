@@ -0,0 +1,119 @@
+package hello.spring_ai.reading.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.spring_ai.reading.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * servlet 모드의 생성 엔드포인트 수용 제어
+ * 한도를 넘는 요청은 컨트롤러에 닿기 전에 503과 Retry-After로 바로 응답해 Tomcat 작업 스레드를 붙잡지 않는다.
+ * SSE, NDJSON, CompletableFuture처럼 비동기로 응답하는 요청은 응답을 마칠 때(AsyncListener) 자리를 반납한다.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ServletAdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admission;
+    private final ObjectMapper objectMapper;
+
+    public ServletAdmissionFilter(AdmissionControl admission, ObjectMapper objectMapper) {
+        this.admission = admission;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admission.enabled() || pool(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdmissionPool pool = pool(request);
+        AdaptiveConcurrencyLimit.Slot slot = admission.tryAcquire(pool);
+        if (slot == null) {
+            reject(response, pool);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (!completed) {
+                slot.ignored();
+            } else if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new SlotRelease(slot, response, startNanos));
+            } else {
+                admission.complete(slot, response.getStatus(), System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, AdmissionPool pool) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds(pool)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(AdmissionControl.SHED_MESSAGE));
+    }
+
+    private static AdmissionPool pool(HttpServletRequest request) {
+        return AdmissionPool.of(request.getMethod(),
+                request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    /**
+     * 비동기 응답이 끝나면 자리 반납 (시간 초과 후에도 onComplete가 불린다)
+     */
+    private final class SlotRelease implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimit.Slot slot;
+        private final HttpServletResponse response;
+        private final long startNanos;
+
+        private SlotRelease(AdaptiveConcurrencyLimit.Slot slot, HttpServletResponse response, long startNanos) {
+            this.slot = slot;
+            this.response = response;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            admission.complete(slot, response.getStatus(), System.nanoTime() - startNanos);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            slot.dropped();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            slot.ignored();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
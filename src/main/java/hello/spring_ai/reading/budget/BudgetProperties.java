@@ -0,0 +1,69 @@
+package hello.spring_ai.reading.budget;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * 요청당 토큰 예산과 생성 토큰 한도 설정
+ *
+ * @param enabled          생성 토큰 한도(maxTokens)를 걸고 예산을 검사할지 여부 (끄면 추정만 함)
+ * @param safetyMargin     추정 생성 토큰 수에 더하는 여유 비율 (0.3이면 30%)
+ * @param minMaxTokens     생성 토큰 한도 하한
+ * @param revisionMaxTokens 보충 문장 요청의 생성 토큰 한도
+ * @param defaultBudget    요청당 토큰 예산 기본값 (추정 프롬프트 토큰 + 생성 토큰 한도)
+ * @param modelBudgets     모델별 요청당 토큰 예산 (예: reading.budget.model-budgets[gpt-4]=3000)
+ * @param overBudget       예산을 넘는 요청 처리 방식
+ * @param defaultEncoding  토크나이저 기본값
+ * @param modelEncodings   모델별 토크나이저 (예: reading.budget.model-encodings[gpt-4o]=o200k_base)
+ */
+@ConfigurationProperties(prefix = "reading.budget")
+public record BudgetProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.3") double safetyMargin,
+        @DefaultValue("64") int minMaxTokens,
+        @DefaultValue("200") int revisionMaxTokens,
+        @DefaultValue("6000") int defaultBudget,
+        Map<String, Integer> modelBudgets,
+        @DefaultValue("downgrade") OverBudget overBudget,
+        @DefaultValue("cl100k_base") TokenizerEncoding defaultEncoding,
+        Map<String, TokenizerEncoding> modelEncodings
+) {
+
+    public BudgetProperties {
+        if (safetyMargin < 0) {
+            throw new IllegalArgumentException("safetyMargin은 0 이상이어야 합니다: " + safetyMargin);
+        }
+        modelBudgets = modelBudgets == null ? Map.of() : Map.copyOf(modelBudgets);
+        modelEncodings = modelEncodings == null ? Map.of() : Map.copyOf(modelEncodings);
+    }
+
+    /**
+     * 모델의 요청당 토큰 예산
+     */
+    public int budgetFor(String model) {
+        return modelBudgets.getOrDefault(model, defaultBudget);
+    }
+
+    /**
+     * 모델의 토크나이저
+     */
+    public TokenizerEncoding encodingFor(String model) {
+        return modelEncodings.getOrDefault(model, defaultEncoding);
+    }
+
+    /**
+     * 예산을 넘는 요청 처리 방식
+     */
+    public enum OverBudget {
+        /**
+         * 모델을 호출하지 않고 거절
+         */
+        REJECT,
+        /**
+         * 예산 안에 들어가도록 목표 길이와 생성 토큰 한도를 줄여서 생성
+         */
+        DOWNGRADE
+    }
+}
@@ -0,0 +1,135 @@
+package hello.spring_ai.reading.budget;
+
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.prompt.ReadingPrompts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 모델 호출 전 토큰 예산 검사
+ * 요청의 프롬프트 토큰과 목표 길이에 맞는 생성 토큰을 추정하고, 여유분을 더한 생성 토큰 한도(maxTokens)를 정한다.
+ * 추정 프롬프트 토큰 + 생성 토큰 한도가 모델의 요청당 예산을 넘으면 설정에 따라 거절하거나 목표 길이를 줄인다.
+ */
+@Component
+public class TokenBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBudget.class);
+
+    private final BudgetProperties properties;
+    private final ReadingMetrics metrics;
+
+    public TokenBudget(BudgetProperties properties, ReadingMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 생성 토큰 한도 없이 추정만 하는 인스턴스 (테스트, 벤치마크용)
+     */
+    public static TokenBudget unlimited() {
+        return new TokenBudget(new BudgetProperties(false, 0.3, 64, 200, Integer.MAX_VALUE, Map.of(),
+                BudgetProperties.OverBudget.DOWNGRADE, TokenizerEncoding.CL100K_BASE, Map.of()), ReadingMetrics.noop());
+    }
+
+    /**
+     * 자료 생성 호출 계획
+     *
+     * @param model        사용할 모델
+     * @param request      자료 생성 요청
+     * @param systemPrompt 시스템 프롬프트
+     * @return 사용자 프롬프트(목표 길이를 줄였으면 줄인 길이로 렌더링)와 토큰 추정치
+     * @throws TokenBudgetExceededException 예산을 넘고 거절하도록 설정된 경우, 또는 줄여도 예산에 들어가지 않는 경우
+     */
+    public Plan plan(String model, ReadingMaterialRequest request, String systemPrompt) {
+        return plan(model, request, systemPrompt, 1);
+    }
+
+    /**
+     * 한 번의 호출로 글 choices개를 받는 자료 생성 호출 계획
+     * 프롬프트는 한 번만, 생성 토큰은 글마다 따로 계산되므로 생성 토큰 한도의 choices배를 프롬프트 토큰과 더해 예산과 비교한다.
+     * 돌려주는 생성 토큰 추정치는 choices개를 합한 값이고, 생성 토큰 한도는 글 하나의 한도다.
+     *
+     * @param choices 받을 글 수 (1 이상)
+     * @throws TokenBudgetExceededException 예산을 넘고 거절하도록 설정된 경우, 또는 줄여도 예산에 들어가지 않는 경우
+     */
+    public Plan plan(String model, ReadingMaterialRequest request, String systemPrompt, int choices) {
+        TokenizerEncoding encoding = properties.encodingFor(model);
+        String userPrompt = ReadingPrompts.userPrompt(request);
+        int promptTokens = TokenEstimator.promptTokens(systemPrompt, userPrompt, encoding);
+        int completionTokens = TokenEstimator.completionTokens(request.targetLength(), encoding);
+
+        if (!properties.enabled()) {
+            return new Plan(userPrompt, new TokenEstimate(promptTokens, completionTokens * choices, null, null));
+        }
+
+        int maxTokens = maxTokensFor(completionTokens);
+        int budget = properties.budgetFor(model);
+        if (promptTokens + maxTokens * choices <= budget) {
+            metrics.recordBudgetDecision(model, "within");
+            return new Plan(userPrompt, new TokenEstimate(promptTokens, completionTokens * choices, maxTokens, null));
+        }
+
+        if (properties.overBudget() == BudgetProperties.OverBudget.REJECT) {
+            metrics.recordBudgetDecision(model, "rejected");
+            throw new TokenBudgetExceededException(model, promptTokens + maxTokens * choices, budget);
+        }
+
+        // 목표 길이를 바꿔도 프롬프트 토큰은 거의 그대로이므로, 남은 예산에서 여유분을 뺀 만큼을 생성 분량으로 사용
+        int available = (budget - promptTokens) / choices;
+        int targetLength = TokenEstimator.targetLengthFor((int) (available / (1 + properties.safetyMargin())), encoding);
+        if (available < properties.minMaxTokens() || targetLength <= 0) {
+            metrics.recordBudgetDecision(model, "rejected");
+            throw new TokenBudgetExceededException(model, promptTokens + maxTokens * choices, budget);
+        }
+
+        ReadingMaterialRequest downgraded = request.withTargetLength(targetLength);
+        String downgradedPrompt = ReadingPrompts.userPrompt(downgraded);
+        int downgradedPromptTokens = TokenEstimator.promptTokens(systemPrompt, downgradedPrompt, encoding);
+        int downgradedCompletion = TokenEstimator.completionTokens(targetLength, encoding);
+        int downgradedMaxTokens = Math.min(maxTokensFor(downgradedCompletion), (budget - downgradedPromptTokens) / choices);
+
+        log.info("모델 {} 토큰 예산 초과 - 목표 길이 {}자 → {}자로 줄임 (예산: {})",
+                model, request.targetLength(), targetLength, budget);
+        metrics.recordBudgetDecision(model, "downgraded");
+        return new Plan(downgradedPrompt, new TokenEstimate(downgradedPromptTokens, downgradedCompletion * choices,
+                downgradedMaxTokens, targetLength));
+    }
+
+    /**
+     * 보충 문장 요청 호출 계획
+     *
+     * @param model        사용할 모델
+     * @param systemPrompt 시스템 프롬프트
+     * @param userPrompt   보충 요청 프롬프트
+     * @return 토큰 추정치 (생성 토큰은 보충 요청 한도 기준)
+     */
+    public TokenEstimate revision(String model, String systemPrompt, String userPrompt) {
+        TokenizerEncoding encoding = properties.encodingFor(model);
+        int promptTokens = TokenEstimator.promptTokens(systemPrompt, userPrompt, encoding);
+        int completionTokens = (int) Math.ceil(properties.revisionMaxTokens() / (1 + properties.safetyMargin()));
+        return new TokenEstimate(promptTokens, completionTokens,
+                properties.enabled() ? properties.revisionMaxTokens() : null, null);
+    }
+
+    /**
+     * 모델의 토큰 추정에 쓰는 토크나이저
+     */
+    public TokenizerEncoding encodingFor(String model) {
+        return properties.encodingFor(model);
+    }
+
+    private int maxTokensFor(int completionTokens) {
+        return Math.max(properties.minMaxTokens(), (int) Math.ceil(completionTokens * (1 + properties.safetyMargin())));
+    }
+
+    /**
+     * @param userPrompt 모델에 보낼 사용자 프롬프트
+     * @param estimate   토큰 추정치와 생성 토큰 한도
+     */
+    public record Plan(String userPrompt, TokenEstimate estimate) {
+    }
+}
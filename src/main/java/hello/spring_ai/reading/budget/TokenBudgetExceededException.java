@@ -0,0 +1,30 @@
+package hello.spring_ai.reading.budget;
+
+/**
+ * 요청의 추정 토큰 수가 모델의 요청당 예산을 넘을 때 발생하는 예외
+ */
+public class TokenBudgetExceededException extends RuntimeException {
+
+    private final String model;
+    private final int estimatedTokens;
+    private final int budget;
+
+    public TokenBudgetExceededException(String model, int estimatedTokens, int budget) {
+        super("모델 " + model + " 요청당 토큰 예산 초과: 예상 " + estimatedTokens + " / 예산 " + budget);
+        this.model = model;
+        this.estimatedTokens = estimatedTokens;
+        this.budget = budget;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public int getEstimatedTokens() {
+        return estimatedTokens;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+}
@@ -0,0 +1,37 @@
+package hello.spring_ai.reading.budget;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 모델 호출 전에 추정한 토큰 수와 적용한 생성 한도
+ * 응답의 실제 토큰 수(promptTokens, completionTokens)와 비교해 추정 정확도를 확인할 수 있다.
+ * 보충 요청이 있었으면 보충 요청의 추정치까지 더한 값이다.
+ *
+ * @param promptTokens     추정 프롬프트 토큰 수
+ * @param completionTokens 추정 생성 토큰 수
+ * @param maxTokens        모델에 전달한 생성 토큰 한도 (한도를 두지 않았으면 null)
+ * @param targetLength     예산에 맞춰 줄인 목표 길이 (줄이지 않았으면 null)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenEstimate(
+        int promptTokens,
+        int completionTokens,
+        Integer maxTokens,
+        Integer targetLength
+) {
+
+    /**
+     * 예산 때문에 목표 길이를 줄였는지 여부
+     */
+    public boolean downgraded() {
+        return targetLength != null;
+    }
+
+    /**
+     * 다른 호출의 추정치를 더한 결과 (생성 한도, 줄인 목표 길이는 첫 호출 기준)
+     */
+    public TokenEstimate plus(TokenEstimate other) {
+        return new TokenEstimate(promptTokens + other.promptTokens, completionTokens + other.completionTokens,
+                maxTokens, targetLength);
+    }
+}
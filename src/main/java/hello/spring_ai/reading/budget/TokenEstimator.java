@@ -0,0 +1,136 @@
+package hello.spring_ai.reading.budget;
+
+import java.util.List;
+
+/**
+ * 모델을 호출하기 전에 토큰 수를 추정하는 계산기
+ * 실제 BPE 토크나이저 없이 글자 종류별 비율로 한 번 훑어 계산한다.
+ * <ul>
+ *     <li>한글 음절: 음절마다 인코딩별 비율</li>
+ *     <li>영문 단어, 숫자: 연속된 구간 길이를 인코딩별 비율로 나눔</li>
+ *     <li>공백: 다음 토큰에 붙으므로 0, 연속된 줄바꿈은 1</li>
+ *     <li>그 밖의 문자(문장 부호, 자모, 한자 등): 글자당 1</li>
+ * </ul>
+ */
+public final class TokenEstimator {
+
+    /**
+     * 채팅 메시지 하나에 붙는 역할, 구분자 토큰 수
+     */
+    static final int MESSAGE_OVERHEAD = 4;
+
+    /**
+     * 응답 시작을 위해 붙는 토큰 수
+     */
+    static final int REPLY_OVERHEAD = 3;
+
+    /**
+     * 목표 길이에 더하는 제목 분량 (글자 수)
+     */
+    static final int TITLE_ALLOWANCE = 20;
+
+    private TokenEstimator() {
+    }
+
+    /**
+     * 텍스트의 토큰 수 추정
+     */
+    public static int estimate(CharSequence text, TokenizerEncoding encoding) {
+        double tokens = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                tokens += encoding.tokensPerHangulSyllable();
+                i++;
+            } else if (isLatin(c)) {
+                int start = i;
+                while (i < length && isLatin(text.charAt(i))) {
+                    i++;
+                }
+                tokens += Math.max(1, Math.round((i - start) / encoding.latinCharsPerToken()));
+            } else if (c >= '0' && c <= '9') {
+                int start = i;
+                while (i < length && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                    i++;
+                }
+                tokens += Math.ceil((i - start) / encoding.digitsPerToken());
+            } else if (c == '\n') {
+                while (i < length && text.charAt(i) == '\n') {
+                    i++;
+                }
+                tokens += 1;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else {
+                tokens += 1;
+                i++;
+            }
+        }
+        return (int) Math.ceil(tokens);
+    }
+
+    /**
+     * 시스템, 사용자 메시지로 된 프롬프트의 토큰 수 추정
+     */
+    public static int promptTokens(String systemPrompt, String userPrompt, TokenizerEncoding encoding) {
+        return estimate(systemPrompt, encoding) + estimate(userPrompt, encoding)
+                + 2 * MESSAGE_OVERHEAD + REPLY_OVERHEAD;
+    }
+
+    /**
+     * 목표 길이(글자 수)의 글을 생성할 때의 토큰 수 추정 (제목 포함)
+     */
+    public static int completionTokens(int targetLength, TokenizerEncoding encoding) {
+        return (int) Math.ceil((targetLength + TITLE_ALLOWANCE) * encoding.completionTokensPerChar());
+    }
+
+    /**
+     * 생성 토큰 수 안에 들어가는 목표 길이 (completionTokens의 역산)
+     */
+    public static int targetLengthFor(int completionTokens, TokenizerEncoding encoding) {
+        return (int) Math.floor(completionTokens / encoding.completionTokensPerChar()) - TITLE_ALLOWANCE;
+    }
+
+    /**
+     * 여러 글에 함께 청구된 토큰 수를 글별 추정 토큰 수에 비례해 나눈다 (최대 나머지 방식, 합계는 total과 같다).
+     * 한 번의 호출로 글 여러 개를 받으면 제공자는 생성 토큰 합계만 알려 주므로 글별 토큰 수를 이렇게 정한다.
+     */
+    public static int[] apportion(int total, List<? extends CharSequence> texts, TokenizerEncoding encoding) {
+        int[] shares = new int[texts.size()];
+        if (texts.isEmpty()) {
+            return shares;
+        }
+        double[] weights = new double[texts.size()];
+        double weightSum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = Math.max(1, estimate(texts.get(i), encoding));
+            weightSum += weights[i];
+        }
+
+        int assigned = 0;
+        double[] remainders = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            double exact = total * weights[i] / weightSum;
+            shares[i] = (int) Math.floor(exact);
+            remainders[i] = exact - shares[i];
+            assigned += shares[i];
+        }
+        for (int left = total - assigned; left > 0; left--) {
+            int largest = 0;
+            for (int i = 1; i < remainders.length; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            shares[largest]++;
+            remainders[largest] = -1;
+        }
+        return shares;
+    }
+
+    private static boolean isLatin(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,56 @@
+package hello.spring_ai.reading.budget;
+
+/**
+ * 모델 토크나이저별 토큰 추정 비율
+ * 한국어 글 표본 기준 근사값이며, 실제 토큰 수와의 차이는 reading.tokens.estimate.ratio 지표로 확인한다.
+ * <ul>
+ *     <li>CL100K_BASE: gpt-3.5-turbo, gpt-4, gpt-4-turbo (한글은 대부분 음절당 1~2토큰)</li>
+ *     <li>O200K_BASE: gpt-4o 계열 (한글 어휘가 많아 음절당 토큰이 절반 정도)</li>
+ * </ul>
+ */
+public enum TokenizerEncoding {
+
+    CL100K_BASE(1.15, 4.0, 3.0, 0.95),
+    O200K_BASE(0.6, 4.2, 3.0, 0.5);
+
+    private final double tokensPerHangulSyllable;
+    private final double latinCharsPerToken;
+    private final double digitsPerToken;
+    private final double completionTokensPerChar;
+
+    TokenizerEncoding(double tokensPerHangulSyllable, double latinCharsPerToken, double digitsPerToken,
+                      double completionTokensPerChar) {
+        this.tokensPerHangulSyllable = tokensPerHangulSyllable;
+        this.latinCharsPerToken = latinCharsPerToken;
+        this.digitsPerToken = digitsPerToken;
+        this.completionTokensPerChar = completionTokensPerChar;
+    }
+
+    /**
+     * 한글 음절 하나당 토큰 수
+     */
+    public double tokensPerHangulSyllable() {
+        return tokensPerHangulSyllable;
+    }
+
+    /**
+     * 영문 글자 몇 개가 토큰 하나가 되는지
+     */
+    public double latinCharsPerToken() {
+        return latinCharsPerToken;
+    }
+
+    /**
+     * 숫자 몇 개가 토큰 하나가 되는지
+     */
+    public double digitsPerToken() {
+        return digitsPerToken;
+    }
+
+    /**
+     * 공백과 문장 부호를 포함한 한국어 글 한 글자당 평균 토큰 수 (생성 토큰 추정용)
+     */
+    public double completionTokensPerChar() {
+        return completionTokensPerChar;
+    }
+}
@@ -0,0 +1,674 @@
+package hello.spring_ai.reading.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.spring_ai.reading.ModelComparisonResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * 생성된 읽기 자료의 디스크 저장소
+ * 재시작 후에도 캐시된 자료를 유지하기 위해 메모리 캐시 뒤에서 읽기/쓰기 계층으로 동작한다.
+ *
+ * <p>파일 구성
+ * <ul>
+ *     <li>generations.log: 추가 전용 레코드 로그 [길이][CRC32][저장 시각][키 길이][키][값(JSON)]</li>
+ *     <li>generations.idx: 메모리 매핑된 해시 인덱스 (선형 탐사, 슬롯 = [키 해시][로그 위치])</li>
+ * </ul>
+ * 로그의 첫 레코드는 로그 세대 번호와 형식 번호를 담은 표시 레코드이고, 인덱스 헤더에도 같은 세대 번호를 적는다.
+ * 키 형식(ReadingMaterialCacheKey.canonical)이 바뀌면 형식 번호를 올린다. 이전 형식의 키는 같은 요청이라도 찾을 수 없고
+ * 다른 요청의 키와 겹칠 수 있으므로, 형식이 다른 로그는 시작할 때 비우고 새로 쓴다.
+ * 압축은 세대 번호를 올린 새 로그와 인덱스를 만들어 차례로 옮기므로, 그 사이에 멈춰 새 로그와 이전 인덱스가 남아도
+ * 시작 시 세대 번호가 달라 인덱스를 믿지 않고 로그로 다시 만든다.
+ * 시작 시 인덱스를 매핑하고 인덱스에 반영되지 않은 로그 끝부분만 다시 읽는다.
+ * 같은 키로 다시 저장되어 대체된 레코드가 일정 비율을 넘으면 백그라운드에서 로그를 압축한다.
+ */
+@Component
+public class GenerationStore implements DisposableBean, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(GenerationStore.class);
+
+    private static final String LOG_FILE = "generations.log";
+    private static final String INDEX_FILE = "generations.idx";
+
+    private static final long INDEX_MAGIC = 0x5245414453544f52L;
+    private static final int INDEX_VERSION = 3;
+    private static final int HEADER_SIZE = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 8;
+    private static final int H_CAPACITY = 12;
+    private static final int H_SIZE = 16;
+    private static final int H_LOG_LENGTH = 24;
+    private static final int H_SUPERSEDED = 32;
+    private static final int H_GENERATION = 40;
+
+    private static final int SLOT_SIZE = 16;
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int PAYLOAD_FIXED_SIZE = 12;
+
+    /**
+     * 로그 세대 번호 표시 레코드의 키 (요청 키는 NUL 문자로 시작하지 않는다)
+     */
+    private static final String GENERATION_KEY = "\u0000generation";
+
+    /**
+     * 로그 형식 번호 (1: 구분자로 이은 키, 2: 길이를 앞에 붙인 키)
+     */
+    private static final int LOG_FORMAT = 2;
+
+    private final boolean enabled;
+    private final Path logPath;
+    private final Path indexPath;
+    private final Duration ttl;
+    private final int initialCapacity;
+    private final double compactionRatio;
+    private final long compactionMinLogSize;
+    private final ObjectMapper objectMapper;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService compactor;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    private FileChannel logChannel;
+    private MappedByteBuffer index;
+    private int capacity;
+    private int size;
+    private long logLength;
+    private long supersededBytes;
+    private long generation;
+
+    public GenerationStore(GenerationStoreProperties properties, ObjectMapper objectMapper) {
+        this.enabled = properties.enabled();
+        this.logPath = properties.directory().resolve(LOG_FILE);
+        this.indexPath = properties.directory().resolve(INDEX_FILE);
+        this.ttl = properties.ttl();
+        this.initialCapacity = Math.max(16, Integer.highestOneBit(Math.max(1, properties.initialCapacity() - 1)) << 1);
+        this.compactionRatio = properties.compactionRatio();
+        this.compactionMinLogSize = properties.compactionMinLogSize().toBytes();
+        this.objectMapper = objectMapper;
+        this.compactor = enabled ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "generation-store-compactor");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+
+        if (enabled) {
+            long startNanos = System.nanoTime();
+            try {
+                Files.createDirectories(properties.directory());
+                open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("생성 결과 저장소를 열 수 없습니다: " + properties.directory(), e);
+            }
+            log.info("생성 결과 저장소 시작 - 항목: {}, 로그: {}bytes, 시간: {}ms",
+                    size, logLength, (System.nanoTime() - startNanos) / 1_000_000.0);
+        }
+    }
+
+    /**
+     * 저장소를 사용하지 않는 인스턴스
+     */
+    public static GenerationStore disabled() {
+        return new GenerationStore(
+                new GenerationStoreProperties(false, Path.of("."), Duration.ZERO, 16, 1.0, DataSize.ofBytes(0)),
+                new ObjectMapper());
+    }
+
+    /**
+     * 저장된 결과 조회
+     *
+     * @param key 정규화된 요청 키
+     * @return 보관 기간 안의 저장된 결과
+     */
+    public Optional<ModelComparisonResponse> get(ReadingMaterialCacheKey key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        String canonical = key.canonical();
+        long hash = hash(canonical);
+
+        lock.readLock().lock();
+        try {
+            int slotPosition = slotPosition(probe(hash, canonical));
+            if (index.getLong(slotPosition) == EMPTY) {
+                return Optional.empty();
+            }
+            StoredRecord record = readRecord(index.getLong(slotPosition + 8), logLength);
+            if (record == null || isExpired(record.writtenAt())) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readValue(record.value(), ModelComparisonResponse.class));
+        } catch (IOException e) {
+            log.warn("저장소 조회 실패 - 키: {}", canonical, e);
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 결과 저장 (같은 키의 이전 레코드는 대체됨)
+     *
+     * @param key      정규화된 요청 키
+     * @param response 저장할 결과
+     */
+    public void put(ReadingMaterialCacheKey key, ModelComparisonResponse response) {
+        if (!enabled) {
+            return;
+        }
+
+        String canonical = key.canonical();
+        lock.writeLock().lock();
+        try {
+            byte[] keyBytes = canonical.getBytes(StandardCharsets.UTF_8);
+            byte[] value = objectMapper.writeValueAsBytes(response);
+            long offset = logLength;
+            int written = writeRecord(logChannel, offset, System.currentTimeMillis(), keyBytes, value);
+            logLength += written;
+            indexRecord(hash(canonical), canonical, offset);
+            writeHeader();
+        } catch (IOException e) {
+            log.warn("저장소 쓰기 실패 - 키: {}", canonical, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * 대체되었거나 보관 기간이 지난 레코드를 제거하여 로그를 다시 쓴다.
+     */
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            long startNanos = System.nanoTime();
+            long before = logLength;
+            Path compactLog = logPath.resolveSibling(LOG_FILE + ".compact");
+            Path compactIndex = indexPath.resolveSibling(INDEX_FILE + ".compact");
+
+            int newCapacity = capacityFor(size);
+            long newGeneration = generation + 1;
+            MappedByteBuffer newIndex = createIndex(compactIndex, newCapacity, newGeneration);
+            long newLength = 0;
+            int newSize = 0;
+
+            try (FileChannel out = FileChannel.open(compactLog, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                newLength += writeGenerationRecord(out, newGeneration);
+                for (int slot = 0; slot < capacity; slot++) {
+                    int position = slotPosition(slot);
+                    long hash = index.getLong(position);
+                    if (hash == EMPTY) {
+                        continue;
+                    }
+                    StoredRecord record = readRecord(index.getLong(position + 8), logLength);
+                    if (record == null || isExpired(record.writtenAt())) {
+                        continue;
+                    }
+                    long offset = newLength;
+                    newLength += writeRecord(out, offset, record.writtenAt(),
+                            record.key().getBytes(StandardCharsets.UTF_8), record.value());
+                    insertUnique(newIndex, newCapacity, hash, offset);
+                    newSize++;
+                }
+                out.force(true);
+            }
+
+            newIndex.putInt(H_SIZE, newSize);
+            newIndex.putLong(H_LOG_LENGTH, newLength);
+            newIndex.putLong(H_SUPERSEDED, 0);
+            newIndex.force();
+
+            // 두 이동 사이에 멈추면 새 로그와 이전 세대의 인덱스가 남고, 다음 시작 때 세대 번호가 달라 인덱스를 다시 만든다
+            logChannel.close();
+            try {
+                Files.move(compactLog, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // 옮기지 못했으면 이전 로그를 다시 열어 이전 인덱스로 계속 쓴다
+                logChannel = openLog();
+            }
+
+            index = newIndex;
+            capacity = newCapacity;
+            size = newSize;
+            logLength = newLength;
+            supersededBytes = 0;
+            generation = newGeneration;
+
+            try {
+                Files.move(compactIndex, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // 새 로그는 이미 옮겼으므로 매핑한 새 인덱스로 계속 쓰고, 다음 시작 때 세대 번호가 달라 로그로 다시 만든다.
+                // 다음 압축이 매핑 중인 파일을 잘라 쓰지 않도록 이름만 지운다.
+                log.warn("압축한 인덱스를 옮기지 못했습니다. 다음 시작 때 로그로 다시 만듭니다", e);
+                Files.deleteIfExists(compactIndex);
+            }
+
+            log.info("생성 결과 저장소 압축 완료 - 로그: {} -> {}bytes, 항목: {}, 시간: {}ms",
+                    before, newLength, newSize, (System.nanoTime() - startNanos) / 1_000_000.0);
+        } catch (IOException e) {
+            log.error("생성 결과 저장소 압축 실패", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 현재 저장된 항목 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 현재 로그 크기 (bytes)
+     */
+    public long logLength() {
+        lock.readLock().lock();
+        try {
+            return logLength;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("reading.store.entries", this, GenerationStore::size)
+                .description("디스크 저장소 항목 수")
+                .register(registry);
+        Gauge.builder("reading.store.log.size", this, GenerationStore::logLength)
+                .description("디스크 저장소 로그 크기")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        compactor.shutdownNow();
+        lock.writeLock().lock();
+        try {
+            index.force();
+            logChannel.force(true);
+            logChannel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        logChannel = openLog();
+        long fileLength = logChannel.size();
+        LogMarker marker = fileLength == 0 ? null : readMarker(fileLength);
+        if (marker == null || marker.format() != LOG_FORMAT) {
+            if (marker != null) {
+                log.warn("저장소 로그 형식이 달라 이전 로그를 비웁니다 - 형식: {} -> {}, 로그: {}bytes",
+                        marker.format(), LOG_FORMAT, fileLength);
+            }
+            generation = marker == null ? 1 : marker.generation() + 1;
+            logChannel.truncate(0);
+            writeGenerationRecord(logChannel, generation);
+            logChannel.force(true);
+            fileLength = logChannel.size();
+        } else {
+            generation = marker.generation();
+        }
+
+        if (mapExistingIndex(fileLength)) {
+            long indexedLength = logLength;
+            replay(indexedLength, fileLength);
+            log.debug("인덱스 매핑 - 인덱스 반영 위치: {}, 다시 읽은 로그: {}bytes", indexedLength, logLength - indexedLength);
+        } else {
+            log.info("인덱스가 없거나 손상되었거나 로그와 세대가 달라 로그 전체로 다시 만듭니다");
+            index = createIndex(indexPath, initialCapacity, generation);
+            capacity = initialCapacity;
+            size = 0;
+            logLength = 0;
+            supersededBytes = 0;
+            replay(0, fileLength);
+        }
+
+        if (logLength < fileLength) {
+            log.warn("로그 끝의 불완전한 레코드를 잘라냅니다 - {} -> {}bytes", fileLength, logLength);
+            logChannel.truncate(logLength);
+        }
+        writeHeader();
+    }
+
+    private FileChannel openLog() throws IOException {
+        return FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private boolean mapExistingIndex(long fileLength) throws IOException {
+        if (!Files.exists(indexPath) || Files.size(indexPath) < HEADER_SIZE) {
+            return false;
+        }
+
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+
+        int mappedCapacity = mapped.getInt(H_CAPACITY);
+        long indexedLength = mapped.getLong(H_LOG_LENGTH);
+        boolean valid = mapped.getLong(H_MAGIC) == INDEX_MAGIC
+                && mapped.getInt(H_VERSION) == INDEX_VERSION
+                && mappedCapacity > 0
+                && Integer.bitCount(mappedCapacity) == 1
+                && mapped.capacity() == HEADER_SIZE + (long) mappedCapacity * SLOT_SIZE
+                && indexedLength <= fileLength
+                && mapped.getLong(H_GENERATION) == generation;
+        if (!valid) {
+            return false;
+        }
+
+        index = mapped;
+        capacity = mappedCapacity;
+        size = mapped.getInt(H_SIZE);
+        logLength = indexedLength;
+        supersededBytes = mapped.getLong(H_SUPERSEDED);
+        return true;
+    }
+
+    private void replay(long from, long fileLength) throws IOException {
+        long position = from;
+        StoredRecord record;
+        while ((record = readRecord(position, fileLength)) != null) {
+            logLength = position + record.length();
+            if (!GENERATION_KEY.equals(record.key())) {
+                indexRecord(hash(record.key()), record.key(), position);
+            }
+            position = logLength;
+        }
+    }
+
+    private void indexRecord(long hash, String canonical, long offset) throws IOException {
+        if (size + 1 > capacity * MAX_LOAD_FACTOR) {
+            resize(capacity * 2);
+        }
+
+        int position = slotPosition(probe(hash, canonical));
+        if (index.getLong(position) == EMPTY) {
+            index.putLong(position, hash);
+            size++;
+        } else {
+            supersededBytes += readRecordLength(index.getLong(position + 8));
+        }
+        index.putLong(position + 8, offset);
+    }
+
+    private void resize(int newCapacity) throws IOException {
+        Path resized = indexPath.resolveSibling(INDEX_FILE + ".resize");
+        MappedByteBuffer newIndex = createIndex(resized, newCapacity, generation);
+        for (int slot = 0; slot < capacity; slot++) {
+            int position = slotPosition(slot);
+            long hash = index.getLong(position);
+            if (hash != EMPTY) {
+                insertUnique(newIndex, newCapacity, hash, index.getLong(position + 8));
+            }
+        }
+        newIndex.putInt(H_SIZE, size);
+        newIndex.putLong(H_LOG_LENGTH, logLength);
+        newIndex.putLong(H_SUPERSEDED, supersededBytes);
+        newIndex.force();
+        Files.move(resized, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        index = newIndex;
+        capacity = newCapacity;
+    }
+
+    /**
+     * 키가 있는 슬롯 또는 키를 넣을 빈 슬롯 번호
+     */
+    private int probe(long hash, String canonical) throws IOException {
+        int mask = capacity - 1;
+        int slot = (int) hash & mask;
+        while (true) {
+            int position = slotPosition(slot);
+            long storedHash = index.getLong(position);
+            if (storedHash == EMPTY) {
+                return slot;
+            }
+            if (storedHash == hash && canonical.equals(readKey(index.getLong(position + 8)))) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static void insertUnique(MappedByteBuffer target, int targetCapacity, long hash, long offset) {
+        int mask = targetCapacity - 1;
+        int slot = (int) hash & mask;
+        while (target.getLong(slotPosition(slot)) != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        target.putLong(slotPosition(slot), hash);
+        target.putLong(slotPosition(slot) + 8, offset);
+    }
+
+    private static MappedByteBuffer createIndex(Path path, int capacity, long generation) throws IOException {
+        long length = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            mapped.putLong(H_MAGIC, INDEX_MAGIC);
+            mapped.putInt(H_VERSION, INDEX_VERSION);
+            mapped.putInt(H_CAPACITY, capacity);
+            mapped.putLong(H_GENERATION, generation);
+            return mapped;
+        }
+    }
+
+    private void writeHeader() {
+        index.putInt(H_SIZE, size);
+        index.putLong(H_SUPERSEDED, supersededBytes);
+        index.putLong(H_LOG_LENGTH, logLength);
+    }
+
+    /**
+     * 슬롯의 인덱스 버퍼 내 위치 (매핑 버퍼는 2GB를 넘지 않으므로 int)
+     */
+    private static int slotPosition(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private int capacityFor(int entries) {
+        int needed = (int) Math.ceil(Math.max(1, entries) / MAX_LOAD_FACTOR) + 1;
+        return Math.max(initialCapacity, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    private static int writeRecord(FileChannel channel, long offset, long writtenAt, byte[] key, byte[] value)
+            throws IOException {
+        int payloadLength = PAYLOAD_FIXED_SIZE + key.length + value.length;
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payloadLength);
+        buffer.putInt(payloadLength);
+        buffer.putInt(0);
+        buffer.putLong(writtenAt);
+        buffer.putInt(key.length);
+        buffer.put(key);
+        buffer.put(value);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), RECORD_HEADER_SIZE, payloadLength);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        return RECORD_HEADER_SIZE + payloadLength;
+    }
+
+    private static int writeGenerationRecord(FileChannel channel, long generation) throws IOException {
+        byte[] value = ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(generation).putInt(LOG_FORMAT).array();
+        return writeRecord(channel, 0, System.currentTimeMillis(), GENERATION_KEY.getBytes(StandardCharsets.UTF_8), value);
+    }
+
+    /**
+     * 로그 첫 레코드의 세대 번호와 형식 번호
+     * 형식 번호가 없는 표시 레코드는 형식 1이고, 표시 레코드가 없거나 읽을 수 없으면 세대 0, 형식 1로 본다.
+     */
+    private LogMarker readMarker(long fileLength) throws IOException {
+        StoredRecord first = readRecord(0, fileLength);
+        if (first == null || !GENERATION_KEY.equals(first.key()) || first.value().length < Long.BYTES) {
+            return new LogMarker(0, 1);
+        }
+        ByteBuffer value = ByteBuffer.wrap(first.value());
+        long generation = value.getLong();
+        return new LogMarker(generation, value.remaining() >= Integer.BYTES ? value.getInt() : 1);
+    }
+
+    /**
+     * offset의 레코드를 읽는다. 불완전하거나 CRC가 맞지 않으면 null
+     */
+    private StoredRecord readRecord(long offset, long limit) throws IOException {
+        if (offset + RECORD_HEADER_SIZE > limit) {
+            return null;
+        }
+        ByteBuffer header = readFully(offset, RECORD_HEADER_SIZE);
+        int payloadLength = header.getInt();
+        int expectedCrc = header.getInt();
+        if (payloadLength < PAYLOAD_FIXED_SIZE || offset + RECORD_HEADER_SIZE + payloadLength > limit) {
+            return null;
+        }
+
+        ByteBuffer payload = readFully(offset + RECORD_HEADER_SIZE, payloadLength);
+        CRC32 crc = new CRC32();
+        crc.update(payload.array(), 0, payloadLength);
+        if ((int) crc.getValue() != expectedCrc) {
+            return null;
+        }
+
+        long writtenAt = payload.getLong();
+        int keyLength = payload.getInt();
+        if (keyLength < 0 || keyLength > payload.remaining()) {
+            return null;
+        }
+        String key = new String(payload.array(), PAYLOAD_FIXED_SIZE, keyLength, StandardCharsets.UTF_8);
+        byte[] value = new byte[payloadLength - PAYLOAD_FIXED_SIZE - keyLength];
+        System.arraycopy(payload.array(), PAYLOAD_FIXED_SIZE + keyLength, value, 0, value.length);
+        return new StoredRecord(RECORD_HEADER_SIZE + payloadLength, writtenAt, key, value);
+    }
+
+    /**
+     * 인덱스가 가리키는 레코드의 키 (길이가 로그 끝을 넘으면 손상으로 보고 버퍼를 만들지 않는다)
+     */
+    private String readKey(long offset) throws IOException {
+        ByteBuffer fixed = readFully(offset + RECORD_HEADER_SIZE + 8, 4);
+        int keyLength = fixed.getInt();
+        if (keyLength < 0 || offset + RECORD_HEADER_SIZE + PAYLOAD_FIXED_SIZE + keyLength > logLength) {
+            throw new IOException("인덱스가 가리키는 레코드가 손상되었습니다: " + offset);
+        }
+        ByteBuffer key = readFully(offset + RECORD_HEADER_SIZE + PAYLOAD_FIXED_SIZE, keyLength);
+        return new String(key.array(), 0, keyLength, StandardCharsets.UTF_8);
+    }
+
+    private int readRecordLength(long offset) throws IOException {
+        return RECORD_HEADER_SIZE + readFully(offset, 4).getInt();
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (logChannel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("로그 끝을 넘어 읽었습니다: " + position);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private boolean isExpired(long writtenAt) {
+        return !ttl.isZero() && System.currentTimeMillis() - writtenAt > ttl.toMillis();
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        boolean needed;
+        lock.readLock().lock();
+        try {
+            needed = logLength >= compactionMinLogSize && supersededBytes > logLength * compactionRatio;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (needed && compactionScheduled.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * 키 문자열의 64비트 해시 (FNV-1a + 최종 혼합), 빈 슬롯 표시와 겹치지 않도록 0은 사용하지 않는다.
+     */
+    static long hash(String canonical) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < canonical.length(); i++) {
+            h ^= canonical.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1 : h;
+    }
+
+    private record StoredRecord(int length, long writtenAt, String key, byte[] value) {
+    }
+
+    /**
+     * 로그 표시 레코드의 내용
+     */
+    private record LogMarker(long generation, int format) {
+    }
+}
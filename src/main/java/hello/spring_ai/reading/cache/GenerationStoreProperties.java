@@ -0,0 +1,29 @@
+package hello.spring_ai.reading.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 디스크 기반 생성 결과 저장소 설정
+ *
+ * @param enabled              저장소 사용 여부
+ * @param directory            로그와 인덱스 파일을 둘 디렉터리
+ * @param ttl                  저장 후 보관 기간 (지난 항목은 조회되지 않고 압축 시 제거)
+ * @param initialCapacity      인덱스 슬롯 초기 개수 (2의 거듭제곱으로 올림)
+ * @param compactionRatio      로그에서 대체된 레코드 비율이 이 값을 넘으면 압축
+ * @param compactionMinLogSize 압축을 고려할 최소 로그 크기
+ */
+@ConfigurationProperties(prefix = "reading.store")
+public record GenerationStoreProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("data/generation-store") Path directory,
+        @DefaultValue("30d") Duration ttl,
+        @DefaultValue("4096") int initialCapacity,
+        @DefaultValue("0.5") double compactionRatio,
+        @DefaultValue("16MB") DataSize compactionMinLogSize
+) {
+}
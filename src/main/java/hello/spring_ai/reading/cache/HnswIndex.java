@@ -0,0 +1,545 @@
+package hello.spring_ai.reading.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 근사 최근접 이웃 검색 인덱스 (HNSW, Hierarchical Navigable Small World)
+ * 길이 1로 정규화된 벡터를 내적(코사인 유사도)으로 비교한다.
+ * 벡터는 float 배열 하나에 이어 붙여 보관하고, 층별 이웃 목록도 int 배열([0]은 이웃 수)로 보관한다.
+ * 위층은 노드가 드물어 멀리 이동하고, 아래층으로 내려오며 후보를 좁히므로 검색 비용이 노드 수의 로그에 비례한다.
+ * 노드는 추가만 할 수 있으며 번호는 0부터 추가 순서대로 매겨진다 (삭제는 호출하는 쪽에서 번호로 거른다).
+ * 추가는 쓰기 잠금, 검색은 읽기 잠금으로 보호하므로 여러 스레드에서 동시에 검색할 수 있다.
+ */
+public final class HnswIndex {
+
+    private static final int NONE = -1;
+
+    private final int dimensions;
+    private final int maxConnections;
+    private final int maxConnectionsBottom;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Visited> visited = ThreadLocal.withInitial(Visited::new);
+
+    private float[] vectors;
+    private int[][][] links;
+    private int size;
+    private int entryPoint = NONE;
+    private int maxLevel = NONE;
+
+    /**
+     * @param dimensions     벡터 차원
+     * @param maxConnections 위층 노드당 이웃 수 (M, 맨 아래층은 2M)
+     * @param efConstruction 추가할 때 살펴보는 후보 수 (클수록 정확도가 높고 추가가 느림)
+     * @param seed           노드 층을 정하는 난수 시드
+     */
+    public HnswIndex(int dimensions, int maxConnections, int efConstruction, long seed) {
+        if (dimensions <= 0 || maxConnections < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("dimensions > 0, maxConnections >= 2, efConstruction >= 1이어야 합니다");
+        }
+        this.dimensions = dimensions;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsBottom = maxConnections * 2;
+        this.efConstruction = Math.max(efConstruction, maxConnections);
+        this.levelMultiplier = 1 / Math.log(maxConnections);
+        this.random = new SplittableRandom(seed);
+        this.vectors = new float[16 * dimensions];
+        this.links = new int[16][][];
+    }
+
+    /**
+     * 검색 결과 하나
+     *
+     * @param id         노드 번호 (추가 순서)
+     * @param similarity 질의 벡터와의 코사인 유사도
+     */
+    public record Match(int id, float similarity) {
+    }
+
+    /**
+     * 노드 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 벡터 추가
+     *
+     * @param vector 길이 1로 정규화된 벡터 (복사해서 보관)
+     * @return 노드 번호
+     */
+    public int add(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("벡터 차원이 다릅니다: " + vector.length + " != " + dimensions);
+        }
+        lock.writeLock().lock();
+        try {
+            int id = size;
+            ensureCapacity(id + 1);
+            System.arraycopy(vector, 0, vectors, id * dimensions, dimensions);
+            int level = randomLevel();
+            links[id] = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                links[id][l] = new int[(l == 0 ? maxConnectionsBottom : maxConnections) + 1];
+            }
+            size++;
+
+            if (entryPoint == NONE) {
+                entryPoint = id;
+                maxLevel = level;
+                return id;
+            }
+
+            int current = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                current = greedy(vector, current, l);
+            }
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                Candidates candidates = searchLayer(vector, current, efConstruction, l);
+                int[] neighbors = selectNeighbors(candidates, l == 0 ? maxConnectionsBottom : maxConnections);
+                for (int neighbor : neighbors) {
+                    connect(id, neighbor, l);
+                    connect(neighbor, id, l);
+                }
+                current = candidates.best();
+            }
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = id;
+            }
+            return id;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 가장 가까운 노드 검색
+     *
+     * @param query 길이 1로 정규화된 질의 벡터
+     * @param k     반환할 최대 개수
+     * @param ef    살펴볼 후보 수 (k보다 작으면 k, 클수록 정확도가 높고 느림)
+     * @return 유사도 내림차순 결과
+     */
+    public List<Match> search(float[] query, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint == NONE) {
+                return List.of();
+            }
+            int current = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                current = greedy(query, current, l);
+            }
+            Candidates candidates = searchLayer(query, current, Math.max(ef, k), 0);
+            int[] order = candidates.sortedIndexes();
+            List<Match> matches = new ArrayList<>(Math.min(k, order.length));
+            for (int i = 0; i < order.length && matches.size() < k; i++) {
+                matches.add(new Match(candidates.ids[order[i]], candidates.scores[order[i]]));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 노드와 비교하는 정확한 검색 (정확도 측정용)
+     */
+    public List<Match> exactSearch(float[] query, int k) {
+        lock.readLock().lock();
+        try {
+            Candidates best = new Candidates(k);
+            for (int id = 0; id < size; id++) {
+                best.offer(id, similarity(query, id));
+            }
+            int[] order = best.sortedIndexes();
+            List<Match> matches = new ArrayList<>(order.length);
+            for (int index : order) {
+                matches.add(new Match(best.ids[index], best.scores[index]));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble();
+        return (int) Math.min(16, Math.floor(-Math.log(uniform) * levelMultiplier));
+    }
+
+    /**
+     * 한 층에서 더 가까운 이웃이 없을 때까지 이동
+     */
+    private int greedy(float[] query, int start, int level) {
+        int current = start;
+        float currentScore = similarity(query, current);
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            int[] neighbors = links[current][level];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                float score = similarity(query, neighbors[i]);
+                if (score > currentScore) {
+                    currentScore = score;
+                    current = neighbors[i];
+                    moved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 한 층에서 질의와 가까운 노드 ef개 찾기 (가까운 후보부터 이웃을 넓혀 가며 탐색)
+     */
+    private Candidates searchLayer(float[] query, int start, int ef, int level) {
+        Visited seen = visited.get();
+        seen.reset(size);
+        seen.mark(start);
+
+        float startScore = similarity(query, start);
+        Candidates results = new Candidates(ef);
+        results.offer(start, startScore);
+        Frontier frontier = new Frontier(ef * 2);
+        frontier.push(start, startScore);
+
+        while (!frontier.isEmpty()) {
+            float score = frontier.peekScore();
+            if (results.full() && score <= results.worstScore()) {
+                break;
+            }
+            int node = frontier.pop();
+            int[] neighbors = links[node][level];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                int neighbor = neighbors[i];
+                if (!seen.mark(neighbor)) {
+                    continue;
+                }
+                float neighborScore = similarity(query, neighbor);
+                if (!results.full() || neighborScore > results.worstScore()) {
+                    results.offer(neighbor, neighborScore);
+                    frontier.push(neighbor, neighborScore);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 후보 중 이웃 고르기 (HNSW 논문의 휴리스틱)
+     * 이미 고른 이웃보다 질의에 더 가까운 후보만 골라 여러 방향의 이웃을 남기고, 모자라면 남은 가까운 후보로 채운다.
+     */
+    private int[] selectNeighbors(Candidates candidates, int limit) {
+        int[] order = candidates.sortedIndexes();
+        int[] selected = new int[Math.min(limit, order.length)];
+        boolean[] taken = new boolean[order.length];
+        int count = 0;
+        for (int i = 0; i < order.length && count < selected.length; i++) {
+            int candidate = candidates.ids[order[i]];
+            float score = candidates.scores[order[i]];
+            boolean diverse = true;
+            for (int j = 0; j < count; j++) {
+                if (similarity(candidate, selected[j]) > score) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[count++] = candidate;
+                taken[i] = true;
+            }
+        }
+        for (int i = 0; i < order.length && count < selected.length; i++) {
+            if (!taken[i]) {
+                selected[count++] = candidates.ids[order[i]];
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * from의 이웃 목록에 to 추가 (가득 차면 가장 먼 이웃과 비교해 교체)
+     */
+    private void connect(int from, int to, int level) {
+        int[] neighbors = links[from][level];
+        int count = neighbors[0];
+        for (int i = 1; i <= count; i++) {
+            if (neighbors[i] == to) {
+                return;
+            }
+        }
+        if (count < neighbors.length - 1) {
+            neighbors[count + 1] = to;
+            neighbors[0] = count + 1;
+            return;
+        }
+        int worst = NONE;
+        float worstScore = similarity(from, to);
+        for (int i = 1; i <= count; i++) {
+            float score = similarity(from, neighbors[i]);
+            if (score < worstScore) {
+                worstScore = score;
+                worst = i;
+            }
+        }
+        if (worst != NONE) {
+            neighbors[worst] = to;
+        }
+    }
+
+    private float similarity(float[] query, int id) {
+        return dot(query, 0, vectors, id * dimensions, dimensions);
+    }
+
+    private float similarity(int a, int b) {
+        return dot(vectors, a * dimensions, vectors, b * dimensions, dimensions);
+    }
+
+    /**
+     * 내적
+     * 합을 변수 하나에 이어 더하면 덧셈마다 앞의 덧셈을 기다려야 하므로, 네 갈래로 나눠 더한 뒤 합친다.
+     */
+    static float dot(float[] a, int offsetA, float[] b, int offsetB, int length) {
+        float s0 = 0;
+        float s1 = 0;
+        float s2 = 0;
+        float s3 = 0;
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            s0 += a[offsetA + i] * b[offsetB + i];
+            s1 += a[offsetA + i + 1] * b[offsetB + i + 1];
+            s2 += a[offsetA + i + 2] * b[offsetB + i + 2];
+            s3 += a[offsetA + i + 3] * b[offsetB + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[offsetA + i] * b[offsetB + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private void ensureCapacity(int nodes) {
+        if (nodes > links.length) {
+            int capacity = Math.max(nodes, links.length * 2);
+            links = Arrays.copyOf(links, capacity);
+            vectors = Arrays.copyOf(vectors, capacity * dimensions);
+        }
+    }
+
+    /**
+     * 유사도가 높은 노드 ef개를 보관하는 최소 힙 (루트가 가장 먼 노드)
+     */
+    private static final class Candidates {
+
+        private final int[] ids;
+        private final float[] scores;
+        private int count;
+
+        private Candidates(int capacity) {
+            this.ids = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        private boolean full() {
+            return count == ids.length;
+        }
+
+        private float worstScore() {
+            return scores[0];
+        }
+
+        private void offer(int id, float score) {
+            if (!full()) {
+                ids[count] = id;
+                scores[count] = score;
+                siftUp(count++);
+            } else if (score > scores[0]) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        private int best() {
+            int best = 0;
+            for (int i = 1; i < count; i++) {
+                if (scores[i] > scores[best]) {
+                    best = i;
+                }
+            }
+            return ids[best];
+        }
+
+        /**
+         * 유사도 내림차순 위치
+         */
+        private int[] sortedIndexes() {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+            int[] result = new int[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = order[i];
+            }
+            return result;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (scores[parent] <= scores[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = index * 2 + 1;
+                int smallest = index;
+                if (left < count && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (left + 1 < count && scores[left + 1] < scores[smallest]) {
+                    smallest = left + 1;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(smallest, index);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    /**
+     * 탐색할 노드의 최대 힙 (루트가 가장 가까운 노드, 필요하면 늘어남)
+     */
+    private static final class Frontier {
+
+        private int[] ids;
+        private float[] scores;
+        private int count;
+
+        private Frontier(int capacity) {
+            this.ids = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        private boolean isEmpty() {
+            return count == 0;
+        }
+
+        private float peekScore() {
+            return scores[0];
+        }
+
+        private void push(int id, float score) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                scores = Arrays.copyOf(scores, count * 2);
+            }
+            int index = count++;
+            ids[index] = id;
+            scores[index] = score;
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (scores[parent] >= scores[index]) {
+                    break;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private int pop() {
+            int top = ids[0];
+            count--;
+            ids[0] = ids[count];
+            scores[0] = scores[count];
+            int index = 0;
+            while (true) {
+                int left = index * 2 + 1;
+                int largest = index;
+                if (left < count && scores[left] > scores[largest]) {
+                    largest = left;
+                }
+                if (left + 1 < count && scores[left + 1] > scores[largest]) {
+                    largest = left + 1;
+                }
+                if (largest == index) {
+                    return top;
+                }
+                swap(largest, index);
+                index = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    /**
+     * 검색 중 방문한 노드 표시 (스레드마다 하나, 세대 번호로 초기화 비용 없이 재사용)
+     */
+    private static final class Visited {
+
+        private int[] marks = new int[0];
+        private int generation;
+
+        private void reset(int nodes) {
+            if (marks.length < nodes) {
+                marks = new int[Math.max(nodes, marks.length * 2)];
+                generation = 0;
+            }
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        /**
+         * 처음 방문이면 표시하고 true
+         */
+        private boolean mark(int node) {
+            if (marks[node] == generation) {
+                return false;
+            }
+            marks[node] = generation;
+            return true;
+        }
+    }
+}
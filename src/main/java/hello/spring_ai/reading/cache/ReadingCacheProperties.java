@@ -0,0 +1,21 @@
+package hello.spring_ai.reading.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 읽기 자료 메모리 캐시 설정
+ *
+ * @param enabled     캐시 사용 여부
+ * @param maximumSize 최대 보관 개수 (초과 시 오래 사용되지 않은 항목부터 제거)
+ * @param ttl         저장 후 보관 기간
+ */
+@ConfigurationProperties(prefix = "reading.cache")
+public record ReadingCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") long maximumSize,
+        @DefaultValue("6h") Duration ttl
+) {
+}
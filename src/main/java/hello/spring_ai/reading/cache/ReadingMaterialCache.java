@@ -0,0 +1,168 @@
+package hello.spring_ai.reading.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.ResponseSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 생성된 읽기 자료의 메모리 캐시
+ * 크기와 보관 기간으로 항목을 제거하며, 같은 키로 동시에 들어온 요청은 모델을 한 번만 호출한다.
+ * 캐시에서 제공한 결과는 source가 CACHE로 표시된다.
+ * 적중/실패/제거 횟수는 reading.cache.* 지표로 내보낸다.
+ */
+@Component
+public class ReadingMaterialCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadingMaterialCache.class);
+
+    private final boolean enabled;
+    private final AsyncCache<ReadingMaterialCacheKey, ModelComparisonResponse> cache;
+
+    public ReadingMaterialCache(ReadingCacheProperties properties) {
+        this.enabled = properties.enabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * 캐시를 사용하지 않는 인스턴스
+     */
+    public static ReadingMaterialCache disabled() {
+        return new ReadingMaterialCache(new ReadingCacheProperties(false, 0, Duration.ZERO));
+    }
+
+    /**
+     * 캐시된 결과를 조회하고, 없으면 loader로 생성하여 저장
+     * 같은 키를 생성 중인 요청이 있으면 그 결과를 기다린다.
+     *
+     * @param key    정규화된 요청 키
+     * @param loader 캐시에 없을 때 결과를 생성하는 함수
+     * @return 생성 결과 (캐시에서 제공된 경우 source가 CACHE)
+     */
+    public ModelComparisonResponse get(ReadingMaterialCacheKey key, Supplier<ModelComparisonResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CompletableFuture<ModelComparisonResponse> created = new CompletableFuture<>();
+        CompletableFuture<ModelComparisonResponse> future = cache.get(key, (k, executor) -> created);
+
+        if (future != created) {
+            ModelComparisonResponse cached = join(future);
+            log.debug("캐시에서 제공 - 모델: {}, 키: {}", key.model(), key.canonical());
+            return cached.withSource(ResponseSource.CACHE);
+        }
+
+        try {
+            ModelComparisonResponse response = loader.get();
+            created.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 비동기 loader를 사용하는 get
+     * 호출한 스레드를 막지 않으며, 같은 키를 생성 중인 요청이 있으면 그 결과가 끝날 때 함께 완료된다.
+     * 돌려받은 future는 호출한 쪽마다 따로 만든 것이므로, 한 요청이 취소(제한 시간 초과, 연결 끊김)해도
+     * 생성은 계속되어 같은 키를 기다리는 다른 요청과 캐시 항목은 결과를 받는다.
+     *
+     * @param key    정규화된 요청 키
+     * @param loader 캐시에 없을 때 결과를 생성하는 함수
+     * @return 생성 결과 (캐시에서 제공된 경우 source가 CACHE)
+     */
+    public CompletableFuture<ModelComparisonResponse> getAsync(
+            ReadingMaterialCacheKey key, Supplier<CompletableFuture<ModelComparisonResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CompletableFuture<ModelComparisonResponse> created = new CompletableFuture<>();
+        CompletableFuture<ModelComparisonResponse> future = cache.get(key, (k, executor) -> created);
+
+        if (future != created) {
+            return future.thenApply(cached -> {
+                log.debug("캐시에서 제공 - 모델: {}, 키: {}", key.model(), key.canonical());
+                return cached.withSource(ResponseSource.CACHE);
+            });
+        }
+
+        CompletableFuture<ModelComparisonResponse> loading;
+        try {
+            loading = loader.get();
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        }
+        loading.whenComplete((response, e) -> {
+            if (e != null) {
+                created.completeExceptionally(e);
+            } else {
+                created.complete(response);
+            }
+        });
+        return loading.copy();
+    }
+
+    /**
+     * 적중, 실패, 제거 횟수 등 캐시 통계
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    /**
+     * 현재 보관 중인 항목 수 (근사값)
+     */
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("reading.cache.requests", this, cache -> cache.stats().hitCount())
+                .description("메모리 캐시 조회 수")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("reading.cache.requests", this, cache -> cache.stats().missCount())
+                .description("메모리 캐시 조회 수")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("reading.cache.evictions", this, cache -> cache.stats().evictionCount())
+                .description("크기 또는 보관 기간으로 제거된 항목 수")
+                .register(registry);
+        Gauge.builder("reading.cache.size", this, ReadingMaterialCache::estimatedSize)
+                .description("메모리 캐시 항목 수")
+                .register(registry);
+    }
+
+    private static ModelComparisonResponse join(CompletableFuture<ModelComparisonResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package hello.spring_ai.reading.cache;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 읽기 자료 캐시 키
+ * 같은 의미의 요청이 같은 키가 되도록 요청을 정규화한다.
+ * 주제는 앞뒤 공백을 없애고 연속 공백을 하나로 줄이며, 목표 단어는 공백 제거, 중복 제거, 정렬한다.
+ */
+public record ReadingMaterialCacheKey(
+        String model,
+        KoreanLevel level,
+        String topic,
+        List<String> targetWords,
+        int targetLength
+) {
+
+    public static ReadingMaterialCacheKey of(String model, ReadingMaterialRequest request) {
+        List<String> words = request.targetWords().stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+
+        return new ReadingMaterialCacheKey(
+                model,
+                request.level(),
+                normalizeTopic(request.topic()),
+                words,
+                request.targetLength()
+        );
+    }
+
+    private static String normalizeTopic(String topic) {
+        return topic == null ? "" : topic.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 키의 문자열 표현 (디스크 저장소의 키)
+     * 값마다 앞에 글자 수와 ':'를 붙여 이어 쓰므로, 주제나 목표 단어에 어떤 문자가 들어 있어도 다른 요청과 겹치지 않는다.
+     * 목표 단어는 개수를 먼저 쓴다. 예: 8:BEGINNER5:gpt-43:1502:과일2:2:사과3:바나나
+     */
+    public String canonical() {
+        StringBuilder canonical = new StringBuilder();
+        appendField(canonical, String.valueOf(level));
+        appendField(canonical, model);
+        appendField(canonical, Integer.toString(targetLength));
+        appendField(canonical, topic);
+        canonical.append(targetWords.size()).append(':');
+        for (String word : targetWords) {
+            appendField(canonical, word);
+        }
+        return canonical.toString();
+    }
+
+    private static void appendField(StringBuilder canonical, String value) {
+        canonical.append(value.length()).append(':').append(value);
+    }
+}
@@ -0,0 +1,327 @@
+package hello.spring_ai.reading.cache;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.ResponseSource;
+import hello.spring_ai.reading.coverage.TargetWordMatcher;
+import hello.spring_ai.reading.coverage.WordCoverage;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비슷한 요청의 생성 결과를 재사용하는 캐시
+ * 주제만 조금 다른 요청("한국 음식", "한국의 음식 문화")은 정확히 같은 키를 쓰는 ReadingMaterialCache에서 모두 빗나가므로,
+ * 주제와 목표 단어를 TopicEmbedder로 임베딩해 모델, 수준별 HNSW 인덱스에 저장하고 가까운 결과를 찾는다.
+ * 수준과 모델은 정확히 같아야 하며, 유사도가 similarityThreshold 이상이고 목표 길이가 허용 범위 안이며
+ * 저장된 본문에 이번 요청의 목표 단어가 모두 들어 있는 결과만 제공한다 (source가 SEMANTIC_CACHE).
+ *
+ * <p>HNSW 인덱스는 노드를 지울 수 없으므로 오래된 항목은 제거 표시만 하고 검색 결과에서 거르며,
+ * 제거 표시가 살아 있는 항목보다 많아지면 그 인덱스를 별도 스레드에서 다시 만든다.
+ * 다시 만드는 동안에도 기존 인덱스로 검색과 추가를 계속하고, 다 만든 뒤 그 사이에 추가된 항목만 옮겨 넣고 한 번에 바꾼다.
+ * 검색은 잠금 없이(인덱스의 읽기 잠금만) 동시에 실행되고, 추가와 제거만 서로 순서대로 처리한다.
+ * 조회 결과는 reading.semantic-cache.* 지표로 내보낸다.
+ */
+@Component
+public class SemanticCache implements DisposableBean, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SemanticCache.class);
+
+    private static final int MIN_REBUILD_REMOVED = 1024;
+
+    private final SemanticCacheProperties properties;
+    private final TopicEmbedder embedder;
+    private final Executor rebuilder;
+    private final Map<Partition, Shard> shards = new ConcurrentHashMap<>();
+    private final ArrayDeque<Entry> insertionOrder = new ArrayDeque<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private int size;
+
+    public SemanticCache(SemanticCacheProperties properties) {
+        this(properties, properties.enabled() ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "semantic-cache-rebuilder");
+            thread.setDaemon(true);
+            return thread;
+        }) : null);
+    }
+
+    /**
+     * @param rebuilder 인덱스를 다시 만드는 작업을 실행할 Executor (테스트에서 실행 시점을 정할 때 사용)
+     */
+    SemanticCache(SemanticCacheProperties properties, Executor rebuilder) {
+        this.properties = properties;
+        this.embedder = new TopicEmbedder(properties.dimensions());
+        this.rebuilder = rebuilder;
+    }
+
+    /**
+     * 캐시를 사용하지 않는 인스턴스
+     */
+    public static SemanticCache disabled() {
+        return new SemanticCache(new SemanticCacheProperties(false, 1.0, 0, 0, Duration.ZERO, 1, 2, 1, 1, 1));
+    }
+
+    /**
+     * 비슷한 요청의 생성 결과 찾기
+     *
+     * @param key 정규화된 요청 키
+     * @return 조건을 만족하는 가장 비슷한 결과 (source가 SEMANTIC_CACHE, coverage는 이번 요청의 목표 단어 기준)
+     */
+    public Optional<ModelComparisonResponse> find(ReadingMaterialCacheKey key) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        Shard shard = shards.get(new Partition(key.model(), key.level()));
+        if (shard == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        Graph graph = shard.graph;
+        float[] query = embedder.embed(key.topic(), key.targetWords());
+        List<HnswIndex.Match> matches = graph.index().search(query, properties.candidates(), properties.efSearch());
+        long now = System.currentTimeMillis();
+        TargetWordMatcher matcher = null;
+
+        for (HnswIndex.Match match : matches) {
+            if (match.similarity() < properties.similarityThreshold()) {
+                break;
+            }
+            Entry entry = graph.entry(match.id());
+            if (entry == null || entry.removed || expired(entry, now) || !lengthFits(entry.key, key)) {
+                continue;
+            }
+            if (matcher == null) {
+                matcher = TargetWordMatcher.compile(key.targetWords());
+            }
+            WordCoverage coverage = matcher.coverage(entry.response.content());
+            if (!coverage.complete()) {
+                continue;
+            }
+            hits.increment();
+            log.debug("유사 요청 캐시에서 제공 - 모델: {}, 유사도: {}, 요청: {}, 저장: {}",
+                    key.model(), match.similarity(), key.topic(), entry.key.topic());
+            return Optional.of(entry.response.withSource(ResponseSource.SEMANTIC_CACHE).withCoverage(coverage));
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 생성 결과 저장 (실패한 결과는 저장하지 않음)
+     */
+    public void put(ReadingMaterialCacheKey key, ModelComparisonResponse response) {
+        if (!properties.enabled() || !response.succeeded() || response.content() == null) {
+            return;
+        }
+        float[] vector = embedder.embed(key.topic(), key.targetWords());
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            evictExpired(now);
+            Partition partition = new Partition(key.model(), key.level());
+            Shard shard = shards.computeIfAbsent(partition, p -> new Shard());
+            Entry entry = new Entry(partition, key, response.withSource(ResponseSource.UPSTREAM), vector, now);
+            shard.add(entry);
+            insertionOrder.addLast(entry);
+            size++;
+            while (size > properties.maximumSize()) {
+                remove(insertionOrder.pollFirst());
+            }
+        }
+    }
+
+    /**
+     * 보관 중인 항목 수
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("reading.semantic-cache.requests", hits, LongAdder::sum)
+                .description("유사 요청 캐시 조회 수")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("reading.semantic-cache.requests", misses, LongAdder::sum)
+                .description("유사 요청 캐시 조회 수")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("reading.semantic-cache.size", this, SemanticCache::size)
+                .description("유사 요청 캐시 항목 수")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (rebuilder instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void evictExpired(long now) {
+        Entry oldest;
+        while ((oldest = insertionOrder.peekFirst()) != null && expired(oldest, now)) {
+            remove(insertionOrder.pollFirst());
+        }
+    }
+
+    private void remove(Entry entry) {
+        entry.removed = true;
+        size--;
+        Shard shard = shards.get(entry.partition);
+        shard.removed++;
+        if (!shard.rebuilding && shard.removed >= MIN_REBUILD_REMOVED
+                && shard.removed > shard.graph.index().size() / 2) {
+            shard.scheduleRebuild();
+        }
+    }
+
+    private boolean expired(Entry entry, long now) {
+        return now - entry.createdAt >= properties.ttl().toMillis();
+    }
+
+    private boolean lengthFits(ReadingMaterialCacheKey stored, ReadingMaterialCacheKey requested) {
+        double difference = Math.abs(stored.targetLength() - requested.targetLength());
+        return difference <= requested.targetLength() * properties.lengthTolerance();
+    }
+
+    private record Partition(String model, KoreanLevel level) {
+    }
+
+    private static final class Entry {
+
+        private final Partition partition;
+        private final ReadingMaterialCacheKey key;
+        private final ModelComparisonResponse response;
+        private final float[] vector;
+        private final long createdAt;
+        private volatile boolean removed;
+
+        private Entry(Partition partition, ReadingMaterialCacheKey key, ModelComparisonResponse response,
+                      float[] vector, long createdAt) {
+            this.partition = partition;
+            this.key = key;
+            this.response = response;
+            this.vector = vector;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * 인덱스와 노드 번호별 항목 (검색하는 쪽이 한 번에 읽도록 함께 교체)
+     */
+    private record Graph(HnswIndex index, Entry[] entries) {
+
+        private Entry entry(int id) {
+            return id < entries.length ? entries[id] : null;
+        }
+    }
+
+    /**
+     * 모델, 수준 하나의 인덱스 (변경은 SemanticCache의 잠금 안에서만)
+     */
+    private final class Shard {
+
+        private volatile Graph graph = newGraph(16);
+        private int removed;
+        private boolean rebuilding;
+
+        private void add(Entry entry) {
+            graph = append(graph, entry);
+        }
+
+        /**
+         * 제거 표시되지 않은 항목으로 새 인덱스를 만드는 작업 예약
+         * 지금까지 추가된 항목만 옮기고, 만드는 동안 추가된 항목은 바꿀 때(swap) 옮긴다.
+         */
+        private void scheduleRebuild() {
+            Graph current = graph;
+            int snapshotSize = current.index().size();
+            Entry[] snapshot = Arrays.copyOf(current.entries(), snapshotSize);
+            int live = snapshotSize - removed;
+            rebuilding = true;
+            rebuilder.execute(() -> {
+                Graph rebuilt = newGraph(Math.max(16, live));
+                try {
+                    for (Entry entry : snapshot) {
+                        if (entry != null && !entry.removed) {
+                            rebuilt = append(rebuilt, entry);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("유사 요청 캐시 인덱스 재구성 실패, 기존 인덱스를 계속 사용합니다", e);
+                    synchronized (SemanticCache.this) {
+                        rebuilding = false;
+                    }
+                    return;
+                }
+                synchronized (SemanticCache.this) {
+                    swap(rebuilt, snapshotSize);
+                }
+            });
+        }
+
+        /**
+         * 다시 만든 인덱스로 교체 (SemanticCache의 잠금 안에서)
+         *
+         * @param rebuilt 다시 만든 인덱스
+         * @param from    다시 만들기 시작한 뒤 기존 인덱스에 추가된 첫 노드 번호
+         */
+        private void swap(Graph rebuilt, int from) {
+            Graph current = graph;
+            int end = current.index().size();
+            for (int id = from; id < end; id++) {
+                Entry entry = current.entries()[id];
+                if (!entry.removed) {
+                    rebuilt = append(rebuilt, entry);
+                }
+            }
+            int tombstones = 0;
+            for (Entry entry : rebuilt.entries()) {
+                if (entry != null && entry.removed) {
+                    tombstones++;
+                }
+            }
+            log.debug("유사 요청 캐시 인덱스 재구성 - 이전 노드: {}, 남은 항목: {}, 재구성 중 추가: {}",
+                    end, rebuilt.index().size(), end - from);
+            graph = rebuilt;
+            removed = tombstones;
+            rebuilding = false;
+        }
+
+        private Graph append(Graph current, Entry entry) {
+            int id = current.index().size();
+            if (id == current.entries().length) {
+                current = new Graph(current.index(), Arrays.copyOf(current.entries(), id * 2));
+            }
+            current.entries()[id] = entry;
+            current.index().add(entry.vector);
+            return current;
+        }
+
+        private Graph newGraph(int capacity) {
+            return new Graph(new HnswIndex(properties.dimensions(), properties.maxConnections(),
+                    properties.efConstruction(), 42L), new Entry[capacity]);
+        }
+    }
+}
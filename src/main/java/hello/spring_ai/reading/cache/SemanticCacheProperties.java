@@ -0,0 +1,42 @@
+package hello.spring_ai.reading.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 유사 요청 캐시 설정
+ *
+ * @param enabled             사용 여부
+ * @param similarityThreshold 저장된 결과를 제공할 최소 코사인 유사도 (주제 + 목표 단어 임베딩 기준)
+ * @param lengthTolerance     목표 길이 허용 차이 비율 (0.25면 요청 길이의 ±25% 안의 결과만 제공)
+ * @param maximumSize         최대 보관 개수 (초과 시 오래된 항목부터 제거)
+ * @param ttl                 저장 후 보관 기간
+ * @param dimensions          임베딩 차원
+ * @param maxConnections      HNSW 노드당 이웃 수 (M)
+ * @param efConstruction      HNSW 추가 시 후보 수
+ * @param efSearch            HNSW 검색 시 후보 수 (클수록 정확도가 높고 느림)
+ * @param candidates          유사도 순으로 확인할 최대 결과 수 (목표 길이, 목표 단어 조건으로 거른다)
+ */
+@ConfigurationProperties(prefix = "reading.semantic-cache")
+public record SemanticCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0.85") double similarityThreshold,
+        @DefaultValue("0.25") double lengthTolerance,
+        @DefaultValue("10000") int maximumSize,
+        @DefaultValue("6h") Duration ttl,
+        @DefaultValue("256") int dimensions,
+        @DefaultValue("16") int maxConnections,
+        @DefaultValue("100") int efConstruction,
+        @DefaultValue("64") int efSearch,
+        @DefaultValue("4") int candidates
+) {
+
+    /**
+     * 기본 설정으로 켠 캐시 (테스트, 벤치마크용)
+     */
+    public static SemanticCacheProperties defaults() {
+        return new SemanticCacheProperties(true, 0.85, 0.25, 10_000, Duration.ofHours(6), 256, 16, 100, 64, 4);
+    }
+}
@@ -0,0 +1,127 @@
+package hello.spring_ai.reading.cache;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 주제와 목표 단어를 고정 길이 벡터로 바꾸는 로컬 임베딩
+ * 외부 모델 없이 특징 해싱(feature hashing)으로 만든다.
+ * 주제의 어절(끝의 조사를 뗀 형태)과 어절별 글자 2-gram, 목표 단어를 특징으로 삼아
+ * 부호 있는 해시로 dimensions 차원에 더한 뒤 길이 1로 정규화하므로, 두 벡터의 내적이 코사인 유사도다.
+ * "한국 음식"과 "한국의 음식 문화"처럼 어절이 겹치는 주제는 유사도가 높고, 어순이나 조사 차이에는 영향이 작다.
+ * 상태가 없으므로 여러 스레드에서 공유해도 된다.
+ */
+public final class TopicEmbedder {
+
+    private static final float WORD_WEIGHT = 1.0f;
+    private static final float BIGRAM_WEIGHT = 0.5f;
+    private static final float TARGET_WORD_WEIGHT = 1.0f;
+
+    // 길이가 긴 조사부터 비교
+    private static final List<String> PARTICLES = List.of(
+            "으로", "에서", "에게", "까지", "부터", "처럼",
+            "의", "은", "는", "이", "가", "을", "를", "에", "와", "과", "로", "도", "및");
+
+    private final int dimensions;
+
+    public TopicEmbedder(int dimensions) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions는 양수여야 합니다: " + dimensions);
+        }
+        this.dimensions = dimensions;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * 주제와 목표 단어의 임베딩
+     *
+     * @return 길이 1로 정규화된 벡터 (특징이 없으면 영벡터)
+     */
+    public float[] embed(String topic, Collection<String> targetWords) {
+        float[] vector = new float[dimensions];
+        for (String word : words(topic)) {
+            add(vector, "w:" + word, WORD_WEIGHT);
+            String bounded = "^" + word + "$";
+            for (int i = 0; i + 2 <= bounded.length(); i++) {
+                add(vector, "b:" + bounded.substring(i, i + 2), BIGRAM_WEIGHT);
+            }
+        }
+        for (String word : targetWords) {
+            String normalized = normalize(word).strip();
+            if (!normalized.isEmpty()) {
+                add(vector, "t:" + normalized, TARGET_WORD_WEIGHT);
+            }
+        }
+        return normalizeLength(vector);
+    }
+
+    /**
+     * 두 정규화된 벡터의 코사인 유사도
+     */
+    public static float similarity(float[] a, float[] b) {
+        return HnswIndex.dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * 주제의 어절 (소문자, 끝의 조사 제거)
+     */
+    static List<String> words(String topic) {
+        List<String> words = new ArrayList<>();
+        if (topic == null) {
+            return words;
+        }
+        for (String token : normalize(topic).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                words.add(stripParticle(token));
+            }
+        }
+        return words;
+    }
+
+    private static String stripParticle(String token) {
+        for (String particle : PARTICLES) {
+            if (token.length() > particle.length() + 1 && token.endsWith(particle)) {
+                return token.substring(0, token.length() - particle.length());
+            }
+        }
+        return token;
+    }
+
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    private void add(float[] vector, String feature, float weight) {
+        long hash = mix(feature.hashCode());
+        int index = (int) Math.floorMod(hash, (long) dimensions);
+        vector[index] += (hash & (1L << 40)) == 0 ? weight : -weight;
+    }
+
+    private static float[] normalizeLength(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            return vector;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    // String.hashCode의 하위 비트 편중을 줄이기 위한 splitmix64 마무리 단계
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,33 @@
+package hello.spring_ai.reading.coverage;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 목표 단어 포함 검사 설정
+ *
+ * @param revisionEnabled 빠진 목표 단어가 있으면 보충 문장을 요청할지 여부
+ * @param maxRevisions    보충 문장을 요청하는 최대 횟수
+ * @param contextLength   보충 요청에 함께 보내는 본문 끝부분 길이 (글자 수)
+ */
+@ConfigurationProperties(prefix = "reading.coverage")
+public record CoverageProperties(
+        @DefaultValue("true") boolean revisionEnabled,
+        @DefaultValue("1") int maxRevisions,
+        @DefaultValue("400") int contextLength
+) {
+
+    /**
+     * 포함 여부만 검사하고 보충 요청은 하지 않는 설정
+     */
+    public static CoverageProperties checkOnly() {
+        return new CoverageProperties(false, 0, 0);
+    }
+
+    /**
+     * 보충 문장을 요청할 수 있는 횟수
+     */
+    public int revisionLimit() {
+        return revisionEnabled ? maxRevisions : 0;
+    }
+}
@@ -0,0 +1,210 @@
+package hello.spring_ai.reading.coverage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 목표 단어를 본문에서 찾을 검색 형태로 바꾸는 규칙
+ * 명사는 단어 그대로 찾으므로 뒤에 붙는 조사(사과를, 사과는)와 상관없이 찾아진다.
+ * "-다"로 끝나는 용언은 어간과 주요 활용형(아/어 축약, 과거형, 하다/르/ㅂ/ㄷ/ㄹ 불규칙)을 함께 찾는다.
+ * 한 음절 어간은 다른 단어의 일부로 잘못 찾아지지 않도록 흔한 어미를 붙인 형태로, 어절 첫머리에서만 찾는다
+ * (가다 → 가요, 갔어, 가는 ...).
+ * 활용으로 바뀐 어간도 다른 단어의 끝과 겹치기 쉬우므로(듣다 → 들어 / 만들어, 살다 → 사는 / 회사는)
+ * 어절 첫머리에서만 찾는다.
+ * 어휘 난이도 목록(KoreanVocabulary)도 같은 규칙으로 용언의 활용형을 찾는다.
+ */
+public final class KoreanStems {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+
+    // 중성 인덱스
+    private static final int A = 0;
+    private static final int AE = 1;
+    private static final int EO = 4;
+    private static final int E = 5;
+    private static final int YEO = 6;
+    private static final int O = 8;
+    private static final int WA = 9;
+    private static final int WAE = 10;
+    private static final int OE = 11;
+    private static final int U = 13;
+    private static final int WEO = 14;
+    private static final int EU = 18;
+    private static final int I = 20;
+
+    // 종성 인덱스
+    private static final int NONE = 0;
+    private static final int NIEUN = 4;
+    private static final int DIGEUT = 7;
+    private static final int RIEUL = 8;
+    private static final int BIEUP = 17;
+    private static final int SSANG_SIOT = 20;
+
+    private static final List<String> SHORT_STEM_ENDINGS = List.of(
+            "고", "는", "니", "도", "면", "서", "세", "요", "며", "습", "다",
+            "아", "어", "았", "었", "으", "은", "을", "ㅂ니");
+
+    private KoreanStems() {
+    }
+
+    /**
+     * 본문에서 찾을 검색 형태
+     *
+     * @param text      찾을 문자열
+     * @param wordStart 어절 첫머리(공백, 문장 부호 뒤)에서 시작할 때만 인정하는지 여부
+     */
+    public record Form(String text, boolean wordStart) {
+    }
+
+    /**
+     * 목표 단어의 검색 형태
+     *
+     * @param word 목표 단어 (명사 또는 "-다"로 끝나는 기본형)
+     * @return 본문에서 찾을 형태 목록 (원래 단어 포함)
+     */
+    public static List<Form> variants(String word) {
+        String trimmed = word.strip();
+        Map<String, Boolean> variants = new LinkedHashMap<>();
+        if (trimmed.isEmpty()) {
+            return List.of();
+        }
+        variants.put(trimmed, false);
+
+        if (trimmed.length() < 2 || !trimmed.endsWith("다") || !isSyllable(trimmed.charAt(trimmed.length() - 2))) {
+            return toForms(variants);
+        }
+
+        String stem = trimmed.substring(0, trimmed.length() - 1);
+        Set<String> stems = new LinkedHashSet<>();
+        stems.add(stem);
+        addConjugatedStems(stem, stems);
+
+        for (String s : stems) {
+            if (s.length() >= 2) {
+                variants.putIfAbsent(s, !s.equals(stem));
+            } else {
+                for (String ending : SHORT_STEM_ENDINGS) {
+                    addShortForm(variants, s, ending);
+                }
+            }
+        }
+        return toForms(variants);
+    }
+
+    private static List<Form> toForms(Map<String, Boolean> variants) {
+        List<Form> forms = new ArrayList<>(variants.size());
+        variants.forEach((text, wordStart) -> forms.add(new Form(text, wordStart)));
+        return forms;
+    }
+
+    /**
+     * 어간 끝 음절이 어미와 만나 바뀐 형태들 (축약형, 과거형, 불규칙 활용)
+     */
+    private static void addConjugatedStems(String stem, Set<String> stems) {
+        String head = stem.substring(0, stem.length() - 1);
+        char last = stem.charAt(stem.length() - 1);
+        int initial = initial(last);
+        int medial = medial(last);
+        int fin = finalConsonant(last);
+
+        if (last == '하') {
+            stems.add(head + '해');
+            stems.add(head + '했');
+            return;
+        }
+
+        if (fin == NONE) {
+            // 르 불규칙: 모르 → 몰라, 부르 → 불러
+            if (last == '르' && !head.isEmpty() && finalConsonant(head.charAt(head.length() - 1)) == NONE) {
+                String rieulHead = head.substring(0, head.length() - 1)
+                        + withFinal(head.charAt(head.length() - 1), RIEUL);
+                stems.add(rieulHead + "라");
+                stems.add(rieulHead + "러");
+                stems.add(rieulHead + "랐");
+                stems.add(rieulHead + "렀");
+            }
+
+            // 아/어 축약: 보 → 봐, 주 → 줘, 마시 → 마셔, 쓰 → 써, 되 → 돼
+            for (int contracted : contractedMedials(medial)) {
+                char syllable = compose(initial, contracted, NONE);
+                stems.add(head + syllable);
+                stems.add(head + withFinal(syllable, SSANG_SIOT));
+            }
+            return;
+        }
+
+        if (fin == BIEUP) {
+            // ㅂ 불규칙: 덥 → 더워, 돕 → 도와
+            String open = head + withFinal(last, NONE);
+            stems.add(open + "워");
+            stems.add(open + "웠");
+            stems.add(open + "와");
+            stems.add(open + "운");
+        } else if (fin == DIGEUT) {
+            // ㄷ 불규칙: 듣 → 들어, 걷 → 걸어
+            String rieul = head + withFinal(last, RIEUL);
+            stems.add(rieul + "어");
+            stems.add(rieul + "었");
+            stems.add(rieul + "으");
+        } else if (fin == RIEUL) {
+            // ㄹ 탈락: 만들 → 만드는, 만듭니다, 산다
+            String open = head + withFinal(last, NONE);
+            stems.add(open + "는");
+            stems.add(open + "세");
+            stems.add(head + withFinal(last, BIEUP) + "니");
+            stems.add(head + withFinal(last, NIEUN) + "다");
+        }
+    }
+
+    private static int[] contractedMedials(int medial) {
+        return switch (medial) {
+            case A, EO, AE, E -> new int[]{medial};
+            case O -> new int[]{WA};
+            case U -> new int[]{WEO};
+            case I -> new int[]{YEO};
+            case EU -> new int[]{EO, A};
+            case OE -> new int[]{WAE};
+            default -> new int[0];
+        };
+    }
+
+    private static void addShortForm(Map<String, Boolean> variants, String stem, String ending) {
+        if (ending.startsWith("ㅂ")) {
+            char syllable = stem.charAt(0);
+            if (finalConsonant(syllable) == NONE) {
+                variants.putIfAbsent(withFinal(syllable, BIEUP) + ending.substring(1), true);
+            }
+            return;
+        }
+        variants.putIfAbsent(stem + ending, true);
+    }
+
+    public static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+
+    private static int initial(char syllable) {
+        return (syllable - SYLLABLE_BASE) / (21 * 28);
+    }
+
+    private static int medial(char syllable) {
+        return (syllable - SYLLABLE_BASE) % (21 * 28) / 28;
+    }
+
+    private static int finalConsonant(char syllable) {
+        return isSyllable(syllable) ? (syllable - SYLLABLE_BASE) % 28 : -1;
+    }
+
+    private static char compose(int initial, int medial, int fin) {
+        return (char) (SYLLABLE_BASE + (initial * 21 + medial) * 28 + fin);
+    }
+
+    private static char withFinal(char syllable, int fin) {
+        return compose(initial(syllable), medial(syllable), fin);
+    }
+}
@@ -0,0 +1,252 @@
+package hello.spring_ai.reading.coverage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 목표 단어들을 본문에서 한 번에 찾는 다중 패턴 검색기 (Aho-Corasick)
+ * 목표 단어마다 KoreanStems의 검색 형태를 만들어 하나의 오토마톤으로 묶으므로,
+ * 단어 수나 활용형 수와 상관없이 본문을 한 번만 훑는다.
+ * 본문을 조각으로 나눠 넣어도 결과가 같으므로 스트리밍 중 도착한 조각이나 덧붙인 보충 문장만 이어서 검사할 수 있다.
+ * 만든 뒤에는 변경되지 않으므로 여러 스레드에서 공유해도 된다 (Scan은 스레드마다 따로 만든다).
+ */
+public final class TargetWordMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NO_LINK = -1;
+
+    private final List<String> targetWords;
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    private final int[] outputLink;
+    private final int[][] outputs;
+    private final int[] patternWord;
+    private final int[] patternLength;
+    private final boolean[] patternWordStart;
+    private final int maxPatternLength;
+
+    private TargetWordMatcher(List<String> targetWords, List<TreeMap<Character, Integer>> edges,
+                              List<List<Integer>> nodeOutputs, List<KoreanStems.Form> patterns,
+                              List<Integer> patternWords) {
+        this.targetWords = List.copyOf(targetWords);
+
+        int nodeCount = edges.size();
+        this.edgeChars = new char[nodeCount][];
+        this.edgeTargets = new int[nodeCount][];
+        this.outputs = new int[nodeCount][];
+        for (int node = 0; node < nodeCount; node++) {
+            TreeMap<Character, Integer> nodeEdges = edges.get(node);
+            char[] chars = new char[nodeEdges.size()];
+            int[] targets = new int[nodeEdges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : nodeEdges.entrySet()) {
+                chars[i] = edge.getKey();
+                targets[i++] = edge.getValue();
+            }
+            edgeChars[node] = chars;
+            edgeTargets[node] = targets;
+            outputs[node] = nodeOutputs.get(node).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        this.patternWord = patternWords.stream().mapToInt(Integer::intValue).toArray();
+        this.patternLength = new int[patterns.size()];
+        this.patternWordStart = new boolean[patterns.size()];
+        int maxLength = 0;
+        for (int p = 0; p < patterns.size(); p++) {
+            patternLength[p] = patterns.get(p).text().length();
+            patternWordStart[p] = patterns.get(p).wordStart();
+            maxLength = Math.max(maxLength, patternLength[p]);
+        }
+        this.maxPatternLength = maxLength;
+
+        this.fail = new int[nodeCount];
+        this.outputLink = new int[nodeCount];
+        buildLinks();
+    }
+
+    /**
+     * 목표 단어로 검색기 만들기
+     *
+     * @param targetWords 목표 단어 (명사 또는 "-다"로 끝나는 기본형)
+     * @return 검색기
+     */
+    public static TargetWordMatcher compile(List<String> targetWords) {
+        List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+        List<List<Integer>> nodeOutputs = new ArrayList<>();
+        List<KoreanStems.Form> patterns = new ArrayList<>();
+        List<Integer> patternWords = new ArrayList<>();
+        edges.add(new TreeMap<>());
+        nodeOutputs.add(new ArrayList<>());
+
+        for (int word = 0; word < targetWords.size(); word++) {
+            for (KoreanStems.Form form : KoreanStems.variants(targetWords.get(word))) {
+                int node = ROOT;
+                for (int i = 0; i < form.text().length(); i++) {
+                    char c = normalize(form.text().charAt(i));
+                    Integer child = edges.get(node).get(c);
+                    if (child == null) {
+                        child = edges.size();
+                        edges.get(node).put(c, child);
+                        edges.add(new TreeMap<>());
+                        nodeOutputs.add(new ArrayList<>());
+                    }
+                    node = child;
+                }
+                nodeOutputs.get(node).add(patterns.size());
+                patterns.add(form);
+                patternWords.add(word);
+            }
+        }
+        return new TargetWordMatcher(targetWords, edges, nodeOutputs, patterns, patternWords);
+    }
+
+    /**
+     * 본문 전체의 목표 단어 포함 현황
+     */
+    public WordCoverage coverage(CharSequence text) {
+        Scan scan = newScan();
+        scan.feed(text);
+        return scan.coverage();
+    }
+
+    /**
+     * 조각 단위로 이어서 검사하는 검색 상태 만들기
+     */
+    public Scan newScan() {
+        return new Scan();
+    }
+
+    /**
+     * 목표 단어 목록
+     */
+    public List<String> targetWords() {
+        return targetWords;
+    }
+
+    /**
+     * 너비 우선으로 실패 링크와, 실패 링크를 따라가며 처음 만나는 출력 노드 링크 계산
+     */
+    private void buildLinks() {
+        Arrays.fill(outputLink, NO_LINK);
+        int[] queue = new int[fail.length];
+        int head = 0;
+        int tail = 0;
+
+        for (int child : edgeTargets[ROOT]) {
+            fail[child] = ROOT;
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            char[] chars = edgeChars[node];
+            int[] targets = edgeTargets[node];
+            for (int i = 0; i < chars.length; i++) {
+                int child = targets[i];
+                int f = fail[node];
+                int next;
+                while ((next = step(f, chars[i])) == NO_LINK && f != ROOT) {
+                    f = fail[f];
+                }
+                fail[child] = next == NO_LINK || next == child ? ROOT : next;
+                outputLink[child] = outputs[fail[child]].length > 0 ? fail[child] : outputLink[fail[child]];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    private int step(int node, char c) {
+        char[] chars = edgeChars[node];
+        int index = Arrays.binarySearch(chars, c);
+        return index >= 0 ? edgeTargets[node][index] : NO_LINK;
+    }
+
+    private static char normalize(char c) {
+        return c < 128 ? Character.toLowerCase(c) : c;
+    }
+
+    private static boolean isWordChar(char c) {
+        return KoreanStems.isSyllable(c) || Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * 조각 단위 검색 상태
+     * feed로 넣은 조각들을 이어 붙인 본문을 한 번에 검사한 것과 같은 결과를 낸다.
+     */
+    public final class Scan {
+
+        private final int[] occurrences = new int[targetWords.size()];
+        private final char[] recent = new char[maxPatternLength + 1];
+        private long position;
+        private int node = ROOT;
+
+        private Scan() {
+        }
+
+        /**
+         * 본문 조각 검사
+         */
+        public Scan feed(CharSequence chunk) {
+            int state = node;
+            for (int i = 0; i < chunk.length(); i++) {
+                char c = normalize(chunk.charAt(i));
+                recent[(int) (position % recent.length)] = c;
+                position++;
+
+                int next;
+                while ((next = step(state, c)) == NO_LINK && state != ROOT) {
+                    state = fail[state];
+                }
+                state = next == NO_LINK ? ROOT : next;
+
+                for (int out = outputs[state].length > 0 ? state : outputLink[state]; out != NO_LINK; out = outputLink[out]) {
+                    for (int pattern : outputs[out]) {
+                        if (!patternWordStart[pattern] || atWordStart(patternLength[pattern])) {
+                            occurrences[patternWord[pattern]]++;
+                        }
+                    }
+                }
+            }
+            node = state;
+            return this;
+        }
+
+        /**
+         * 지금까지 넣은 본문의 목표 단어 포함 현황
+         */
+        public WordCoverage coverage() {
+            List<String> missing = new ArrayList<>();
+            for (int word = 0; word < occurrences.length; word++) {
+                if (occurrences[word] == 0) {
+                    missing.add(targetWords.get(word));
+                }
+            }
+            int covered = occurrences.length - missing.size();
+            double ratio = occurrences.length == 0 ? 1.0 : (double) covered / occurrences.length;
+            return new WordCoverage(occurrences.length, covered, ratio, missing, 0);
+        }
+
+        /**
+         * 목표 단어별 등장 횟수 (활용형 포함, 목표 단어 순서)
+         */
+        public Map<String, Integer> occurrences() {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (int word = 0; word < occurrences.length; word++) {
+                counts.merge(targetWords.get(word), occurrences[word], Integer::sum);
+            }
+            return counts;
+        }
+
+        private boolean atWordStart(int length) {
+            long start = position - length;
+            if (start == 0) {
+                return true;
+            }
+            return !isWordChar(recent[(int) ((start - 1) % recent.length)]);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package hello.spring_ai.reading.coverage;
+
+import java.util.List;
+
+/**
+ * 생성된 글의 목표 단어 포함 현황
+ *
+ * @param targetCount  목표 단어 수
+ * @param coveredCount 본문에서 찾은 목표 단어 수
+ * @param ratio        포함 비율 (0 ~ 1)
+ * @param missingWords 본문에서 찾지 못한 목표 단어
+ * @param revisions    빠진 단어를 넣기 위해 보충 문장을 요청한 횟수
+ */
+public record WordCoverage(
+        int targetCount,
+        int coveredCount,
+        double ratio,
+        List<String> missingWords,
+        int revisions
+) {
+
+    public WordCoverage {
+        missingWords = missingWords == null ? List.of() : List.copyOf(missingWords);
+    }
+
+    /**
+     * 모든 목표 단어가 포함되었는지 여부
+     */
+    public boolean complete() {
+        return missingWords.isEmpty();
+    }
+
+    /**
+     * 보충 요청 횟수만 바꾼 결과
+     */
+    public WordCoverage withRevisions(int revisions) {
+        return new WordCoverage(targetCount, coveredCount, ratio, missingWords, revisions);
+    }
+}
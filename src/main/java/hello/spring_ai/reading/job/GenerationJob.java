@@ -0,0 +1,91 @@
+package hello.spring_ai.reading.job;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 비동기 생성 작업
+ * 상태가 바뀔 때마다 새 값으로 교체되며, 저널에도 이 형태 그대로 레코드 하나로 기록된다.
+ * model이 없으면 등록된 모든 모델로 비교 생성하고, results는 모델 순서대로 담긴다.
+ * attempts는 실행을 시작한 횟수로, 실행 중 서버가 멈췄다 다시 실행되면 1보다 커진다.
+ *
+ * @param id             작업 ID
+ * @param idempotencyKey 제출 시 받은 멱등 키 (없으면 null)
+ * @param model          생성할 모델 (null이면 모든 모델 비교)
+ * @param request        자료 생성 요청
+ * @param status         작업 상태
+ * @param attempts       실행을 시작한 횟수
+ * @param submittedAt    제출 시각
+ * @param startedAt      마지막으로 실행을 시작한 시각
+ * @param finishedAt     끝난 시각
+ * @param results        생성 결과 (SUCCEEDED일 때)
+ * @param error          실패 원인 (FAILED일 때)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GenerationJob(
+        String id,
+        String idempotencyKey,
+        String model,
+        ReadingMaterialRequest request,
+        JobStatus status,
+        int attempts,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        List<ModelComparisonResponse> results,
+        String error
+) {
+
+    /**
+     * 새로 제출된 작업
+     */
+    public static GenerationJob queued(String id, String idempotencyKey, String model,
+                                       ReadingMaterialRequest request, Instant submittedAt) {
+        return new GenerationJob(id, idempotencyKey, model, request, JobStatus.QUEUED, 0,
+                submittedAt, null, null, null, null);
+    }
+
+    /**
+     * 실행을 시작한 작업
+     */
+    public GenerationJob running(Instant now) {
+        return new GenerationJob(id, idempotencyKey, model, request, JobStatus.RUNNING, attempts + 1,
+                submittedAt, now, null, null, null);
+    }
+
+    /**
+     * 실행 중 서버가 멈춰 다시 기다리는 작업
+     */
+    public GenerationJob requeued() {
+        return new GenerationJob(id, idempotencyKey, model, request, JobStatus.QUEUED, attempts,
+                submittedAt, startedAt, null, null, null);
+    }
+
+    /**
+     * 결과를 얻은 작업
+     */
+    public GenerationJob succeeded(List<ModelComparisonResponse> results, Instant now) {
+        return new GenerationJob(id, idempotencyKey, model, request, JobStatus.SUCCEEDED, attempts,
+                submittedAt, startedAt, now, List.copyOf(results), null);
+    }
+
+    /**
+     * 실패한 작업
+     */
+    public GenerationJob failed(String error, Instant now) {
+        return new GenerationJob(id, idempotencyKey, model, request, JobStatus.FAILED, attempts,
+                submittedAt, startedAt, now, null, error);
+    }
+
+    /**
+     * 같은 내용의 제출인지 여부 (멱등 키 재사용 검사)
+     */
+    public boolean sameSubmission(String model, ReadingMaterialRequest request) {
+        return Objects.equals(this.model, model) && this.request.equals(request);
+    }
+}
@@ -0,0 +1,416 @@
+package hello.spring_ai.reading.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.spring_ai.reading.ModelComparisonExecutor;
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import hello.spring_ai.reading.ReadingMaterialService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 오래 걸리는 생성을 작업으로 받아 뒤에서 실행하는 서비스
+ * 제출은 작업을 저널에 기록(fsync)한 뒤 바로 작업 ID를 돌려주고, 작업자 스레드가 제출 순서대로 ReadingMaterialService로 생성한다.
+ * 클라이언트는 작업 ID로 결과를 조회하며, 끝나지 않은 작업은 maxWait 안에서 끝나기를 기다렸다가 응답한다(long-poll).
+ *
+ * <p>같은 멱등 키로 다시 제출하면 새 작업을 만들지 않고 먼저 만든 작업을 돌려준다.
+ * 응답을 받지 못한 클라이언트가 다시 보내도 모델을 한 번만 호출한다.
+ *
+ * <p>재시작하면 저널에서 작업을 다시 읽어 끝나지 않은 작업을 제출 순서대로 다시 실행한다.
+ * 실행을 maxAttempts번 시작하고도 끝내지 못한 작업은 실패로 기록하여, 서버를 멈추게 하는 작업이 재시작마다 반복되지 않게 한다.
+ * 종료 중에 끝난 호출의 결과는 기록하지 않으므로 실행 중이던 작업은 다음 시작 때 다시 실행된다.
+ * 지연 초기화(spring.main.lazy-initialization=true)로 시작해도 이 복구가 첫 요청까지 미뤄지지 않도록 항상 시작할 때 만든다.
+ *
+ * <p>지표
+ * <ul>
+ *     <li>reading.job.queued: 실행을 기다리는 작업 수</li>
+ *     <li>reading.job.queue.wait: 제출부터 실행 시작까지 시간</li>
+ *     <li>reading.job.duration: 실행 시작부터 끝날 때까지 시간</li>
+ *     <li>reading.job.completed: 끝난 작업 수 (status 태그: succeeded, failed)</li>
+ * </ul>
+ */
+@Service
+@Lazy(false)
+public class GenerationJobService implements DisposableBean, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(GenerationJobService.class);
+
+    private final ReadingMaterialService readingMaterialService;
+    private final ModelComparisonExecutor comparisonExecutor;
+    private final JobProperties properties;
+
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, String> idempotencyKeys = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<GenerationJob>> completions = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReadWriteLock submissionLock = new ReentrantReadWriteLock();
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService cleaner;
+    private final JobJournal journal;
+    private volatile boolean closed;
+
+    private volatile MeterRegistry registry = new SimpleMeterRegistry();
+
+    public GenerationJobService(
+            ReadingMaterialService readingMaterialService,
+            ModelComparisonExecutor comparisonExecutor,
+            JobProperties properties,
+            ObjectMapper objectMapper
+    ) {
+        this.readingMaterialService = readingMaterialService;
+        this.comparisonExecutor = comparisonExecutor;
+        this.properties = properties;
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                properties.workerThreads(),
+                properties.workerThreads(),
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "reading-job-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        this.workers.allowCoreThreadTimeOut(true);
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reading-job-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<GenerationJob> recovered = new ArrayList<>();
+        if (properties.durable()) {
+            long startNanos = System.nanoTime();
+            try {
+                this.journal = JobJournal.open(properties.directory(), objectMapper, recovered::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("작업 저널을 열 수 없습니다: " + properties.directory(), e);
+            }
+            recover(recovered);
+            log.info("작업 저널 시작 - 작업: {}, 다시 실행: {}, 저널: {}bytes, 시간: {}ms",
+                    jobs.size(), queued.get(), journal.length(), (System.nanoTime() - startNanos) / 1_000_000.0);
+        } else {
+            this.journal = null;
+        }
+
+        long interval = properties.cleanupInterval().toMillis();
+        cleaner.scheduleWithFixedDelay(this::cleanup, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 작업 제출
+     * durable이면 작업이 저널에 기록된 뒤에 반환한다.
+     *
+     * @param idempotencyKey 멱등 키 (없으면 null)
+     * @param model          생성할 모델 (null이면 모든 모델 비교)
+     * @param request        자료 생성 요청
+     * @return 새로 만든 작업 또는 같은 멱등 키로 먼저 제출된 작업
+     * @throws IllegalArgumentException      지원하지 않는 모델
+     * @throws IdempotencyConflictException 같은 멱등 키로 다른 요청을 제출한 경우
+     * @throws JobQueueFullException        대기 중인 작업이 maxQueued개에 이른 경우
+     */
+    public Submission submit(String idempotencyKey, String model, ReadingMaterialRequest request) {
+        if (model != null && !readingMaterialService.supportsModel(model)) {
+            throw new IllegalArgumentException("지원하지 않는 모델입니다: " + model);
+        }
+        if (idempotencyKey != null) {
+            Optional<GenerationJob> existing = existingSubmission(idempotencyKey, model, request);
+            if (existing.isPresent()) {
+                return new Submission(existing.get(), false);
+            }
+        }
+        if (queued.get() >= properties.maxQueued()) {
+            throw new JobQueueFullException(queued.get());
+        }
+
+        GenerationJob job = GenerationJob.queued(UUID.randomUUID().toString(), idempotencyKey, model, request,
+                Instant.now());
+        if (!publish(job)) {
+            // 같은 키로 동시에 들어온 다른 제출이 먼저 자리를 잡았다
+            return submit(idempotencyKey, model, request);
+        }
+
+        enqueue(job);
+        log.info("작업 제출 - ID: {}, 모델: {}, 수준: {}, 주제: {}",
+                job.id(), model == null ? "전체" : model, request.level(), request.topic());
+        return new Submission(job, true);
+    }
+
+    /**
+     * 작업 조회
+     */
+    public Optional<GenerationJob> get(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * 작업이 끝나기를 최대 wait(maxWait로 제한)만큼 기다린 뒤 작업 조회
+     *
+     * @return 끝났거나 기다린 시간이 지난 시점의 작업, 없는 작업이면 빈 값
+     */
+    public CompletableFuture<Optional<GenerationJob>> await(String jobId, Duration wait) {
+        CompletableFuture<GenerationJob> completion = completions.get(jobId);
+        Duration bounded = wait.compareTo(properties.maxWait()) > 0 ? properties.maxWait() : wait;
+        if (completion == null || bounded.isZero() || bounded.isNegative()) {
+            return CompletableFuture.completedFuture(get(jobId));
+        }
+        return completion.copy()
+                .completeOnTimeout(null, bounded.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(done -> done != null ? Optional.of(done) : get(jobId));
+    }
+
+    /**
+     * 실행을 기다리는 작업 수
+     */
+    public int queued() {
+        return queued.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("reading.job.queued", queued, AtomicInteger::get)
+                .description("실행을 기다리는 생성 작업 수")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        closed = true;
+        cleaner.shutdownNow();
+        workers.shutdownNow();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private Optional<GenerationJob> existingSubmission(String idempotencyKey, String model,
+                                                       ReadingMaterialRequest request) {
+        String jobId = idempotencyKeys.get(idempotencyKey);
+        GenerationJob existing = jobId == null ? null : jobs.get(jobId);
+        if (existing == null) {
+            return Optional.empty();
+        }
+        if (!existing.sameSubmission(model, request)) {
+            throw new IdempotencyConflictException(idempotencyKey, jobId);
+        }
+        return Optional.of(existing);
+    }
+
+    /**
+     * 작업을 등록하고 멱등 키를 차지한 뒤 저널에 기록한다.
+     * 저널 다시 쓰기와 겹치지 않도록 제출 잠금 안에서 하므로, 멱등 키를 얻지 못했거나 기록에 실패해
+     * 되돌린 작업이 다시 쓴 저널에 남아 재시작 후 살아나는 일이 없다.
+     *
+     * @return 같은 멱등 키를 다른 제출이 먼저 차지해 등록하지 않았으면 false
+     */
+    private boolean publish(GenerationJob job) {
+        String idempotencyKey = job.idempotencyKey();
+        submissionLock.readLock().lock();
+        try {
+            jobs.put(job.id(), job);
+            if (idempotencyKey != null && idempotencyKeys.putIfAbsent(idempotencyKey, job.id()) != null) {
+                jobs.remove(job.id());
+                return false;
+            }
+            completions.put(job.id(), new CompletableFuture<>());
+            try {
+                record(job, true);
+            } catch (IOException e) {
+                jobs.remove(job.id());
+                completions.remove(job.id());
+                if (idempotencyKey != null) {
+                    idempotencyKeys.remove(idempotencyKey, job.id());
+                }
+                throw new UncheckedIOException("작업을 저널에 기록하지 못했습니다", e);
+            }
+            return true;
+        } finally {
+            submissionLock.readLock().unlock();
+        }
+    }
+
+    private void enqueue(GenerationJob job) {
+        queued.incrementAndGet();
+        workers.execute(() -> run(job.id()));
+    }
+
+    private void run(String jobId) {
+        queued.decrementAndGet();
+        if (closed) {
+            return;
+        }
+
+        GenerationJob running = jobs.get(jobId).running(Instant.now());
+        Timer.builder("reading.job.queue.wait")
+                .register(registry)
+                .record(Duration.between(running.submittedAt(), running.startedAt()));
+        try {
+            jobs.put(jobId, running);
+            record(running, false);
+        } catch (IOException e) {
+            log.warn("작업 시작을 저널에 기록하지 못했습니다 - ID: {}", jobId, e);
+        }
+
+        long startNanos = System.nanoTime();
+        GenerationJob finished;
+        try {
+            List<ModelComparisonResponse> results = running.model() == null
+                    ? comparisonExecutor.compare(readingMaterialService.models(), running.request())
+                    : List.of(readingMaterialService.generateWithModel(running.model(), running.request()));
+            finished = running.succeeded(results, Instant.now());
+        } catch (RuntimeException e) {
+            if (closed) {
+                return;
+            }
+            log.warn("작업 실패 - ID: {}, 원인: {}", jobId, e.getMessage());
+            finished = running.failed(e.getMessage(), Instant.now());
+        }
+        if (closed) {
+            return;
+        }
+
+        jobs.put(jobId, finished);
+        try {
+            record(finished, true);
+        } catch (IOException e) {
+            log.warn("작업 결과를 저널에 기록하지 못했습니다 - ID: {}", jobId, e);
+        }
+        Timer.builder("reading.job.duration")
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("reading.job.completed")
+                .tag("status", finished.status().name().toLowerCase())
+                .register(registry)
+                .increment();
+        complete(finished);
+        log.info("작업 완료 - ID: {}, 상태: {}, 시간: {}ms",
+                jobId, finished.status(), (System.nanoTime() - startNanos) / 1_000_000.0);
+    }
+
+    private void complete(GenerationJob job) {
+        CompletableFuture<GenerationJob> completion = completions.remove(job.id());
+        if (completion != null) {
+            completion.complete(job);
+        }
+    }
+
+    /**
+     * 저널에서 읽은 작업을 되살리고 끝나지 않은 작업을 제출 순서대로 다시 실행한다.
+     */
+    private void recover(List<GenerationJob> recovered) {
+        Instant now = Instant.now();
+        List<GenerationJob> pending = new ArrayList<>();
+        for (GenerationJob job : recovered) {
+            if (job.status().isFinished() && isExpired(job, now)) {
+                continue;
+            }
+            if (!job.status().isFinished()) {
+                job = job.attempts() >= properties.maxAttempts()
+                        ? job.failed("실행 중 서버가 " + job.attempts() + "번 멈춰 작업을 중단했습니다", now)
+                        : job.requeued();
+            }
+            jobs.put(job.id(), job);
+            if (job.idempotencyKey() != null) {
+                idempotencyKeys.put(job.idempotencyKey(), job.id());
+            }
+            if (!job.status().isFinished()) {
+                completions.put(job.id(), new CompletableFuture<>());
+                pending.add(job);
+            }
+        }
+
+        compactJournal();
+        pending.sort(Comparator.comparing(GenerationJob::submittedAt));
+        pending.forEach(this::enqueue);
+    }
+
+    /**
+     * 보관 기간이 지난 끝난 작업을 지우고 저널을 다시 쓴다.
+     */
+    private void cleanup() {
+        Instant now = Instant.now();
+        int removed = 0;
+        for (GenerationJob job : jobs.values()) {
+            if (job.status().isFinished() && isExpired(job, now) && jobs.remove(job.id(), job)) {
+                if (job.idempotencyKey() != null) {
+                    idempotencyKeys.remove(job.idempotencyKey(), job.id());
+                }
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.debug("보관 기간이 지난 작업 삭제 - {}건", removed);
+            compactJournal();
+        }
+    }
+
+    private void compactJournal() {
+        if (journal == null) {
+            return;
+        }
+        submissionLock.writeLock().lock();
+        try {
+            journal.rewrite(() -> jobs.values().stream()
+                    .sorted(Comparator.comparing(GenerationJob::submittedAt))
+                    .toList());
+        } catch (IOException e) {
+            log.error("작업 저널 다시 쓰기 실패", e);
+        } finally {
+            submissionLock.writeLock().unlock();
+        }
+    }
+
+    private boolean isExpired(GenerationJob job, Instant now) {
+        return job.finishedAt() != null && job.finishedAt().plus(properties.retention()).isBefore(now);
+    }
+
+    /**
+     * 작업 상태를 바꾼 뒤에 기록해야 저널 다시 쓰기와 겹쳐도 갱신을 잃지 않는다.
+     */
+    private void record(GenerationJob job, boolean sync) throws IOException {
+        if (journal != null) {
+            journal.append(job, sync);
+        }
+    }
+
+    /**
+     * 제출 결과
+     *
+     * @param job     작업
+     * @param created 이번 제출로 새로 만든 작업인지 여부 (false이면 같은 멱등 키로 먼저 제출된 작업)
+     */
+    public record Submission(GenerationJob job, boolean created) {
+    }
+}
@@ -0,0 +1,21 @@
+package hello.spring_ai.reading.job;
+
+/**
+ * 같은 멱등 키로 다른 내용의 작업을 제출한 경우
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    private final String jobId;
+
+    public IdempotencyConflictException(String idempotencyKey, String jobId) {
+        super("멱등 키 " + idempotencyKey + "는 이미 다른 요청의 작업(" + jobId + ")에 사용되었습니다");
+        this.jobId = jobId;
+    }
+
+    /**
+     * 멱등 키로 먼저 제출된 작업 ID
+     */
+    public String getJobId() {
+        return jobId;
+    }
+}
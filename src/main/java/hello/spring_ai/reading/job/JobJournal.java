@@ -0,0 +1,223 @@
+package hello.spring_ai.reading.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * 생성 작업의 추가 전용 저널
+ * 작업 상태가 바뀔 때마다 바뀐 작업 전체를 레코드 [길이][CRC32][작업(JSON)]로 덧붙이고, 다시 읽을 때는 작업 ID별 마지막 레코드가 현재 상태다.
+ *
+ * <p>sync로 기록한 레코드는 디스크에 내려간 뒤에 반환한다.
+ * 여러 스레드가 동시에 sync를 요청하면 먼저 들어간 스레드의 force 한 번이 그때까지 쓰인 레코드를 모두 내려 주므로(group commit),
+ * 동시 제출이 많을수록 제출당 force 횟수가 줄어든다.
+ * 쓰는 도중 멈춰 끝이 잘리거나 CRC가 맞지 않는 레코드는 열 때 잘라낸다.
+ */
+final class JobJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(JobJournal.class);
+
+    static final String FILE = "jobs.journal";
+
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+
+    private FileChannel channel;
+    private long length;
+    private volatile long syncedLength;
+
+    private JobJournal(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 저널을 열고 기록된 작업의 마지막 상태를 읽는다.
+     *
+     * @param directory    저널 파일을 둘 디렉터리 (없으면 만든다)
+     * @param objectMapper 작업 직렬화에 쓸 매퍼
+     * @param sink         작업 ID별 마지막 상태를 처음 기록된 순서대로 받는 함수
+     */
+    static JobJournal open(Path directory, ObjectMapper objectMapper,
+                           Consumer<GenerationJob> sink) throws IOException {
+        Files.createDirectories(directory);
+        JobJournal journal = new JobJournal(directory.resolve(FILE), objectMapper);
+        journal.channel = journal.openChannel();
+        journal.replay().values().forEach(sink);
+        return journal;
+    }
+
+    /**
+     * 작업 상태 기록
+     *
+     * @param job  기록할 작업
+     * @param sync true이면 디스크에 내려간 뒤 반환한다
+     */
+    void append(GenerationJob job, boolean sync) throws IOException {
+        byte[] record = encode(job);
+        long end;
+        synchronized (writeLock) {
+            long position = length;
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            length = position;
+            end = position;
+        }
+        if (sync) {
+            sync(end);
+        }
+    }
+
+    /**
+     * snapshot이 돌려주는 작업만 남기고 저널을 다시 쓴다.
+     * 기록이 멈춘 상태에서 snapshot을 부르므로, 작업 상태를 먼저 바꾸고 저널에 기록하는 쪽과 함께 쓰면 갱신을 잃지 않는다.
+     * 새 파일로 바꾸지 못하면 예외를 던지지만, 원래 저널은 그대로 열려 있어 이후 기록은 원래 파일에 이어진다.
+     */
+    void rewrite(Supplier<Collection<GenerationJob>> snapshot) throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                Path compacted = path.resolveSibling(FILE + ".compact");
+                long newLength = 0;
+                try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    for (GenerationJob job : snapshot.get()) {
+                        ByteBuffer buffer = ByteBuffer.wrap(encode(job));
+                        while (buffer.hasRemaining()) {
+                            newLength += out.write(buffer, newLength);
+                        }
+                    }
+                    out.force(true);
+                }
+
+                channel.close();
+                try {
+                    Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    // 옮기지 못해도 저널을 다시 열어 둔다 (닫힌 채로 두면 이후 기록이 모두 실패하므로, 원래 파일에 이어서 기록)
+                    channel = openChannel();
+                }
+                length = newLength;
+                syncedLength = newLength;
+            }
+        }
+    }
+
+    /**
+     * 현재 저널 크기 (bytes)
+     */
+    long length() {
+        synchronized (writeLock) {
+            return length;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (channel.isOpen()) {
+                    channel.force(true);
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    private void sync(long end) throws IOException {
+        if (syncedLength >= end) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (syncedLength >= end) {
+                return;
+            }
+            long target;
+            synchronized (writeLock) {
+                target = length;
+            }
+            channel.force(false);
+            syncedLength = target;
+        }
+    }
+
+    private Map<String, GenerationJob> replay() throws IOException {
+        Map<String, GenerationJob> jobs = new LinkedHashMap<>();
+        long fileLength = channel.size();
+        long position = 0;
+        int records = 0;
+        while (position + RECORD_HEADER_SIZE <= fileLength) {
+            ByteBuffer header = readFully(position, RECORD_HEADER_SIZE);
+            int payloadLength = header.getInt();
+            int expectedCrc = header.getInt();
+            if (payloadLength <= 0 || position + RECORD_HEADER_SIZE + payloadLength > fileLength) {
+                break;
+            }
+            ByteBuffer payload = readFully(position + RECORD_HEADER_SIZE, payloadLength);
+            CRC32 crc = new CRC32();
+            crc.update(payload.array(), 0, payloadLength);
+            if ((int) crc.getValue() != expectedCrc) {
+                break;
+            }
+            GenerationJob job = objectMapper.readValue(payload.array(), 0, payloadLength, GenerationJob.class);
+            jobs.put(job.id(), job);
+            position += RECORD_HEADER_SIZE + payloadLength;
+            records++;
+        }
+
+        if (position < fileLength) {
+            log.warn("작업 저널 끝의 불완전한 레코드를 잘라냅니다 - {} -> {}bytes", fileLength, position);
+            channel.truncate(position);
+            channel.force(true);
+        }
+        length = position;
+        syncedLength = position;
+        log.debug("작업 저널 읽기 - 레코드: {}, 작업: {}", records, jobs.size());
+        return jobs;
+    }
+
+    private byte[] encode(GenerationJob job) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(job);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        return buffer.array();
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("저널 끝을 넘어 읽었습니다: " + position);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private FileChannel openChannel() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+}
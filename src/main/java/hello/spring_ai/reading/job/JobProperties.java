@@ -0,0 +1,41 @@
+package hello.spring_ai.reading.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 비동기 생성 작업 설정
+ *
+ * @param durable         작업을 디스크 저널에 기록할지 여부 (false이면 재시작 시 작업이 사라진다)
+ * @param directory       저널 파일을 둘 디렉터리
+ * @param workerThreads   작업을 실행하는 스레드 수 (동시에 실행되는 작업 수)
+ * @param maxQueued       실행을 기다리는 작업 수 한도 (넘으면 제출을 거절)
+ * @param maxAttempts     실행 도중 서버가 멈춘 작업을 다시 실행하는 최대 횟수 (처음 실행 포함)
+ * @param retention       끝난 작업과 멱등 키를 보관하는 기간
+ * @param maxWait         결과 조회 시 작업이 끝나기를 기다리는 최대 시간 (long-poll)
+ * @param cleanupInterval 보관 기간이 지난 작업을 지우고 저널을 다시 쓰는 주기
+ */
+@ConfigurationProperties(prefix = "reading.job")
+public record JobProperties(
+        @DefaultValue("true") boolean durable,
+        @DefaultValue("data/jobs") Path directory,
+        @DefaultValue("8") int workerThreads,
+        @DefaultValue("10000") int maxQueued,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("24h") Duration retention,
+        @DefaultValue("30s") Duration maxWait,
+        @DefaultValue("10m") Duration cleanupInterval
+) {
+
+    public JobProperties {
+        if (workerThreads <= 0) {
+            throw new IllegalArgumentException("workerThreads는 양수여야 합니다: " + workerThreads);
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts는 양수여야 합니다: " + maxAttempts);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package hello.spring_ai.reading.job;
+
+/**
+ * 대기 중인 작업 수가 한도에 이르러 새 작업을 받지 못한 경우
+ */
+public class JobQueueFullException extends RuntimeException {
+
+    public JobQueueFullException(int queued) {
+        super("대기 중인 생성 작업이 한도에 이르렀습니다: " + queued);
+    }
+}
@@ -0,0 +1,20 @@
+package hello.spring_ai.reading.job;
+
+/**
+ * 생성 작업 상태
+ * QUEUED -> RUNNING -> SUCCEEDED 또는 FAILED 순서로 바뀐다.
+ * 실행 중에 서버가 멈추면 재시작 후 RUNNING에서 다시 QUEUED가 된다.
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    /**
+     * 더 이상 바뀌지 않는 상태인지 여부
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
@@ -0,0 +1,37 @@
+package hello.spring_ai.reading.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * 모델별 토큰 단가 (USD, 100만 토큰당)
+ * 예: reading.pricing.models[gpt-4].prompt-per-million=30.0
+ *
+ * @param models 모델 이름별 단가
+ */
+@ConfigurationProperties(prefix = "reading.pricing")
+public record PricingProperties(Map<String, ModelPrice> models) {
+
+    public PricingProperties {
+        models = models == null ? Map.of() : Map.copyOf(models);
+    }
+
+    /**
+     * 토큰 사용량의 예상 비용 (단가가 없는 모델은 0)
+     */
+    public double estimateCost(String model, int promptTokens, int completionTokens) {
+        ModelPrice price = models.get(model);
+        if (price == null) {
+            return 0.0;
+        }
+        return (promptTokens * price.promptPerMillion() + completionTokens * price.completionPerMillion()) / 1_000_000.0;
+    }
+
+    /**
+     * @param promptPerMillion     프롬프트 토큰 100만 개당 가격
+     * @param completionPerMillion 생성 토큰 100만 개당 가격
+     */
+    public record ModelPrice(double promptPerMillion, double completionPerMillion) {
+    }
+}
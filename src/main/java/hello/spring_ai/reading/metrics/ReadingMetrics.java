@@ -0,0 +1,187 @@
+package hello.spring_ai.reading.metrics;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.readability.Readability;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * 읽기 자료 생성 지표
+ * 모델과 수준(level) 태그가 붙은 지표를 Actuator(/actuator/prometheus)로 내보낸다.
+ * <ul>
+ *     <li>reading.generation.latency: 모델 호출 시간 (백분위수, 히스토그램)</li>
+ *     <li>reading.generation.ttft: 스트리밍 첫 토큰까지 시간</li>
+ *     <li>reading.generation.tokens: 프롬프트/생성 토큰 누적 수 (type 태그: prompt, cached_prompt, completion)</li>
+ *     <li>reading.generation.completion.size: 요청당 생성 토큰 수 분포</li>
+ *     <li>reading.cost.estimated: 단가표로 계산한 모델별 누적 예상 비용 (USD)</li>
+ *     <li>reading.tokens.estimate.ratio: 실제 토큰 수 / 호출 전 추정 토큰 수 (type 태그, 1이면 정확)</li>
+ *     <li>reading.budget.decisions: 토큰 예산 검사 결과 (decision=within, downgraded, rejected)</li>
+ *     <li>reading.readability.level.fit: 생성된 글의 수준 적합도 분포 (0 ~ 1)</li>
+ * </ul>
+ */
+@Component
+public class ReadingMetrics {
+
+    private static final Duration MIN_EXPECTED_LATENCY = Duration.ofMillis(50);
+    private static final Duration MAX_EXPECTED_LATENCY = Duration.ofMinutes(2);
+
+    private final MeterRegistry registry;
+    private final PricingProperties pricing;
+    private final Map<String, DoubleAdder> costs = new ConcurrentHashMap<>();
+
+    public ReadingMetrics(MeterRegistry registry, PricingProperties pricing) {
+        this.registry = registry;
+        this.pricing = pricing;
+    }
+
+    /**
+     * 어디에도 내보내지 않는 지표 (테스트, 벤치마크용)
+     */
+    public static ReadingMetrics noop() {
+        return new ReadingMetrics(new SimpleMeterRegistry(), new PricingProperties(Map.of()));
+    }
+
+    /**
+     * 성공한 모델 호출 기록
+     *
+     * @return 단가표로 계산한 이번 호출의 예상 비용
+     */
+    public double recordGeneration(String model, KoreanLevel level, long durationNanos,
+                                   int promptTokens, int completionTokens) {
+        latency(model, level, "success").record(durationNanos, TimeUnit.NANOSECONDS);
+        tokens(model, level, "prompt").increment(promptTokens);
+        tokens(model, level, "completion").increment(completionTokens);
+        DistributionSummary.builder("reading.generation.completion.size")
+                .description("요청당 생성 토큰 수")
+                .baseUnit("tokens")
+                .tag("model", model)
+                .tag("level", level.name())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(completionTokens);
+
+        double cost = pricing.estimateCost(model, promptTokens, completionTokens);
+        costs.computeIfAbsent(model, this::registerCostGauge).add(cost);
+        return cost;
+    }
+
+    /**
+     * 프롬프트 토큰 중 제공자의 프롬프트 캐시에서 재사용된 토큰 수 기록
+     * 같은 모델, 수준의 type=prompt 값과 나누면 캐시 적중 비율이 된다.
+     */
+    public void recordCachedPromptTokens(String model, KoreanLevel level, int cachedTokens) {
+        tokens(model, level, "cached_prompt").increment(cachedTokens);
+    }
+
+    /**
+     * 실패한 모델 호출 기록
+     */
+    public void recordFailure(String model, KoreanLevel level, long durationNanos) {
+        latency(model, level, "failure").record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 스트리밍 첫 토큰까지 걸린 시간 기록
+     */
+    public void recordTimeToFirstToken(String model, KoreanLevel level, long durationNanos) {
+        Timer.builder("reading.generation.ttft")
+                .description("스트리밍 생성의 첫 토큰까지 시간")
+                .tag("model", model)
+                .tag("level", level.name())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED_LATENCY)
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 호출 전 추정 토큰 수와 실제 토큰 수 비교 기록
+     *
+     * @param type prompt 또는 completion
+     */
+    public void recordTokenEstimate(String model, String type, int estimated, int actual) {
+        if (estimated <= 0) {
+            return;
+        }
+        DistributionSummary.builder("reading.tokens.estimate.ratio")
+                .description("실제 토큰 수 / 추정 토큰 수")
+                .tag("model", model)
+                .tag("type", type)
+                .publishPercentiles(0.05, 0.5, 0.95)
+                .register(registry)
+                .record((double) actual / estimated);
+    }
+
+    /**
+     * 생성된 글의 읽기 난이도 기록
+     * 수준 태그는 글을 요청한 학습자 수준이다.
+     */
+    public void recordReadability(String model, Readability readability) {
+        DistributionSummary.builder("reading.readability.level.fit")
+                .description("생성된 글의 수준 적합도")
+                .tag("model", model)
+                .tag("level", readability.level().name())
+                .publishPercentiles(0.05, 0.5, 0.95)
+                .register(registry)
+                .record(readability.levelFit());
+    }
+
+    /**
+     * 토큰 예산 검사 결과 기록
+     */
+    public void recordBudgetDecision(String model, String decision) {
+        Counter.builder("reading.budget.decisions")
+                .description("토큰 예산 검사 결과")
+                .tag("model", model)
+                .tag("decision", decision)
+                .register(registry)
+                .increment();
+    }
+
+    private Timer latency(String model, KoreanLevel level, String outcome) {
+        return Timer.builder("reading.generation.latency")
+                .description("모델 호출 시간")
+                .tag("model", model)
+                .tag("level", level.name())
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED_LATENCY)
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(registry);
+    }
+
+    private Counter tokens(String model, KoreanLevel level, String type) {
+        return Counter.builder("reading.generation.tokens")
+                .description("모델 호출에 사용된 토큰 수")
+                .baseUnit("tokens")
+                .tag("model", model)
+                .tag("level", level.name())
+                .tag("type", type)
+                .register(registry);
+    }
+
+    private DoubleAdder registerCostGauge(String model) {
+        DoubleAdder total = new DoubleAdder();
+        Gauge.builder("reading.cost.estimated", total, DoubleAdder::sum)
+                .description("단가표로 계산한 누적 예상 비용")
+                .baseUnit("usd")
+                .tag("model", model)
+                .strongReference(true)
+                .register(registry);
+        return total;
+    }
+}
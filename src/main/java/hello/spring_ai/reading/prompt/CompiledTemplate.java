@@ -0,0 +1,126 @@
+package hello.spring_ai.reading.prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 미리 파싱된 프롬프트 템플릿
+ * 시작 시 한 번 {이름} 형식의 자리표시자를 기준으로 고정 문자열과 자리 구간으로 나누어 두고,
+ * 렌더링 때는 정규식이나 형식 문자열 파싱 없이 재사용 StringBuilder에 이어 붙이기만 한다.
+ * 중괄호 자체는 {{, }}로 쓴다.
+ */
+public final class CompiledTemplate {
+
+    private static final int SLOT_ESTIMATE = 32;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final String[] literals;
+    private final int[] slots;
+    private final List<String> slotNames;
+    private final int estimatedLength;
+
+    private CompiledTemplate(String[] literals, int[] slots, List<String> slotNames) {
+        this.literals = literals;
+        this.slots = slots;
+        this.slotNames = slotNames;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.estimatedLength = length + slots.length * SLOT_ESTIMATE;
+    }
+
+    /**
+     * 템플릿 파싱
+     *
+     * @param template {이름} 자리표시자를 포함한 템플릿
+     * @return 파싱된 템플릿
+     */
+    public static CompiledTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            if ((c == '{' || c == '}') && i + 1 < template.length() && template.charAt(i + 1) == c) {
+                literal.append(c);
+                i += 2;
+            } else if (c == '{') {
+                int end = template.indexOf('}', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("닫히지 않은 자리표시자: " + template.substring(i));
+                }
+                String name = template.substring(i + 1, end).trim();
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("이름 없는 자리표시자가 있습니다");
+                }
+                if (!names.contains(name)) {
+                    names.add(name);
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots.add(names.indexOf(name));
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new CompiledTemplate(
+                literals.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                List.copyOf(names)
+        );
+    }
+
+    /**
+     * 자리표시자 이름의 번호 (렌더링 시 SlotWriter에 전달되는 값)
+     */
+    public int slotIndex(String name) {
+        int index = slotNames.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("템플릿에 없는 자리표시자입니다: " + name);
+        }
+        return index;
+    }
+
+    /**
+     * 현재 스레드의 재사용 버퍼에 렌더링한 뒤 문자열로 반환
+     *
+     * @param writer 자리표시자 번호별로 값을 버퍼에 써 넣는 함수
+     * @return 렌더링된 문자열
+     */
+    public String render(SlotWriter writer) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(estimatedLength);
+        renderTo(out, writer);
+        return out.toString();
+    }
+
+    /**
+     * 주어진 버퍼 뒤에 렌더링
+     */
+    public void renderTo(StringBuilder out, SlotWriter writer) {
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            writer.write(slots[i], out);
+        }
+        out.append(literals[slots.length]);
+    }
+
+    /**
+     * 자리표시자 값을 버퍼에 직접 써 넣는 함수
+     */
+    @FunctionalInterface
+    public interface SlotWriter {
+
+        void write(int slot, StringBuilder out);
+    }
+}
@@ -0,0 +1,155 @@
+package hello.spring_ai.reading.prompt;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 읽기 자료 생성 프롬프트
+ * 요청마다 바뀌지 않는 지시문(공통 요구사항, 수준별 작성 규칙)은 모두 수준별 시스템 프롬프트에 모으고
+ * 사용자 프롬프트에는 요청마다 바뀌는 값(주제, 목표 단어, 목표 길이)만 둔다.
+ * 보충 요청 프롬프트도 고정 지시문을 모두 앞에 두고 요청마다 바뀌는 값은 맨 끝에만 둔다.
+ * 공통 요구사항을 수준별 규칙보다 앞에 두어 수준이 달라도 그 구간까지는 같은 앞부분이 된다.
+ * 시스템 프롬프트는 수백 토큰이라 1024토큰 이상의 앞부분만 재사용하는 제공자 프롬프트 캐시의 대상은 아니다.
+ * 캐시 최소 길이를 넘기려고 지시문을 늘리면 모든 호출의 프롬프트 토큰이 늘어나므로 늘리지 않았다.
+ * 사용자 프롬프트는 시작 시 파싱된 템플릿으로 렌더링한다.
+ */
+public final class ReadingPrompts {
+
+    private static final String SHARED_INSTRUCTIONS = """
+            당신은 한국어 학습자를 위한 읽기 자료를 만드는 교육 콘텐츠 제작자입니다.
+            사용자 메시지로 주제, 반드시 포함할 단어, 목표 길이가 주어지면 그 조건으로 한국어 읽기 자료를 작성합니다.
+
+            요구사항:
+            1. 지정된 단어들을 자연스럽게 모두 포함시켜주세요
+            2. 주제에 맞는 흥미롭고 교육적인 내용으로 작성해주세요
+            3. 문법적으로 정확하고 자연스러운 한국어를 사용해주세요
+            4. 학습자가 읽기 연습과 어휘 학습을 동시에 할 수 있도록 해주세요
+            5. 제목과 본문을 포함하여 작성해주세요
+
+            """;
+
+    private static final Map<KoreanLevel, String> SYSTEM_PROMPTS = new EnumMap<>(Map.of(
+            KoreanLevel.BEGINNER, SHARED_INSTRUCTIONS + """
+                    학습자 수준: 초급
+
+                    작성 규칙:
+                    - 기본 문법만 사용 (현재형, 과거형, 기본 조사)
+                    - 짧고 간단한 문장 구성 (한 문장당 10-15자)
+                    - 일상생활 관련 내용 (가족, 음식, 학교, 취미 등)
+                    - 한자어나 외래어 사용 최소화
+                    - 기본 동사와 형용사 위주
+
+                    목표: 초급 학습자가 쉽게 읽고 이해할 수 있는 자연스러운 한국어 글
+                    """,
+
+            KoreanLevel.INTERMEDIATE, SHARED_INSTRUCTIONS + """
+                    학습자 수준: 중급
+
+                    작성 규칙:
+                    - 다양한 문법 구조 사용 가능 (연결어미, 종결어미, 간접화법 등)
+                    - 중급 어휘 및 관용 표현 포함
+                    - 사회, 문화, 직장 생활 등 다양한 주제
+                    - 복문과 중문 사용 가능
+                    - 한자어와 외래어 적절히 사용
+
+                    목표: 중급 학습자의 어휘력과 표현력을 향상시키는 흥미로운 글
+                    """,
+
+            KoreanLevel.ADVANCED, SHARED_INSTRUCTIONS + """
+                    학습자 수준: 고급
+
+                    작성 규칙:
+                    - 복잡한 문법 및 고급 어휘 사용
+                    - 추상적 개념 및 전문 용어 포함
+                    - 학술, 시사, 문학, 전문 분야 내용
+                    - 긴 문장과 복잡한 문장 구조 사용
+                    - 관용구, 속담, 사자성어 활용
+                    - 격식체와 비격식체 적절히 조합
+
+                    목표: 고급 학습자가 원어민 수준의 한국어 이해력과 표현력을 갖추도록 돕는 깊이 있는 글
+                    """
+    ));
+
+    private static final CompiledTemplate USER_TEMPLATE = CompiledTemplate.compile("""
+            주제: {topic}
+            반드시 포함할 단어: {targetWords}
+            목표 길이: 약 {targetLength}자
+            """);
+
+    private static final int TOPIC = USER_TEMPLATE.slotIndex("topic");
+    private static final int TARGET_WORDS = USER_TEMPLATE.slotIndex("targetWords");
+    private static final int TARGET_LENGTH = USER_TEMPLATE.slotIndex("targetLength");
+
+    private static final CompiledTemplate REVISION_TEMPLATE = CompiledTemplate.compile("""
+            아래 한국어 읽기 자료의 마지막 부분 바로 뒤에 이어질 짧은 문장 1-2개를 작성해주세요.
+
+            요구사항:
+            1. 포함할 단어를 모두 자연스럽게 포함시켜주세요
+            2. 앞 내용과 주제, 문체, 난이도를 맞춰주세요
+            3. 덧붙일 문장만 출력하고 제목이나 설명은 쓰지 마세요
+
+            포함할 단어: {missingWords}
+
+            마지막 부분:
+            {context}
+            """);
+
+    private static final int CONTEXT = REVISION_TEMPLATE.slotIndex("context");
+    private static final int MISSING_WORDS = REVISION_TEMPLATE.slotIndex("missingWords");
+
+    private ReadingPrompts() {
+    }
+
+    /**
+     * 사용자 수준에 맞는 시스템 프롬프트 (수준마다 항상 같은 문자열)
+     */
+    public static String systemPrompt(KoreanLevel level) {
+        return SYSTEM_PROMPTS.get(level);
+    }
+
+    /**
+     * 자료 생성을 위한 사용자 프롬프트 (요청마다 바뀌는 값만 담는다)
+     */
+    public static String userPrompt(ReadingMaterialRequest request) {
+        return USER_TEMPLATE.render((slot, out) -> {
+            if (slot == TOPIC) {
+                out.append(request.topic());
+            } else if (slot == TARGET_WORDS) {
+                appendJoined(out, request.targetWords());
+            } else if (slot == TARGET_LENGTH) {
+                out.append(request.targetLength());
+            }
+        });
+    }
+
+    /**
+     * 빠진 목표 단어를 넣은 보충 문장을 요청하는 프롬프트
+     * 글 전체를 다시 생성하지 않도록 본문 끝부분만 보내고, 이어 붙일 짧은 문장만 받는다.
+     * 고정 지시문을 모두 앞에 두고 요청마다 바뀌는 빠진 단어와 본문 끝부분은 맨 뒤에 둔다.
+     *
+     * @param context      본문 끝부분
+     * @param missingWords 본문에서 찾지 못한 목표 단어
+     */
+    public static String revisionPrompt(String context, List<String> missingWords) {
+        return REVISION_TEMPLATE.render((slot, out) -> {
+            if (slot == CONTEXT) {
+                out.append(context);
+            } else if (slot == MISSING_WORDS) {
+                appendJoined(out, missingWords);
+            }
+        });
+    }
+
+    private static void appendJoined(StringBuilder out, List<String> words) {
+        for (int i = 0; i < words.size(); i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append(words.get(i));
+        }
+    }
+}
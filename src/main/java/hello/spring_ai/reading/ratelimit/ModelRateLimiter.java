@@ -0,0 +1,278 @@
+package hello.spring_ai.reading.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 모델 하나의 호출 속도 제한기
+ *
+ * <ul>
+ *     <li>요청 버킷: 분당 요청 수만큼 채워지는 토큰 버킷</li>
+ *     <li>토큰 버킷: 분당 토큰 수만큼 채워지며, 호출 전 그 요청의 예상 토큰을 예약하고 호출 후 실제 사용량으로 정산</li>
+ *     <li>동시 호출 수: 성공하면 조금씩 늘리고(가산), 429 응답이나 지연 급증이면 절반으로 줄임(승산) - AIMD</li>
+ * </ul>
+ * 허가를 받지 못한 호출자는 바로 실패하지 않고 최대 대기 시간까지 기다리며, 대기열이 가득 차면 즉시 거절된다.
+ */
+public class ModelRateLimiter {
+
+    private static final double DECREASE_RATIO = 0.5;
+    private static final double TOKEN_ESTIMATE_WEIGHT = 0.2;
+    private static final long MIN_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final String model;
+    private final RateLimitProperties.ModelLimit limit;
+    private final double requestsPerNano;
+    private final double tokensPerNano;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private double availableRequests;
+    private double availableTokens;
+    private long lastRefillNanos;
+    private double concurrencyLimit;
+    private double tokenEstimate;
+    private int inFlight;
+    private int waiting;
+
+    public ModelRateLimiter(String model, RateLimitProperties.ModelLimit limit) {
+        this.model = model;
+        this.limit = limit;
+        this.requestsPerNano = limit.requestsPerMinute() / NANOS_PER_MINUTE;
+        this.tokensPerNano = limit.tokensPerMinute() / NANOS_PER_MINUTE;
+        this.availableRequests = limit.requestsPerMinute();
+        this.availableTokens = limit.tokensPerMinute();
+        this.lastRefillNanos = System.nanoTime();
+        this.concurrencyLimit = limit.initialConcurrency();
+        this.tokenEstimate = limit.initialTokenEstimate();
+    }
+
+    /**
+     * 호출 허가 받기
+     * 동시 호출 수, 요청 버킷, 토큰 버킷이 모두 허락할 때까지 기다린다.
+     * 예상 토큰 수를 모르면(0 이하) 최근 호출의 실제 사용량 평균만큼 예약한다.
+     *
+     * @param estimatedTokens 이 호출의 예상 토큰 수 (프롬프트 + 생성)
+     * @return 호출이 끝나면 결과와 함께 반납해야 하는 허가
+     * @throws RateLimitExceededException 대기열이 가득 찼거나 최대 대기 시간을 넘긴 경우
+     */
+    public Permit acquire(int estimatedTokens) {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + limit.maxWait().toNanos();
+
+        lock.lock();
+        try {
+            refill(startNanos);
+            double reserve = reserve(estimatedTokens);
+            if (!canProceed(reserve) && waiting >= limit.maxQueueDepth()) {
+                throw new RateLimitExceededException(model, "대기열이 가득 찼습니다 (" + waiting + ")", retryAfter(reserve));
+            }
+
+            waiting++;
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    reserve = reserve(estimatedTokens);
+                    if (canProceed(reserve)) {
+                        break;
+                    }
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        throw new RateLimitExceededException(model, "대기 시간 초과 (" + limit.maxWait().toMillis() + "ms)",
+                                retryAfter(reserve));
+                    }
+                    changed.awaitNanos(Math.min(remaining, Math.max(MIN_WAIT_NANOS, nanosUntilAvailable(reserve))));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RateLimitExceededException(model, "대기 중 중단되었습니다", retryAfter(reserve));
+            } finally {
+                waiting--;
+            }
+
+            availableRequests -= 1;
+            availableTokens -= reserve;
+            inFlight++;
+            return new Permit(this, reserve, System.nanoTime() - startNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Permit permit, Outcome outcome, long latencyNanos, int actualTokens) {
+        lock.lock();
+        try {
+            inFlight--;
+            availableTokens += permit.reservedTokens - actualTokens;
+            if (actualTokens > 0) {
+                tokenEstimate += (actualTokens - tokenEstimate) * TOKEN_ESTIMATE_WEIGHT;
+            }
+
+            switch (outcome) {
+                case SUCCESS -> {
+                    if (latencyNanos > limit.latencyThreshold().toNanos()) {
+                        decrease();
+                    } else {
+                        concurrencyLimit = Math.min(limit.maxConcurrency(), concurrencyLimit + 1.0 / concurrencyLimit);
+                    }
+                }
+                case THROTTLED -> {
+                    decrease();
+                    availableRequests = Math.min(availableRequests, 0);
+                }
+                case FAILURE -> {
+                }
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 예약할 토큰 수 (분당 예산보다 크면 영영 받지 못하므로 분당 예산으로 자름)
+     */
+    private double reserve(int estimatedTokens) {
+        double estimate = estimatedTokens > 0 ? estimatedTokens : tokenEstimate;
+        return Math.min(estimate, limit.tokensPerMinute());
+    }
+
+    private void decrease() {
+        concurrencyLimit = Math.max(limit.minConcurrency(), concurrencyLimit * DECREASE_RATIO);
+    }
+
+    private boolean canProceed(double reserve) {
+        return inFlight < (int) concurrencyLimit && availableRequests >= 1 && availableTokens >= reserve;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        availableRequests = Math.min(limit.requestsPerMinute(), availableRequests + elapsed * requestsPerNano);
+        availableTokens = Math.min(limit.tokensPerMinute(), availableTokens + elapsed * tokensPerNano);
+        lastRefillNanos = now;
+    }
+
+    /**
+     * 버킷이 채워질 때까지 남은 시간 (동시 호출 수 때문에 기다리는 경우는 반납 신호로 깨어남)
+     */
+    private long nanosUntilAvailable(double reserve) {
+        double requestWait = availableRequests >= 1 ? 0 : (1 - availableRequests) / requestsPerNano;
+        double tokenWait = availableTokens >= reserve ? 0 : (reserve - availableTokens) / tokensPerNano;
+        double wait = Math.max(requestWait, tokenWait);
+        return wait == 0 ? Long.MAX_VALUE : (long) Math.min(wait, Long.MAX_VALUE);
+    }
+
+    private Duration retryAfter(double reserve) {
+        long nanos = nanosUntilAvailable(reserve);
+        return nanos == Long.MAX_VALUE ? Duration.ofSeconds(1) : Duration.ofNanos(Math.max(nanos, MIN_WAIT_NANOS));
+    }
+
+    public String model() {
+        return model;
+    }
+
+    /**
+     * 허가를 기다리는 호출자 수
+     */
+    public int queueDepth() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 진행 중인 호출 수
+     */
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 동시 호출 수 한도
+     */
+    public double concurrencyLimit() {
+        lock.lock();
+        try {
+            return concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    enum Outcome {
+        SUCCESS,
+        THROTTLED,
+        FAILURE
+    }
+
+    /**
+     * 호출 허가
+     * 호출이 끝나면 success, throttled, failed 중 하나로 반납한다.
+     * 스트리밍 호출처럼 완료, 오류, 취소가 겹칠 수 있는 경우를 위해 처음 반납만 반영하고 이후 반납은 무시한다.
+     */
+    public static final class Permit {
+
+        static final Permit UNLIMITED = new Permit(null, 0, 0);
+
+        private final ModelRateLimiter limiter;
+        private final double reservedTokens;
+        private final long waitNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(ModelRateLimiter limiter, double reservedTokens, long waitNanos) {
+            this.limiter = limiter;
+            this.reservedTokens = reservedTokens;
+            this.waitNanos = waitNanos;
+        }
+
+        /**
+         * 허가를 받기까지 기다린 시간
+         */
+        public long waitNanos() {
+            return waitNanos;
+        }
+
+        /**
+         * 성공한 호출 반납 (실제 사용 토큰으로 예약분 정산)
+         */
+        public void success(long latencyNanos, int totalTokens) {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.release(this, Outcome.SUCCESS, latencyNanos, totalTokens);
+            }
+        }
+
+        /**
+         * 429 응답을 받은 호출 반납
+         */
+        public void throttled() {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.release(this, Outcome.THROTTLED, 0, 0);
+            }
+        }
+
+        /**
+         * 그 외 이유로 실패한 호출 반납
+         */
+        public void failed() {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.release(this, Outcome.FAILURE, 0, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package hello.spring_ai.reading.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * 속도 제한 대기열이 가득 찼거나 최대 대기 시간 안에 호출 허가를 받지 못한 경우
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String model;
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String model, String reason, Duration retryAfter) {
+        super("모델 " + model + " 호출 한도 초과: " + reason);
+        this.model = model;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * 다시 시도하기까지 권장 대기 시간
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
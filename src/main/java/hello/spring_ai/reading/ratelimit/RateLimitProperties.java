@@ -0,0 +1,62 @@
+package hello.spring_ai.reading.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 모델별 OpenAI 호출 속도 제한 설정
+ * models에 없는 모델은 defaults를 사용한다.
+ *
+ * @param enabled      속도 제한 사용 여부
+ * @param maxRetries   429 응답을 받았을 때 다시 시도하는 횟수
+ * @param retryBackoff 다시 시도 전 대기 시간 (시도마다 두 배)
+ * @param defaults     모델별 설정 기본값
+ * @param models       모델별 설정 (예: reading.rate-limit.models[gpt-4].tokens-per-minute=40000)
+ */
+@ConfigurationProperties(prefix = "reading.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2") int maxRetries,
+        @DefaultValue("500ms") Duration retryBackoff,
+        @DefaultValue ModelLimit defaults,
+        Map<String, ModelLimit> models
+) {
+
+    public RateLimitProperties {
+        models = models == null ? Map.of() : Map.copyOf(models);
+    }
+
+    /**
+     * 모델의 제한 설정
+     */
+    public ModelLimit limitFor(String model) {
+        return models.getOrDefault(model, defaults);
+    }
+
+    /**
+     * @param requestsPerMinute    분당 요청 수
+     * @param tokensPerMinute      분당 토큰 수 (프롬프트 + 생성)
+     * @param initialConcurrency   동시 호출 수 초기값
+     * @param minConcurrency       동시 호출 수 하한
+     * @param maxConcurrency       동시 호출 수 상한
+     * @param maxQueueDepth        대기할 수 있는 호출자 수 (초과 시 즉시 거절)
+     * @param maxWait              호출자가 기다리는 최대 시간
+     * @param latencyThreshold     이 시간보다 오래 걸린 호출은 지연 급증으로 보고 동시 호출 수를 줄임
+     * @param initialTokenEstimate 예상 토큰 수를 모르는 호출에 예약할 토큰 수 초기값 (이후 실제 사용량 평균으로 갱신)
+     */
+    public record ModelLimit(
+            @DefaultValue("500") int requestsPerMinute,
+            @DefaultValue("90000") int tokensPerMinute,
+            @DefaultValue("8") int initialConcurrency,
+            @DefaultValue("1") int minConcurrency,
+            @DefaultValue("32") int maxConcurrency,
+            @DefaultValue("100") int maxQueueDepth,
+            @DefaultValue("30s") Duration maxWait,
+            @DefaultValue("60s") Duration latencyThreshold,
+            @DefaultValue("1000") int initialTokenEstimate
+    ) {
+    }
+}
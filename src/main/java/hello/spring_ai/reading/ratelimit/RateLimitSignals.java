@@ -0,0 +1,27 @@
+package hello.spring_ai.reading.ratelimit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * 예외가 OpenAI의 429(요청 한도 초과) 응답에서 온 것인지 판별
+ * Spring AI는 4xx 응답을 "429 - {본문}" 형식 메시지의 NonTransientAiException으로 감싼다.
+ */
+public final class RateLimitSignals {
+
+    private RateLimitSignals() {
+    }
+
+    public static boolean isRateLimited(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause() == e ? null : e.getCause()) {
+            if (e instanceof HttpStatusCodeException http && http.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                return true;
+            }
+            String message = e.getMessage();
+            if (message != null && (message.startsWith("429") || message.contains("rate_limit_exceeded"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
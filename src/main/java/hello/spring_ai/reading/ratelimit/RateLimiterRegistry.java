@@ -0,0 +1,138 @@
+package hello.spring_ai.reading.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모델별 속도 제한기 모음
+ * 모델마다 요청/토큰 예산과 동시 호출 수를 따로 관리하고, 대기열 길이와 대기 시간을 지표로 내보낸다.
+ * <ul>
+ *     <li>reading.ratelimit.queue.depth: 허가를 기다리는 호출자 수</li>
+ *     <li>reading.ratelimit.inflight: 진행 중인 호출 수</li>
+ *     <li>reading.ratelimit.concurrency.limit: 현재 동시 호출 수 한도</li>
+ *     <li>reading.ratelimit.wait: 허가를 받기까지 기다린 시간</li>
+ *     <li>reading.ratelimit.events: 429 응답(throttled), 거절(rejected) 횟수</li>
+ * </ul>
+ */
+@Component
+public class RateLimiterRegistry {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ModelRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    public RateLimiterRegistry(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 속도 제한을 하지 않는 인스턴스 (테스트, 벤치마크용)
+     */
+    public static RateLimiterRegistry disabled() {
+        return new RateLimiterRegistry(
+                new RateLimitProperties(false, 0, Duration.ZERO,
+                        new RateLimitProperties.ModelLimit(0, 0, 0, 0, 0, 0, Duration.ZERO, Duration.ZERO, 0),
+                        Map.of()),
+                new SimpleMeterRegistry());
+    }
+
+    /**
+     * 모델 호출 허가 받기
+     *
+     * @param estimatedTokens 이 호출의 예상 토큰 수 (프롬프트 + 생성, 모르면 0)
+     * @throws RateLimitExceededException 대기열이 가득 찼거나 최대 대기 시간을 넘긴 경우
+     */
+    public ModelRateLimiter.Permit acquire(String model, int estimatedTokens) {
+        if (!properties.enabled()) {
+            return ModelRateLimiter.Permit.UNLIMITED;
+        }
+
+        ModelRateLimiter limiter = limiters.computeIfAbsent(model, this::createLimiter);
+        try {
+            ModelRateLimiter.Permit permit = limiter.acquire(estimatedTokens);
+            Timer.builder("reading.ratelimit.wait")
+                    .description("호출 허가를 받기까지 기다린 시간")
+                    .tag("model", model)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(permit.waitNanos(), TimeUnit.NANOSECONDS);
+            return permit;
+        } catch (RateLimitExceededException e) {
+            event(model, "rejected").increment();
+            throw e;
+        }
+    }
+
+    /**
+     * 429 응답 기록 후 허가 반납
+     */
+    public void throttled(String model, ModelRateLimiter.Permit permit) {
+        permit.throttled();
+        if (properties.enabled()) {
+            event(model, "throttled").increment();
+        }
+    }
+
+    /**
+     * 속도 제한 사용 여부 (꺼져 있으면 acquire가 기다리지 않고 바로 반환한다)
+     */
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * 429 응답 후 다시 시도하는 횟수
+     */
+    public int maxRetries() {
+        return properties.maxRetries();
+    }
+
+    /**
+     * n번째 재시도 전 대기 시간 (지수 증가)
+     */
+    public Duration backoff(int attempt) {
+        return properties.retryBackoff().multipliedBy(1L << Math.min(attempt, 10));
+    }
+
+    /**
+     * 모델의 속도 제한기 (처음 호출되기 전이면 null)
+     */
+    public ModelRateLimiter limiter(String model) {
+        return limiters.get(model);
+    }
+
+    private ModelRateLimiter createLimiter(String model) {
+        ModelRateLimiter limiter = new ModelRateLimiter(model, properties.limitFor(model));
+        Gauge.builder("reading.ratelimit.queue.depth", limiter, ModelRateLimiter::queueDepth)
+                .description("호출 허가를 기다리는 호출자 수")
+                .tag("model", model)
+                .register(meterRegistry);
+        Gauge.builder("reading.ratelimit.inflight", limiter, ModelRateLimiter::inFlight)
+                .description("진행 중인 호출 수")
+                .tag("model", model)
+                .register(meterRegistry);
+        Gauge.builder("reading.ratelimit.concurrency.limit", limiter, ModelRateLimiter::concurrencyLimit)
+                .description("현재 동시 호출 수 한도")
+                .tag("model", model)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private Counter event(String model, String type) {
+        return Counter.builder("reading.ratelimit.events")
+                .description("속도 제한 이벤트 수")
+                .tag("model", model)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
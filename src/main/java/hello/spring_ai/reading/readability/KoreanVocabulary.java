@@ -0,0 +1,229 @@
+package hello.spring_ai.reading.readability;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.coverage.KoreanStems;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 어휘 난이도 목록
+ * 단어마다 알아야 하는 학습자 수준과 어종(고유어, 한자어, 외래어)을 담는다.
+ * 용언은 KoreanStems의 검색 형태(활용형)로 펼쳐 명사와 함께 하나의 트라이로 묶으므로,
+ * 어절을 앞에서부터 한 글자씩 따라가며 가장 긴 단어를 찾으면 뒤에 붙은 조사나 어미와 상관없이 단어를 알 수 있다.
+ * 만든 뒤에는 변경되지 않으므로 여러 스레드에서 공유해도 된다.
+ */
+public final class KoreanVocabulary {
+
+    /**
+     * 함께 배포되는 기본 목록 위치
+     */
+    static final String BUNDLED_RESOURCE = "/readability/korean-vocabulary.tsv";
+
+    static final int ROOT = 0;
+    static final int NO_NODE = -1;
+
+    /**
+     * 어종
+     */
+    public enum Origin {
+        /**
+         * 고유어
+         */
+        NATIVE,
+
+        /**
+         * 한자어
+         */
+        SINO,
+
+        /**
+         * 외래어
+         */
+        LOAN
+    }
+
+    /**
+     * 목록의 단어 하나
+     *
+     * @param word   단어 (명사 또는 "-다"로 끝나는 기본형)
+     * @param level  이 단어를 알아야 하는 가장 낮은 학습자 수준
+     * @param origin 어종
+     */
+    public record Entry(String word, KoreanLevel level, Origin origin) {
+    }
+
+    private final int size;
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final KoreanLevel[] levels;
+    private final Origin[] origins;
+
+    private KoreanVocabulary(int size, List<TreeMap<Character, Integer>> edges, List<Entry> nodeEntries) {
+        this.size = size;
+        int nodeCount = edges.size();
+        this.edgeChars = new char[nodeCount][];
+        this.edgeTargets = new int[nodeCount][];
+        this.levels = new KoreanLevel[nodeCount];
+        this.origins = new Origin[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            TreeMap<Character, Integer> nodeEdges = edges.get(node);
+            char[] chars = new char[nodeEdges.size()];
+            int[] targets = new int[nodeEdges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : nodeEdges.entrySet()) {
+                chars[i] = edge.getKey();
+                targets[i++] = edge.getValue();
+            }
+            edgeChars[node] = chars;
+            edgeTargets[node] = targets;
+            Entry entry = nodeEntries.get(node);
+            if (entry != null) {
+                levels[node] = entry.level();
+                origins[node] = entry.origin();
+            }
+        }
+    }
+
+    /**
+     * 단어 목록으로 어휘 목록 만들기
+     * 여러 단어의 활용형이 겹치면 더 낮은 수준의 단어로 본다.
+     */
+    public static KoreanVocabulary of(List<Entry> entries) {
+        List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+        List<Entry> nodeEntries = new ArrayList<>();
+        edges.add(new TreeMap<>());
+        nodeEntries.add(null);
+
+        for (Entry entry : entries) {
+            for (KoreanStems.Form form : KoreanStems.variants(entry.word())) {
+                int node = ROOT;
+                for (int i = 0; i < form.text().length(); i++) {
+                    char c = form.text().charAt(i);
+                    Integer child = edges.get(node).get(c);
+                    if (child == null) {
+                        child = edges.size();
+                        edges.get(node).put(c, child);
+                        edges.add(new TreeMap<>());
+                        nodeEntries.add(null);
+                    }
+                    node = child;
+                }
+                Entry existing = nodeEntries.get(node);
+                if (existing == null || entry.level().compareTo(existing.level()) < 0) {
+                    nodeEntries.set(node, entry);
+                }
+            }
+        }
+        return new KoreanVocabulary(entries.size(), edges, nodeEntries);
+    }
+
+    /**
+     * 함께 배포되는 기본 목록 (처음 사용할 때 한 번만 읽는다)
+     */
+    public static KoreanVocabulary bundled() {
+        return Bundled.VOCABULARY;
+    }
+
+    /**
+     * 탭으로 구분한 목록 읽기 (단어, 수준 1~3, 어종 N/S/L, #으로 시작하는 줄은 주석)
+     */
+    static KoreanVocabulary read(InputStream in) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = trimmed.split("\t");
+                if (columns.length != 3) {
+                    throw new IllegalArgumentException("어휘 목록 " + lineNumber + "번째 줄 형식이 잘못되었습니다: " + line);
+                }
+                entries.add(new Entry(columns[0].strip(), level(columns[1].strip(), lineNumber),
+                        origin(columns[2].strip(), lineNumber)));
+            }
+        }
+        return of(entries);
+    }
+
+    /**
+     * 목록에 적힌 단어 수 (활용형 제외)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 한 글자 이어서 따라가기
+     *
+     * @return 다음 노드 (이어지는 단어가 없으면 NO_NODE)
+     */
+    int step(int node, char c) {
+        char[] chars = edgeChars[node];
+        int index = Arrays.binarySearch(chars, c);
+        return index >= 0 ? edgeTargets[node][index] : NO_NODE;
+    }
+
+    /**
+     * 노드에서 끝나는 단어의 수준 (단어가 끝나지 않는 노드면 null)
+     */
+    KoreanLevel level(int node) {
+        return levels[node];
+    }
+
+    /**
+     * 노드에서 끝나는 단어의 어종 (단어가 끝나지 않는 노드면 null)
+     */
+    Origin origin(int node) {
+        return origins[node];
+    }
+
+    private static KoreanLevel level(String column, int lineNumber) {
+        return switch (column) {
+            case "1" -> KoreanLevel.BEGINNER;
+            case "2" -> KoreanLevel.INTERMEDIATE;
+            case "3" -> KoreanLevel.ADVANCED;
+            default -> throw new IllegalArgumentException(
+                    "어휘 목록 " + lineNumber + "번째 줄의 수준은 1, 2, 3 중 하나여야 합니다: " + column);
+        };
+    }
+
+    private static Origin origin(String column, int lineNumber) {
+        return switch (column) {
+            case "N" -> Origin.NATIVE;
+            case "S" -> Origin.SINO;
+            case "L" -> Origin.LOAN;
+            default -> throw new IllegalArgumentException(
+                    "어휘 목록 " + lineNumber + "번째 줄의 어종은 N, S, L 중 하나여야 합니다: " + column);
+        };
+    }
+
+    private static final class Bundled {
+
+        private static final KoreanVocabulary VOCABULARY = load();
+
+        private static KoreanVocabulary load() {
+            try (InputStream in = KoreanVocabulary.class.getResourceAsStream(BUNDLED_RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("어휘 목록을 찾을 수 없습니다: " + BUNDLED_RESOURCE);
+                }
+                return read(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("어휘 목록을 읽을 수 없습니다: " + BUNDLED_RESOURCE, e);
+            }
+        }
+    }
+}
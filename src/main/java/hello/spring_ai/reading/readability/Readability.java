@@ -0,0 +1,43 @@
+package hello.spring_ai.reading.readability;
+
+import hello.spring_ai.reading.KoreanLevel;
+
+/**
+ * 생성된 글의 읽기 난이도와 학습자 수준 적합도
+ * 문장 길이는 공백과 문장 끝 부호(. ? ! …)를 뺀 글자 수이고, 단어는 한글 음절이 이어진 어절이다.
+ * 어휘 비율은 어휘 목록에서 찾은 단어 중 비율이며, 목록에 없는 단어는 unknownWordRatio로만 알린다.
+ *
+ * @param level                 평가 기준 수준 (요청한 학습자 수준)
+ * @param sentenceCount         문장 수
+ * @param wordCount             어절 수
+ * @param syllableCount         한글 음절 수
+ * @param meanSentenceLength    평균 문장 길이 (글자)
+ * @param medianSentenceLength  문장 길이 중앙값
+ * @param p90SentenceLength     문장 길이 90백분위수
+ * @param maxSentenceLength     가장 긴 문장 길이
+ * @param sentencesInRangeRatio 수준별 목표 문장 길이 안에 드는 문장 비율
+ * @param syllablesPerWord      어절당 평균 음절 수
+ * @param unknownWordRatio      어휘 목록에 없는 어절 비율
+ * @param difficultWordRatio    기준 수준보다 높은 수준의 단어 비율
+ * @param sinoKoreanRatio       한자어 비율
+ * @param loanwordRatio         외래어 비율
+ * @param levelFit              수준 적합도 (0 ~ 1, 문장 길이, 어휘 수준, 한자어/외래어 비율을 합한 값)
+ */
+public record Readability(
+        KoreanLevel level,
+        int sentenceCount,
+        int wordCount,
+        int syllableCount,
+        double meanSentenceLength,
+        int medianSentenceLength,
+        int p90SentenceLength,
+        int maxSentenceLength,
+        double sentencesInRangeRatio,
+        double syllablesPerWord,
+        double unknownWordRatio,
+        double difficultWordRatio,
+        double sinoKoreanRatio,
+        double loanwordRatio,
+        double levelFit
+) {
+}
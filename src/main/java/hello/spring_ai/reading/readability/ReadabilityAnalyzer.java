@@ -0,0 +1,299 @@
+package hello.spring_ai.reading.readability;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.coverage.KoreanStems;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 생성된 글이 학습자 수준별 작성 규칙(ReadingPrompts)을 따르는지 보는 읽기 난이도 분석기
+ * 모델을 다시 부르지 않고 본문을 한 번만 훑어 문장 길이 분포, 음절 수, 어휘 수준과 한자어/외래어 비율을 센다.
+ * 어절마다 어휘 목록 트라이를 앞에서부터 따라가 가장 긴 단어를 찾으며, 글자마다 객체를 만들지 않는다.
+ * 본문을 조각으로 나눠 넣어도 결과가 같으므로 스트리밍 중 도착한 조각이나 덧붙인 보충 문장만 이어서 검사할 수 있다.
+ * 만든 뒤에는 변경되지 않으므로 여러 스레드에서 공유해도 된다 (Scan은 요청마다 따로 만든다).
+ *
+ * <p>수준 적합도는 세 점수의 가중 합이다.
+ * <ul>
+ *     <li>문장 길이 (0.5): 목표 범위 안의 문장은 1, 벗어난 문장은 범위 폭만큼 멀어질수록 0에 가까워지는 점수의 평균</li>
+ *     <li>어휘 수준 (0.3): 기준 수준보다 높은 단어 비율이 허용치 이하면 1, 넘으면 비율이 1일 때 0이 되도록 줄인다</li>
+ *     <li>어종 (0.2): 한자어와 외래어 비율에 같은 방식을 적용한다</li>
+ * </ul>
+ */
+public final class ReadabilityAnalyzer {
+
+    private static final double SENTENCE_WEIGHT = 0.5;
+    private static final double VOCABULARY_WEIGHT = 0.3;
+    private static final double ORIGIN_WEIGHT = 0.2;
+
+    /**
+     * 문장 길이 분포에서 따로 세는 가장 긴 길이 (더 긴 문장은 이 칸에 함께 센다)
+     */
+    private static final int MAX_TRACKED_LENGTH = 200;
+
+    /**
+     * 수준별 목표 (ReadingPrompts의 작성 규칙을 수치로 옮긴 값)
+     *
+     * @param minSentenceLength 목표 문장 길이 하한
+     * @param maxSentenceLength 목표 문장 길이 상한
+     * @param maxDifficultRatio 기준 수준보다 높은 단어의 허용 비율
+     * @param maxForeignRatio   한자어와 외래어의 허용 비율
+     */
+    private record Target(int minSentenceLength, int maxSentenceLength,
+                          double maxDifficultRatio, double maxForeignRatio) {
+    }
+
+    private static final Map<KoreanLevel, Target> TARGETS = new EnumMap<>(Map.of(
+            KoreanLevel.BEGINNER, new Target(10, 15, 0.05, 0.4),
+            KoreanLevel.INTERMEDIATE, new Target(15, 30, 0.15, 0.6),
+            KoreanLevel.ADVANCED, new Target(25, 50, 1.0, 1.0)
+    ));
+
+    private final KoreanVocabulary vocabulary;
+
+    public ReadabilityAnalyzer(KoreanVocabulary vocabulary) {
+        this.vocabulary = vocabulary;
+    }
+
+    /**
+     * 함께 배포되는 어휘 목록을 쓰는 분석기
+     */
+    public static ReadabilityAnalyzer bundled() {
+        return new ReadabilityAnalyzer(KoreanVocabulary.bundled());
+    }
+
+    /**
+     * 본문 전체의 읽기 난이도
+     *
+     * @param level 평가 기준 수준
+     * @param text  본문
+     */
+    public Readability analyze(KoreanLevel level, CharSequence text) {
+        return newScan(level).feed(text).result();
+    }
+
+    /**
+     * 조각 단위로 이어서 분석하는 상태 만들기
+     *
+     * @param level 평가 기준 수준
+     */
+    public Scan newScan(KoreanLevel level) {
+        return new Scan(level);
+    }
+
+    private static boolean endsSentence(char c) {
+        return c == '.' || c == '?' || c == '!' || c == '\n' || c == '…' || c == '。';
+    }
+
+    /**
+     * 허용 비율 이하면 1, 넘으면 비율이 1일 때 0이 되도록 줄인 점수
+     */
+    private static double withinRatio(double ratio, double max) {
+        return ratio <= max ? 1.0 : (1.0 - ratio) / (1.0 - max);
+    }
+
+    private static double ratio(int count, int total) {
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+
+    /**
+     * 조각 단위 분석 상태
+     * feed로 넣은 조각들을 이어 붙인 본문을 한 번에 분석한 것과 같은 결과를 낸다.
+     */
+    public final class Scan {
+
+        private final KoreanLevel level;
+        private final Target target;
+        private final int[] lengthCounts = new int[MAX_TRACKED_LENGTH + 1];
+
+        private int sentenceCount;
+        private long sentenceLengthSum;
+        private int maxSentenceLength;
+        private int sentencesInRange;
+        private double sentenceFitSum;
+        private int sentenceLength;
+
+        private int wordCount;
+        private int syllableCount;
+        private int knownWords;
+        private int difficultWords;
+        private int sinoWords;
+        private int loanWords;
+
+        private int wordSyllables;
+        private int node = KoreanVocabulary.ROOT;
+        private int matchLength;
+        private KoreanLevel matchLevel;
+        private KoreanVocabulary.Origin matchOrigin;
+
+        private Scan(KoreanLevel level) {
+            this.level = level;
+            this.target = TARGETS.get(level);
+        }
+
+        /**
+         * 본문 조각 분석
+         */
+        public Scan feed(CharSequence chunk) {
+            for (int i = 0; i < chunk.length(); i++) {
+                char c = chunk.charAt(i);
+                if (KoreanStems.isSyllable(c)) {
+                    syllableCount++;
+                    wordSyllables++;
+                    if (node != KoreanVocabulary.NO_NODE) {
+                        node = vocabulary.step(node, c);
+                        if (node != KoreanVocabulary.NO_NODE && vocabulary.level(node) != null) {
+                            matchLength = wordSyllables;
+                            matchLevel = vocabulary.level(node);
+                            matchOrigin = vocabulary.origin(node);
+                        }
+                    }
+                } else if (wordSyllables > 0) {
+                    countWord(matchedWord() ? 1 : 0, 1);
+                    resetWord();
+                }
+
+                if (endsSentence(c)) {
+                    if (sentenceLength > 0) {
+                        countSentence(sentenceLength, 1);
+                        sentenceLength = 0;
+                    }
+                } else if (!Character.isWhitespace(c)) {
+                    sentenceLength++;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * 지금까지 넣은 본문의 읽기 난이도 (끝나지 않은 마지막 문장과 어절도 포함)
+         */
+        public Readability result() {
+            boolean pendingWord = wordSyllables > 0;
+            boolean pendingMatch = pendingWord && matchedWord();
+            boolean pendingSentence = sentenceLength > 0;
+            if (pendingWord) {
+                countWord(pendingMatch ? 1 : 0, 1);
+            }
+            if (pendingSentence) {
+                countSentence(sentenceLength, 1);
+            }
+
+            Readability readability = summarize();
+
+            // 이어서 feed할 수 있도록 끝나지 않은 문장과 어절은 되돌린다
+            if (pendingWord) {
+                countWord(pendingMatch ? 1 : 0, -1);
+            }
+            if (pendingSentence) {
+                countSentence(sentenceLength, -1);
+            }
+            return readability;
+        }
+
+        private Readability summarize() {
+            double sentenceFit = sentenceCount == 0 ? 0.0 : sentenceFitSum / sentenceCount;
+            double difficultRatio = ratio(difficultWords, knownWords);
+            double sinoRatio = ratio(sinoWords, knownWords);
+            double loanRatio = ratio(loanWords, knownWords);
+            double levelFit = sentenceCount == 0 ? 0.0
+                    : SENTENCE_WEIGHT * sentenceFit
+                    + VOCABULARY_WEIGHT * withinRatio(difficultRatio, target.maxDifficultRatio())
+                    + ORIGIN_WEIGHT * withinRatio(sinoRatio + loanRatio, target.maxForeignRatio());
+
+            return new Readability(
+                    level,
+                    sentenceCount,
+                    wordCount,
+                    syllableCount,
+                    sentenceCount == 0 ? 0.0 : (double) sentenceLengthSum / sentenceCount,
+                    percentile(0.5),
+                    percentile(0.9),
+                    maxSentenceLength,
+                    ratio(sentencesInRange, sentenceCount),
+                    ratio(syllableCount, wordCount),
+                    ratio(wordCount - knownWords, wordCount),
+                    difficultRatio,
+                    sinoRatio,
+                    loanRatio,
+                    levelFit
+            );
+        }
+
+        /**
+         * 어절이 어휘 목록의 단어로 시작하는지 여부
+         * 한 음절 단어(물, 집, 책 ...)는 다른 단어의 첫 음절과 헷갈리지 않도록 세 음절 이하 어절에서만 인정한다.
+         */
+        private boolean matchedWord() {
+            return matchLength >= 2 || (matchLength == 1 && wordSyllables <= 3);
+        }
+
+        /**
+         * 어절 하나를 세거나(sign 1) 되돌리기(sign -1)
+         */
+        private void countWord(int matched, int sign) {
+            wordCount += sign;
+            if (matched == 0) {
+                return;
+            }
+            knownWords += sign;
+            if (matchLevel.compareTo(level) > 0) {
+                difficultWords += sign;
+            }
+            if (matchOrigin == KoreanVocabulary.Origin.SINO) {
+                sinoWords += sign;
+            } else if (matchOrigin == KoreanVocabulary.Origin.LOAN) {
+                loanWords += sign;
+            }
+        }
+
+        /**
+         * 문장 하나를 세거나(sign 1) 되돌리기(sign -1)
+         * 되돌리는 것은 끝나지 않은 문장뿐이고 그 문장은 이어서 길어지기만 하므로 가장 긴 문장 길이는 그대로 둔다.
+         */
+        private void countSentence(int length, int sign) {
+            sentenceCount += sign;
+            sentenceLengthSum += (long) sign * length;
+            lengthCounts[Math.min(length, MAX_TRACKED_LENGTH)] += sign;
+            if (sign > 0) {
+                maxSentenceLength = Math.max(maxSentenceLength, length);
+            }
+
+            int min = target.minSentenceLength();
+            int max = target.maxSentenceLength();
+            if (length >= min && length <= max) {
+                sentencesInRange += sign;
+                sentenceFitSum += sign;
+            } else {
+                int distance = length < min ? min - length : length - max;
+                sentenceFitSum += sign * Math.max(0.0, 1.0 - (double) distance / (max - min));
+            }
+        }
+
+        private void resetWord() {
+            wordSyllables = 0;
+            node = KoreanVocabulary.ROOT;
+            matchLength = 0;
+            matchLevel = null;
+            matchOrigin = null;
+        }
+
+        /**
+         * 문장 길이 백분위수 (nearest-rank)
+         */
+        private int percentile(double p) {
+            if (sentenceCount == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sentenceCount);
+            int seen = 0;
+            for (int length = 0; length < lengthCounts.length; length++) {
+                seen += lengthCounts[length];
+                if (seen >= rank) {
+                    return length;
+                }
+            }
+            return MAX_TRACKED_LENGTH;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package hello.spring_ai.reading.routing;
+
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import hello.spring_ai.reading.ReadingMaterialService;
+import hello.spring_ai.reading.budget.BudgetProperties;
+import hello.spring_ai.reading.budget.TokenEstimator;
+import hello.spring_ai.reading.budget.TokenizerEncoding;
+import hello.spring_ai.reading.metrics.PricingProperties;
+import hello.spring_ai.reading.prompt.ReadingPrompts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * auto 모델 선택기
+ * 모델, 수준별 최근 통계(응답 시간 분위, 글자당 생성 토큰 수, 오류율)와 단가표로 요청마다 모델을 고른다.
+ * 표본이 minSamples보다 적은 모델은 통계가 쌓일 때까지 조건을 만족한다고 보고 후보에 넣고,
+ * explorationRate 비율만큼은 통계와 상관없이 임의의 모델을 골라 오래된 통계도 갱신되게 한다.
+ * <ul>
+ *     <li>reading.routing.decisions: 선택 결과 (objective, level, model, reason 태그)</li>
+ * </ul>
+ */
+@Component
+public class ModelRouter {
+
+    /**
+     * 통계로 모델을 고르는 가상 모델 이름
+     */
+    public static final String AUTO = "auto";
+
+    private static final Logger log = LoggerFactory.getLogger(ModelRouter.class);
+
+    private final ReadingMaterialService readingMaterialService;
+    private final ModelStatistics statistics;
+    private final RoutingProperties properties;
+    private final PricingProperties pricing;
+    private final BudgetProperties budgetProperties;
+    private final MeterRegistry meterRegistry;
+
+    public ModelRouter(
+            ReadingMaterialService readingMaterialService,
+            ModelStatistics statistics,
+            RoutingProperties properties,
+            PricingProperties pricing,
+            BudgetProperties budgetProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.readingMaterialService = readingMaterialService;
+        this.statistics = statistics;
+        this.properties = properties;
+        this.pricing = pricing;
+        this.budgetProperties = budgetProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 요청에 사용할 모델 선택
+     *
+     * @param request    자료 생성 요청
+     * @param objective  선택 기준 (null이면 기본 기준)
+     * @param latencySlo cheapest 기준의 지연 목표 (null이면 기본 목표)
+     * @return 선택 결과
+     */
+    public RoutingDecision route(ReadingMaterialRequest request, RoutingObjective objective, Duration latencySlo) {
+        RoutingObjective effectiveObjective = objective != null ? objective : properties.defaultObjective();
+        long sloNanos = (latencySlo != null ? latencySlo : properties.latencySlo()).toNanos();
+
+        List<Candidate> candidates = candidates(request);
+        RoutingDecision decision;
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < properties.explorationRate()) {
+            Candidate explored = candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+            decision = explored.decision(effectiveObjective, "explore");
+        } else if (effectiveObjective == RoutingObjective.CHEAPEST) {
+            decision = cheapest(candidates, sloNanos);
+        } else {
+            decision = fastest(candidates);
+        }
+
+        Counter.builder("reading.routing.decisions")
+                .description("auto 모델 선택 결과")
+                .tag("objective", effectiveObjective.tag())
+                .tag("level", request.level().name())
+                .tag("model", decision.model())
+                .tag("reason", decision.reason())
+                .register(meterRegistry)
+                .increment();
+        log.info("auto 모델 선택 - 모델: {}, 기준: {}, 이유: {}, 예상 비용: ${}, 최근 응답 시간: {}ms",
+                decision.model(), effectiveObjective.tag(), decision.reason(), decision.expectedCost(),
+                decision.latencyNanos() / 1_000_000.0);
+        return decision;
+    }
+
+    /**
+     * 지연 목표와 오류율을 만족하는 모델 중 가장 싼 모델
+     * 만족하는 모델이 없으면 가장 빠른 모델로 대신한다.
+     */
+    private RoutingDecision cheapest(List<Candidate> candidates, long sloNanos) {
+        Candidate best = null;
+        for (Candidate candidate : candidates) {
+            boolean eligible = !candidate.known()
+                    || (candidate.stats().latencyNanos() <= sloNanos && candidate.healthy());
+            if (eligible && (best == null || candidate.expectedCost() < best.expectedCost())) {
+                best = candidate;
+            }
+        }
+        if (best != null) {
+            return best.decision(RoutingObjective.CHEAPEST, best.known() ? "cheapest" : "unknown");
+        }
+        RoutingDecision fastest = fastest(candidates);
+        return new RoutingDecision(fastest.model(), RoutingObjective.CHEAPEST, "slo_fallback",
+                fastest.expectedCost(), fastest.latencyNanos());
+    }
+
+    /**
+     * 오류율을 만족하는 모델 중 가장 빠른 모델
+     * 통계가 없는 모델이 있으면 그 모델부터 시도하고, 모든 모델의 오류율이 높으면 오류율이 가장 낮은 모델을 고른다.
+     */
+    private RoutingDecision fastest(List<Candidate> candidates) {
+        Candidate best = null;
+        for (Candidate candidate : candidates) {
+            if (!candidate.known()) {
+                return candidate.decision(RoutingObjective.FASTEST, "unknown");
+            }
+            if (candidate.healthy()
+                    && (best == null || candidate.stats().latencyNanos() < best.stats().latencyNanos())) {
+                best = candidate;
+            }
+        }
+        if (best != null) {
+            return best.decision(RoutingObjective.FASTEST, "fastest");
+        }
+
+        Candidate leastFailing = candidates.get(0);
+        for (Candidate candidate : candidates) {
+            if (candidate.stats().errorRate() < leastFailing.stats().errorRate()) {
+                leastFailing = candidate;
+            }
+        }
+        return leastFailing.decision(RoutingObjective.FASTEST, "error_fallback");
+    }
+
+    /**
+     * 모델별 통계와 예상 비용
+     * 생성 토큰 수는 최근 글자당 생성 토큰 수가 있으면 그것으로, 없으면 토크나이저 비율로 추정한다.
+     */
+    private List<Candidate> candidates(ReadingMaterialRequest request) {
+        String systemPrompt = ReadingPrompts.systemPrompt(request.level());
+        String userPrompt = ReadingPrompts.userPrompt(request);
+
+        List<String> models = readingMaterialService.models();
+        if (models.isEmpty()) {
+            throw new IllegalStateException("등록된 모델이 없습니다");
+        }
+        List<Candidate> candidates = new ArrayList<>(models.size());
+        for (String model : models) {
+            ModelStats stats = statistics.stats(model, request.level());
+            TokenizerEncoding encoding = budgetProperties.encodingFor(model);
+            int promptTokens = TokenEstimator.promptTokens(systemPrompt, userPrompt, encoding);
+            int completionTokens = stats.tokensPerChar() > 0
+                    ? (int) Math.ceil(stats.tokensPerChar() * request.targetLength())
+                    : TokenEstimator.completionTokens(request.targetLength(), encoding);
+            double cost = pricing.estimateCost(model, promptTokens, completionTokens);
+            candidates.add(new Candidate(model, stats, cost, stats.samples() >= properties.minSamples(),
+                    stats.errorRate() <= properties.maxErrorRate()));
+        }
+        return candidates;
+    }
+
+    /**
+     * @param known   통계를 믿을 만큼 표본이 쌓였는지 여부
+     * @param healthy 오류율이 허용 범위인지 여부
+     */
+    private record Candidate(String model, ModelStats stats, double expectedCost, boolean known, boolean healthy) {
+
+        RoutingDecision decision(RoutingObjective objective, String reason) {
+            return new RoutingDecision(model, objective, reason, expectedCost, stats.latencyNanos());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package hello.spring_ai.reading.routing;
+
+import hello.spring_ai.reading.KoreanLevel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모델, 수준별 최근 호출 통계
+ * 모델 호출마다 기록되므로 기록과 조회 모두 잠금 없이 처리한다 (창을 처음 만들 때만 맵에 추가).
+ * <ul>
+ *     <li>reading.routing.latency: 최근 응답 시간 분위 값 (model, level 태그)</li>
+ *     <li>reading.routing.error.rate: 최근 오류율</li>
+ * </ul>
+ */
+@Component
+public class ModelStatistics {
+
+    private final RoutingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<KoreanLevel, StatsWindow>> windows = new ConcurrentHashMap<>();
+
+    public ModelStatistics(RoutingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 기본 설정으로 어디에도 내보내지 않는 통계 (테스트, 벤치마크용)
+     */
+    public static ModelStatistics standalone() {
+        return new ModelStatistics(RoutingProperties.defaults(), new SimpleMeterRegistry());
+    }
+
+    /**
+     * 성공한 모델 호출 기록
+     *
+     * @param completionTokens 생성 토큰 수
+     * @param contentLength    생성된 글자 수
+     */
+    public void recordSuccess(String model, KoreanLevel level, long durationNanos,
+                              int completionTokens, int contentLength) {
+        window(model, level).recordSuccess(durationNanos, completionTokens, contentLength);
+    }
+
+    /**
+     * 실패한 모델 호출 기록
+     */
+    public void recordFailure(String model, KoreanLevel level, long durationNanos) {
+        window(model, level).recordFailure(durationNanos);
+    }
+
+    /**
+     * 모델, 수준의 현재 통계 (기록이 없으면 빈 통계)
+     */
+    public ModelStats stats(String model, KoreanLevel level) {
+        Map<KoreanLevel, StatsWindow> levels = windows.get(model);
+        StatsWindow window = levels == null ? null : levels.get(level);
+        return window == null ? ModelStats.EMPTY : window.stats();
+    }
+
+    /**
+     * 모델, 수준의 최근 성공 호출 응답 시간 분위 값
+     * 캐시를 거친 호출, 헤지 호출 구분 없이 모델을 실제로 호출한 결과가 모두 들어 있다.
+     *
+     * @param percentile 0보다 크고 1 이하인 분위
+     * @param minSamples 성공한 호출이 이보다 적으면 빈 값
+     */
+    public OptionalLong latencyNanos(String model, KoreanLevel level, double percentile, int minSamples) {
+        Map<KoreanLevel, StatsWindow> levels = windows.get(model);
+        long latency = levels == null ? -1 : levels.get(level).latencyNanos(percentile, minSamples);
+        return latency < 0 ? OptionalLong.empty() : OptionalLong.of(latency);
+    }
+
+    private StatsWindow window(String model, KoreanLevel level) {
+        Map<KoreanLevel, StatsWindow> levels = windows.get(model);
+        if (levels == null) {
+            levels = windows.computeIfAbsent(model, this::createWindows);
+        }
+        return levels.get(level);
+    }
+
+    /**
+     * 모델의 수준별 창을 한 번에 만들어 두므로 이후에는 변경 없는 EnumMap을 잠금 없이 읽는다
+     */
+    private Map<KoreanLevel, StatsWindow> createWindows(String model) {
+        Map<KoreanLevel, StatsWindow> levels = new EnumMap<>(KoreanLevel.class);
+        for (KoreanLevel level : KoreanLevel.values()) {
+            StatsWindow window = new StatsWindow(properties.windowSize(), properties.percentile());
+            levels.put(level, window);
+
+            TimeGauge.builder("reading.routing.latency", window, TimeUnit.NANOSECONDS, w -> w.stats().latencyNanos())
+                    .description("auto 모델 선택에 쓰는 최근 응답 시간 분위 값")
+                    .tag("model", model)
+                    .tag("level", level.name())
+                    .register(meterRegistry);
+            Gauge.builder("reading.routing.error.rate", window, w -> w.stats().errorRate())
+                    .description("auto 모델 선택에 쓰는 최근 오류율")
+                    .tag("model", model)
+                    .tag("level", level.name())
+                    .register(meterRegistry);
+        }
+        return levels;
+    }
+}
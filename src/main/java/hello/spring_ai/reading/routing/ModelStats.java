@@ -0,0 +1,21 @@
+package hello.spring_ai.reading.routing;
+
+/**
+ * 모델, 수준 하나의 최근 호출 통계
+ *
+ * @param samples         보관 중인 호출 수 (실패 포함)
+ * @param failures        그중 실패한 호출 수
+ * @param latencyNanos    성공한 호출의 응답 시간 분위 값 (성공한 호출이 없으면 0)
+ * @param tokensPerChar   생성 글자당 생성 토큰 수 평균 (성공한 호출이 없으면 0)
+ */
+public record ModelStats(int samples, int failures, long latencyNanos, double tokensPerChar) {
+
+    static final ModelStats EMPTY = new ModelStats(0, 0, 0, 0);
+
+    /**
+     * 오류율 (표본이 없으면 0)
+     */
+    public double errorRate() {
+        return samples == 0 ? 0.0 : (double) failures / samples;
+    }
+}
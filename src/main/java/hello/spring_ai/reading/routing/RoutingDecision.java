@@ -0,0 +1,14 @@
+package hello.spring_ai.reading.routing;
+
+/**
+ * auto 모델 선택 결과
+ *
+ * @param model         선택한 모델
+ * @param objective     선택 기준
+ * @param reason        선택 이유 (cheapest, fastest, unknown, explore, slo_fallback, error_fallback)
+ * @param expectedCost  단가표와 글자당 생성 토큰 수로 계산한 예상 비용 (USD)
+ * @param latencyNanos  선택한 모델의 최근 응답 시간 분위 값 (통계가 없으면 0)
+ */
+public record RoutingDecision(String model, RoutingObjective objective, String reason,
+                              double expectedCost, long latencyNanos) {
+}
@@ -0,0 +1,41 @@
+package hello.spring_ai.reading.routing;
+
+import java.util.Locale;
+
+/**
+ * auto 모델의 선택 기준
+ */
+public enum RoutingObjective {
+
+    /**
+     * 최근 p95 응답 시간이 지연 목표(SLO) 안이고 오류율이 허용 범위인 모델 중 예상 비용이 가장 낮은 모델
+     */
+    CHEAPEST,
+
+    /**
+     * 오류율이 허용 범위인 모델 중 최근 p95 응답 시간이 가장 짧은 모델
+     */
+    FASTEST;
+
+    /**
+     * 요청 파라미터 값으로 선택 기준 찾기 (대소문자, '-'와 '_' 구분 없음)
+     *
+     * @throws IllegalArgumentException 알 수 없는 값인 경우
+     */
+    public static RoutingObjective from(String value) {
+        String normalized = value.strip().replace('-', '_').toUpperCase(Locale.ROOT);
+        for (RoutingObjective objective : values()) {
+            if (objective.name().equals(normalized)) {
+                return objective;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 선택 기준입니다: " + value);
+    }
+
+    /**
+     * 지표 태그 값
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
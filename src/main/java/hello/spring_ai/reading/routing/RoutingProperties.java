@@ -0,0 +1,49 @@
+package hello.spring_ai.reading.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * auto 모델 선택 설정
+ * 모델과 수준별로 최근 호출 windowSize개의 응답 시간, 글자당 생성 토큰 수, 오류율을 보관하고 그 통계로 모델을 고른다.
+ *
+ * @param windowSize       모델, 수준별로 보관하는 최근 호출 수
+ * @param minSamples       이보다 표본이 적은 모델은 통계가 없는 것으로 보고 먼저 시도해 표본을 모음
+ * @param percentile       지연 비교에 쓰는 응답 시간 분위 (0.95면 p95)
+ * @param latencySlo       cheapest 기준의 기본 지연 목표 (요청에서 sloMs로 바꿀 수 있음)
+ * @param maxErrorRate     이보다 오류율이 높은 모델은 후보에서 뺌
+ * @param explorationRate  통계와 상관없이 임의의 모델을 고르는 비율 (오래된 통계 갱신용)
+ * @param defaultObjective 요청에 선택 기준이 없을 때 사용할 기준
+ */
+@ConfigurationProperties(prefix = "reading.routing")
+public record RoutingProperties(
+        @DefaultValue("200") int windowSize,
+        @DefaultValue("10") int minSamples,
+        @DefaultValue("0.95") double percentile,
+        @DefaultValue("20s") Duration latencySlo,
+        @DefaultValue("0.2") double maxErrorRate,
+        @DefaultValue("0.05") double explorationRate,
+        @DefaultValue("cheapest") RoutingObjective defaultObjective
+) {
+
+    public RoutingProperties {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize는 양수여야 합니다: " + windowSize);
+        }
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile은 0보다 크고 1 이하여야 합니다: " + percentile);
+        }
+        if (explorationRate < 0 || explorationRate > 1) {
+            throw new IllegalArgumentException("explorationRate는 0 이상 1 이하여야 합니다: " + explorationRate);
+        }
+    }
+
+    /**
+     * 기본 설정 (테스트, 벤치마크용)
+     */
+    public static RoutingProperties defaults() {
+        return new RoutingProperties(200, 10, 0.95, Duration.ofSeconds(20), 0.2, 0.05, RoutingObjective.CHEAPEST);
+    }
+}
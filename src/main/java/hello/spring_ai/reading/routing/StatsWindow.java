@@ -0,0 +1,141 @@
+package hello.spring_ai.reading.routing;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 최근 호출 결과를 고정 크기 원형 버퍼에 보관하는 창
+ * 호출 하나의 응답 시간, 글자당 생성 토큰 수, 성공 여부를 long 하나에 담아 칸 하나에 한 번에 쓰므로
+ * 기록은 잠금 없이 순번을 하나 올리고 값 하나를 덮어쓴다.
+ * 통계는 새 기록이 있을 때만 다시 계산하고, 그사이 조회는 마지막 계산 결과를 그대로 돌려준다.
+ * 여러 스레드가 동시에 다시 계산해도 결과만 덮어쓸 뿐이므로 잠금이 필요 없다.
+ */
+final class StatsWindow {
+
+    // [63..22] 응답 시간(마이크로초) | [21..2] 글자당 생성 토큰 수 x 1000 | [1] 실패 | [0] 기록 있음
+    private static final long PRESENT = 1L;
+    private static final long FAILURE = 1L << 1;
+    private static final int TOKENS_SHIFT = 2;
+    private static final long TOKENS_MASK = (1L << 20) - 1;
+    private static final int LATENCY_SHIFT = 22;
+    private static final long LATENCY_MASK = (1L << 42) - 1;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong sequence = new AtomicLong();
+    private final double percentile;
+    private volatile Computed computed = new Computed(0, ModelStats.EMPTY);
+
+    StatsWindow(int size, double percentile) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size는 양수여야 합니다: " + size);
+        }
+        this.samples = new AtomicLongArray(size);
+        this.percentile = percentile;
+    }
+
+    /**
+     * 성공한 호출 기록
+     *
+     * @param completionTokens 생성 토큰 수
+     * @param contentLength    생성된 글자 수
+     */
+    void recordSuccess(long latencyNanos, int completionTokens, int contentLength) {
+        long tokensPerMilliChar = contentLength > 0 ? Math.min(TOKENS_MASK, completionTokens * 1000L / contentLength) : 0;
+        write(latencyNanos, tokensPerMilliChar, false);
+    }
+
+    /**
+     * 실패한 호출 기록
+     */
+    void recordFailure(long latencyNanos) {
+        write(latencyNanos, 0, true);
+    }
+
+    private void write(long latencyNanos, long tokensPerMilliChar, boolean failure) {
+        long micros = Math.min(LATENCY_MASK, Math.max(0, latencyNanos / 1_000));
+        long packed = (micros << LATENCY_SHIFT) | (tokensPerMilliChar << TOKENS_SHIFT) | (failure ? FAILURE : 0) | PRESENT;
+        long slot = sequence.getAndIncrement() % samples.length();
+        samples.set((int) slot, packed);
+    }
+
+    /**
+     * 현재 통계
+     */
+    ModelStats stats() {
+        long current = sequence.get();
+        Computed last = computed;
+        if (last.sequence() == current) {
+            return last.stats();
+        }
+        ModelStats stats = compute();
+        computed = new Computed(current, stats);
+        return stats;
+    }
+
+    /**
+     * 성공한 호출의 응답 시간 분위 값
+     * 창의 설정과 다른 분위가 필요할 때 쓰며, 부를 때마다 보관 중인 표본으로 다시 계산한다.
+     *
+     * @param percentile 0보다 크고 1 이하인 분위
+     * @param minSamples 성공한 호출이 이보다 적으면 분위 값을 내지 않음
+     * @return 분위 값 (성공한 호출이 minSamples보다 적으면 -1)
+     */
+    long latencyNanos(double percentile, int minSamples) {
+        long[] latencies = new long[samples.length()];
+        int successes = 0;
+        for (int i = 0; i < latencies.length; i++) {
+            long packed = samples.get(i);
+            if ((packed & PRESENT) != 0 && (packed & FAILURE) == 0) {
+                latencies[successes++] = (packed >>> LATENCY_SHIFT) * 1_000;
+            }
+        }
+        if (successes == 0 || successes < minSamples) {
+            return -1;
+        }
+        return percentile(latencies, successes, percentile);
+    }
+
+    private ModelStats compute() {
+        long[] latencies = new long[samples.length()];
+        int samplesSeen = 0;
+        int failures = 0;
+        int successes = 0;
+        long tokensPerMilliCharSum = 0;
+        int tokenSamples = 0;
+
+        for (int i = 0; i < latencies.length; i++) {
+            long packed = samples.get(i);
+            if ((packed & PRESENT) == 0) {
+                continue;
+            }
+            samplesSeen++;
+            if ((packed & FAILURE) != 0) {
+                failures++;
+                continue;
+            }
+            latencies[successes++] = (packed >>> LATENCY_SHIFT) * 1_000;
+            long tokensPerMilliChar = (packed >>> TOKENS_SHIFT) & TOKENS_MASK;
+            if (tokensPerMilliChar > 0) {
+                tokensPerMilliCharSum += tokensPerMilliChar;
+                tokenSamples++;
+            }
+        }
+
+        long latency = successes > 0 ? percentile(latencies, successes, percentile) : 0;
+        double tokensPerChar = tokenSamples == 0 ? 0.0 : tokensPerMilliCharSum / 1000.0 / tokenSamples;
+        return new ModelStats(samplesSeen, failures, latency, tokensPerChar);
+    }
+
+    /**
+     * 앞쪽 count개 값의 분위 값 (nearest-rank, 배열 앞부분을 정렬함)
+     */
+    private static long percentile(long[] values, int count, double percentile) {
+        Arrays.sort(values, 0, count);
+        int rank = (int) Math.ceil(percentile * count);
+        return values[Math.max(0, rank - 1)];
+    }
+
+    private record Computed(long sequence, ModelStats stats) {
+    }
+}
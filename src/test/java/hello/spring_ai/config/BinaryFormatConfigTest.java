@@ -0,0 +1,81 @@
+package hello.spring_ai.config;
+
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.ResponseSource;
+import hello.spring_ai.reading.coverage.WordCoverage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BinaryFormatConfig 테스트
+ */
+class BinaryFormatConfigTest {
+
+    private static final Type RESPONSES = new ParameterizedTypeReference<List<ModelComparisonResponse>>() {
+    }.getType();
+
+    private final BinaryFormatConfig.Servlet servlet = new BinaryFormatConfig.Servlet();
+
+    private final List<ModelComparisonResponse> responses = List.of(
+            new ModelComparisonResponse("gpt-4", null, "제목: 시장\n\n아침 일찍 시장에 가면 상인들이 가게 문을 엽니다.",
+                    120, 64, 80, 200, 1500.5, null, ResponseSource.UPSTREAM, new WordCoverage(2, 2, 1.0, List.of(), 0),
+                    null, null, null),
+            ModelComparisonResponse.failed("gpt-3.5-turbo", "응답 시간 초과 (60000ms)", 60000.0));
+
+    @Test
+    @DisplayName("CBOR로 쓴 비교 결과를 다시 읽으면 같은 값이고 JSON보다 작다")
+    void cborRoundTrip() throws Exception {
+        // Given
+        var cbor = servlet.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder());
+
+        // When
+        byte[] encoded = write(cbor, MediaType.APPLICATION_CBOR);
+
+        // Then
+        assertThat(read(cbor, encoded, MediaType.APPLICATION_CBOR)).isEqualTo(responses);
+        byte[] json = write(new MappingJackson2HttpMessageConverter(), MediaType.APPLICATION_JSON);
+        assertThat(encoded.length).isLessThan(json.length);
+    }
+
+    @Test
+    @DisplayName("Smile로 쓴 비교 결과를 다시 읽으면 같은 값이고, 값이 없는 항목은 JSON처럼 생략된다")
+    void smileRoundTrip() throws Exception {
+        // Given
+        var smile = servlet.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder());
+
+        // When
+        byte[] encoded = write(smile, BinaryFormatConfig.APPLICATION_SMILE);
+
+        // Then
+        List<ModelComparisonResponse> decoded = read(smile, encoded, BinaryFormatConfig.APPLICATION_SMILE);
+        assertThat(decoded).isEqualTo(responses);
+        assertThat(decoded.get(1).content()).isNull();
+        assertThat(smile.canWrite(RESPONSES, List.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private byte[] write(GenericHttpMessageConverter<Object> converter, MediaType mediaType) throws Exception {
+        var output = new MockHttpOutputMessage();
+        converter.write(responses, RESPONSES, mediaType, output);
+        return output.getBodyAsBytes();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ModelComparisonResponse> read(GenericHttpMessageConverter<Object> converter, byte[] body,
+                                                      MediaType mediaType) throws Exception {
+        var input = new MockHttpInputMessage(body);
+        input.getHeaders().setContentType(mediaType);
+        return (List<ModelComparisonResponse>) converter.read(RESPONSES, null, input);
+    }
+}
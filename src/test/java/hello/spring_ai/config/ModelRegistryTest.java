@@ -0,0 +1,200 @@
+package hello.spring_ai.config;
+
+import hello.spring_ai.support.StubChatModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.openai.OpenAiChatOptions;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ModelRegistry 테스트
+ */
+class ModelRegistryTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final ModelClientFactory factory = definition -> {
+        created.incrementAndGet();
+        return ChatClient.create(new StubChatModel(Duration.ZERO));
+    };
+    private ModelRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("ChatClient는 모델을 처음 사용할 때 한 번만 만든다")
+    void createsClientsLazily() {
+        // Given
+        List<ModelDefinition> definitions = IntStream.range(0, 24)
+                .mapToObj(i -> ModelDefinition.named("model-" + i))
+                .toList();
+
+        // When
+        registry = new ModelRegistry(definitions, factory);
+
+        // Then
+        assertThat(created).hasValue(0);
+        ChatClient first = registry.require("model-3").client();
+        ChatClient second = registry.require("model-3").client();
+        assertThat(first).isSameAs(second);
+        assertThat(created).hasValue(1);
+        assertThat(registry.require("model-4").initialized()).isFalse();
+    }
+
+    @Test
+    @DisplayName("모델 이름은 설정 순서대로 돌려주고, 등록되지 않은 모델은 예외가 발생한다")
+    void namesInOrder() {
+        // Given
+        registry = new ModelRegistry(List.of(
+                ModelDefinition.named("gpt-3.5-turbo"),
+                ModelDefinition.named("gpt-4"),
+                ModelDefinition.named("gpt-4-turbo-preview")), factory);
+
+        // When & Then
+        assertThat(registry.names()).containsExactly("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview");
+        assertThat(registry.contains("gpt-4")).isTrue();
+        assertThat(registry.find("claude")).isEmpty();
+        assertThatThrownBy(() -> registry.require("claude"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("claude");
+    }
+
+    @Test
+    @DisplayName("요청별 옵션에 모델 ID, 온도, 더 작은 생성 토큰 한도를 담는다")
+    void requestOptions() {
+        // Given
+        registry = new ModelRegistry(List.of(
+                new ModelDefinition("fast", "gpt-4o-mini", 0.3, 500, null)), factory);
+        RegisteredModel model = registry.require("fast");
+
+        // When
+        OpenAiChatOptions withBudget = model.options(300).build();
+        OpenAiChatOptions overBudget = model.options(800).build();
+        OpenAiChatOptions withoutBudget = model.options(null).build();
+
+        // Then
+        assertThat(withBudget.getModel()).isEqualTo("gpt-4o-mini");
+        assertThat(withBudget.getTemperature()).isEqualTo(0.3);
+        assertThat(withBudget.getMaxTokens()).isEqualTo(300);
+        assertThat(overBudget.getMaxTokens()).isEqualTo(500);
+        assertThat(withoutBudget.getMaxTokens()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("목록을 바꿔도 정의가 같은 모델은 기존 ChatClient를 그대로 쓴다")
+    void reloadKeepsUnchangedClients() {
+        // Given
+        registry = new ModelRegistry(List.of(
+                ModelDefinition.named("a"),
+                ModelDefinition.named("b"),
+                ModelDefinition.named("c")), factory);
+        ChatClient a = registry.require("a").client();
+        ChatClient b = registry.require("b").client();
+
+        // When: b의 온도를 바꾸고 c를 빼고 d를 추가
+        registry.reload(List.of(
+                ModelDefinition.named("a"),
+                new ModelDefinition("b", null, 0.2, null, null),
+                ModelDefinition.named("d")));
+
+        // Then
+        assertThat(registry.names()).containsExactly("a", "b", "d");
+        assertThat(registry.require("a").client()).isSameAs(a);
+        assertThat(registry.require("b").client()).isNotSameAs(b);
+        assertThat(registry.contains("c")).isFalse();
+    }
+
+    @Test
+    @DisplayName("이름이 중복되면 목록을 바꾸지 않는다")
+    void rejectsDuplicateNames() {
+        // Given
+        registry = new ModelRegistry(List.of(ModelDefinition.named("a")), factory);
+
+        // When & Then
+        assertThatThrownBy(() -> registry.reload(List.of(ModelDefinition.named("b"), ModelDefinition.named("b"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(registry.names()).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("설정 파일이 바뀌면 재시작 없이 모델 목록을 다시 읽는다")
+    void reloadsConfigFile(@TempDir Path directory) throws Exception {
+        // Given
+        Path file = directory.resolve("models.properties");
+        Files.writeString(file, """
+                reading.models.definitions[0].name=gpt-4
+                """, StandardCharsets.UTF_8);
+        registry = new ModelRegistry(new ModelRegistryProperties(
+                List.of(ModelDefinition.named("gpt-3.5-turbo")), file, Duration.ofMillis(20)), factory);
+        assertThat(registry.names()).containsExactly("gpt-4");
+
+        // When
+        Files.writeString(file, """
+                reading.models.definitions[0].name=gpt-4
+                reading.models.definitions[1].name=gpt-4o
+                reading.models.definitions[1].temperature=0.5
+                reading.models.definitions[1].timeout=30s
+                """, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+
+        // Then
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (registry.names().size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(registry.names()).containsExactly("gpt-4", "gpt-4o");
+        assertThat(registry.require("gpt-4o").definition())
+                .isEqualTo(new ModelDefinition("gpt-4o", "gpt-4o", 0.5, null, Duration.ofSeconds(30)));
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 처음 사용해도 모두 같은 ChatClient를 받는다")
+    void concurrentFirstUse() throws Exception {
+        // Given
+        registry = new ModelRegistry(List.of(ModelDefinition.named("gpt-4")), factory);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ChatClient>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return registry.require("gpt-4").client();
+            }));
+        }
+        start.countDown();
+        List<ChatClient> clients = new ArrayList<>();
+        for (Future<ChatClient> future : futures) {
+            clients.add(future.get());
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(clients).allSatisfy(client -> assertThat(client).isSameAs(clients.get(0)));
+    }
+}
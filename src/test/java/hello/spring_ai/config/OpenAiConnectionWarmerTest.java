@@ -0,0 +1,95 @@
+package hello.spring_ai.config;
+
+import hello.spring_ai.support.StubChatModel;
+import hello.spring_ai.support.StubOpenAiServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.autoconfigure.openai.OpenAiConnectionProperties;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OpenAiConnectionWarmer 테스트
+ */
+class OpenAiConnectionWarmerTest {
+
+    private final StubOpenAiServer upstream = StubOpenAiServer.start(Duration.ofMillis(5));
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch created = new CountDownLatch(2);
+    private OpenAiTransport transport;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (transport != null) {
+            transport.destroy();
+        }
+        upstream.close();
+    }
+
+    @Test
+    @DisplayName("기본은 준비 완료를 기다리게 하지 않고 백그라운드에서 클라이언트를 만들고 연결을 연다")
+    void warmUpInBackground() throws InterruptedException {
+        // Given: 클라이언트 생성이 release 전까지 끝나지 않음
+        ModelRegistry registry = registry();
+        OpenAiConnectionWarmer warmer = warmer(registry, false);
+
+        // When
+        warmer.warmUp();
+        boolean initializedOnReturn = registry.require("gpt-4").initialized();
+        release.countDown();
+
+        // Then
+        assertThat(initializedOnReturn).isFalse();
+        assertThat(created.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("warmupBeforeReadiness를 켜면 클라이언트와 연결을 모두 준비한 뒤 반환한다")
+    void warmUpBeforeReadiness() {
+        // Given
+        release.countDown();
+        ModelRegistry registry = registry();
+        OpenAiConnectionWarmer warmer = warmer(registry, true);
+
+        // When
+        warmer.warmUp();
+
+        // Then
+        assertThat(registry.require("gpt-3.5-turbo").initialized()).isTrue();
+        assertThat(registry.require("gpt-4").initialized()).isTrue();
+        assertThat(upstream.connections()).isPositive();
+    }
+
+    private ModelRegistry registry() {
+        return new ModelRegistry(List.of(ModelDefinition.named("gpt-3.5-turbo"), ModelDefinition.named("gpt-4")),
+                definition -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    created.countDown();
+                    return ChatClient.create(new StubChatModel(Duration.ZERO));
+                });
+    }
+
+    private OpenAiConnectionWarmer warmer(ModelRegistry registry, boolean beforeReadiness) {
+        OpenAiTransportProperties defaults = OpenAiTransportProperties.defaults();
+        OpenAiTransportProperties properties = new OpenAiTransportProperties(true, false, 10, 10,
+                defaults.pendingAcquireTimeout(), defaults.connectTimeout(), defaults.readTimeout(),
+                defaults.maxIdleTime(), defaults.maxLifeTime(), false, 2, defaults.warmupTimeout(), beforeReadiness);
+        transport = new OpenAiTransport(properties);
+        OpenAiConnectionProperties connection = new OpenAiConnectionProperties();
+        connection.setBaseUrl(upstream.baseUrl());
+        connection.setApiKey("stub-key");
+        return new OpenAiConnectionWarmer(transport, registry, connection, properties);
+    }
+}
@@ -0,0 +1,93 @@
+package hello.spring_ai.config;
+
+import hello.spring_ai.support.StubOpenAiServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OpenAiTransport 테스트
+ */
+class OpenAiTransportTest {
+
+    private static final String BODY = "{\"model\":\"gpt-4\",\"messages\":[{\"role\":\"user\",\"content\":\"안녕\"}]}";
+
+    private final OpenAiTransport transport = new OpenAiTransport(OpenAiTransportProperties.defaults());
+    private final StubOpenAiServer upstream = StubOpenAiServer.start(Duration.ofMillis(5));
+
+    @AfterEach
+    void tearDown() {
+        transport.destroy();
+        upstream.close();
+    }
+
+    @Test
+    @DisplayName("순차 요청은 keep-alive 연결 하나를 재사용한다")
+    void reuseConnection() {
+        // Given
+        RestClient client = RestClient.builder()
+                .baseUrl(upstream.baseUrl())
+                .requestFactory(transport.requestFactory("gpt-4", null, false))
+                .build();
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            client.post().uri("/v1/chat/completions").body(BODY).retrieve().toBodilessEntity();
+        }
+
+        // Then
+        assertThat(upstream.requests()).isEqualTo(20);
+        assertThat(upstream.connections()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("미리 열어 둔 연결을 이후 요청이 사용한다")
+    void warmUpConnections() {
+        // Given
+        Integer warmed = transport.warmUp("gpt-4", upstream.baseUrl(), "stub-key").block(Duration.ofSeconds(5));
+        int connections = upstream.connections();
+        RestClient client = RestClient.builder()
+                .baseUrl(upstream.baseUrl())
+                .requestFactory(transport.requestFactory("gpt-4", Duration.ofSeconds(30), false))
+                .build();
+
+        // When
+        client.post().uri("/v1/chat/completions").body(BODY).retrieve().toBodilessEntity();
+
+        // Then
+        assertThat(warmed).isEqualTo(4);
+        assertThat(connections).isBetween(1, 4);
+        assertThat(upstream.connections()).isEqualTo(connections);
+    }
+
+    @Test
+    @DisplayName("perModelPools를 켜면 모델마다 다른 풀을 쓴다")
+    void perModelPools() {
+        // Given
+        OpenAiTransportProperties defaults = OpenAiTransportProperties.defaults();
+        var perModel = new OpenAiTransport(new OpenAiTransportProperties(true, true, 10, 10,
+                defaults.pendingAcquireTimeout(), defaults.connectTimeout(), defaults.readTimeout(),
+                defaults.maxIdleTime(), defaults.maxLifeTime(), true, 0, defaults.warmupTimeout(), false));
+
+        // When & Then
+        assertThat(transport.poolName("gpt-4")).isEqualTo(transport.poolName("gpt-3.5-turbo"));
+        assertThat(perModel.poolName("gpt-4")).isNotEqualTo(perModel.poolName("gpt-3.5-turbo"));
+        assertThat(perModel.warmUp("gpt-4", upstream.baseUrl(), "stub-key").block()).isZero();
+        perModel.destroy();
+    }
+
+    @Test
+    @DisplayName("https 주소만 HTTP/2 협상 대상이다")
+    void detectHttps() {
+        // When & Then
+        assertThat(OpenAiTransport.isHttps("https://api.openai.com")).isTrue();
+        assertThat(OpenAiTransport.isHttps("HTTPS://api.openai.com")).isTrue();
+        assertThat(OpenAiTransport.isHttps("http://127.0.0.1:8089")).isFalse();
+        assertThat(OpenAiTransport.isHttps(null)).isFalse();
+    }
+}
@@ -0,0 +1,33 @@
+package hello.spring_ai.config;
+
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.job.GenerationJob;
+import hello.spring_ai.reading.readability.Readability;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReadingRuntimeHints 테스트
+ */
+class ReadingRuntimeHintsTest {
+
+    @Test
+    @DisplayName("어휘 목록 리소스와 직접 직렬화하는 타입(중첩 타입 포함)을 힌트로 등록한다")
+    void registerHints() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new ReadingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertThat(RuntimeHintsPredicates.resource().forResource("readability/korean-vocabulary.tsv")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ModelComparisonResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Readability.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(GenerationJob.class)).accepts(hints);
+    }
+}
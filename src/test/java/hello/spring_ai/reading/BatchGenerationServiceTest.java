@@ -0,0 +1,119 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.support.StubChatModel;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BatchGenerationService 테스트
+ * 스텁 ChatModel을 사용하므로 API 키 없이 실행된다.
+ */
+class BatchGenerationServiceTest {
+
+    private final ReadingMaterialService readingMaterialService = new ReadingMaterialService(
+            ChatClient.create(new StubChatModel(Duration.ofMillis(50))),
+            ChatClient.create(new StubChatModel(Duration.ofMillis(50))),
+            ChatClient.create(new StubChatModel(Duration.ofMillis(50)))
+    );
+
+    private final BatchGenerationService batchService = new BatchGenerationService(
+            readingMaterialService,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new BatchProperties(16, 4, Map.of("gpt-4", 1), Duration.ofMinutes(1))
+    );
+
+    @AfterEach
+    void tearDown() {
+        batchService.destroy();
+    }
+
+    @Test
+    @DisplayName("모든 항목 결과를 전달하고 잘못된 항목은 해당 항목만 실패로 보고한다")
+    void reportPerItemFailures() throws Exception {
+        // Given
+        var items = List.of(
+                item("gpt-3.5-turbo", 0),
+                item("invalid-model", 1),
+                new BatchGenerationRequest.Item("gpt-3.5-turbo",
+                        new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of(), "주제", 100)),
+                item("gpt-4-turbo-preview", 3)
+        );
+        var results = new CopyOnWriteArrayList<BatchItemResult>();
+
+        // When
+        BatchSummary summary = batchService.generate(items, results::add).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(results).hasSize(4);
+        assertThat(summary.succeeded()).isEqualTo(2);
+        assertThat(summary.failed()).isEqualTo(2);
+        assertThat(results).filteredOn(result -> result.index() == 1).singleElement()
+                .satisfies(result -> assertThat(result.result().error()).contains("지원하지 않는 모델"));
+        assertThat(results).filteredOn(result -> result.index() == 2).singleElement()
+                .satisfies(result -> assertThat(result.result().error()).contains("목표 단어"));
+    }
+
+    @Test
+    @DisplayName("모델별 동시 호출 수를 지킨다")
+    void respectPerModelConcurrency() throws Exception {
+        // Given: gpt-4 동시 호출 1, gpt-3.5-turbo 동시 호출 4
+        var items = IntStream.range(0, 4)
+                .mapToObj(i -> List.of(item("gpt-4", i), item("gpt-3.5-turbo", i)))
+                .flatMap(List::stream)
+                .toList();
+        var results = new CopyOnWriteArrayList<BatchItemResult>();
+
+        // When
+        BatchSummary summary = batchService.generate(items, results::add).get(5, TimeUnit.SECONDS);
+
+        // Then: gpt-4 4건이 순차로 실행되어 최소 200ms
+        assertThat(summary.succeeded()).isEqualTo(8);
+        assertThat(summary.elapsedMs()).isGreaterThanOrEqualTo(200.0);
+        assertThat(results).extracting(BatchItemResult::index).hasSize(8);
+    }
+
+    @Test
+    @DisplayName("동시 호출 수가 찬 모델의 항목이 작업 스레드를 붙잡지 않아 다른 모델 항목이 먼저 끝날 수 있다")
+    void noHeadOfLineBlocking() throws Exception {
+        // Given: 작업 스레드 2개, gpt-4 동시 호출 1
+        var narrow = new BatchGenerationService(readingMaterialService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new BatchProperties(2, 4, Map.of("gpt-4", 1), Duration.ofMinutes(1)));
+        var gpt4Items = IntStream.range(0, 3).mapToObj(i -> item("gpt-4", i)).toList();
+
+        try {
+            // When: gpt-4만 담은 일괄 요청 둘 뒤에 gpt-3.5-turbo 일괄 요청
+            var first = narrow.generate(gpt4Items, result -> {
+            });
+            var second = narrow.generate(gpt4Items, result -> {
+            });
+            BatchSummary other = narrow.generate(List.of(item("gpt-3.5-turbo", 0)), result -> {
+            }).get(5, TimeUnit.SECONDS);
+
+            // Then: gpt-4 6건(순차 300ms 이상)이 끝나기 전에 완료
+            assertThat(other.succeeded()).isEqualTo(1);
+            assertThat(second).isNotDone();
+            assertThat(first.get(5, TimeUnit.SECONDS).succeeded()).isEqualTo(3);
+            assertThat(second.get(5, TimeUnit.SECONDS).succeeded()).isEqualTo(3);
+        } finally {
+            narrow.destroy();
+        }
+    }
+
+    private static BatchGenerationRequest.Item item(String model, int i) {
+        return new BatchGenerationRequest.Item(model,
+                new ReadingMaterialRequest(KoreanLevel.INTERMEDIATE, List.of("단어" + i), "주제 " + i, 200));
+    }
+}
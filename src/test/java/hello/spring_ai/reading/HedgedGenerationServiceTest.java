@@ -0,0 +1,252 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.config.ModelRegistry;
+import hello.spring_ai.reading.budget.TokenBudget;
+import hello.spring_ai.reading.cache.GenerationStore;
+import hello.spring_ai.reading.cache.ReadingMaterialCache;
+import hello.spring_ai.reading.cache.SemanticCache;
+import hello.spring_ai.reading.coverage.CoverageProperties;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.ratelimit.RateLimiterRegistry;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.support.StubChatModel;
+import hello.spring_ai.support.TailLatencyStubChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * HedgedGenerationService 테스트
+ * 지연 분포를 주입한 스텁 ChatModel을 사용하므로 API 키 없이 실행된다.
+ */
+class HedgedGenerationServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReadingMaterialService readingMaterialService;
+    private HedgedGenerationService service;
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    @DisplayName("요청 모델이 늦으면 대체 모델 결과를 반환하고 요청 모델 이름을 함께 표시한다")
+    void fallbackModelWinsWhenPrimaryIsSlow() {
+        // Given
+        var slowGpt4 = new TailLatencyStubChatModel(Duration.ofSeconds(2), Duration.ofSeconds(2), 1);
+        service = service(new StubChatModel(Duration.ofMillis(10)), slowGpt4, new StubChatModel(Duration.ofMillis(20)),
+                Duration.ofMillis(100), Duration.ofSeconds(5), Map.of("gpt-4", "gpt-4-turbo-preview"));
+
+        // When
+        long start = System.nanoTime();
+        var response = service.generate("gpt-4", request(1));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(response.succeeded()).isTrue();
+        assertThat(response.modelName()).isEqualTo("gpt-4-turbo-preview");
+        assertThat(response.requestedModel()).isEqualTo("gpt-4");
+        assertThat(elapsedMs).isLessThan(1000);
+        assertThat(outcomeCount("gpt-4", "hedge")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("진 호출은 중단하지 않고 결과만 버린다 (같은 요청을 기다리는 다른 호출과 캐시 로딩을 함께 쓰므로)")
+    void losingCallIsAbandonedWithoutInterrupt() throws Exception {
+        // Given
+        var slowGpt4 = new TailLatencyStubChatModel(Duration.ofSeconds(2), Duration.ofSeconds(2), 1);
+        service = service(new StubChatModel(Duration.ofMillis(10)), slowGpt4, new StubChatModel(Duration.ofMillis(20)),
+                Duration.ofMillis(100), Duration.ofSeconds(5), Map.of("gpt-4", "gpt-4-turbo-preview"));
+
+        // When
+        service.generate("gpt-4", request(1));
+        Thread.sleep(200);
+
+        // Then
+        assertThat(slowGpt4.calls()).isEqualTo(1);
+        assertThat(slowGpt4.interrupted()).isZero();
+    }
+
+    @Test
+    @DisplayName("요청 모델이 헤지 대기 시간 안에 응답하면 헤지 요청을 보내지 않는다")
+    void noHedgeWhenPrimaryIsFast() {
+        // Given
+        var turbo = new StubChatModel(Duration.ofMillis(10));
+        service = service(new StubChatModel(Duration.ofMillis(10)), new StubChatModel(Duration.ofMillis(20)), turbo,
+                Duration.ofSeconds(1), Duration.ofSeconds(5), Map.of("gpt-4", "gpt-4-turbo-preview"));
+
+        // When
+        var response = service.generate("gpt-4", request(1));
+
+        // Then
+        assertThat(response.modelName()).isEqualTo("gpt-4");
+        assertThat(response.requestedModel()).isEqualTo("gpt-4");
+        assertThat(turbo.calls()).isZero();
+        assertThat(outcomeCount("gpt-4", "primary")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("꼬리 지연이 있는 모델은 관측한 p95를 넘긴 호출만 같은 모델로 다시 요청해 지연을 줄인다")
+    void hedgesOnlyTailLatencyCalls() {
+        // Given: 25번째 호출마다 2초, 나머지는 10ms (느린 호출 4%)
+        var gpt35 = new TailLatencyStubChatModel(Duration.ofMillis(10), Duration.ofSeconds(2), 25);
+        service = service(gpt35, new StubChatModel(Duration.ofMillis(10)), new StubChatModel(Duration.ofMillis(10)),
+                Duration.ofMillis(100), Duration.ofSeconds(5), Map.of());
+
+        // When
+        long maxElapsedMs = 0;
+        for (int i = 0; i < 100; i++) {
+            long start = System.nanoTime();
+            var response = service.generate("gpt-3.5-turbo", request(i));
+            maxElapsedMs = Math.max(maxElapsedMs, (System.nanoTime() - start) / 1_000_000);
+            assertThat(response.modelName()).isEqualTo("gpt-3.5-turbo");
+        }
+
+        // Then
+        assertThat(maxElapsedMs).isLessThan(1000);
+        assertThat(service.hedgeDelay("gpt-3.5-turbo", KoreanLevel.BEGINNER)).isEqualTo(Duration.ofMillis(20));
+        assertThat(outcomeCount("gpt-3.5-turbo", "hedge")).isGreaterThanOrEqualTo(4.0);
+        assertThat(gpt35.interrupted()).isZero();
+    }
+
+    @Test
+    @DisplayName("헤지 대기 시간은 헤지 요청이 아닌 호출의 응답 시간도 반영한다")
+    void hedgeDelayLearnsFromAllCalls() {
+        // Given
+        service = service(new StubChatModel(Duration.ofMillis(10)), new StubChatModel(Duration.ofMillis(50)),
+                new StubChatModel(Duration.ofMillis(10)),
+                Duration.ofSeconds(5), Duration.ofSeconds(10), Map.of());
+
+        // When: 헤지 요청 모드를 거치지 않고 직접 호출
+        for (int i = 0; i < 12; i++) {
+            readingMaterialService.generateWithModel("gpt-4", request(i));
+        }
+
+        // Then
+        assertThat(service.hedgeDelay("gpt-4", KoreanLevel.BEGINNER))
+                .isGreaterThanOrEqualTo(Duration.ofMillis(50))
+                .isLessThan(Duration.ofSeconds(1));
+        assertThat(service.hedgeDelay("gpt-4", KoreanLevel.ADVANCED)).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("헤지 대기 시간은 원래 호출이 실행 대기열에서 기다린 시간을 빼고 잰다")
+    void hedgeDelayStartsWhenCallStarts() throws Exception {
+        // Given: 실행 스레드 하나, 호출 200ms, 헤지 대기 시간 300ms
+        service = service(new StubChatModel(Duration.ofMillis(10)), new StubChatModel(Duration.ofMillis(200)),
+                new StubChatModel(Duration.ofMillis(10)),
+                properties(1, 4, Duration.ofMillis(300), Duration.ofSeconds(5), Map.of()));
+
+        // When: 두 번째 요청은 첫 요청이 끝날 때까지 대기열에서 기다렸다가 실행됨 (제출 후 약 400ms에 완료)
+        var first = CompletableFuture.supplyAsync(() -> service.generate("gpt-4", request(1)));
+        var second = CompletableFuture.supplyAsync(() -> service.generate("gpt-4", request(2)));
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(outcomeCount("gpt-4", "primary")).isEqualTo(2.0);
+        assertThat(meterRegistry.find("reading.hedge.launched").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("실행 대기열이 가득 차면 새 요청을 거절한다")
+    void rejectWhenQueueFull() throws Exception {
+        // Given: 실행 스레드 하나, 대기열 하나
+        service = service(new StubChatModel(Duration.ofMillis(10)), new StubChatModel(Duration.ofMillis(500)),
+                new StubChatModel(Duration.ofMillis(10)),
+                properties(1, 1, Duration.ofSeconds(5), Duration.ofSeconds(10), Map.of()));
+        var running = CompletableFuture.supplyAsync(() -> service.generate("gpt-4", request(1)));
+        Thread.sleep(100);
+        var queued = CompletableFuture.supplyAsync(() -> service.generate("gpt-4", request(2)));
+        Thread.sleep(100);
+
+        // When & Then
+        assertThatThrownBy(() -> service.generate("gpt-4", request(3)))
+                .isInstanceOf(HedgeQueueFullException.class);
+        assertThat(outcomeCount("gpt-4", "rejected")).isEqualTo(1.0);
+        CompletableFuture.allOf(running, queued).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("요청 모델이 실패하면 헤지 대기 시간을 기다리지 않고 대체 모델로 요청한다")
+    void fallbackImmediatelyWhenPrimaryFails() {
+        // Given
+        ChatModel failing = prompt -> {
+            throw new IllegalStateException("upstream 오류");
+        };
+        service = service(new StubChatModel(Duration.ofMillis(10)), failing, new StubChatModel(Duration.ofMillis(10)),
+                Duration.ofSeconds(5), Duration.ofSeconds(10), Map.of("gpt-4", "gpt-4-turbo-preview"));
+
+        // When
+        long start = System.nanoTime();
+        var response = service.generate("gpt-4", request(1));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(response.modelName()).isEqualTo("gpt-4-turbo-preview");
+        assertThat(elapsedMs).isLessThan(1000);
+    }
+
+    @Test
+    @DisplayName("전체 제한 시간 안에 아무 호출도 성공하지 못하면 시간 초과 예외가 발생한다")
+    void deadlineExceeded() {
+        // Given
+        service = service(new StubChatModel(Duration.ofMillis(10)), new StubChatModel(Duration.ofSeconds(2)),
+                new StubChatModel(Duration.ofSeconds(2)),
+                Duration.ofMillis(50), Duration.ofMillis(200), Map.of("gpt-4", "gpt-4-turbo-preview"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.generate("gpt-4", request(1)))
+                .isInstanceOf(GenerationTimeoutException.class)
+                .hasMessageContaining("응답 시간 초과");
+        assertThat(outcomeCount("gpt-4", "timeout")).isEqualTo(1.0);
+    }
+
+    private HedgedGenerationService service(ChatModel gpt35, ChatModel gpt4, ChatModel gpt4Turbo,
+                                            Duration initialDelay, Duration deadline, Map<String, String> fallbacks) {
+        return service(gpt35, gpt4, gpt4Turbo, properties(8, 64, initialDelay, deadline, fallbacks));
+    }
+
+    private HedgedGenerationService service(ChatModel gpt35, ChatModel gpt4, ChatModel gpt4Turbo,
+                                            HedgingProperties properties) {
+        var statistics = ModelStatistics.standalone();
+        var clients = Map.of(
+                "gpt-3.5-turbo", ChatClient.create(gpt35),
+                "gpt-4", ChatClient.create(gpt4),
+                "gpt-4-turbo-preview", ChatClient.create(gpt4Turbo));
+        readingMaterialService = new ReadingMaterialService(
+                ModelRegistry.fixed(List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview"), clients::get),
+                ReadingMaterialCache.disabled(), GenerationStore.disabled(), SemanticCache.disabled(),
+                ReadingMetrics.noop(), RateLimiterRegistry.disabled(), CoverageProperties.checkOnly(),
+                TokenBudget.unlimited(), statistics);
+        return new HedgedGenerationService(readingMaterialService, statistics, properties, meterRegistry);
+    }
+
+    private static HedgingProperties properties(int workerThreads, int queueCapacity, Duration initialDelay,
+                                                Duration deadline, Map<String, String> fallbacks) {
+        return new HedgingProperties(workerThreads, queueCapacity, 0.95, 10, initialDelay, Duration.ofMillis(20),
+                Duration.ofSeconds(60), deadline, fallbacks);
+    }
+
+    private double outcomeCount(String model, String outcome) {
+        var counter = meterRegistry.find("reading.hedge.requests").tag("model", model).tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static ReadingMaterialRequest request(int i) {
+        return new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "바나나"), "과일 " + i, 150);
+    }
+}
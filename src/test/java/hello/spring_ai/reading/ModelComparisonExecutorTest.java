@@ -0,0 +1,127 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.config.ModelDefinition;
+import hello.spring_ai.config.ModelRegistry;
+import hello.spring_ai.reading.budget.TokenBudget;
+import hello.spring_ai.reading.cache.GenerationStore;
+import hello.spring_ai.reading.cache.ReadingCacheProperties;
+import hello.spring_ai.reading.cache.ReadingMaterialCache;
+import hello.spring_ai.reading.cache.SemanticCache;
+import hello.spring_ai.reading.coverage.CoverageProperties;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.ratelimit.RateLimiterRegistry;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.support.StubChatModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ModelComparisonExecutor 테스트
+ * 스텁 ChatModel을 사용하므로 API 키 없이 실행된다.
+ */
+class ModelComparisonExecutorTest {
+
+    private static final List<String> MODELS = List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview");
+
+    private final ReadingMaterialRequest request = new ReadingMaterialRequest(
+            KoreanLevel.BEGINNER,
+            List.of("사과", "바나나"),
+            "과일",
+            150
+    );
+
+    private ModelComparisonExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("모델 호출을 동시에 실행하여 가장 느린 모델 시간 안에 끝난다")
+    void compareConcurrently() {
+        // Given
+        executor = executor(Duration.ofMillis(300), Duration.ofMillis(300), Duration.ofSeconds(5), null);
+
+        // When
+        long start = System.nanoTime();
+        var responses = executor.compare(MODELS, request);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(responses).extracting(ModelComparisonResponse::modelName).containsExactlyElementsOf(MODELS);
+        assertThat(responses).allMatch(ModelComparisonResponse::succeeded);
+        assertThat(elapsedMs).isLessThan(800);
+    }
+
+    @Test
+    @DisplayName("제한 시간을 넘긴 모델은 실패 결과로 반환되고 나머지는 정상 반환된다")
+    void timedOutModelReturnsFailedEntry() {
+        // Given
+        executor = executor(Duration.ofMillis(50), Duration.ofSeconds(2), Duration.ofSeconds(5),
+                Duration.ofMillis(200));
+
+        // When
+        var responses = executor.compare(MODELS, request);
+
+        // Then
+        assertThat(responses.get(0).succeeded()).isTrue();
+        assertThat(responses.get(1).succeeded()).isFalse();
+        assertThat(responses.get(1).error()).contains("응답 시간 초과");
+        assertThat(responses.get(1).content()).isNull();
+        assertThat(responses.get(2).succeeded()).isTrue();
+    }
+
+    @Test
+    @DisplayName("제한 시간을 넘긴 호출을 중단하지 않으므로 같은 요청을 기다리던 다른 호출은 결과를 받는다")
+    void timeoutKeepsCoalescedLoad() throws Exception {
+        // Given: gpt-4는 400ms 뒤 응답, 비교의 gpt-4 제한 시간은 100ms
+        var cache = new ReadingMaterialCache(new ReadingCacheProperties(true, 100, Duration.ofMinutes(10)));
+        var service = service(Duration.ofMillis(20), Duration.ofMillis(400), Duration.ofMillis(100), cache);
+        executor = new ModelComparisonExecutor(service, new ComparisonProperties(8, 16, Duration.ofSeconds(5)));
+
+        // When: 비교의 gpt-4 호출이 캐시 로딩을 맡은 뒤 같은 요청이 그 결과를 기다린다
+        var comparison = CompletableFuture.supplyAsync(() -> executor.compare(MODELS, request));
+        Thread.sleep(50);
+        var waiting = service.generateWithModel("gpt-4", request);
+        var responses = comparison.join();
+
+        // Then
+        assertThat(responses.get(1).error()).contains("응답 시간 초과");
+        assertThat(waiting.content()).isEqualTo(StubChatModel.DEFAULT_CONTENT);
+        assertThat(waiting.source()).isEqualTo(ResponseSource.CACHE);
+    }
+
+    private ModelComparisonExecutor executor(Duration fastLatency, Duration slowLatency, Duration defaultTimeout,
+                                             Duration gpt4Timeout) {
+        var service = service(fastLatency, slowLatency, gpt4Timeout, ReadingMaterialCache.disabled());
+        var properties = new ComparisonProperties(8, 16, defaultTimeout);
+        return new ModelComparisonExecutor(service, properties);
+    }
+
+    /**
+     * gpt-4만 느린 모델로 만들고, gpt-4의 제한 시간은 모델 설정(timeout)으로 지정한다
+     */
+    private static ReadingMaterialService service(Duration fastLatency, Duration slowLatency, Duration gpt4Timeout,
+                                                  ReadingMaterialCache cache) {
+        ChatClient fast = ChatClient.create(new StubChatModel(fastLatency));
+        ChatClient slow = ChatClient.create(new StubChatModel(slowLatency));
+        var models = new ModelRegistry(List.of(
+                ModelDefinition.named("gpt-3.5-turbo"),
+                new ModelDefinition("gpt-4", null, null, null, gpt4Timeout),
+                ModelDefinition.named("gpt-4-turbo-preview")
+        ), definition -> "gpt-4".equals(definition.name()) ? slow : fast);
+        return new ReadingMaterialService(models,
+                cache, GenerationStore.disabled(), SemanticCache.disabled(),
+                ReadingMetrics.noop(), RateLimiterRegistry.disabled(), CoverageProperties.checkOnly(),
+                TokenBudget.unlimited(), ModelStatistics.standalone());
+    }
+}
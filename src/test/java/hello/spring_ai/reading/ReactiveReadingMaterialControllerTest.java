@@ -0,0 +1,201 @@
+package hello.spring_ai.reading;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.spring_ai.reading.budget.BudgetProperties;
+import hello.spring_ai.reading.budget.TokenizerEncoding;
+import hello.spring_ai.reading.job.GenerationJob;
+import hello.spring_ai.reading.job.GenerationJobService;
+import hello.spring_ai.reading.job.JobProperties;
+import hello.spring_ai.reading.metrics.PricingProperties;
+import hello.spring_ai.reading.routing.ModelRouter;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.reading.routing.RoutingProperties;
+import hello.spring_ai.support.StubChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReactiveReadingMaterialController 테스트
+ * 스텁 ChatModel을 사용하므로 API 키 없이 실행된다.
+ */
+class ReactiveReadingMaterialControllerTest {
+
+    private BatchGenerationService batchService;
+    private HedgedGenerationService hedgedService;
+    private ModelComparisonExecutor comparisonExecutor;
+    private GenerationJobService jobService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        var service = new ReadingMaterialService(
+                ChatClient.create(new StubChatModel(Duration.ofMillis(20))),
+                ChatClient.create(new StubChatModel(Duration.ofMillis(40))),
+                ChatClient.create(new StubChatModel(Duration.ofMillis(30)))
+        );
+        batchService = new BatchGenerationService(service,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new BatchProperties(4, 2, Map.of(), Duration.ofMinutes(1)));
+        hedgedService = new HedgedGenerationService(service, ModelStatistics.standalone(), new HedgingProperties(4, 64, 0.95, 20,
+                Duration.ofSeconds(10), Duration.ofMillis(200), Duration.ofSeconds(60), Duration.ofSeconds(120), Map.of()),
+                new SimpleMeterRegistry());
+        var router = new ModelRouter(service, ModelStatistics.standalone(), RoutingProperties.defaults(),
+                new PricingProperties(Map.of()), new BudgetProperties(true, 0.3, 64, 200, 6000, Map.of(),
+                BudgetProperties.OverBudget.DOWNGRADE, TokenizerEncoding.CL100K_BASE, Map.of()),
+                new SimpleMeterRegistry());
+        var comparisonProperties = new ComparisonProperties(16, 64, Duration.ofSeconds(10));
+        comparisonExecutor = new ModelComparisonExecutor(service, comparisonProperties);
+        jobService = new GenerationJobService(service, comparisonExecutor, new JobProperties(false, Path.of("."), 2,
+                100, 3, Duration.ofHours(1), Duration.ofSeconds(5), Duration.ofMinutes(10)), new ObjectMapper());
+        var controller = new ReactiveReadingMaterialController(service, batchService, hedgedService, router,
+                jobService, comparisonProperties);
+
+        client = WebTestClient.bindToController(controller)
+                .controllerAdvice(new ReadingApiExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        batchService.destroy();
+        hedgedService.destroy();
+        jobService.destroy();
+        comparisonExecutor.destroy();
+    }
+
+    @Test
+    @DisplayName("지원 모델 목록 조회")
+    void getSupportedModels() {
+        client.get().uri("/api/reading/models")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0]").isEqualTo("gpt-3.5-turbo");
+    }
+
+    @Test
+    @DisplayName("단일 모델로 읽기 자료 생성 - 성공")
+    void generateSingleModel() {
+        client.post().uri("/api/reading/generate/gpt-4")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(List.of("사과", "바나나")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.modelName").isEqualTo("gpt-4")
+                .jsonPath("$.content").isEqualTo(StubChatModel.DEFAULT_CONTENT)
+                .jsonPath("$.totalTokens").isEqualTo(200)
+                .jsonPath("$.source").isEqualTo("UPSTREAM");
+    }
+
+    @Test
+    @DisplayName("모든 모델 비교 - 모델 순서대로 결과를 반환한다")
+    void generateComparison() {
+        client.post().uri("/api/reading/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(List.of("사과")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].modelName").isEqualTo("gpt-3.5-turbo")
+                .jsonPath("$[1].modelName").isEqualTo("gpt-4")
+                .jsonPath("$[2].modelName").isEqualTo("gpt-4-turbo-preview")
+                .jsonPath("$[1].error").isEmpty();
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 모델 - 400 Bad Request")
+    void invalidModel() {
+        client.post().uri("/api/reading/generate/invalid-model")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(List.of("사과")))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("목표 단어가 비어 있으면 400 Bad Request")
+    void emptyTargetWords() {
+        client.post().uri("/api/reading/generate/gpt-4")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(List.of()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").value(message -> assertThat((String) message).contains("targetWords"));
+    }
+
+    @Test
+    @DisplayName("작업 제출은 202와 작업 ID를 반환하고, 조회는 작업이 끝날 때까지 기다린다")
+    void submitAndAwaitJob() {
+        GenerationJob submitted = client.post().uri("/api/reading/jobs?model=gpt-4")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(List.of("사과")))
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectHeader().exists("Location")
+                .expectBody(GenerationJob.class)
+                .returnResult().getResponseBody();
+        assertThat(submitted).isNotNull();
+
+        client.get().uri("/api/reading/jobs/{id}?waitMs=3000", submitted.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("SUCCEEDED")
+                .jsonPath("$.results[0].modelName").isEqualTo("gpt-4");
+
+        client.get().uri("/api/reading/jobs/unknown")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key로 다시 제출하면 200과 같은 작업, 다른 요청이면 409")
+    void idempotentJobSubmission() {
+        String firstId = client.post().uri("/api/reading/jobs")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(List.of("사과")))
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody(GenerationJob.class)
+                .returnResult().getResponseBody().id();
+
+        client.post().uri("/api/reading/jobs")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(List.of("사과")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(firstId);
+
+        client.post().uri("/api/reading/jobs")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(List.of("바나나")))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    private static ReadingMaterialRequest request(List<String> targetWords) {
+        return new ReadingMaterialRequest(KoreanLevel.BEGINNER, targetWords, "과일", 150);
+    }
+}
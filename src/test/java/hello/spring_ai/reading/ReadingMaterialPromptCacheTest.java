@@ -0,0 +1,98 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.config.ModelRegistry;
+import hello.spring_ai.reading.budget.TokenBudget;
+import hello.spring_ai.reading.cache.GenerationStore;
+import hello.spring_ai.reading.cache.ReadingMaterialCache;
+import hello.spring_ai.reading.cache.SemanticCache;
+import hello.spring_ai.reading.coverage.CoverageProperties;
+import hello.spring_ai.reading.metrics.PricingProperties;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.ratelimit.RateLimiterRegistry;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.support.StubOpenAiServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 제공자 프롬프트 캐시 재사용량 보고 테스트
+ * 앞부분 캐시를 흉내 내는 StubOpenAiServer를 사용하므로 API 키 없이 실행된다.
+ */
+class ReadingMaterialPromptCacheTest {
+
+    private final StubOpenAiServer upstream = StubOpenAiServer.start(StubOpenAiServer.Profile.fixed(Duration.ZERO)
+            .withPromptCache(64, Duration.ZERO));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    @DisplayName("같은 수준의 다른 요청은 시스템 프롬프트 앞부분을 재사용하고, 재사용 토큰 수가 결과와 지표에 담긴다")
+    void reportCachedPromptTokens() {
+        // Given
+        var service = service();
+        var first = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "바나나"), "과일 가게", 150);
+        var second = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("학교", "친구"), "새 학기", 200);
+
+        // When
+        var uncached = service.generateWithModel("gpt-4o-mini", first);
+        var cached = service.generateWithModel("gpt-4o-mini", second);
+
+        // Then
+        assertThat(uncached.cachedPromptTokens()).isZero();
+        assertThat(cached.cachedPromptTokens()).isGreaterThanOrEqualTo(128).isLessThan(cached.promptTokens());
+        assertThat(registry.get("reading.generation.tokens")
+                .tags("model", "gpt-4o-mini", "level", "BEGINNER", "type", "cached_prompt")
+                .counter()
+                .count()).isEqualTo(cached.cachedPromptTokens().doubleValue());
+    }
+
+    @Test
+    @DisplayName("수준이 달라도 공통 지시문 구간까지는 재사용한다")
+    void shareInstructionsAcrossLevels() {
+        // Given
+        var service = service();
+        var beginner = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과"), "과일", 150);
+        var advanced = new ReadingMaterialRequest(KoreanLevel.ADVANCED, List.of("경제"), "세계 경제", 600);
+
+        // When
+        service.generateWithModel("gpt-4o-mini", beginner);
+        var response = service.generateWithModel("gpt-4o-mini", advanced);
+
+        // Then
+        assertThat(response.cachedPromptTokens()).isPositive();
+    }
+
+    private ReadingMaterialService service() {
+        OpenAiApi openAiApi = OpenAiApi.builder()
+                .baseUrl(upstream.baseUrl())
+                .apiKey("stub-key")
+                .build();
+        ChatClient client = ChatClient.create(OpenAiChatModel.builder()
+                .openAiApi(openAiApi)
+                .defaultOptions(OpenAiChatOptions.builder().model("gpt-4o-mini").build())
+                .build());
+        return new ReadingMaterialService(
+                ModelRegistry.fixed(List.of("gpt-4o-mini"), name -> client),
+                ReadingMaterialCache.disabled(),
+                GenerationStore.disabled(), SemanticCache.disabled(),
+                new ReadingMetrics(registry, new PricingProperties(Map.of())),
+                RateLimiterRegistry.disabled(), CoverageProperties.checkOnly(), TokenBudget.unlimited(),
+                ModelStatistics.standalone());
+    }
+}
@@ -0,0 +1,160 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.config.ModelRegistry;
+import hello.spring_ai.reading.budget.TokenBudget;
+import hello.spring_ai.reading.cache.GenerationStore;
+import hello.spring_ai.reading.cache.ReadingCacheProperties;
+import hello.spring_ai.reading.cache.ReadingMaterialCache;
+import hello.spring_ai.reading.cache.SemanticCache;
+import hello.spring_ai.reading.coverage.CoverageProperties;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.ratelimit.RateLimiterRegistry;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.support.StubChatModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReadingMaterialService reactive 생성 테스트
+ * 스텁 ChatModel을 사용하므로 API 키 없이 실행된다.
+ */
+class ReadingMaterialReactiveTest {
+
+    private static final String SUPPLEMENT = "집에 와서 우리는 포도도 먹었어요.";
+
+    private final ReadingMaterialRequest request =
+            new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "바나나"), "과일", 150);
+
+    @Test
+    @DisplayName("스트리밍 조각을 모아 블로킹 생성과 같은 본문과 토큰 사용량을 돌려준다")
+    void sameResultAsBlocking() {
+        // Given
+        var service = new ReadingMaterialService(
+                ChatClient.create(new StubChatModel(Duration.ofMillis(20))),
+                ChatClient.create(new StubChatModel(Duration.ofMillis(20))),
+                ChatClient.create(new StubChatModel(Duration.ofMillis(20)))
+        );
+
+        // When
+        var reactive = service.generateReactive("gpt-4", request).block(Duration.ofSeconds(5));
+        var blocking = service.generateWithModel("gpt-4", request);
+
+        // Then
+        assertThat(reactive.content()).isEqualTo(blocking.content()).isEqualTo(StubChatModel.DEFAULT_CONTENT);
+        assertThat(reactive.promptTokens()).isEqualTo(blocking.promptTokens()).isEqualTo(120);
+        assertThat(reactive.completionTokens()).isEqualTo(blocking.completionTokens()).isEqualTo(80);
+        assertThat(reactive.source()).isEqualTo(ResponseSource.UPSTREAM);
+        assertThat(reactive.coverage().complete()).isTrue();
+    }
+
+    @Test
+    @DisplayName("빠진 목표 단어는 reactive 경로에서도 보충 문장을 받아 덧붙인다")
+    void revisionOnReactivePath() {
+        // Given
+        var model = new SupplementingChatModel();
+        var service = service(model, ReadingMaterialCache.disabled(), new CoverageProperties(true, 1, 40));
+        var missing = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "포도"), "과일", 150);
+
+        // When
+        var response = service.generateReactive("gpt-4", missing).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(model.streams).hasValue(2);
+        assertThat(response.content()).startsWith(StubChatModel.DEFAULT_CONTENT.strip()).endsWith(SUPPLEMENT);
+        assertThat(response.coverage().complete()).isTrue();
+        assertThat(response.coverage().revisions()).isEqualTo(1);
+        assertThat(response.promptTokens()).isEqualTo(120 + 40);
+        assertThat(response.completionTokens()).isEqualTo(80 + 15);
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 들어온 reactive 요청은 모델을 한 번만 호출한다")
+    void coalesceConcurrentRequests() {
+        // Given
+        var model = new StubChatModel(Duration.ofMillis(100));
+        var cache = new ReadingMaterialCache(new ReadingCacheProperties(true, 100, Duration.ofMinutes(10)));
+        var service = service(model, cache, CoverageProperties.checkOnly());
+
+        // When
+        var responses = Mono.zip(
+                        service.generateReactive("gpt-3.5-turbo", request),
+                        service.generateReactive("gpt-3.5-turbo", request))
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(model.calls()).isEqualTo(1);
+        assertThat(List.of(responses.getT1().source(), responses.getT2().source()))
+                .containsExactlyInAnyOrder(ResponseSource.UPSTREAM, ResponseSource.CACHE);
+        assertThat(responses.getT2().content()).isEqualTo(responses.getT1().content());
+    }
+
+    @Test
+    @DisplayName("같은 키로 기다리던 요청 하나가 취소되어도 다른 요청은 결과를 받고 캐시에 저장된다")
+    void cancelOneOfCoalescedRequests() throws Exception {
+        // Given
+        var model = new StubChatModel(Duration.ofMillis(200));
+        var cache = new ReadingMaterialCache(new ReadingCacheProperties(true, 100, Duration.ofMinutes(10)));
+        var service = service(model, cache, CoverageProperties.checkOnly());
+        Disposable first = service.generateReactive("gpt-3.5-turbo", request).subscribe();
+        var second = service.generateReactive("gpt-3.5-turbo", request).toFuture();
+
+        // When
+        first.dispose();
+        var response = second.get(5, TimeUnit.SECONDS);
+        var cached = service.generateReactive("gpt-3.5-turbo", request).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(response.content()).isEqualTo(StubChatModel.DEFAULT_CONTENT);
+        assertThat(cached.source()).isEqualTo(ResponseSource.CACHE);
+        assertThat(model.calls()).isEqualTo(1);
+    }
+
+    private static ReadingMaterialService service(StubChatModel model, ReadingMaterialCache cache,
+                                                  CoverageProperties coverage) {
+        var client = ChatClient.create(model);
+        return new ReadingMaterialService(
+                ModelRegistry.fixed(List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview"), name -> client),
+                cache, GenerationStore.disabled(), SemanticCache.disabled(), ReadingMetrics.noop(),
+                RateLimiterRegistry.disabled(), coverage, TokenBudget.unlimited(), ModelStatistics.standalone());
+    }
+
+    /**
+     * 첫 스트리밍 호출에는 기본 본문을, 이후 호출에는 보충 문장을 보내는 스텁
+     */
+    private static final class SupplementingChatModel extends StubChatModel {
+
+        private final AtomicInteger streams = new AtomicInteger();
+
+        private SupplementingChatModel() {
+            super(Duration.ofMillis(10));
+        }
+
+        @Override
+        public Flux<ChatResponse> stream(Prompt prompt) {
+            if (streams.getAndIncrement() == 0) {
+                return super.stream(prompt);
+            }
+            return Flux.just(
+                    new ChatResponse(List.of(new Generation(new AssistantMessage(SUPPLEMENT)))),
+                    new ChatResponse(List.of(new Generation(new AssistantMessage(""))),
+                            ChatResponseMetadata.builder().usage(new DefaultUsage(40, 15)).build()));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.config.ModelRegistry;
+import hello.spring_ai.reading.budget.TokenBudget;
+import hello.spring_ai.reading.cache.GenerationStore;
+import hello.spring_ai.reading.cache.ReadingMaterialCache;
+import hello.spring_ai.reading.cache.SemanticCache;
+import hello.spring_ai.reading.coverage.CoverageProperties;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.ratelimit.RateLimiterRegistry;
+import hello.spring_ai.reading.readability.ReadabilityAnalyzer;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.support.StubChatModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목표 단어 누락 시 보충 요청 테스트
+ * 스텁 ChatModel을 사용하므로 API 키 없이 실행된다.
+ */
+class ReadingMaterialRevisionTest {
+
+    private static final String SUPPLEMENT = "집에 와서 우리는 포도도 먹었어요.";
+
+    private final List<String> prompts = new ArrayList<>();
+
+    @Test
+    @DisplayName("빠진 목표 단어는 본문 끝부분만 보내 보충 문장을 받아 덧붙인다")
+    void missingWordsTriggerTargetedRevision() {
+        // Given
+        var service = service(new CoverageProperties(true, 1, 40));
+        var request = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "포도", "먹다"), "과일", 150);
+
+        // When
+        var response = service.generateWithModel("gpt-4", request);
+
+        // Then
+        assertThat(prompts).hasSize(2);
+        assertThat(prompts.get(1)).contains("포도").doesNotContain("제목: 과일 가게");
+        assertThat(response.content()).startsWith(StubChatModel.DEFAULT_CONTENT.strip()).endsWith(SUPPLEMENT);
+        assertThat(response.coverage().complete()).isTrue();
+        assertThat(response.coverage().revisions()).isEqualTo(1);
+        assertThat(response.readability())
+                .isEqualTo(ReadabilityAnalyzer.bundled().analyze(KoreanLevel.BEGINNER, response.content()));
+        assertThat(response.promptTokens()).isEqualTo(120 + 40);
+        assertThat(response.completionTokens()).isEqualTo(80 + 15);
+        assertThat(response.totalTokens()).isEqualTo(255);
+    }
+
+    @Test
+    @DisplayName("모든 목표 단어가 있으면 보충 요청을 하지 않는다")
+    void noRevisionWhenCovered() {
+        // Given
+        var service = service(new CoverageProperties(true, 1, 40));
+        var request = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "바나나", "먹다"), "과일", 150);
+
+        // When
+        var response = service.generateWithModel("gpt-4", request);
+
+        // Then
+        assertThat(prompts).hasSize(1);
+        assertThat(response.coverage().complete()).isTrue();
+        assertThat(response.coverage().revisions()).isZero();
+    }
+
+    @Test
+    @DisplayName("보충 요청을 끄면 빠진 단어만 보고한다")
+    void checkOnly() {
+        // Given
+        var service = service(CoverageProperties.checkOnly());
+        var request = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "포도"), "과일", 150);
+
+        // When
+        var response = service.generateWithModel("gpt-4", request);
+
+        // Then
+        assertThat(prompts).hasSize(1);
+        assertThat(response.coverage().missingWords()).containsExactly("포도");
+        assertThat(response.coverage().ratio()).isEqualTo(0.5);
+    }
+
+    private ReadingMaterialService service(CoverageProperties coverageProperties) {
+        ChatModel model = this::respond;
+        ChatClient client = ChatClient.create(model);
+        return new ReadingMaterialService(
+                ModelRegistry.fixed(List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview"), name -> client),
+                ReadingMaterialCache.disabled(),
+                GenerationStore.disabled(), SemanticCache.disabled(), ReadingMetrics.noop(), RateLimiterRegistry.disabled(),
+                coverageProperties, TokenBudget.unlimited(), ModelStatistics.standalone());
+    }
+
+    private ChatResponse respond(Prompt prompt) {
+        String text = prompt.getContents();
+        prompts.add(text);
+        boolean revision = prompts.size() > 1;
+        return new ChatResponse(
+                List.of(new Generation(new AssistantMessage(revision ? SUPPLEMENT : StubChatModel.DEFAULT_CONTENT))),
+                ChatResponseMetadata.builder()
+                        .usage(revision ? new DefaultUsage(40, 15) : new DefaultUsage(120, 80))
+                        .build());
+    }
+}
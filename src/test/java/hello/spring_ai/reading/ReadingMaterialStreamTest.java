@@ -0,0 +1,154 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.config.ModelRegistry;
+import hello.spring_ai.reading.budget.TokenBudget;
+import hello.spring_ai.reading.cache.GenerationStore;
+import hello.spring_ai.reading.cache.ReadingMaterialCache;
+import hello.spring_ai.reading.cache.SemanticCache;
+import hello.spring_ai.reading.coverage.CoverageProperties;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.ratelimit.RateLimitProperties;
+import hello.spring_ai.reading.ratelimit.RateLimiterRegistry;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.support.StubChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReadingMaterialService 스트리밍 생성 테스트
+ * 스텁 ChatModel을 사용하므로 API 키 없이 실행된다.
+ */
+class ReadingMaterialStreamTest {
+
+    private final ReadingMaterialService service = new ReadingMaterialService(
+            ChatClient.create(new StubChatModel(Duration.ofMillis(20))),
+            ChatClient.create(new StubChatModel(Duration.ofMillis(20))),
+            ChatClient.create(new StubChatModel(Duration.ofMillis(20)))
+    );
+
+    @Test
+    @DisplayName("토큰 조각을 보낸 뒤 토큰 사용량과 첫 토큰 시간이 담긴 요약으로 끝난다")
+    void streamTokensThenSummary() {
+        // Given
+        var request = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "바나나"), "과일", 150);
+
+        // When
+        List<ReadingStreamEvent> events = service.streamWithModel("gpt-3.5-turbo", request)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(events).isNotEmpty();
+        ReadingStreamEvent last = events.get(events.size() - 1);
+        assertThat(last.type()).isEqualTo(ReadingStreamEvent.Type.SUMMARY);
+        assertThat(events.subList(0, events.size() - 1))
+                .allMatch(event -> event.type() == ReadingStreamEvent.Type.TOKEN)
+                .allMatch(event -> event.model().equals("gpt-3.5-turbo"));
+
+        ModelComparisonResponse summary = last.summary();
+        assertThat(summary.content()).isEqualTo(StubChatModel.DEFAULT_CONTENT);
+        assertThat(summary.totalTokens()).isEqualTo(summary.promptTokens() + summary.completionTokens());
+        assertThat(summary.timeToFirstTokenMs()).isPositive();
+        assertThat(summary.generationTimeMs()).isGreaterThanOrEqualTo(summary.timeToFirstTokenMs());
+    }
+
+    @Test
+    @DisplayName("마지막 조각의 사용량에 프롬프트, 생성 토큰 수가 없으면 모름으로 두고 요약을 보낸다")
+    void summaryWithoutTokenCounts() {
+        // Given
+        var stub = new StubChatModel(Duration.ZERO) {
+            @Override
+            public Flux<ChatResponse> stream(Prompt prompt) {
+                return Flux.just(
+                        new ChatResponse(List.of(new Generation(new AssistantMessage("사과를 샀어요.")))),
+                        new ChatResponse(List.of(new Generation(new AssistantMessage(""))),
+                                ChatResponseMetadata.builder().usage(usageWithTotalOnly(95)).build()));
+            }
+        };
+        var streaming = new ReadingMaterialService(ChatClient.create(stub), ChatClient.create(stub), ChatClient.create(stub));
+        var request = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과"), "과일", 150);
+
+        // When
+        List<ReadingStreamEvent> events = streaming.streamWithModel("gpt-4", request)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        ReadingStreamEvent last = events.get(events.size() - 1);
+        assertThat(last.type()).isEqualTo(ReadingStreamEvent.Type.SUMMARY);
+        assertThat(last.summary().content()).isEqualTo("사과를 샀어요.");
+        assertThat(last.summary().promptTokens()).isNull();
+        assertThat(last.summary().completionTokens()).isNull();
+        assertThat(last.summary().totalTokens()).isEqualTo(95);
+    }
+
+    @Test
+    @DisplayName("스트리밍도 모델별 속도 제한 허가를 받고, 완료나 취소 때 반납하며, 허가를 못 받으면 ERROR로 끝낸다")
+    void streamUnderRateLimit() {
+        // Given: gpt-4 동시 호출 1, 대기 100ms
+        var rateLimiters = new RateLimiterRegistry(
+                new RateLimitProperties(true, 0, Duration.ofMillis(10),
+                        new RateLimitProperties.ModelLimit(6000, 1_000_000, 1, 1, 1, 10,
+                                Duration.ofMillis(100), Duration.ofSeconds(60), 200),
+                        Map.of()),
+                new SimpleMeterRegistry());
+        ChatClient client = ChatClient.create(new StubChatModel(Duration.ofMillis(20)));
+        var limited = new ReadingMaterialService(
+                ModelRegistry.fixed(List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview"), name -> client),
+                ReadingMaterialCache.disabled(), GenerationStore.disabled(), SemanticCache.disabled(),
+                ReadingMetrics.noop(), rateLimiters, CoverageProperties.checkOnly(), TokenBudget.unlimited(),
+                ModelStatistics.standalone());
+        var request = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과"), "과일", 150);
+
+        // When: 끝까지 받은 스트림, 첫 조각만 받고 끊은 스트림, 다른 호출이 허가를 쥔 동안의 스트림
+        List<ReadingStreamEvent> completed = limited.streamWithModel("gpt-4", request)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        int inFlightAfterCompletion = rateLimiters.limiter("gpt-4").inFlight();
+        limited.streamWithModel("gpt-4", request).take(1).blockLast(Duration.ofSeconds(5));
+        int inFlightAfterCancel = rateLimiters.limiter("gpt-4").inFlight();
+        var held = rateLimiters.acquire("gpt-4", 0);
+        List<ReadingStreamEvent> rejected = limited.streamWithModel("gpt-4", request)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        held.failed();
+
+        // Then
+        assertThat(completed.get(completed.size() - 1).type()).isEqualTo(ReadingStreamEvent.Type.SUMMARY);
+        assertThat(inFlightAfterCompletion).isZero();
+        assertThat(inFlightAfterCancel).isZero();
+        assertThat(rejected).singleElement()
+                .satisfies(event -> assertThat(event.type()).isEqualTo(ReadingStreamEvent.Type.ERROR));
+        assertThat(rateLimiters.limiter("gpt-4").inFlight()).isZero();
+    }
+
+    /**
+     * 전체 토큰 수만 있는 사용량 (Usage의 다른 메서드는 모두 null)
+     */
+    private static Usage usageWithTotalOnly(int totalTokens) {
+        return (Usage) Proxy.newProxyInstance(Usage.class.getClassLoader(), new Class<?>[]{Usage.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getTotalTokens" -> method.getReturnType() == Long.class ? (Object) (long) totalTokens : totalTokens;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "Usage[totalTokens=" + totalTokens + "]";
+                    default -> null;
+                });
+    }
+}
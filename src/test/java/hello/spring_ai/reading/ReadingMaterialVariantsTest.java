@@ -0,0 +1,144 @@
+package hello.spring_ai.reading;
+
+import hello.spring_ai.config.ModelRegistry;
+import hello.spring_ai.reading.budget.TokenBudget;
+import hello.spring_ai.reading.budget.TokenEstimate;
+import hello.spring_ai.reading.cache.GenerationStore;
+import hello.spring_ai.reading.cache.ReadingMaterialCache;
+import hello.spring_ai.reading.cache.SemanticCache;
+import hello.spring_ai.reading.coverage.CoverageProperties;
+import hello.spring_ai.reading.metrics.PricingProperties;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.prompt.ReadingPrompts;
+import hello.spring_ai.reading.ratelimit.RateLimitExceededException;
+import hello.spring_ai.reading.ratelimit.RateLimitProperties;
+import hello.spring_ai.reading.ratelimit.RateLimiterRegistry;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.support.StubOpenAiServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 한 번의 호출로 대안 글 여러 개를 받는 generateVariants 테스트
+ * n 옵션을 흉내 내는 StubOpenAiServer를 사용하므로 API 키 없이 실행된다.
+ */
+class ReadingMaterialVariantsTest {
+
+    private final StubOpenAiServer upstream = StubOpenAiServer.start(Duration.ZERO);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    @DisplayName("글 세 개를 한 번의 호출로 받고, 프롬프트 토큰은 한 번만 세며 글별 생성 토큰의 합은 전체와 같다")
+    void generateVariantsInOneCall() {
+        // Given
+        var service = service();
+
+        // When
+        VariantGenerationResponse response = service.generateVariants("gpt-4o-mini", request(), 3);
+
+        // Then: 스텁은 프롬프트 120토큰, 글마다 생성 80토큰을 청구한다
+        assertThat(upstream.requests()).isEqualTo(1);
+        assertThat(response.variants()).hasSize(3)
+                .extracting(VariantGenerationResponse.Variant::index).containsExactly(0, 1, 2);
+        assertThat(response.variants()).allSatisfy(variant -> {
+            assertThat(variant.content()).isNotBlank();
+            assertThat(variant.coverage()).isNotNull();
+            assertThat(variant.readability().level()).isEqualTo(KoreanLevel.BEGINNER);
+            assertThat(variant.readability().sentenceCount()).isPositive();
+        });
+        assertThat(response.promptTokens()).isEqualTo(120);
+        assertThat(response.completionTokens()).isEqualTo(240);
+        assertThat(response.totalTokens()).isEqualTo(360);
+        assertThat(response.variants()).extracting(VariantGenerationResponse.Variant::completionTokens)
+                .containsExactly(80, 80, 80);
+        assertThat(registry.get("reading.generation.tokens")
+                .tags("model", "gpt-4o-mini", "level", "BEGINNER", "type", "prompt")
+                .counter()
+                .count()).isEqualTo(120.0);
+    }
+
+    @Test
+    @DisplayName("글 수가 1 ~ MAX_VARIANTS를 벗어나면 모델을 호출하지 않고 예외가 발생한다")
+    void rejectVariantsOutOfRange() {
+        // Given
+        var service = service();
+
+        // When & Then
+        assertThatThrownBy(() -> service.generateVariants("gpt-4o-mini", request(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.generateVariants("gpt-4o-mini", request(),
+                ReadingMaterialService.MAX_VARIANTS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(upstream.requests()).isZero();
+    }
+
+    @Test
+    @DisplayName("속도 제한 토큰 버킷에는 글 수만큼의 생성 토큰 추정치를 한 번에 예약한다")
+    void reserveEstimateForAllVariants() {
+        // Given: 다른 호출이 예약하고 남은 토큰이 글 하나 분량은 되지만 글 다섯 개 분량은 안 됨
+        var rateLimiters = new RateLimiterRegistry(
+                new RateLimitProperties(true, 0, Duration.ofMillis(10),
+                        new RateLimitProperties.ModelLimit(6000, 20_000, 8, 1, 8, 10,
+                                Duration.ofMillis(100), Duration.ofSeconds(60), 1),
+                        Map.of()),
+                new SimpleMeterRegistry());
+        var service = service(rateLimiters);
+        String systemPrompt = ReadingPrompts.systemPrompt(KoreanLevel.BEGINNER);
+        TokenEstimate one = TokenBudget.unlimited().plan("gpt-4o-mini", request(), systemPrompt, 1).estimate();
+        TokenEstimate five = TokenBudget.unlimited().plan("gpt-4o-mini", request(), systemPrompt, 5).estimate();
+        int oneTokens = one.promptTokens() + one.completionTokens();
+        int fiveTokens = five.promptTokens() + five.completionTokens();
+        var held = rateLimiters.acquire("gpt-4o-mini", 20_000 - (oneTokens + fiveTokens) / 2);
+
+        // When & Then
+        assertThatThrownBy(() -> service.generateVariants("gpt-4o-mini", request(), 5))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(upstream.requests()).isZero();
+        assertThat(service.generateVariants("gpt-4o-mini", request(), 1).variants()).hasSize(1);
+        held.failed();
+    }
+
+    private ReadingMaterialService service() {
+        return service(RateLimiterRegistry.disabled());
+    }
+
+    private ReadingMaterialService service(RateLimiterRegistry rateLimiters) {
+        OpenAiApi openAiApi = OpenAiApi.builder()
+                .baseUrl(upstream.baseUrl())
+                .apiKey("stub-key")
+                .build();
+        ChatClient client = ChatClient.create(OpenAiChatModel.builder()
+                .openAiApi(openAiApi)
+                .defaultOptions(OpenAiChatOptions.builder().model("gpt-4o-mini").build())
+                .build());
+        return new ReadingMaterialService(
+                ModelRegistry.fixed(List.of("gpt-4o-mini"), name -> client),
+                ReadingMaterialCache.disabled(),
+                GenerationStore.disabled(), SemanticCache.disabled(),
+                new ReadingMetrics(registry, new PricingProperties(Map.of())),
+                rateLimiters, CoverageProperties.checkOnly(), TokenBudget.unlimited(),
+                ModelStatistics.standalone());
+    }
+
+    private static ReadingMaterialRequest request() {
+        return new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "바나나"), "과일 가게", 150);
+    }
+}
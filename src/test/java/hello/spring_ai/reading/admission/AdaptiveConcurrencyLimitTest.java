@@ -0,0 +1,137 @@
+package hello.spring_ai.reading.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AdaptiveConcurrencyLimit 테스트
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    @DisplayName("한도만큼 자리를 주고, 반납하면 다시 받을 수 있다")
+    void acquireUpToLimit() {
+        // Given
+        var limit = new AdaptiveConcurrencyLimit(settings(2, 1, 10));
+
+        // When
+        AdaptiveConcurrencyLimit.Slot first = limit.tryAcquire();
+        AdaptiveConcurrencyLimit.Slot second = limit.tryAcquire();
+        AdaptiveConcurrencyLimit.Slot rejected = limit.tryAcquire();
+        first.ignored();
+        first.ignored();
+
+        // Then
+        assertThat(second).isNotNull();
+        assertThat(rejected).isNull();
+        assertThat(limit.inFlight()).isEqualTo(1);
+        assertThat(limit.tryAcquire()).isNotNull();
+        assertThat(limit.tryAcquire()).isNull();
+    }
+
+    @Test
+    @DisplayName("한도를 채워 처리하는 동안 응답 시간이 그대로면 한도를 상한까지 늘린다")
+    void growWhileLatencyStable() {
+        // Given
+        var limit = new AdaptiveConcurrencyLimit(settings(10, 1, 40));
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            round(limit, Duration.ofMillis(100));
+        }
+
+        // Then
+        assertThat(limit.limit()).isEqualTo(40.0);
+    }
+
+    @Test
+    @DisplayName("응답 시간이 평소보다 길어지면 한도를 줄이고, 길어진 응답 시간이 이어지면 새 기준으로 삼는다")
+    void shrinkWhenLatencyRises() {
+        // Given: 100ms로 한도 40까지 늘린 상태
+        var limit = new AdaptiveConcurrencyLimit(settings(40, 1, 40));
+        for (int i = 0; i < 20; i++) {
+            round(limit, Duration.ofMillis(100));
+        }
+
+        // When: 응답 시간이 네 배가 됨
+        round(limit, Duration.ofMillis(400));
+        round(limit, Duration.ofMillis(400));
+        double shrunk = limit.limit();
+        for (int i = 0; i < 60; i++) {
+            round(limit, Duration.ofMillis(400));
+        }
+
+        // Then
+        assertThat(shrunk).isLessThan(15);
+        assertThat(limit.limit()).isEqualTo(40.0);
+    }
+
+    @Test
+    @DisplayName("한도의 절반도 쓰지 않을 때 끝난 요청은 한도를 바꾸지 않는다")
+    void ignoreAppLimitedSamples() {
+        // Given
+        var limit = new AdaptiveConcurrencyLimit(settings(20, 1, 40));
+
+        // When: 한 번에 하나씩만 처리
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire().success(Duration.ofMillis(10).toNanos());
+        }
+
+        // Then
+        assertThat(limit.limit()).isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("과부하로 실패한 요청은 한도를 10%씩 줄이되 하한 아래로는 줄이지 않는다")
+    void shrinkOnDrop() {
+        // Given
+        var limit = new AdaptiveConcurrencyLimit(settings(20, 5, 40));
+
+        // When
+        limit.tryAcquire().dropped();
+        double once = limit.limit();
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire().dropped();
+        }
+
+        // Then
+        assertThat(once).isEqualTo(18.0);
+        assertThat(limit.limit()).isEqualTo(5.0);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("자리가 빌 때까지 예상 시간은 최근 응답 시간을 한도로 나눈 값이다")
+    void estimateWait() {
+        // Given
+        var limit = new AdaptiveConcurrencyLimit(settings(10, 10, 10));
+        assertThat(limit.estimatedWait()).isZero();
+
+        // When
+        round(limit, Duration.ofSeconds(2));
+
+        // Then
+        assertThat(limit.estimatedWait()).isEqualTo(Duration.ofMillis(200));
+    }
+
+    /**
+     * 한도만큼 자리를 받은 뒤 모두 같은 응답 시간으로 반납
+     */
+    private static void round(AdaptiveConcurrencyLimit limit, Duration latency) {
+        List<AdaptiveConcurrencyLimit.Slot> slots = new ArrayList<>();
+        for (AdaptiveConcurrencyLimit.Slot slot = limit.tryAcquire(); slot != null; slot = limit.tryAcquire()) {
+            slots.add(slot);
+        }
+        slots.forEach(slot -> slot.success(latency.toNanos()));
+    }
+
+    private static AdmissionProperties.PoolLimit settings(int initial, int min, int max) {
+        return new AdmissionProperties.PoolLimit(initial, min, max, 1.5, 0.2, 600);
+    }
+}
@@ -0,0 +1,116 @@
+package hello.spring_ai.reading.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AdmissionControl, AdmissionPool 테스트
+ */
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("생성 엔드포인트만 모델 호출 수에 따라 묶음을 나누고, 나머지 요청은 수용 제어 대상이 아니다")
+    void classifyEndpoints() {
+        assertThat(AdmissionPool.of("POST", "/api/reading/generate/gpt-4")).isEqualTo(AdmissionPool.CHEAP);
+        assertThat(AdmissionPool.of("POST", "/api/reading/generate/auto")).isEqualTo(AdmissionPool.CHEAP);
+        assertThat(AdmissionPool.of("POST", "/api/reading/generate/gpt-4/variants")).isEqualTo(AdmissionPool.CHEAP);
+        assertThat(AdmissionPool.of("POST", "/api/reading/generate")).isEqualTo(AdmissionPool.EXPENSIVE);
+        assertThat(AdmissionPool.of("POST", "/api/reading/generate/stream")).isEqualTo(AdmissionPool.EXPENSIVE);
+        assertThat(AdmissionPool.of("POST", "/api/reading/generate/batch")).isEqualTo(AdmissionPool.EXPENSIVE);
+
+        assertThat(AdmissionPool.of("GET", "/api/reading/models")).isNull();
+        assertThat(AdmissionPool.of("POST", "/api/reading/jobs")).isNull();
+        assertThat(AdmissionPool.of("GET", "/api/reading/generate")).isNull();
+        assertThat(AdmissionPool.of("POST", "/api/reading/generated")).isNull();
+    }
+
+    @Test
+    @DisplayName("묶음마다 한도를 따로 두고, 받은 요청과 거절한 요청 수를 지표로 남긴다")
+    void separatePoolsAndCountOutcomes() {
+        // Given: 비싼 요청 한도 1
+        var admission = new AdmissionControl(properties(true), meterRegistry);
+
+        // When
+        AdaptiveConcurrencyLimit.Slot expensive = admission.tryAcquire(AdmissionPool.EXPENSIVE);
+        AdaptiveConcurrencyLimit.Slot shed = admission.tryAcquire(AdmissionPool.EXPENSIVE);
+        AdaptiveConcurrencyLimit.Slot cheap = admission.tryAcquire(AdmissionPool.CHEAP);
+
+        // Then
+        assertThat(expensive).isNotNull();
+        assertThat(shed).isNull();
+        assertThat(cheap).isNotNull();
+        assertThat(requests("expensive", "accepted")).isEqualTo(1.0);
+        assertThat(requests("expensive", "shed")).isEqualTo(1.0);
+        assertThat(requests("cheap", "accepted")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("reading.admission.inflight").tag("pool", "cheap").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("429, 503, 504 응답은 한도를 줄이고, 그 외 오류는 한도에 반영하지 않는다")
+    void classifyCompletions() {
+        // Given
+        var admission = new AdmissionControl(properties(true), meterRegistry);
+        AdaptiveConcurrencyLimit limit = admission.limit(AdmissionPool.CHEAP);
+        double initial = limit.limit();
+
+        // When
+        admission.complete(admission.tryAcquire(AdmissionPool.CHEAP), 400, 1_000_000);
+        admission.complete(admission.tryAcquire(AdmissionPool.CHEAP), 500, 1_000_000);
+        double afterErrors = limit.limit();
+        admission.complete(admission.tryAcquire(AdmissionPool.CHEAP), 504, 1_000_000);
+
+        // Then
+        assertThat(afterErrors).isEqualTo(initial);
+        assertThat(limit.limit()).isLessThan(initial);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Retry-After는 자리가 빌 때까지 예상 시간을 설정한 범위로 제한한 초 단위 값이다")
+    void retryAfterWithinBounds() {
+        // Given
+        var admission = new AdmissionControl(properties(true), meterRegistry);
+
+        // When & Then: 아직 응답이 없으면 하한
+        assertThat(admission.retryAfterSeconds(AdmissionPool.EXPENSIVE)).isEqualTo(1);
+
+        // 한도 1에서 응답 시간 90초면 상한
+        admission.complete(admission.tryAcquire(AdmissionPool.EXPENSIVE), 200, Duration.ofSeconds(90).toNanos());
+        assertThat(admission.retryAfterSeconds(AdmissionPool.EXPENSIVE)).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 한도와 관계없이 모든 요청을 받는다")
+    void disabled() {
+        // Given
+        var admission = new AdmissionControl(properties(false), meterRegistry);
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(admission.tryAcquire(AdmissionPool.EXPENSIVE)).isNotNull();
+        }
+        assertThat(admission.enabled()).isFalse();
+    }
+
+    private double requests(String pool, String outcome) {
+        return meterRegistry.get("reading.admission.requests")
+                .tags("pool", pool, "outcome", outcome)
+                .counter()
+                .count();
+    }
+
+    private static AdmissionProperties properties(boolean enabled) {
+        return new AdmissionProperties(enabled, Duration.ofSeconds(1), Duration.ofSeconds(30),
+                new AdmissionProperties.PoolLimit(20, 4, 100, 1.5, 0.2, 600),
+                Map.of(AdmissionPool.EXPENSIVE, new AdmissionProperties.PoolLimit(1, 1, 1, 1.5, 0.2, 600)));
+    }
+}
@@ -0,0 +1,86 @@
+package hello.spring_ai.reading.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReactiveAdmissionFilter 테스트
+ */
+class ReactiveAdmissionFilterTest {
+
+    private final AdmissionControl admission = new AdmissionControl(new AdmissionProperties(true,
+            Duration.ofSeconds(1), Duration.ofSeconds(30),
+            new AdmissionProperties.PoolLimit(1, 1, 1, 1.5, 0.2, 600), Map.of()), new SimpleMeterRegistry());
+    private final ReactiveAdmissionFilter filter =
+            new ReactiveAdmissionFilter(admission, Jackson2ObjectMapperBuilder.json().build());
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @Test
+    @DisplayName("한도가 찬 동안 온 생성 요청은 503과 Retry-After로 바로 응답하고, 응답이 끝나면 다음 요청을 받는다")
+    void shedOverLimitAndRelease() {
+        // Given: 응답 중인 생성 요청이 한도 1을 차지
+        Sinks.Empty<Void> response = Sinks.empty();
+        filter.filter(exchange(HttpMethod.POST, "/api/reading/generate/gpt-4"), chain(response.asMono()))
+                .subscribe();
+
+        // When
+        MockServerWebExchange shed = exchange(HttpMethod.POST, "/api/reading/generate/gpt-4");
+        filter.filter(shed, chain(Mono.empty())).block();
+        MockServerWebExchange models = exchange(HttpMethod.GET, "/api/reading/models");
+        filter.filter(models, chain(Mono.empty())).block();
+        response.tryEmitEmpty();
+        MockServerWebExchange next = exchange(HttpMethod.POST, "/api/reading/generate/gpt-4");
+        filter.filter(next, chain(Mono.empty())).block();
+
+        // Then
+        assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(shed.getResponse().getBodyAsString().block()).contains(AdmissionControl.SHED_MESSAGE);
+        assertThat(handled).hasValue(3);
+        assertThat(admission.limit(AdmissionPool.CHEAP).inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("클라이언트가 연결을 끊으면 자리를 반납하되 한도는 바꾸지 않는다")
+    void releaseOnCancel() {
+        // Given
+        Disposable pending = filter.filter(exchange(HttpMethod.POST, "/api/reading/generate/stream"),
+                chain(Mono.never())).subscribe();
+        assertThat(admission.limit(AdmissionPool.EXPENSIVE).inFlight()).isEqualTo(1);
+
+        // When
+        pending.dispose();
+
+        // Then
+        assertThat(admission.limit(AdmissionPool.EXPENSIVE).inFlight()).isZero();
+        assertThat(admission.limit(AdmissionPool.EXPENSIVE).limit()).isEqualTo(1.0);
+    }
+
+    private WebFilterChain chain(Mono<Void> response) {
+        return exchange -> {
+            handled.incrementAndGet();
+            return response;
+        };
+    }
+
+    private static MockServerWebExchange exchange(HttpMethod method, String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.method(method, path));
+    }
+}
@@ -0,0 +1,90 @@
+package hello.spring_ai.reading.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ServletAdmissionFilter 테스트
+ */
+class ServletAdmissionFilterTest {
+
+    private final AdmissionControl admission = new AdmissionControl(new AdmissionProperties(true,
+            Duration.ofSeconds(1), Duration.ofSeconds(30),
+            new AdmissionProperties.PoolLimit(1, 1, 1, 1.5, 0.2, 600), Map.of()), new SimpleMeterRegistry());
+    private final ServletAdmissionFilter filter =
+            new ServletAdmissionFilter(admission, Jackson2ObjectMapperBuilder.json().build());
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @Test
+    @DisplayName("한도가 찬 동안 온 생성 요청은 컨트롤러에 보내지 않고 503과 Retry-After로 바로 응답한다")
+    void shedOverLimit() throws Exception {
+        // Given: 비동기 응답 중인 생성 요청이 한도 1을 차지
+        MockHttpServletRequest pending = request("POST", "/api/reading/generate/gpt-4");
+        filter.doFilter(pending, new MockHttpServletResponse(), startAsync());
+
+        // When
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/reading/generate/gpt-3.5-turbo"), shed, respond(200));
+        MockHttpServletResponse models = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/reading/models"), models, respond(200));
+
+        // Then
+        assertThat(shed.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(shed.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(shed.getContentAsString()).contains(AdmissionControl.SHED_MESSAGE);
+        assertThat(models.getStatus()).isEqualTo(200);
+        assertThat(handled).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("비동기 응답이 끝나면 자리를 반납해 다음 요청을 받는다")
+    void releaseWhenAsyncCompletes() throws Exception {
+        // Given
+        MockHttpServletRequest pending = request("POST", "/api/reading/generate/stream");
+        filter.doFilter(pending, new MockHttpServletResponse(), startAsync());
+        assertThat(admission.limit(AdmissionPool.EXPENSIVE).inFlight()).isEqualTo(1);
+
+        // When
+        ((MockAsyncContext) pending.getAsyncContext()).complete();
+        MockHttpServletResponse next = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/reading/generate"), next, respond(200));
+
+        // Then
+        assertThat(next.getStatus()).isEqualTo(200);
+        assertThat(admission.limit(AdmissionPool.EXPENSIVE).inFlight()).isZero();
+    }
+
+    private FilterChain startAsync() {
+        return (request, response) -> {
+            handled.incrementAndGet();
+            request.startAsync();
+        };
+    }
+
+    private FilterChain respond(int status) {
+        return (request, response) -> {
+            handled.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(status);
+        };
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
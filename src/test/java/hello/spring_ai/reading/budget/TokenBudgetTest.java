@@ -0,0 +1,197 @@
+package hello.spring_ai.reading.budget;
+
+import hello.spring_ai.config.ModelRegistry;
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import hello.spring_ai.reading.ReadingMaterialService;
+import hello.spring_ai.reading.cache.GenerationStore;
+import hello.spring_ai.reading.cache.ReadingMaterialCache;
+import hello.spring_ai.reading.cache.SemanticCache;
+import hello.spring_ai.reading.coverage.CoverageProperties;
+import hello.spring_ai.reading.metrics.PricingProperties;
+import hello.spring_ai.reading.metrics.ReadingMetrics;
+import hello.spring_ai.reading.prompt.ReadingPrompts;
+import hello.spring_ai.reading.ratelimit.RateLimiterRegistry;
+import hello.spring_ai.reading.routing.ModelStatistics;
+import hello.spring_ai.support.StubChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TokenEstimator, TokenBudget 테스트
+ */
+class TokenBudgetTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadingMetrics metrics = new ReadingMetrics(meterRegistry, new PricingProperties(Map.of()));
+    private final String systemPrompt = ReadingPrompts.systemPrompt(KoreanLevel.BEGINNER);
+
+    @Test
+    @DisplayName("한글 음절은 토크나이저별 비율로 추정한다")
+    void hangulSyllablesPerEncoding() {
+        assertThat(TokenEstimator.estimate("가나다라마", TokenizerEncoding.CL100K_BASE)).isEqualTo(6);
+        assertThat(TokenEstimator.estimate("가나다라마", TokenizerEncoding.O200K_BASE)).isEqualTo(3);
+        assertThat(TokenEstimator.estimate("", TokenizerEncoding.CL100K_BASE)).isZero();
+    }
+
+    @Test
+    @DisplayName("영문 단어, 숫자, 공백, 문장 부호를 구분해 추정한다")
+    void mixedText() {
+        // Hello(1) + 2024(2) + 년(1.15) + !(1) = 5.15
+        assertThat(TokenEstimator.estimate("Hello 2024년!", TokenizerEncoding.CL100K_BASE)).isEqualTo(6);
+        // 연속된 줄바꿈은 토큰 하나
+        assertThat(TokenEstimator.estimate("\n\n\n", TokenizerEncoding.CL100K_BASE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("예산 안의 요청은 목표 길이에 여유분을 더한 생성 토큰 한도를 받는다")
+    void withinBudget() {
+        // Given
+        var budget = budget(6000, BudgetProperties.OverBudget.DOWNGRADE);
+
+        // When
+        var plan = budget.plan("gpt-4", request(300), systemPrompt);
+
+        // Then: (300 + 제목 20) * 0.95 = 304, 304 * 1.3 = 395.2
+        assertThat(plan.estimate().completionTokens()).isEqualTo(304);
+        assertThat(plan.estimate().maxTokens()).isEqualTo(396);
+        assertThat(plan.estimate().downgraded()).isFalse();
+        assertThat(plan.userPrompt()).isEqualTo(ReadingPrompts.userPrompt(request(300)));
+        assertThat(decisions("within")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("예산을 넘는 요청은 예산 안에 들어가도록 목표 길이를 줄인다")
+    void downgradeOverBudget() {
+        // Given
+        var budget = budget(800, BudgetProperties.OverBudget.DOWNGRADE);
+
+        // When
+        var plan = budget.plan("gpt-4", request(2000), systemPrompt);
+
+        // Then
+        TokenEstimate estimate = plan.estimate();
+        assertThat(estimate.downgraded()).isTrue();
+        assertThat(estimate.targetLength()).isPositive().isLessThan(2000);
+        assertThat(estimate.promptTokens() + estimate.maxTokens()).isLessThanOrEqualTo(800);
+        assertThat(plan.userPrompt()).contains("약 " + estimate.targetLength() + "자");
+        assertThat(decisions("downgraded")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("거절하도록 설정하면 예산을 넘는 요청은 예외가 발생한다")
+    void rejectOverBudget() {
+        // Given
+        var budget = budget(800, BudgetProperties.OverBudget.REJECT);
+
+        // When & Then
+        assertThatThrownBy(() -> budget.plan("gpt-4", request(2000), systemPrompt))
+                .isInstanceOf(TokenBudgetExceededException.class)
+                .hasMessageContaining("예산 800");
+        assertThat(decisions("rejected")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("줄여도 프롬프트만으로 예산이 부족하면 거절한다")
+    void rejectWhenPromptAloneExceedsBudget() {
+        // Given
+        var budget = budget(100, BudgetProperties.OverBudget.DOWNGRADE);
+
+        // When & Then
+        assertThatThrownBy(() -> budget.plan("gpt-4", request(300), systemPrompt))
+                .isInstanceOf(TokenBudgetExceededException.class);
+    }
+
+    @Test
+    @DisplayName("글 여러 개를 한 번에 받으면 프롬프트는 한 번, 생성 토큰 한도는 글 수만큼 더해 예산과 비교한다")
+    void budgetForChoices() {
+        // Given: 글 하나(생성 한도 396)는 예산 안이지만 세 개는 넘는 예산
+        var budget = budget(1000, BudgetProperties.OverBudget.DOWNGRADE);
+        int promptTokens = budget.plan("gpt-4", request(300), systemPrompt).estimate().promptTokens();
+
+        // When
+        var plan = budget.plan("gpt-4", request(300), systemPrompt, 3);
+
+        // Then
+        TokenEstimate estimate = plan.estimate();
+        assertThat(promptTokens + 396).isLessThanOrEqualTo(1000);
+        assertThat(estimate.downgraded()).isTrue();
+        assertThat(estimate.promptTokens() + estimate.maxTokens() * 3).isLessThanOrEqualTo(1000);
+        assertThat(budget(6000, BudgetProperties.OverBudget.DOWNGRADE)
+                .plan("gpt-4", request(300), systemPrompt, 3).estimate().completionTokens()).isEqualTo(304 * 3);
+    }
+
+    @Test
+    @DisplayName("함께 청구된 토큰은 글별 추정 토큰 수에 비례해 나누고 합계를 유지한다")
+    void apportionSharedTokens() {
+        // When
+        int[] shares = TokenEstimator.apportion(100, List.of("가나다라마바사아", "가나다라", "가나다라"),
+                TokenizerEncoding.CL100K_BASE);
+
+        // Then
+        assertThat(shares).containsExactly(50, 25, 25);
+        assertThat(TokenEstimator.apportion(10, List.of("가", "가", "가"), TokenizerEncoding.O200K_BASE))
+                .containsExactly(4, 3, 3);
+        assertThat(TokenEstimator.apportion(7, List.of(), TokenizerEncoding.O200K_BASE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("생성 토큰 한도를 모델에 전달하고 추정치를 실제 토큰 수와 함께 응답한다")
+    void serviceAppliesMaxTokens() {
+        // Given
+        AtomicReference<Integer> maxTokens = new AtomicReference<>();
+        ChatModel capturing = new StubChatModel(Duration.ZERO) {
+            @Override
+            public ChatResponse call(Prompt prompt) {
+                maxTokens.set(prompt.getOptions().getMaxTokens());
+                return super.call(prompt);
+            }
+        };
+        ChatClient client = ChatClient.create(capturing);
+        var service = new ReadingMaterialService(
+                ModelRegistry.fixed(List.of("gpt-3.5-turbo", "gpt-4", "gpt-4-turbo-preview"), name -> client),
+                ReadingMaterialCache.disabled(),
+                GenerationStore.disabled(), SemanticCache.disabled(), metrics, RateLimiterRegistry.disabled(),
+                CoverageProperties.checkOnly(), budget(6000, BudgetProperties.OverBudget.DOWNGRADE),
+                ModelStatistics.standalone());
+
+        // When
+        var response = service.generateWithModel("gpt-4", request(300));
+
+        // Then
+        assertThat(maxTokens.get()).isEqualTo(396);
+        assertThat(response.tokenEstimate().maxTokens()).isEqualTo(396);
+        assertThat(response.tokenEstimate().promptTokens()).isPositive();
+        assertThat(response.promptTokens()).isEqualTo(120);
+        assertThat(meterRegistry.find("reading.tokens.estimate.ratio").tag("type", "completion").summary())
+                .isNotNull()
+                .satisfies(summary -> assertThat(summary.mean()).isEqualTo(80.0 / 304));
+    }
+
+    private TokenBudget budget(int defaultBudget, BudgetProperties.OverBudget overBudget) {
+        return new TokenBudget(new BudgetProperties(true, 0.3, 64, 200, defaultBudget, Map.of(), overBudget,
+                TokenizerEncoding.CL100K_BASE, Map.of()), metrics);
+    }
+
+    private double decisions(String decision) {
+        var counter = meterRegistry.find("reading.budget.decisions").tag("decision", decision).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static ReadingMaterialRequest request(int targetLength) {
+        return new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "바나나"), "과일", targetLength);
+    }
+}
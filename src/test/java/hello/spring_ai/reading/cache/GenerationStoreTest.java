@@ -0,0 +1,207 @@
+package hello.spring_ai.reading.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GenerationStore 테스트
+ */
+class GenerationStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("재시작 후에도 저장된 결과를 조회할 수 있다")
+    void surviveRestart() throws IOException {
+        // Given
+        var store = open();
+        for (int i = 0; i < 100; i++) {
+            store.put(key(i), response(i));
+        }
+        store.destroy();
+
+        // When
+        var reopened = open();
+
+        // Then
+        assertThat(reopened.size()).isEqualTo(100);
+        assertThat(reopened.get(key(42))).hasValueSatisfying(response ->
+                assertThat(response.content()).isEqualTo("본문 42"));
+        assertThat(reopened.get(key(1000))).isEmpty();
+        reopened.destroy();
+    }
+
+    @Test
+    @DisplayName("같은 키로 다시 저장하면 최신 결과가 조회되고 압축 후에도 유지된다")
+    void supersedeAndCompact() throws IOException {
+        // Given
+        var store = open();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 20; i++) {
+                store.put(key(i), response(round * 100 + i));
+            }
+        }
+        long before = store.logLength();
+
+        // When
+        store.compact();
+
+        // Then
+        assertThat(store.logLength()).isLessThan(before);
+        assertThat(store.size()).isEqualTo(20);
+        assertThat(store.get(key(7))).hasValueSatisfying(response ->
+                assertThat(response.content()).isEqualTo("본문 407"));
+        store.destroy();
+
+        var reopened = open();
+        assertThat(reopened.get(key(7))).hasValueSatisfying(response ->
+                assertThat(response.content()).isEqualTo("본문 407"));
+        reopened.destroy();
+    }
+
+    @Test
+    @DisplayName("인덱스가 없으면 로그로 다시 만들고, 불완전한 마지막 레코드는 버린다")
+    void rebuildIndexAndTruncatePartialRecord() throws IOException {
+        // Given
+        var store = open();
+        store.put(key(1), response(1));
+        store.put(key(2), response(2));
+        store.destroy();
+
+        Path logFile = directory.resolve("generations.log");
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        Files.delete(directory.resolve("generations.idx"));
+
+        // When
+        var reopened = open();
+
+        // Then
+        assertThat(reopened.get(key(1))).isPresent();
+        assertThat(reopened.get(key(2))).isEmpty();
+        reopened.put(key(2), response(2));
+        assertThat(reopened.get(key(2))).isPresent();
+        reopened.destroy();
+    }
+
+    @Test
+    @DisplayName("압축 중 로그만 바뀌고 인덱스는 이전 것이 남아도 세대 번호가 달라 인덱스를 다시 만든다")
+    void rebuildIndexAfterInterruptedCompaction() throws IOException {
+        // Given: 대체된 레코드가 없어 압축 전후 로그 길이가 같고 레코드 순서만 바뀜
+        var store = open();
+        for (int i = 0; i < 20; i++) {
+            store.put(key(i), response(i));
+        }
+        Path indexFile = directory.resolve("generations.idx");
+        Path staleIndex = directory.resolve("stale.idx");
+        Files.copy(indexFile, staleIndex);
+        store.compact();
+        store.destroy();
+
+        // When: 로그를 옮긴 뒤 인덱스를 옮기기 전에 멈춘 상태
+        Files.copy(staleIndex, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        var reopened = open();
+
+        // Then
+        assertThat(reopened.size()).isEqualTo(20);
+        for (int i = 0; i < 20; i++) {
+            int expected = i;
+            assertThat(reopened.get(key(i))).hasValueSatisfying(response ->
+                    assertThat(response.content()).isEqualTo("본문 " + expected));
+        }
+        reopened.destroy();
+    }
+
+    @Test
+    @DisplayName("압축한 인덱스를 옮기지 못해도 로그 채널이 열려 있어 계속 읽고 쓸 수 있고, 재시작하면 인덱스를 다시 만든다")
+    void keepServingWhenIndexMoveFails() throws IOException {
+        // Given: 인덱스 자리에 비어 있지 않은 디렉터리가 있어 인덱스를 옮길 수 없다
+        var store = open();
+        for (int i = 0; i < 10; i++) {
+            store.put(key(i), response(i));
+        }
+        Path indexFile = directory.resolve("generations.idx");
+        Files.delete(indexFile);
+        Files.createDirectory(indexFile);
+        Files.writeString(indexFile.resolve("blocker"), "x");
+
+        // When
+        store.compact();
+        store.put(key(10), response(10));
+
+        // Then
+        assertThat(store.get(key(3))).isPresent();
+        assertThat(store.get(key(10))).isPresent();
+        store.destroy();
+
+        Files.delete(indexFile.resolve("blocker"));
+        Files.delete(indexFile);
+        var reopened = open();
+        assertThat(reopened.size()).isEqualTo(11);
+        assertThat(reopened.get(key(10))).hasValueSatisfying(response ->
+                assertThat(response.content()).isEqualTo("본문 10"));
+        reopened.destroy();
+    }
+
+    @Test
+    @DisplayName("주제나 목표 단어에 구분 문자가 들어 있어도 다른 요청의 결과를 돌려주지 않는다")
+    void keysWithSeparatorsDoNotCollide() throws IOException {
+        // Given
+        var store = open();
+        var joinedWord = ReadingMaterialCacheKey.of("gpt-4",
+                new ReadingMaterialRequest(KoreanLevel.INTERMEDIATE, List.of("사과,바나나"), "과일", 200));
+        var pipedTopic = ReadingMaterialCacheKey.of("gpt-4",
+                new ReadingMaterialRequest(KoreanLevel.INTERMEDIATE, List.of("바나나"), "과일|사과", 200));
+        store.put(joinedWord, response(1));
+        store.put(pipedTopic, response(2));
+        store.destroy();
+
+        // When
+        var reopened = open();
+
+        // Then
+        assertThat(reopened.get(ReadingMaterialCacheKey.of("gpt-4",
+                new ReadingMaterialRequest(KoreanLevel.INTERMEDIATE, List.of("사과", "바나나"), "과일", 200)))).isEmpty();
+        assertThat(reopened.get(ReadingMaterialCacheKey.of("gpt-4",
+                new ReadingMaterialRequest(KoreanLevel.INTERMEDIATE, List.of("사과|바나나"), "과일", 200)))).isEmpty();
+        assertThat(reopened.get(joinedWord)).hasValueSatisfying(response ->
+                assertThat(response.content()).isEqualTo("본문 1"));
+        assertThat(reopened.get(pipedTopic)).hasValueSatisfying(response ->
+                assertThat(response.content()).isEqualTo("본문 2"));
+        reopened.destroy();
+    }
+
+    private GenerationStore open() {
+        return new GenerationStore(
+                new GenerationStoreProperties(true, directory, Duration.ofDays(1), 16, 0.5, DataSize.ofMegabytes(16)),
+                new ObjectMapper());
+    }
+
+    private static ReadingMaterialCacheKey key(int i) {
+        return ReadingMaterialCacheKey.of("gpt-4",
+                new ReadingMaterialRequest(KoreanLevel.INTERMEDIATE, List.of("단어" + i), "주제 " + i, 200));
+    }
+
+    private static ModelComparisonResponse response(int i) {
+        return new ModelComparisonResponse("gpt-4", "본문 " + i, 100, 200, 300, 1500.0);
+    }
+}
@@ -0,0 +1,93 @@
+package hello.spring_ai.reading.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * HnswIndex 테스트
+ */
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    @Test
+    @DisplayName("추가한 벡터로 검색하면 그 벡터가 유사도 1로 가장 먼저 나온다")
+    void findInsertedVector() {
+        // Given
+        var random = new SplittableRandom(1);
+        var index = new HnswIndex(DIMENSIONS, 8, 64, 42);
+        float[][] vectors = new float[500][];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomUnitVector(random);
+            assertThat(index.add(vectors[i])).isEqualTo(i);
+        }
+
+        // When
+        List<HnswIndex.Match> matches = index.search(vectors[123], 3, 32);
+
+        // Then
+        assertThat(index.size()).isEqualTo(500);
+        assertThat(matches).hasSize(3);
+        assertThat(matches.get(0).id()).isEqualTo(123);
+        assertThat(matches.get(0).similarity()).isCloseTo(1.0f, within(1e-5f));
+        assertThat(matches.get(1).similarity()).isLessThanOrEqualTo(matches.get(0).similarity());
+    }
+
+    @Test
+    @DisplayName("근사 검색의 최근접 결과가 전체 비교 결과와 대부분 같다 (recall@1 >= 0.95)")
+    void recallAgainstExactSearch() {
+        // Given
+        var random = new SplittableRandom(7);
+        var index = new HnswIndex(DIMENSIONS, 16, 100, 42);
+        for (int i = 0; i < 5000; i++) {
+            index.add(randomUnitVector(random));
+        }
+
+        // When
+        int found = 0;
+        int queries = 200;
+        for (int i = 0; i < queries; i++) {
+            float[] query = randomUnitVector(random);
+            float approximate = index.search(query, 1, 64).get(0).similarity();
+            float exact = index.exactSearch(query, 1).get(0).similarity();
+            if (approximate >= exact - 1e-6f) {
+                found++;
+            }
+        }
+
+        // Then
+        assertThat((double) found / queries).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    @DisplayName("빈 인덱스는 빈 결과를, 차원이 다른 벡터는 예외를 낸다")
+    void emptyAndInvalid() {
+        // Given
+        var index = new HnswIndex(DIMENSIONS, 8, 32, 42);
+
+        // When & Then
+        assertThat(index.search(new float[DIMENSIONS], 5, 10)).isEmpty();
+        assertThatThrownBy(() -> index.add(new float[DIMENSIONS + 1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static float[] randomUnitVector(SplittableRandom random) {
+        float[] vector = new float[DIMENSIONS];
+        double norm = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+            norm += vector[i] * vector[i];
+        }
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] /= (float) Math.sqrt(norm);
+        }
+        return vector;
+    }
+}
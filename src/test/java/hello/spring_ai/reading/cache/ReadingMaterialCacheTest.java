@@ -0,0 +1,119 @@
+package hello.spring_ai.reading.cache;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import hello.spring_ai.reading.ResponseSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ReadingMaterialCache 테스트
+ */
+class ReadingMaterialCacheTest {
+
+    private final ReadingMaterialCache cache =
+            new ReadingMaterialCache(new ReadingCacheProperties(true, 100, Duration.ofMinutes(10)));
+
+    @Test
+    @DisplayName("목표 단어 순서, 중복, 공백과 주제 공백이 달라도 같은 키가 된다")
+    void normalizeKey() {
+        // Given
+        var request1 = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("바나나", "사과"), "과일", 150);
+        var request2 = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of(" 사과", "바나나 ", "사과", ""), "  과일 ", 150);
+
+        // When & Then
+        assertThat(ReadingMaterialCacheKey.of("gpt-4", request1))
+                .isEqualTo(ReadingMaterialCacheKey.of("gpt-4", request2));
+        assertThat(ReadingMaterialCacheKey.of("gpt-4", request1))
+                .isNotEqualTo(ReadingMaterialCacheKey.of("gpt-3.5-turbo", request1));
+    }
+
+    @Test
+    @DisplayName("두 번째 요청은 캐시에서 제공되고 source가 CACHE로 표시된다")
+    void serveFromCache() {
+        // Given
+        var key = key();
+        var loads = new AtomicInteger();
+
+        // When
+        var first = cache.get(key, () -> response(loads.incrementAndGet()));
+        var second = cache.get(key, () -> response(loads.incrementAndGet()));
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(first.source()).isEqualTo(ResponseSource.UPSTREAM);
+        assertThat(second.source()).isEqualTo(ResponseSource.CACHE);
+        assertThat(second.totalTokens()).isEqualTo(first.totalTokens());
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 들어온 요청은 모델을 한 번만 호출한다")
+    void coalesceConcurrentMisses() throws Exception {
+        // Given
+        var key = key();
+        var loads = new AtomicInteger();
+        var loaderStarted = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        // When
+        var first = CompletableFuture.supplyAsync(() -> cache.get(key, () -> {
+            loaderStarted.countDown();
+            await(release);
+            return response(loads.incrementAndGet());
+        }));
+        assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        var second = CompletableFuture.supplyAsync(() -> cache.get(key, () -> response(loads.incrementAndGet())));
+        release.countDown();
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS).source()).isEqualTo(ResponseSource.UPSTREAM);
+        assertThat(second.get(5, TimeUnit.SECONDS).source()).isEqualTo(ResponseSource.CACHE);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("생성에 실패한 결과는 캐시하지 않는다")
+    void doNotCacheFailures() {
+        // Given
+        var key = key();
+
+        // When
+        assertThatThrownBy(() -> cache.get(key, () -> {
+            throw new IllegalStateException("upstream failure");
+        })).isInstanceOf(IllegalStateException.class);
+        var response = cache.get(key, () -> response(1));
+
+        // Then
+        assertThat(response.source()).isEqualTo(ResponseSource.UPSTREAM);
+    }
+
+    private static ReadingMaterialCacheKey key() {
+        return ReadingMaterialCacheKey.of("gpt-3.5-turbo",
+                new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과"), "과일", 150));
+    }
+
+    private static ModelComparisonResponse response(int sequence) {
+        return new ModelComparisonResponse("gpt-3.5-turbo", "본문 " + sequence, 100, 50, 150, 1200.0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package hello.spring_ai.reading.cache;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import hello.spring_ai.reading.ResponseSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SemanticCache 테스트
+ */
+class SemanticCacheTest {
+
+    private static final String CONTENT = "한국 음식에는 김치가 있어요. 밥과 김치를 같이 먹어요.";
+
+    private final SemanticCache cache = new SemanticCache(SemanticCacheProperties.defaults());
+
+    @Test
+    @DisplayName("주제가 조금 다른 요청에 저장된 결과를 SEMANTIC_CACHE로 제공한다")
+    void serveSimilarTopic() {
+        // Given
+        cache.put(key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥"), 150), response(CONTENT));
+
+        // When
+        var found = cache.find(key(KoreanLevel.BEGINNER, "한국의 음식 문화", List.of("김치", "밥"), 160));
+
+        // Then
+        assertThat(found).isPresent();
+        assertThat(found.get().source()).isEqualTo(ResponseSource.SEMANTIC_CACHE);
+        assertThat(found.get().content()).isEqualTo(CONTENT);
+        assertThat(found.get().coverage().complete()).isTrue();
+    }
+
+    @Test
+    @DisplayName("주제가 다르거나 수준, 모델이 다르면 제공하지 않는다")
+    void missOnDifferentTopicOrPartition() {
+        // Given
+        cache.put(key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥"), 150), response(CONTENT));
+
+        // When & Then
+        assertThat(cache.find(key(KoreanLevel.BEGINNER, "우주 여행", List.of("김치", "밥"), 150))).isEmpty();
+        assertThat(cache.find(key(KoreanLevel.INTERMEDIATE, "한국 음식", List.of("김치", "밥"), 150))).isEmpty();
+        assertThat(cache.find(ReadingMaterialCacheKey.of("gpt-4",
+                new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("김치", "밥"), "한국 음식", 150)))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("저장된 본문에 이번 요청의 목표 단어가 없으면 제공하지 않는다")
+    void missWhenTargetWordAbsent() {
+        // Given
+        cache.put(key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥"), 150), response(CONTENT));
+
+        // When
+        var found = cache.find(key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥", "불고기"), 150));
+
+        // Then
+        assertThat(found).isEmpty();
+    }
+
+    @Test
+    @DisplayName("목표 길이가 허용 범위를 벗어나면 제공하지 않는다")
+    void missOnLengthOutsideTolerance() {
+        // Given
+        cache.put(key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥"), 150), response(CONTENT));
+
+        // When & Then
+        assertThat(cache.find(key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥"), 400))).isEmpty();
+        assertThat(cache.find(key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥"), 180))).isPresent();
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 먼저 저장한 항목부터 내보낸다")
+    void evictOldestBeyondMaximumSize() {
+        // Given
+        var small = new SemanticCache(new SemanticCacheProperties(
+                true, 0.85, 0.25, 2, Duration.ofHours(1), 256, 16, 100, 64, 4));
+        small.put(key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥"), 150), response(CONTENT));
+        small.put(key(KoreanLevel.BEGINNER, "여름 방학", List.of("바다"), 150), response("여름에 바다에 가요."));
+
+        // When
+        small.put(key(KoreanLevel.BEGINNER, "가을 산책", List.of("공원"), 150), response("가을에 공원을 걸어요."));
+
+        // Then
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(small.find(key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥"), 150))).isEmpty();
+        assertThat(small.find(key(KoreanLevel.BEGINNER, "가을 산책", List.of("공원"), 150))).isPresent();
+    }
+
+    @Test
+    @DisplayName("제거 표시가 많아지면 인덱스를 저장 스레드 밖에서 다시 만들고, 그 사이에 추가된 항목도 옮긴다")
+    void rebuildOffThePutPath() {
+        // Given
+        List<Runnable> rebuilds = new ArrayList<>();
+        var small = new SemanticCache(new SemanticCacheProperties(
+                true, 0.85, 0.25, 10, Duration.ofHours(1), 64, 8, 32, 64, 4), rebuilds::add);
+        for (int i = 0; i < 1100; i++) {
+            small.put(key(KoreanLevel.BEGINNER, "여름 방학 " + i, List.of("바다"), 150), response("여름에 바다에 가요."));
+        }
+        var added = key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥"), 150);
+        small.put(added, response(CONTENT));
+
+        // When
+        int scheduled = rebuilds.size();
+        boolean foundBeforeRebuild = small.find(added).isPresent();
+        rebuilds.forEach(Runnable::run);
+
+        // Then
+        assertThat(scheduled).isEqualTo(1);
+        assertThat(foundBeforeRebuild).isTrue();
+        assertThat(small.size()).isEqualTo(10);
+        assertThat(small.find(added)).map(ModelComparisonResponse::content).contains(CONTENT);
+    }
+
+    @Test
+    @DisplayName("꺼진 캐시는 저장하지도 제공하지도 않는다")
+    void disabled() {
+        // Given
+        var disabled = SemanticCache.disabled();
+
+        // When
+        disabled.put(key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥"), 150), response(CONTENT));
+
+        // Then
+        assertThat(disabled.size()).isZero();
+        assertThat(disabled.find(key(KoreanLevel.BEGINNER, "한국 음식", List.of("김치", "밥"), 150))).isEmpty();
+    }
+
+    private static ReadingMaterialCacheKey key(KoreanLevel level, String topic, List<String> targetWords, int length) {
+        return ReadingMaterialCacheKey.of("gpt-3.5-turbo",
+                new ReadingMaterialRequest(level, targetWords, topic, length));
+    }
+
+    private static ModelComparisonResponse response(String content) {
+        return new ModelComparisonResponse("gpt-3.5-turbo", content, 50, 100, 150, 1200.0);
+    }
+}
@@ -0,0 +1,130 @@
+package hello.spring_ai.reading.coverage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TargetWordMatcher 테스트
+ */
+class TargetWordMatcherTest {
+
+    @Test
+    @DisplayName("조사가 붙은 명사를 찾고 빠진 단어를 알려준다")
+    void nounsWithParticles() {
+        // Given
+        var matcher = TargetWordMatcher.compile(List.of("사과", "바나나", "포도"));
+
+        // When
+        var coverage = matcher.coverage("오늘 사과를 샀어요. 바나나는 노래요.");
+
+        // Then
+        assertThat(coverage.targetCount()).isEqualTo(3);
+        assertThat(coverage.coveredCount()).isEqualTo(2);
+        assertThat(coverage.ratio()).isEqualTo(2.0 / 3);
+        assertThat(coverage.missingWords()).containsExactly("포도");
+        assertThat(coverage.complete()).isFalse();
+    }
+
+    @ParameterizedTest(name = "{0} - {1}")
+    @CsvSource({
+            "먹다, 저녁을 먹었어요",
+            "공부하다, 도서관에서 공부했습니다",
+            "보다, 어제 영화를 봤어요",
+            "마시다, 커피를 마셔요",
+            "쓰다, 편지를 썼어요",
+            "가다, 학교에 갔어요",
+            "덥다, 날씨가 더워요",
+            "모르다, 저는 잘 몰라요",
+            "듣다, 음악을 들었어요",
+            "만들다, 빵을 만드는 사람",
+            "되다, 의사가 됐어요"
+    })
+    @DisplayName("용언은 활용형으로 찾는다")
+    void conjugatedForms(String word, String text) {
+        // When
+        var coverage = TargetWordMatcher.compile(List.of(word)).coverage(text);
+
+        // Then
+        assertThat(coverage.complete()).isTrue();
+    }
+
+    @Test
+    @DisplayName("한 음절 어간은 다른 단어의 일부로 찾지 않는다")
+    void shortStemsNeedWordStart() {
+        // Given
+        var matcher = TargetWordMatcher.compile(List.of("가다", "사다"));
+
+        // When
+        var coverage = matcher.coverage("가족과 함께 교사는 공원에 있어요.");
+
+        // Then
+        assertThat(coverage.missingWords()).containsExactly("가다", "사다");
+    }
+
+    @ParameterizedTest(name = "{0} - {1}")
+    @CsvSource({
+            "듣다, 빵을 만들어요",
+            "살다, 회사는 서울에 있어요",
+            "듣다, 어제 만들었어요",
+            "걷다, 가게 앞에 간판을 내걸어요"
+    })
+    @DisplayName("활용으로 바뀐 어간은 다른 단어의 일부로 찾지 않는다")
+    void derivedStemsNeedWordStart(String word, String text) {
+        // When
+        var coverage = TargetWordMatcher.compile(List.of(word)).coverage(text);
+
+        // Then
+        assertThat(coverage.missingWords()).containsExactly(word);
+    }
+
+    @Test
+    @DisplayName("활용으로 바뀐 어간은 어절 첫머리에서 찾는다")
+    void derivedStemsAtWordStart() {
+        // Given
+        var matcher = TargetWordMatcher.compile(List.of("듣다", "살다"));
+
+        // When
+        var coverage = matcher.coverage("음악을 들어요. 서울에 사는 친구예요.");
+
+        // Then
+        assertThat(coverage.complete()).isTrue();
+    }
+
+    @Test
+    @DisplayName("조각으로 나눠 넣어도 한 번에 검사한 결과와 같다")
+    void incrementalScanMatchesWholeText() {
+        // Given
+        var matcher = TargetWordMatcher.compile(List.of("사과", "먹다", "가다", "Seoul"));
+        String text = "우리는 seoul에서 사과를 먹었어요. 그리고 집에 갔어요.";
+
+        // When
+        var scan = matcher.newScan();
+        for (int i = 0; i < text.length(); i += 3) {
+            scan.feed(text.substring(i, Math.min(text.length(), i + 3)));
+        }
+
+        // Then
+        assertThat(scan.coverage()).isEqualTo(matcher.coverage(text));
+        assertThat(scan.coverage().complete()).isTrue();
+        assertThat(scan.occurrences()).containsEntry("사과", 1);
+    }
+
+    @Test
+    @DisplayName("다른 단어의 검색 형태와 겹쳐도 모두 찾는다")
+    void overlappingPatterns() {
+        // Given: "한국"이 "한국어"의 일부이고, "국어"가 그 안에 겹쳐 있다
+        var matcher = TargetWordMatcher.compile(List.of("한국어", "한국", "국어"));
+
+        // When
+        var coverage = matcher.coverage("한국어를 배워요");
+
+        // Then
+        assertThat(coverage.complete()).isTrue();
+    }
+}
@@ -0,0 +1,233 @@
+package hello.spring_ai.reading.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.spring_ai.reading.ComparisonProperties;
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ModelComparisonExecutor;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import hello.spring_ai.reading.ReadingMaterialService;
+import hello.spring_ai.support.StubChatModel;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GenerationJobService 테스트
+ * 스텁 ChatModel과 임시 디렉터리의 저널을 사용하므로 API 키나 외부 메시지 브로커 없이 실행된다.
+ */
+class GenerationJobServiceTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<Runnable> cleanups = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        cleanups.forEach(Runnable::run);
+    }
+
+    @Test
+    @DisplayName("제출은 생성을 기다리지 않고 반환하며, 조회는 작업이 끝날 때까지 기다린다")
+    void submitReturnsBeforeGeneration() {
+        // Given: 응답에 300ms 걸리는 모델
+        GenerationJobService service = service(new StubChatModel(Duration.ofMillis(300)), properties(2, 3));
+
+        // When
+        long startNanos = System.nanoTime();
+        GenerationJobService.Submission submission = service.submit(null, "gpt-4", request("과일"));
+        double submitMs = (System.nanoTime() - startNanos) / 1_000_000.0;
+        GenerationJob finished = service.await(submission.job().id(), Duration.ofSeconds(5)).join().orElseThrow();
+
+        // Then
+        assertThat(submission.created()).isTrue();
+        assertThat(submission.job().status()).isEqualTo(JobStatus.QUEUED);
+        assertThat(submitMs).isLessThan(300);
+        assertThat(finished.status()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(finished.attempts()).isEqualTo(1);
+        assertThat(finished.results()).singleElement()
+                .satisfies(result -> assertThat(result.content()).isEqualTo(StubChatModel.DEFAULT_CONTENT));
+    }
+
+    @Test
+    @DisplayName("조회 대기 시간이 지나면 끝나지 않은 작업을 그대로 반환하고, 없는 작업은 빈 값이다")
+    void awaitTimesOut() {
+        // Given
+        GenerationJobService service = service(new StubChatModel(Duration.ofSeconds(2)), properties(1, 3));
+        String jobId = service.submit(null, "gpt-4", request("과일")).job().id();
+
+        // When
+        long startNanos = System.nanoTime();
+        Optional<GenerationJob> pending = service.await(jobId, Duration.ofMillis(100)).join();
+        double waitedMs = (System.nanoTime() - startNanos) / 1_000_000.0;
+
+        // Then
+        assertThat(pending).get().extracting(GenerationJob::status).isNotEqualTo(JobStatus.SUCCEEDED);
+        assertThat(waitedMs).isBetween(90.0, 1500.0);
+        assertThat(service.await("unknown", Duration.ofSeconds(1)).join()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 멱등 키로 동시에 여러 번 제출해도 작업은 하나이고 모델은 한 번만 호출된다")
+    void idempotentSubmission() throws Exception {
+        // Given
+        StubChatModel model = new StubChatModel(Duration.ofMillis(100));
+        GenerationJobService service = service(model, properties(4, 3));
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        cleanups.add(clients::shutdownNow);
+
+        // When
+        List<CompletableFuture<GenerationJobService.Submission>> submissions = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(
+                        () -> service.submit("client-retry", "gpt-4", request("과일")), clients))
+                .toList();
+        List<GenerationJobService.Submission> results = submissions.stream().map(CompletableFuture::join).toList();
+        String jobId = results.get(0).job().id();
+        service.await(jobId, Duration.ofSeconds(5)).join();
+
+        // Then
+        assertThat(results).extracting(submission -> submission.job().id()).containsOnly(jobId);
+        assertThat(results).filteredOn(GenerationJobService.Submission::created).hasSize(1);
+        assertThat(model.calls()).isEqualTo(1);
+        assertThatThrownBy(() -> service.submit("client-retry", "gpt-4", request("동물")))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("실행 중에 멈춘 서버를 다시 시작하면 끝나지 않은 작업을 같은 ID로 다시 실행한다")
+    void recoverUnfinishedJobsAfterCrash() {
+        // Given: 한 번에 하나씩 실행하는 서버에 작업 3개를 넣고, 첫 작업을 실행하는 도중에 멈춘다
+        GenerationJobService crashed = service(new StubChatModel(Duration.ofSeconds(30)), properties(1, 3));
+        List<String> jobIds = IntStream.range(0, 3)
+                .mapToObj(i -> crashed.submit("key-" + i, "gpt-4", request("주제 " + i)).job().id())
+                .toList();
+        awaitStatus(crashed, jobIds.get(0), JobStatus.RUNNING);
+        destroy(crashed);
+
+        // When
+        StubChatModel model = new StubChatModel(Duration.ofMillis(20));
+        GenerationJobService restarted = service(model, properties(1, 3));
+        List<GenerationJob> finished = jobIds.stream()
+                .map(id -> restarted.await(id, Duration.ofSeconds(5)).join().orElseThrow())
+                .toList();
+
+        // Then
+        assertThat(finished).extracting(GenerationJob::status).containsOnly(JobStatus.SUCCEEDED);
+        assertThat(finished).extracting(GenerationJob::attempts).containsExactly(2, 1, 1);
+        assertThat(model.calls()).isEqualTo(3);
+        assertThat(restarted.submit("key-1", "gpt-4", request("주제 1")))
+                .satisfies(submission -> {
+                    assertThat(submission.created()).isFalse();
+                    assertThat(submission.job().id()).isEqualTo(jobIds.get(1));
+                });
+    }
+
+    @Test
+    @DisplayName("실행을 maxAttempts번 시작하고도 끝내지 못한 작업은 재시작 후 실패로 기록한다")
+    void failJobAfterMaxAttempts() {
+        // Given: maxAttempts=1에서 실행 도중 멈춘 작업
+        GenerationJobService crashed = service(new StubChatModel(Duration.ofSeconds(30)), properties(1, 1));
+        String jobId = crashed.submit(null, "gpt-4", request("과일")).job().id();
+        awaitStatus(crashed, jobId, JobStatus.RUNNING);
+        destroy(crashed);
+
+        // When
+        StubChatModel model = new StubChatModel(Duration.ofMillis(20));
+        GenerationJobService restarted = service(model, properties(1, 1));
+
+        // Then
+        assertThat(restarted.get(jobId)).get().satisfies(job -> {
+            assertThat(job.status()).isEqualTo(JobStatus.FAILED);
+            assertThat(job.error()).contains("1번 멈춰");
+        });
+        assertThat(model.calls()).isZero();
+    }
+
+    @Test
+    @DisplayName("여러 클라이언트가 제출한 작업을 모두 실행하고 대기 시간을 기록한다")
+    void drainConcurrentSubmissions() {
+        // Given: 작업자 8개, 모델 응답 10ms
+        var registry = new SimpleMeterRegistry();
+        GenerationJobService service = service(new StubChatModel(Duration.ofMillis(10)), properties(8, 3));
+        service.bindTo(registry);
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        cleanups.add(clients::shutdownNow);
+
+        // When: 16개 클라이언트가 작업 400개 제출
+        List<String> jobIds = IntStream.range(0, 400)
+                .mapToObj(i -> CompletableFuture.supplyAsync(
+                        () -> service.submit(null, "gpt-4", request("주제 " + i)).job().id(), clients))
+                .toList().stream()
+                .map(CompletableFuture::join)
+                .toList();
+        List<GenerationJob> finished = jobIds.stream()
+                .map(id -> service.await(id, Duration.ofSeconds(10)).join().orElseThrow())
+                .toList();
+
+        // Then
+        assertThat(finished).extracting(GenerationJob::status).containsOnly(JobStatus.SUCCEEDED);
+        assertThat(service.queued()).isZero();
+        Timer queueWait = registry.get("reading.job.queue.wait").timer();
+        assertThat(queueWait.count()).isEqualTo(400);
+        assertThat(queueWait.max(TimeUnit.SECONDS)).isLessThan(10);
+    }
+
+    private GenerationJobService service(StubChatModel gpt4, JobProperties properties) {
+        var readingMaterialService = new ReadingMaterialService(
+                ChatClient.create(new StubChatModel(Duration.ofMillis(10))),
+                ChatClient.create(gpt4),
+                ChatClient.create(new StubChatModel(Duration.ofMillis(10)))
+        );
+        var executor = new ModelComparisonExecutor(readingMaterialService,
+                new ComparisonProperties(16, 64, Duration.ofSeconds(10)));
+        var service = new GenerationJobService(readingMaterialService, executor, properties, objectMapper);
+        cleanups.add(() -> destroy(service));
+        cleanups.add(executor::destroy);
+        return service;
+    }
+
+    private JobProperties properties(int workerThreads, int maxAttempts) {
+        return new JobProperties(true, directory, workerThreads, 1000, maxAttempts,
+                Duration.ofHours(1), Duration.ofSeconds(10), Duration.ofMinutes(10));
+    }
+
+    private static void destroy(GenerationJobService service) {
+        try {
+            service.destroy();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitStatus(GenerationJobService service, String jobId, JobStatus status) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.get(jobId).map(GenerationJob::status).orElseThrow() != status) {
+            assertThat(System.nanoTime()).as("작업 상태 대기: " + status).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static ReadingMaterialRequest request(String topic) {
+        return new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "바나나"), topic, 150);
+    }
+}
@@ -0,0 +1,186 @@
+package hello.spring_ai.reading.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ModelComparisonResponse;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JobJournal 테스트
+ */
+class JobJournalTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("다시 열면 작업별 마지막 상태를 처음 기록된 순서대로 읽는다")
+    void replayLatestStatePerJob() throws IOException {
+        // Given
+        GenerationJob first = job("job-1");
+        GenerationJob second = job("job-2");
+        try (JobJournal journal = JobJournal.open(directory, objectMapper, job -> {
+        })) {
+            journal.append(first, true);
+            journal.append(second, true);
+            journal.append(first.running(Instant.now()), false);
+            journal.append(first.running(Instant.now()).succeeded(List.of(result()), Instant.now()), true);
+        }
+
+        // When
+        List<GenerationJob> replayed = reopen();
+
+        // Then
+        assertThat(replayed).extracting(GenerationJob::id).containsExactly("job-1", "job-2");
+        assertThat(replayed.get(0).status()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(replayed.get(0).attempts()).isEqualTo(1);
+        assertThat(replayed.get(0).results()).singleElement()
+                .satisfies(result -> assertThat(result.content()).isEqualTo("본문"));
+        assertThat(replayed.get(1).status()).isEqualTo(JobStatus.QUEUED);
+        assertThat(replayed.get(1).request()).isEqualTo(second.request());
+    }
+
+    @Test
+    @DisplayName("쓰다 멈춘 마지막 레코드는 잘라내고 이어서 기록한다")
+    void truncateTornTail() throws IOException {
+        // Given: 레코드 두 개 뒤에 길이만 쓰고 멈춘 레코드
+        try (JobJournal journal = JobJournal.open(directory, objectMapper, job -> {
+        })) {
+            journal.append(job("job-1"), true);
+            journal.append(job("job-2"), true);
+        }
+        Path file = directory.resolve(JobJournal.FILE);
+        long intact = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(6).putInt(500).putShort((short) 7).flip());
+        }
+
+        // When
+        List<GenerationJob> replayed = new ArrayList<>();
+        try (JobJournal journal = JobJournal.open(directory, objectMapper, replayed::add)) {
+            assertThat(Files.size(file)).isEqualTo(intact);
+            journal.append(job("job-3"), true);
+        }
+
+        // Then
+        assertThat(replayed).extracting(GenerationJob::id).containsExactly("job-1", "job-2");
+        assertThat(reopen()).extracting(GenerationJob::id).containsExactly("job-1", "job-2", "job-3");
+    }
+
+    @Test
+    @DisplayName("다시 쓰기는 주어진 작업만 남기고 이후 기록은 새 파일에 이어진다")
+    void rewriteKeepsSnapshot() throws IOException {
+        // Given
+        try (JobJournal journal = JobJournal.open(directory, objectMapper, job -> {
+        })) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(job("job-" + i), false);
+            }
+            long before = journal.length();
+
+            // When
+            journal.rewrite(() -> List.of(job("job-8"), job("job-9")));
+            journal.append(job("job-10"), true);
+
+            // Then
+            assertThat(journal.length()).isLessThan(before);
+        }
+        assertThat(reopen()).extracting(GenerationJob::id).containsExactly("job-8", "job-9", "job-10");
+    }
+
+    @Test
+    @DisplayName("다시 쓴 파일로 바꾸지 못해도 원래 저널에 이어서 기록한다")
+    void keepAppendingWhenRewriteMoveFails() throws IOException {
+        // Given
+        Path compacted = directory.resolve(JobJournal.FILE + ".compact");
+        try (JobJournal journal = JobJournal.open(directory, objectMapper, job -> {
+        })) {
+            for (int i = 0; i < 3; i++) {
+                journal.append(job("job-" + i), true);
+            }
+
+            // When: 다시 쓰는 도중 임시 파일 자리를 비어 있지 않은 디렉터리로 바꿔 옮기기가 실패하게 함
+            assertThatThrownBy(() -> journal.rewrite(() -> {
+                try {
+                    Files.delete(compacted);
+                    Files.createFile(Files.createDirectory(compacted).resolve("blocker"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return List.of(job("job-2"));
+            })).isInstanceOf(IOException.class);
+            journal.append(job("job-3"), true);
+        }
+
+        // Then
+        assertThat(reopen()).extracting(GenerationJob::id).containsExactly("job-0", "job-1", "job-2", "job-3");
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 sync 기록해도 레코드가 섞이거나 빠지지 않는다")
+    void concurrentSyncedAppends() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try (JobJournal journal = JobJournal.open(directory, objectMapper, job -> {
+        })) {
+            // When
+            CompletableFuture.allOf(IntStream.range(0, 400)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                        try {
+                            journal.append(job("job-" + i), true);
+                        } catch (IOException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(reopen()).hasSize(400)
+                .extracting(GenerationJob::id)
+                .containsExactlyInAnyOrderElementsOf(IntStream.range(0, 400).mapToObj(i -> "job-" + i).toList());
+    }
+
+    private List<GenerationJob> reopen() throws IOException {
+        List<GenerationJob> jobs = new ArrayList<>();
+        try (JobJournal journal = JobJournal.open(directory, objectMapper, jobs::add)) {
+            return jobs;
+        }
+    }
+
+    private static GenerationJob job(String id) {
+        return GenerationJob.queued(id, "key-" + id, "gpt-4",
+                new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "바나나"), "과일 " + id, 150),
+                Instant.now());
+    }
+
+    private static ModelComparisonResponse result() {
+        return new ModelComparisonResponse("gpt-4", "본문", 120, 80, 200, 35.0);
+    }
+}
@@ -0,0 +1,76 @@
+package hello.spring_ai.reading.metrics;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.readability.Readability;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * ReadingMetrics 테스트
+ */
+class ReadingMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ReadingMetrics metrics = new ReadingMetrics(registry, new PricingProperties(Map.of(
+            "gpt-4", new PricingProperties.ModelPrice(30.0, 60.0)
+    )));
+
+    @Test
+    @DisplayName("모델과 수준 태그로 시간, 토큰, 예상 비용을 기록한다")
+    void recordGeneration() {
+        // When
+        double cost = metrics.recordGeneration("gpt-4", KoreanLevel.ADVANCED,
+                Duration.ofMillis(1200).toNanos(), 1000, 2000);
+        metrics.recordGeneration("gpt-4", KoreanLevel.ADVANCED, Duration.ofMillis(800).toNanos(), 1000, 2000);
+
+        // Then
+        assertThat(cost).isCloseTo(0.15, within(1e-9));
+        assertThat(registry.get("reading.generation.latency")
+                .tags("model", "gpt-4", "level", "ADVANCED", "outcome", "success")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isCloseTo(2000.0, within(1e-6));
+        assertThat(registry.get("reading.generation.tokens")
+                .tags("model", "gpt-4", "type", "completion")
+                .counter()
+                .count()).isEqualTo(4000.0);
+        assertThat(registry.get("reading.cost.estimated")
+                .tag("model", "gpt-4")
+                .gauge()
+                .value()).isCloseTo(0.30, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("수준 적합도는 요청한 수준 태그로 분포를 기록한다")
+    void recordReadability() {
+        // When
+        metrics.recordReadability("gpt-4", readability(0.9));
+        metrics.recordReadability("gpt-4", readability(0.5));
+
+        // Then
+        var summary = registry.get("reading.readability.level.fit")
+                .tags("model", "gpt-4", "level", "BEGINNER")
+                .summary();
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(summary.mean()).isCloseTo(0.7, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("단가가 없는 모델의 예상 비용은 0이다")
+    void unknownModelCostsNothing() {
+        assertThat(metrics.recordGeneration("unknown", KoreanLevel.BEGINNER, 1_000_000, 10, 10)).isZero();
+    }
+
+    private static Readability readability(double levelFit) {
+        return new Readability(KoreanLevel.BEGINNER, 5, 20, 60, 12.0, 12, 15, 16, 0.8, 3.0, 0.2, 0.0, 0.3, 0.0,
+                levelFit);
+    }
+}
@@ -0,0 +1,93 @@
+package hello.spring_ai.reading.prompt;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ReadingPrompts, CompiledTemplate 테스트
+ */
+class ReadingPromptsTest {
+
+    @Test
+    @DisplayName("사용자 프롬프트에는 요청마다 바뀌는 값만 담긴다")
+    void userPromptHoldsOnlyVariableFields() {
+        // Given
+        var request = new ReadingMaterialRequest(KoreanLevel.BEGINNER, List.of("사과", "바나나", "학교"), "일상생활", 200);
+        String expected = String.format("""
+                주제: %s
+                반드시 포함할 단어: %s
+                목표 길이: 약 %d자
+                """, request.topic(), String.join(", ", request.targetWords()), request.targetLength());
+
+        // When
+        String rendered = ReadingPrompts.userPrompt(request);
+
+        // Then
+        assertThat(rendered).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("고정 요구사항은 시스템 프롬프트에 있고, 모든 수준이 같은 앞부분으로 시작한다")
+    void staticInstructionsFormSharedPrefix() {
+        // Given
+        String beginner = ReadingPrompts.systemPrompt(KoreanLevel.BEGINNER);
+
+        // When
+        String shared = beginner.substring(0, beginner.indexOf("학습자 수준:"));
+
+        // Then
+        assertThat(shared).contains("요구사항:", "제목과 본문을 포함하여 작성해주세요");
+        for (KoreanLevel level : KoreanLevel.values()) {
+            assertThat(ReadingPrompts.systemPrompt(level)).startsWith(shared);
+        }
+        assertThat(ReadingPrompts.systemPrompt(KoreanLevel.ADVANCED)).contains("학습자 수준: 고급");
+    }
+
+    @Test
+    @DisplayName("보충 요청 프롬프트는 고정 지시문이 모두 앞에 오고 요청마다 바뀌는 값은 맨 뒤에 온다")
+    void revisionPromptEndsWithVariableFields() {
+        // When
+        String first = ReadingPrompts.revisionPrompt("첫 번째 글의 끝부분", List.of("사과"));
+        String second = ReadingPrompts.revisionPrompt("두 번째 글", List.of("학교", "친구"));
+
+        // Then
+        String instructions = first.substring(0, first.indexOf("포함할 단어: "));
+        assertThat(instructions).contains("요구사항:", "덧붙일 문장만 출력하고");
+        assertThat(second).startsWith(instructions);
+        assertThat(first).endsWith("포함할 단어: 사과\n\n마지막 부분:\n첫 번째 글의 끝부분\n");
+        assertThat(second).endsWith("포함할 단어: 학교, 친구\n\n마지막 부분:\n두 번째 글\n");
+    }
+
+    @Test
+    @DisplayName("수준별 시스템 프롬프트는 같은 인스턴스를 재사용한다")
+    void systemPromptIsConstant() {
+        for (KoreanLevel level : KoreanLevel.values()) {
+            assertThat(ReadingPrompts.systemPrompt(level))
+                    .isNotBlank()
+                    .isSameAs(ReadingPrompts.systemPrompt(level));
+        }
+    }
+
+    @Test
+    @DisplayName("반복된 자리표시자와 중괄호 이스케이프를 처리한다")
+    void compileTemplate() {
+        // Given
+        var template = CompiledTemplate.compile("{{a}} = {a}, {b}, {a}");
+        int a = template.slotIndex("a");
+
+        // When
+        String rendered = template.render((slot, out) -> out.append(slot == a ? "1" : "2"));
+
+        // Then
+        assertThat(rendered).isEqualTo("{a} = 1, 2, 1");
+        assertThatThrownBy(() -> CompiledTemplate.compile("{a"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,122 @@
+package hello.spring_ai.reading.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * ModelRateLimiter 테스트
+ */
+class ModelRateLimiterTest {
+
+    @Test
+    @DisplayName("429 응답이면 동시 호출 수를 절반으로 줄이고 성공하면 조금씩 늘린다")
+    void adjustConcurrencyAimd() {
+        // Given
+        var limiter = new ModelRateLimiter("gpt-4", limit(6000, 1_000_000, 8, 100, Duration.ofSeconds(1)));
+
+        // When
+        limiter.acquire(100).throttled();
+        double afterThrottle = limiter.concurrencyLimit();
+        limiter.acquire(100).success(1_000_000, 100);
+
+        // Then
+        assertThat(afterThrottle).isEqualTo(4.0);
+        assertThat(limiter.concurrencyLimit()).isCloseTo(4.25, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("동시 호출 수가 가득 차면 반납될 때까지 기다린다")
+    void waitForRelease() throws Exception {
+        // Given
+        var limiter = new ModelRateLimiter("gpt-4", limit(6000, 1_000_000, 1, 10, Duration.ofSeconds(2)));
+        var first = limiter.acquire(100);
+
+        // When
+        var second = CompletableFuture.supplyAsync(() -> limiter.acquire(100));
+        Thread.sleep(100);
+        assertThat(second).isNotDone();
+        assertThat(limiter.queueDepth()).isEqualTo(1);
+        first.success(1_000_000, 100);
+
+        // Then
+        assertThat(second.get(1, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 즉시 거절하고, 최대 대기 시간을 넘기면 거절한다")
+    void rejectWhenQueueFullOrTimedOut() {
+        // Given
+        var limiter = new ModelRateLimiter("gpt-4", limit(6000, 1_000_000, 1, 0, Duration.ofMillis(100)));
+        limiter.acquire(100);
+
+        // When & Then
+        assertThatThrownBy(() -> limiter.acquire(100))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("대기열");
+
+        var waitingLimiter = new ModelRateLimiter("gpt-4", limit(6000, 1_000_000, 1, 10, Duration.ofMillis(100)));
+        waitingLimiter.acquire(100);
+        assertThatThrownBy(() -> waitingLimiter.acquire(100))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("대기 시간 초과");
+    }
+
+    @Test
+    @DisplayName("분당 토큰 예산을 실제 사용량으로 정산한다")
+    void settleTokenBudget() {
+        // Given: 분당 3000토큰, 호출당 예상 1000토큰
+        var limiter = new ModelRateLimiter("gpt-4", limit(6000, 3000, 8, 10, Duration.ofMillis(100)));
+
+        // When: 실제로 2900토큰을 사용
+        limiter.acquire(1000).success(1_000_000, 2900);
+
+        // Then: 남은 예산(약 100)으로는 다음 호출 예약이 불가능
+        assertThatThrownBy(() -> limiter.acquire(1000)).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("호출마다 그 요청의 예상 토큰 수를 예약하고, 모르면 최근 사용량 평균을 예약한다")
+    void reservePerRequestEstimate() {
+        // Given: 분당 3000토큰, 사용량 평균 초기값 1000토큰
+        var limiter = new ModelRateLimiter("gpt-4", limit(6000, 3000, 8, 10, Duration.ofMillis(100)));
+
+        // When: 큰 요청이 2500토큰을 예약
+        limiter.acquire(2500);
+
+        // Then: 남은 500토큰으로 작은 요청은 받지만, 큰 요청이나 예상치를 모르는 요청은 받지 못함
+        assertThat(limiter.acquire(400)).isNotNull();
+        assertThatThrownBy(() -> limiter.acquire(2500)).isInstanceOf(RateLimitExceededException.class);
+        assertThatThrownBy(() -> limiter.acquire(0)).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("허가를 여러 번 반납해도 처음 반납만 반영한다")
+    void releaseOnce() {
+        // Given
+        var limiter = new ModelRateLimiter("gpt-4", limit(6000, 1_000_000, 1, 0, Duration.ofMillis(100)));
+        var permit = limiter.acquire(100);
+
+        // When: 스트리밍 완료와 취소가 겹친 경우
+        permit.success(1_000_000, 100);
+        permit.failed();
+        permit.throttled();
+
+        // Then: 성공으로 늘어난 동시 호출 수가 뒤늦은 429 반납으로 줄지 않음
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.concurrencyLimit()).isEqualTo(2.0);
+        assertThat(limiter.acquire(100)).isNotNull();
+    }
+
+    private static RateLimitProperties.ModelLimit limit(int rpm, int tpm, int concurrency, int queueDepth, Duration maxWait) {
+        return new RateLimitProperties.ModelLimit(rpm, tpm, concurrency, 1, 32, queueDepth, maxWait,
+                Duration.ofSeconds(60), 1000);
+    }
+}
@@ -0,0 +1,155 @@
+package hello.spring_ai.reading.readability;
+
+import hello.spring_ai.reading.KoreanLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ReadabilityAnalyzer, KoreanVocabulary 테스트
+ */
+class ReadabilityAnalyzerTest {
+
+    private static final String BEGINNER_TEXT = """
+            제목: 우리 가족
+
+            우리 가족은 네 명이에요. 아빠는 회사에 가요. 엄마는 요리를 좋아해요. 저는 학교에 다녀요. 동생은 아직 어려요.""";
+
+    private static final String ADVANCED_TEXT = "세계화와 고령화는 한국 사회의 경제 구조를 근본적으로 바꾸고 있으며, "
+            + "이러한 변화는 정책 결정 과정에도 막대한 영향을 미친다. "
+            + "따라서 지속 가능한 발전을 위한 사회적 합의와 협력이 무엇보다 중요하다.";
+
+    private final ReadabilityAnalyzer analyzer = new ReadabilityAnalyzer(KoreanVocabulary.of(List.of(
+            new KoreanVocabulary.Entry("학교", KoreanLevel.BEGINNER, KoreanVocabulary.Origin.SINO),
+            new KoreanVocabulary.Entry("가다", KoreanLevel.BEGINNER, KoreanVocabulary.Origin.NATIVE),
+            new KoreanVocabulary.Entry("커피", KoreanLevel.BEGINNER, KoreanVocabulary.Origin.LOAN),
+            new KoreanVocabulary.Entry("경제", KoreanLevel.ADVANCED, KoreanVocabulary.Origin.SINO),
+            new KoreanVocabulary.Entry("물", KoreanLevel.BEGINNER, KoreanVocabulary.Origin.NATIVE))));
+
+    @Test
+    @DisplayName("문장 길이는 공백과 문장 끝 부호를 뺀 글자 수로 세고 분포를 낸다")
+    void sentenceLengths() {
+        // When: 9자, 15자, 4자 문장
+        Readability readability = analyzer.analyze(KoreanLevel.BEGINNER,
+                "오늘은 날씨가 좋아요. 친구와 함께 공원에서 산책을 했어요! 집에 가요?");
+
+        // Then
+        assertThat(readability.sentenceCount()).isEqualTo(3);
+        assertThat(readability.meanSentenceLength()).isEqualTo(28.0 / 3);
+        assertThat(readability.medianSentenceLength()).isEqualTo(9);
+        assertThat(readability.p90SentenceLength()).isEqualTo(15);
+        assertThat(readability.maxSentenceLength()).isEqualTo(15);
+        assertThat(readability.sentencesInRangeRatio()).isEqualTo(1.0 / 3);
+        assertThat(readability.wordCount()).isEqualTo(10);
+        assertThat(readability.syllableCount()).isEqualTo(28);
+    }
+
+    @Test
+    @DisplayName("조사나 어미가 붙은 어절도 목록의 단어로 찾아 수준과 어종 비율을 센다")
+    void vocabularyRatios() {
+        // When: 학교에(한자어), 갔어요(고유어), 경제를(고급 한자어), 배워요(목록에 없음), 커피를(외래어), 마셔요(목록에 없음)
+        Readability readability = analyzer.analyze(KoreanLevel.BEGINNER, "학교에 갔어요. 경제를 배워요. 커피를 마셔요.");
+
+        // Then
+        assertThat(readability.wordCount()).isEqualTo(6);
+        assertThat(readability.unknownWordRatio()).isEqualTo(2.0 / 6);
+        assertThat(readability.difficultWordRatio()).isEqualTo(1.0 / 4);
+        assertThat(readability.sinoKoreanRatio()).isEqualTo(2.0 / 4);
+        assertThat(readability.loanwordRatio()).isEqualTo(1.0 / 4);
+    }
+
+    @Test
+    @DisplayName("고급 단어는 고급 수준으로 평가할 때 어려운 단어로 세지 않는다")
+    void difficultyDependsOnLevel() {
+        // When
+        Readability advanced = analyzer.analyze(KoreanLevel.ADVANCED, "경제를 배워요.");
+
+        // Then
+        assertThat(advanced.difficultWordRatio()).isZero();
+    }
+
+    @Test
+    @DisplayName("한 음절 단어는 네 음절 이상 어절의 첫 음절로는 인정하지 않는다")
+    void shortWordsNeedShortEojeol() {
+        // When: 물을(목록 단어), 물감으로(다른 단어)
+        Readability readability = analyzer.analyze(KoreanLevel.BEGINNER, "물을 마셔요. 물감으로 그려요.");
+
+        // Then
+        assertThat(readability.wordCount()).isEqualTo(4);
+        assertThat(readability.unknownWordRatio()).isEqualTo(3.0 / 4);
+    }
+
+    @Test
+    @DisplayName("조각으로 나눠 넣어도 한 번에 넣은 것과 결과가 같고, 중간에 결과를 봐도 이어서 분석할 수 있다")
+    void feedInChunks() {
+        // Given
+        ReadabilityAnalyzer bundled = ReadabilityAnalyzer.bundled();
+        ReadabilityAnalyzer.Scan scan = bundled.newScan(KoreanLevel.BEGINNER);
+
+        // When
+        for (int i = 0; i < BEGINNER_TEXT.length(); i += 3) {
+            scan.feed(BEGINNER_TEXT.substring(i, Math.min(BEGINNER_TEXT.length(), i + 3)));
+            scan.result();
+        }
+
+        // Then
+        assertThat(scan.result()).isEqualTo(bundled.analyze(KoreanLevel.BEGINNER, BEGINNER_TEXT));
+    }
+
+    @Test
+    @DisplayName("짧은 문장과 쉬운 고유어로 쓴 글은 초급 적합도가 높고, 긴 문장과 고급 한자어로 쓴 글은 고급 적합도가 높다")
+    void levelFit() {
+        // Given
+        ReadabilityAnalyzer bundled = ReadabilityAnalyzer.bundled();
+
+        // When
+        Readability beginnerForBeginner = bundled.analyze(KoreanLevel.BEGINNER, BEGINNER_TEXT);
+        Readability advancedForBeginner = bundled.analyze(KoreanLevel.BEGINNER, ADVANCED_TEXT);
+        Readability beginnerForAdvanced = bundled.analyze(KoreanLevel.ADVANCED, BEGINNER_TEXT);
+        Readability advancedForAdvanced = bundled.analyze(KoreanLevel.ADVANCED, ADVANCED_TEXT);
+
+        // Then
+        assertThat(beginnerForBeginner.levelFit()).isGreaterThan(0.8);
+        assertThat(advancedForBeginner.levelFit()).isLessThan(0.3);
+        assertThat(advancedForBeginner.difficultWordRatio()).isGreaterThan(0.5);
+        assertThat(advancedForAdvanced.levelFit()).isGreaterThan(beginnerForAdvanced.levelFit());
+    }
+
+    @Test
+    @DisplayName("빈 글은 문장이 없고 적합도가 0이다")
+    void emptyText() {
+        // When
+        Readability readability = analyzer.analyze(KoreanLevel.BEGINNER, " \n ");
+
+        // Then
+        assertThat(readability.sentenceCount()).isZero();
+        assertThat(readability.wordCount()).isZero();
+        assertThat(readability.levelFit()).isZero();
+    }
+
+    @Test
+    @DisplayName("어휘 목록은 주석과 빈 줄을 건너뛰고, 형식이 잘못된 줄은 줄 번호와 함께 알린다")
+    void readVocabulary() throws Exception {
+        // When
+        KoreanVocabulary vocabulary = KoreanVocabulary.read(stream("# 주석\n\n사과\t1\tN\n경제\t3\tS\n"));
+
+        // Then
+        assertThat(vocabulary.size()).isEqualTo(2);
+        assertThat(KoreanVocabulary.bundled().size()).isGreaterThan(300);
+        assertThatThrownBy(() -> KoreanVocabulary.read(stream("사과\t4\tN\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1번째 줄");
+        assertThatThrownBy(() -> KoreanVocabulary.read(stream("사과\t1\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,257 @@
+package hello.spring_ai.reading.routing;
+
+import hello.spring_ai.reading.KoreanLevel;
+import hello.spring_ai.reading.ReadingMaterialRequest;
+import hello.spring_ai.reading.ReadingMaterialService;
+import hello.spring_ai.reading.budget.BudgetProperties;
+import hello.spring_ai.reading.budget.TokenizerEncoding;
+import hello.spring_ai.reading.metrics.PricingProperties;
+import hello.spring_ai.reading.metrics.PricingProperties.ModelPrice;
+import hello.spring_ai.support.StubChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ModelRouter, ModelStatistics 테스트
+ */
+class ModelRouterTest {
+
+    private static final KoreanLevel LEVEL = KoreanLevel.BEGINNER;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RoutingProperties properties = new RoutingProperties(
+            100, 5, 0.95, Duration.ofSeconds(20), 0.2, 0.0, RoutingObjective.CHEAPEST);
+    private final ModelStatistics statistics = new ModelStatistics(properties, meterRegistry);
+    private final ModelRouter router = router();
+
+    @Test
+    @DisplayName("통계가 없으면 예상 비용이 가장 낮은 모델부터 시도한다")
+    void cheapestWithoutStatistics() {
+        // When
+        RoutingDecision decision = router.route(request(LEVEL), RoutingObjective.CHEAPEST, null);
+
+        // Then
+        assertThat(decision.model()).isEqualTo("gpt-3.5-turbo");
+        assertThat(decision.reason()).isEqualTo("unknown");
+    }
+
+    @Test
+    @DisplayName("지연 목표를 넘는 모델을 빼고 가장 싼 모델을 고른다")
+    void cheapestUnderLatencySlo() {
+        // Given: 가장 싼 gpt-3.5-turbo가 지연 목표(20초)를 넘음
+        record("gpt-3.5-turbo", LEVEL, Duration.ofSeconds(30), 10, 0);
+        record("gpt-4", LEVEL, Duration.ofSeconds(8), 10, 0);
+        record("gpt-4-turbo-preview", LEVEL, Duration.ofSeconds(12), 10, 0);
+
+        // When
+        RoutingDecision decision = router.route(request(LEVEL), RoutingObjective.CHEAPEST, null);
+
+        // Then
+        assertThat(decision.model()).isEqualTo("gpt-4-turbo-preview");
+        assertThat(decision.reason()).isEqualTo("cheapest");
+        assertThat(decision.latencyNanos()).isEqualTo(Duration.ofSeconds(12).toNanos());
+    }
+
+    @Test
+    @DisplayName("요청의 지연 목표가 설정값보다 우선한다")
+    void requestSloOverridesDefault() {
+        // Given
+        record("gpt-3.5-turbo", LEVEL, Duration.ofSeconds(30), 10, 0);
+        record("gpt-4", LEVEL, Duration.ofSeconds(8), 10, 0);
+        record("gpt-4-turbo-preview", LEVEL, Duration.ofSeconds(12), 10, 0);
+
+        // When
+        RoutingDecision relaxed = router.route(request(LEVEL), RoutingObjective.CHEAPEST, Duration.ofSeconds(40));
+        RoutingDecision strict = router.route(request(LEVEL), RoutingObjective.CHEAPEST, Duration.ofSeconds(10));
+
+        // Then
+        assertThat(relaxed.model()).isEqualTo("gpt-3.5-turbo");
+        assertThat(strict.model()).isEqualTo("gpt-4");
+    }
+
+    @Test
+    @DisplayName("지연 목표를 만족하는 모델이 없으면 가장 빠른 모델로 대신한다")
+    void sloFallback() {
+        // Given
+        record("gpt-3.5-turbo", LEVEL, Duration.ofSeconds(30), 10, 0);
+        record("gpt-4", LEVEL, Duration.ofSeconds(25), 10, 0);
+        record("gpt-4-turbo-preview", LEVEL, Duration.ofSeconds(40), 10, 0);
+
+        // When
+        RoutingDecision decision = router.route(request(LEVEL), RoutingObjective.CHEAPEST, null);
+
+        // Then
+        assertThat(decision.model()).isEqualTo("gpt-4");
+        assertThat(decision.reason()).isEqualTo("slo_fallback");
+    }
+
+    @Test
+    @DisplayName("fastest는 오류율이 높은 모델을 빼고 p95 응답 시간이 가장 짧은 모델을 고른다")
+    void fastestSkipsFailingModel() {
+        // Given: 가장 빠른 gpt-4-turbo-preview의 오류율이 50%
+        record("gpt-3.5-turbo", LEVEL, Duration.ofSeconds(6), 10, 0);
+        record("gpt-4", LEVEL, Duration.ofSeconds(9), 10, 0);
+        record("gpt-4-turbo-preview", LEVEL, Duration.ofSeconds(2), 5, 5);
+
+        // When
+        RoutingDecision decision = router.route(request(LEVEL), RoutingObjective.FASTEST, null);
+
+        // Then
+        assertThat(decision.model()).isEqualTo("gpt-3.5-turbo");
+        assertThat(decision.reason()).isEqualTo("fastest");
+    }
+
+    @Test
+    @DisplayName("통계는 수준별로 따로 쌓인다")
+    void statisticsPerLevel() {
+        // Given: 고급 수준에서만 gpt-3.5-turbo가 느림
+        for (KoreanLevel level : KoreanLevel.values()) {
+            Duration latency = level == KoreanLevel.ADVANCED ? Duration.ofSeconds(30) : Duration.ofSeconds(3);
+            record("gpt-3.5-turbo", level, latency, 10, 0);
+            record("gpt-4", level, Duration.ofSeconds(10), 10, 0);
+            record("gpt-4-turbo-preview", level, Duration.ofSeconds(10), 10, 0);
+        }
+
+        // When & Then
+        assertThat(router.route(request(KoreanLevel.BEGINNER), RoutingObjective.CHEAPEST, null).model())
+                .isEqualTo("gpt-3.5-turbo");
+        assertThat(router.route(request(KoreanLevel.ADVANCED), RoutingObjective.CHEAPEST, null).model())
+                .isEqualTo("gpt-4-turbo-preview");
+    }
+
+    @Test
+    @DisplayName("선택 결과를 지표로 남긴다")
+    void decisionMetrics() {
+        // When
+        router.route(request(LEVEL), RoutingObjective.FASTEST, null);
+        router.route(request(LEVEL), RoutingObjective.FASTEST, null);
+
+        // Then
+        var counter = meterRegistry.find("reading.routing.decisions")
+                .tag("objective", "fastest")
+                .tag("level", LEVEL.name())
+                .tag("model", "gpt-3.5-turbo")
+                .tag("reason", "unknown")
+                .counter();
+        assertThat(counter).isNotNull();
+        assertThat(counter.count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("최근 호출의 응답 시간 분위, 글자당 토큰 수, 오류율을 계산한다")
+    void statistics() {
+        // Given: 1~19초 성공 19번, 실패 1번
+        for (int seconds = 1; seconds <= 19; seconds++) {
+            statistics.recordSuccess("gpt-4", LEVEL, Duration.ofSeconds(seconds).toNanos(), 300, 200);
+        }
+        statistics.recordFailure("gpt-4", LEVEL, Duration.ofSeconds(1).toNanos());
+
+        // When
+        ModelStats stats = statistics.stats("gpt-4", LEVEL);
+
+        // Then
+        assertThat(stats.samples()).isEqualTo(20);
+        assertThat(stats.failures()).isEqualTo(1);
+        assertThat(stats.errorRate()).isEqualTo(0.05);
+        assertThat(stats.latencyNanos()).isEqualTo(Duration.ofSeconds(19).toNanos());
+        assertThat(stats.tokensPerChar()).isEqualTo(1.5);
+        assertThat(statistics.stats("gpt-4", KoreanLevel.ADVANCED)).isEqualTo(ModelStats.EMPTY);
+    }
+
+    @Test
+    @DisplayName("창 크기보다 많이 기록하면 오래된 호출부터 밀려난다")
+    void slidingWindow() {
+        // Given: 실패 100번 뒤 성공 100번 (창 크기 100)
+        for (int i = 0; i < 100; i++) {
+            statistics.recordFailure("gpt-4", LEVEL, Duration.ofSeconds(1).toNanos());
+        }
+        assertThat(statistics.stats("gpt-4", LEVEL).errorRate()).isEqualTo(1.0);
+        for (int i = 0; i < 100; i++) {
+            statistics.recordSuccess("gpt-4", LEVEL, Duration.ofSeconds(2).toNanos(), 100, 100);
+        }
+
+        // When
+        ModelStats stats = statistics.stats("gpt-4", LEVEL);
+
+        // Then
+        assertThat(stats.samples()).isEqualTo(100);
+        assertThat(stats.errorRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 기록하고 조회해도 창 크기만큼의 표본이 남는다")
+    void concurrentRecording() throws Exception {
+        // Given
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 10_000; i++) {
+                    statistics.recordSuccess("gpt-4", LEVEL, Duration.ofMillis(500).toNanos(), 100, 100);
+                    router.route(request(LEVEL), RoutingObjective.FASTEST, null);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        ModelStats stats = statistics.stats("gpt-4", LEVEL);
+        assertThat(stats.samples()).isEqualTo(100);
+        assertThat(stats.latencyNanos()).isEqualTo(Duration.ofMillis(500).toNanos());
+    }
+
+    @Test
+    @DisplayName("선택 기준은 대소문자와 구분자를 가리지 않는다")
+    void parseObjective() {
+        assertThat(RoutingObjective.from("cheapest")).isEqualTo(RoutingObjective.CHEAPEST);
+        assertThat(RoutingObjective.from("FASTEST")).isEqualTo(RoutingObjective.FASTEST);
+    }
+
+    private void record(String model, KoreanLevel level, Duration latency, int successes, int failures) {
+        for (int i = 0; i < successes; i++) {
+            statistics.recordSuccess(model, level, latency.toNanos(), 300, 300);
+        }
+        for (int i = 0; i < failures; i++) {
+            statistics.recordFailure(model, level, latency.toNanos());
+        }
+    }
+
+    private ModelRouter router() {
+        ChatClient client = ChatClient.create(new StubChatModel(Duration.ZERO));
+        var service = new ReadingMaterialService(client, client, client);
+        var pricing = new PricingProperties(Map.of(
+                "gpt-3.5-turbo", new ModelPrice(0.5, 1.5),
+                "gpt-4", new ModelPrice(30.0, 60.0),
+                "gpt-4-turbo-preview", new ModelPrice(10.0, 30.0)));
+        var budget = new BudgetProperties(true, 0.3, 64, 200, 6000, Map.of(),
+                BudgetProperties.OverBudget.DOWNGRADE, TokenizerEncoding.CL100K_BASE, Map.of());
+        return new ModelRouter(service, statistics, properties, pricing, budget, meterRegistry);
+    }
+
+    private static ReadingMaterialRequest request(KoreanLevel level) {
+        return new ReadingMaterialRequest(level, List.of("사과", "바나나"), "과일", 300);
+    }
+}
@@ -0,0 +1,47 @@
+package hello.spring_ai.support;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.NonTransientAiException;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 초당 요청 수를 넘기면 OpenAI처럼 429 오류를 내는 테스트용 ChatModel
+ * 1초 고정 창마다 허용 요청 수를 센다.
+ */
+public class RateLimitedStubChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final int requestsPerSecond;
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public RateLimitedStubChatModel(ChatModel delegate, int requestsPerSecond) {
+        this.delegate = delegate;
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        long currentWindow = System.nanoTime() / 1_000_000_000L;
+        long previous = window.get();
+        if (previous != currentWindow && window.compareAndSet(previous, currentWindow)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() > requestsPerSecond) {
+            rejected.incrementAndGet();
+            throw new NonTransientAiException("429 - {\"error\":{\"code\":\"rate_limit_exceeded\"}}");
+        }
+        return delegate.call(prompt);
+    }
+
+    /**
+     * 지금까지 429로 거절한 요청 수
+     */
+    public long rejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,132 @@
+package hello.spring_ai.support;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OpenAI 대신 사용하는 테스트용 ChatModel
+ * 지정한 지연 시간 후 고정된 응답과 토큰 사용량을 돌려준다.
+ * 스트리밍 호출은 지연 시간 후 응답을 조각내어 보내고, 마지막 조각에 토큰 사용량을 담는다.
+ *
+ * <p>jitter를 주면 호출마다 [latency, latency + jitter) 범위의 지연이 적용된다.
+ * 지연 값은 seed와 호출 순번만으로 정해지므로 같은 설정이면 항상 같은 지연 순서가 재현된다.
+ */
+public class StubChatModel implements ChatModel {
+
+    public static final String DEFAULT_CONTENT = """
+            제목: 과일 가게
+
+            오늘 친구와 과일 가게에 갔어요. 사과와 바나나를 샀어요.
+            사과는 빨갛고 바나나는 노래요. 우리는 공원에서 과일을 먹었어요.
+            """;
+
+    private static final int STREAM_CHUNK_LENGTH = 8;
+
+    private final Duration latency;
+    private final Duration jitter;
+    private final long seed;
+    private final String content;
+    private final int promptTokens;
+    private final int completionTokens;
+    private final AtomicLong calls = new AtomicLong();
+
+    public StubChatModel(Duration latency) {
+        this(latency, DEFAULT_CONTENT, 120, 80);
+    }
+
+    public StubChatModel(Duration latency, String content, int promptTokens, int completionTokens) {
+        this(latency, Duration.ZERO, 0L, content, promptTokens, completionTokens);
+    }
+
+    public StubChatModel(Duration latency, Duration jitter, long seed,
+                         String content, int promptTokens, int completionTokens) {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.seed = seed;
+        this.content = content;
+        this.promptTokens = promptTokens;
+        this.completionTokens = completionTokens;
+    }
+
+    /**
+     * 기본 응답에 호출마다 달라지는 지연을 적용하는 스텁
+     */
+    public static StubChatModel withJitter(Duration latency, Duration jitter, long seed) {
+        return new StubChatModel(latency, jitter, seed, DEFAULT_CONTENT, 120, 80);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        sleep(nextLatency());
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(content))), usageMetadata());
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < content.length(); i += STREAM_CHUNK_LENGTH) {
+            chunks.add(content.substring(i, Math.min(content.length(), i + STREAM_CHUNK_LENGTH)));
+        }
+
+        Flux<ChatResponse> deltas = Flux.fromIterable(chunks)
+                .map(chunk -> new ChatResponse(List.of(new Generation(new AssistantMessage(chunk)))));
+        Mono<ChatResponse> usage = Mono.fromSupplier(() ->
+                new ChatResponse(List.of(new Generation(new AssistantMessage(""))), usageMetadata()));
+
+        return Mono.defer(() -> Mono.delay(nextLatency()))
+                .thenMany(deltas.concatWith(usage));
+    }
+
+    /**
+     * 지금까지 호출된 횟수
+     */
+    public long calls() {
+        return calls.get();
+    }
+
+    private Duration nextLatency() {
+        long call = calls.getAndIncrement();
+        if (jitter.isZero()) {
+            return latency;
+        }
+        long mixed = mix(seed + call * 0x9e3779b97f4a7c15L);
+        long jitterNanos = Math.floorMod(mixed, jitter.toNanos());
+        return latency.plusNanos(jitterNanos);
+    }
+
+    private ChatResponseMetadata usageMetadata() {
+        return ChatResponseMetadata.builder()
+                .usage(new DefaultUsage(promptTokens, completionTokens))
+                .build();
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    protected static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis(), (int) (duration.toNanos() % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("스텁 모델 호출이 중단되었습니다", e);
+        }
+    }
+}
@@ -0,0 +1,593 @@
+package hello.spring_ai.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import hello.spring_ai.reading.budget.TokenEstimator;
+import hello.spring_ai.reading.budget.TokenizerEncoding;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI 호환 로컬 HTTP 서버 (/v1/chat/completions)
+ * 애플리케이션 전체를 띄워 HTTP 클라이언트, 서버 스택까지 포함해 측정할 때 spring.ai.openai.base-url을 이 서버로 돌린다.
+ * 응답 지연 분포, 생성 속도(초당 토큰), 스트리밍 조각 크기, 오류와 429 비율은 Profile로 정하며 실행 중에도 바꿀 수 있다.
+ * stream=true 요청에는 첫 조각까지 지연 시간만큼 기다린 뒤 생성 속도에 맞춰 SSE 조각을 보내고,
+ * 마지막에 토큰 사용량 조각과 [DONE]을 보낸다. 지연은 스케줄러로 기다리므로 동시 요청이 많아도 서버 스레드 수는 늘지 않는다.
+ * Profile.withPromptCache로 제공자의 프롬프트 앞부분 캐시를 흉내 내면, 같은 모델로 이전에 받은 프롬프트와 같은 앞부분을
+ * usage.prompt_tokens_details.cached_tokens로 알려 주고 캐시되지 않은 프롬프트 토큰만큼 첫 바이트 지연을 늘린다.
+ * 스트리밍이 아닌 요청에 n을 주면 같은 본문을 n개의 choice로 돌려주고, 생성 토큰은 n배로 청구한다.
+ * 제공자처럼 choice들을 함께 생성한다고 보고 응답 시간은 늘리지 않는다.
+ *
+ * <p>단독 실행: {@code ./gradlew stubOpenAi -PstubArgs="--port=8089 --latency=800ms --spread=0.4"}
+ * (옵션은 {@link #main(String[])} 참고)
+ */
+public final class StubOpenAiServer implements AutoCloseable {
+
+    private static final Pattern MODEL = Pattern.compile("\"model\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern STREAM = Pattern.compile("\"stream\"\\s*:\\s*true");
+    private static final Pattern CHOICES = Pattern.compile("\"n\"\\s*:\\s*(\\d+)");
+    private static final Pattern CONTENT = Pattern.compile("\"content\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    /**
+     * 프롬프트 캐시를 흉내 낼 때 앞부분을 비교하는 단위 (글자 수)
+     */
+    private static final int PREFIX_BLOCK = 32;
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService scheduler;
+    private final String content;
+    private volatile Profile profile;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Set<InetSocketAddress> clients = ConcurrentHashMap.newKeySet();
+    private final Set<Long> cachedPrefixes = ConcurrentHashMap.newKeySet();
+
+    private StubOpenAiServer(int port, Profile profile, String content) throws IOException {
+        this.profile = profile;
+        this.content = content;
+        this.handlers = Executors.newFixedThreadPool(4, daemon("stub-openai-"));
+        this.scheduler = Executors.newScheduledThreadPool(2, daemon("stub-openai-delay-"));
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 4096);
+        this.server.setExecutor(handlers);
+        this.server.createContext("/v1/chat/completions", this::handle);
+        this.server.createContext("/", this::notFound);
+        this.server.start();
+    }
+
+    /**
+     * 고정 지연으로 기본 응답(StubChatModel.DEFAULT_CONTENT)을 보내는 서버 시작
+     */
+    public static StubOpenAiServer start(Duration latency) {
+        return start(Profile.fixed(latency));
+    }
+
+    /**
+     * 빈 포트에서 서버 시작
+     */
+    public static StubOpenAiServer start(Profile profile) {
+        return start(0, profile, StubChatModel.DEFAULT_CONTENT);
+    }
+
+    /**
+     * 지정한 포트에서 서버 시작 (0이면 빈 포트)
+     */
+    public static StubOpenAiServer start(int port, Profile profile, String content) {
+        try {
+            return new StubOpenAiServer(port, profile, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * spring.ai.openai.base-url에 넣을 주소
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * 응답 방식 변경 (이후 도착하는 요청부터 적용)
+     */
+    public void profile(Profile profile) {
+        this.profile = profile;
+    }
+
+    public Profile profile() {
+        return profile;
+    }
+
+    /**
+     * 지금까지 받은 요청 수
+     */
+    public long requests() {
+        return requests.get();
+    }
+
+    /**
+     * 429로 응답한 요청 수
+     */
+    public long rateLimited() {
+        return rateLimited.get();
+    }
+
+    /**
+     * 500으로 응답한 요청 수
+     */
+    public long failed() {
+        return failed.get();
+    }
+
+    /**
+     * 지금까지 연결해 온 클라이언트 연결 수 (클라이언트 주소, 포트 기준)
+     * 연결을 재사용하는 클라이언트는 요청이 늘어도 이 값이 늘지 않는다.
+     */
+    public int connections() {
+        return clients.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        clients.add(exchange.getRemoteAddress());
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        long sequence = requests.getAndIncrement();
+        Profile current = profile;
+
+        Matcher model = MODEL.matcher(body);
+        String modelName = model.find() ? model.group(1) : "gpt-3.5-turbo";
+        boolean stream = STREAM.matcher(body).find();
+        Matcher n = CHOICES.matcher(body);
+        int choices = n.find() ? Math.max(1, Integer.parseInt(n.group(1))) : 1;
+        PromptUsage prompt = promptUsage(current, modelName, body);
+
+        double fault = current.uniform(sequence, 2);
+        if (fault < current.rateLimitRate()) {
+            rateLimited.incrementAndGet();
+            schedule(current.latency(sequence), () -> error(exchange, current, 429, "rate_limit_exceeded",
+                    "Rate limit reached for requests (stub)"));
+            return;
+        }
+        if (fault < current.rateLimitRate() + current.errorRate()) {
+            failed.incrementAndGet();
+            schedule(current.latency(sequence), () -> error(exchange, current, 500, "server_error",
+                    "The server had an error while processing your request (stub)"));
+            return;
+        }
+
+        Duration firstByte = current.latency(sequence).plus(prompt.prefillTime());
+        if (stream) {
+            schedule(firstByte, () -> startStream(exchange, modelName, current, prompt));
+        } else {
+            schedule(firstByte.plus(current.generationTime()), () -> respond(exchange, modelName, current, prompt, choices));
+        }
+    }
+
+    /**
+     * 요청의 프롬프트 토큰 수와 캐시된 앞부분
+     * 캐시를 흉내 내지 않으면 Profile의 고정 토큰 수를 쓴다.
+     * 흉내 낼 때는 메시지 본문을 이어 붙인 글을 PREFIX_BLOCK 글자 단위로 잘라, 같은 모델로 전에 본 가장 긴 앞부분을 캐시된 것으로 본다.
+     * 캐시된 앞부분이 promptCacheMinTokens보다 짧으면 제공자처럼 캐시하지 않은 것으로 처리한다.
+     */
+    private PromptUsage promptUsage(Profile current, String modelName, String body) {
+        if (current.promptCacheMinTokens() <= 0) {
+            return new PromptUsage(current.promptTokens(), null, Duration.ZERO);
+        }
+        StringBuilder text = new StringBuilder();
+        Matcher content = CONTENT.matcher(body);
+        while (content.find()) {
+            text.append(unescape(content.group(1))).append("\n\n");
+        }
+
+        int promptTokens = TokenEstimator.estimate(text, TokenizerEncoding.O200K_BASE);
+        long modelSeed = (long) modelName.hashCode() << 32;
+        int cachedLength = 0;
+        boolean missed = false;
+        for (int end = PREFIX_BLOCK; end <= text.length(); end += PREFIX_BLOCK) {
+            long prefix = modelSeed ^ ((long) text.substring(0, end).hashCode() << 16) ^ end;
+            if (!missed && cachedPrefixes.contains(prefix)) {
+                cachedLength = end;
+            } else {
+                missed = true;
+                cachedPrefixes.add(prefix);
+            }
+        }
+        int cachedTokens = TokenEstimator.estimate(text.subSequence(0, cachedLength), TokenizerEncoding.O200K_BASE);
+        if (cachedTokens < current.promptCacheMinTokens()) {
+            cachedTokens = 0;
+        }
+        Duration prefill = current.prefillPerThousandTokens()
+                .multipliedBy(promptTokens - cachedTokens)
+                .dividedBy(1000);
+        return new PromptUsage(promptTokens, cachedTokens, prefill);
+    }
+
+    /**
+     * 받은 프롬프트의 토큰 사용량
+     *
+     * @param cachedTokens 캐시를 흉내 내지 않으면 null
+     * @param prefillTime  캐시되지 않은 프롬프트를 읽는 데 더 걸리는 시간
+     */
+    private record PromptUsage(int promptTokens, Integer cachedTokens, Duration prefillTime) {
+    }
+
+    /**
+     * 다른 경로 (연결을 미리 여는 GET /v1/models 등)
+     */
+    private void notFound(HttpExchange exchange) {
+        clients.add(exchange.getRemoteAddress());
+        try {
+            exchange.getRequestBody().readAllBytes();
+            byte[] response = "{\"error\":{\"message\":\"Not found (stub)\",\"type\":\"invalid_request_error\"}}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(404, response.length);
+            exchange.getResponseBody().write(response);
+        } catch (IOException e) {
+            // 클라이언트가 먼저 연결을 끊은 경우
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void respond(HttpExchange exchange, String modelName, Profile current, PromptUsage prompt, int choices) {
+        try {
+            StringBuilder choiceArray = new StringBuilder();
+            for (int i = 0; i < choices; i++) {
+                choiceArray.append(i == 0 ? "" : ",")
+                        .append("{\"index\":").append(i)
+                        .append(",\"message\":{\"role\":\"assistant\",\"content\":").append(json(content)).append("},")
+                        .append("\"finish_reason\":\"stop\"}");
+            }
+            byte[] response = ("{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion\",\"created\":0,"
+                    + "\"model\":" + json(modelName) + ",\"choices\":[" + choiceArray + "],"
+                    + usage(current, prompt, choices) + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+        } catch (IOException e) {
+            // 클라이언트가 먼저 연결을 끊은 경우 (제한 시간 초과, 취소)
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void startStream(HttpExchange exchange, String modelName, Profile current, PromptUsage prompt) {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < content.length(); i += current.chunkLength()) {
+            chunks.add(content.substring(i, Math.min(content.length(), i + current.chunkLength())));
+        }
+        Duration interval = current.generationTime().dividedBy(Math.max(1, chunks.size()));
+
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            streamChunk(exchange, modelName, current, prompt, chunks, 0, interval);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 조각 하나를 보내고 다음 조각을 interval 뒤로 예약
+     */
+    private void streamChunk(HttpExchange exchange, String modelName, Profile current, PromptUsage prompt,
+                             List<String> chunks, int index, Duration interval) {
+        try {
+            OutputStream out = exchange.getResponseBody();
+            if (index < chunks.size()) {
+                event(out, chunk(modelName, "{\"role\":\"assistant\",\"content\":" + json(chunks.get(index)) + "}", "null"));
+                schedule(interval, () -> streamChunk(exchange, modelName, current, prompt, chunks, index + 1,
+                        interval));
+                return;
+            }
+            event(out, chunk(modelName, "{}", "\"stop\""));
+            event(out, "{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion.chunk\",\"created\":0,"
+                    + "\"model\":" + json(modelName) + ",\"choices\":[]," + usage(current, prompt, 1) + "}");
+            out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            exchange.close();
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+
+    private void error(HttpExchange exchange, Profile current, int status, String code, String message) {
+        try {
+            byte[] response = ("{\"error\":{\"message\":" + json(message) + ",\"type\":\"" + code + "\","
+                    + "\"param\":null,\"code\":\"" + code + "\"}}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (status == 429) {
+                long seconds = Math.max(1, (current.retryAfter().toMillis() + 999) / 1000);
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(seconds));
+            }
+            exchange.sendResponseHeaders(status, response.length);
+            exchange.getResponseBody().write(response);
+        } catch (IOException e) {
+            // 클라이언트가 먼저 연결을 끊은 경우
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void schedule(Duration delay, Runnable task) {
+        scheduler.schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static String chunk(String modelName, String delta, String finishReason) {
+        return "{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion.chunk\",\"created\":0,"
+                + "\"model\":" + json(modelName) + ",\"choices\":[{\"index\":0,\"delta\":" + delta + ","
+                + "\"finish_reason\":" + finishReason + "}]}";
+    }
+
+    private static String usage(Profile profile, PromptUsage prompt, int choices) {
+        String cached = prompt.cachedTokens() == null ? ""
+                : ",\"prompt_tokens_details\":{\"cached_tokens\":" + prompt.cachedTokens() + "}";
+        int completionTokens = profile.completionTokens() * choices;
+        return "\"usage\":{\"prompt_tokens\":" + prompt.promptTokens()
+                + ",\"completion_tokens\":" + completionTokens
+                + ",\"total_tokens\":" + (prompt.promptTokens() + completionTokens)
+                + cached + "}";
+    }
+
+    private static String unescape(String json) {
+        if (json.indexOf('\\') < 0) {
+            return json;
+        }
+        StringBuilder text = new StringBuilder(json.length());
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c != '\\' || i + 1 == json.length()) {
+                text.append(c);
+                continue;
+            }
+            char escaped = json.charAt(++i);
+            switch (escaped) {
+                case 'n' -> text.append('\n');
+                case 'r' -> text.append('\r');
+                case 't' -> text.append('\t');
+                case 'u' -> {
+                    text.append((char) Integer.parseInt(json.substring(i + 1, i + 5), 16));
+                    i += 4;
+                }
+                default -> text.append(escaped);
+            }
+        }
+        return text.toString();
+    }
+
+    private static void event(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static String json(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.append('"').toString();
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        scheduler.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    /**
+     * 단독 실행 (CI, 성능 측정 서버에서 애플리케이션의 spring.ai.openai.base-url로 사용)
+     * 옵션: --port=8089 --latency=800ms --spread=0.4 --tokens-per-second=60 --chunk-length=8
+     * --error-rate=0.01 --rate-limit-rate=0.05 --retry-after=2s --seed=42
+     * --prompt-cache-min-tokens=1024 --prefill-per-thousand-tokens=100ms
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+
+        Profile defaults = Profile.fixed(Duration.ofMillis(800));
+        Profile profile = new Profile(
+                duration(options.get("latency"), defaults.medianLatency()),
+                Double.parseDouble(options.getOrDefault("spread", "0.4")),
+                Double.parseDouble(options.getOrDefault("tokens-per-second", "0")),
+                Integer.parseInt(options.getOrDefault("chunk-length", String.valueOf(defaults.chunkLength()))),
+                defaults.promptTokens(),
+                defaults.completionTokens(),
+                Double.parseDouble(options.getOrDefault("error-rate", "0")),
+                Double.parseDouble(options.getOrDefault("rate-limit-rate", "0")),
+                duration(options.get("retry-after"), defaults.retryAfter()),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(defaults.seed()))),
+                Integer.parseInt(options.getOrDefault("prompt-cache-min-tokens", "0")),
+                duration(options.get("prefill-per-thousand-tokens"), Duration.ZERO)
+        );
+        int port = Integer.parseInt(options.getOrDefault("port", "8089"));
+
+        StubOpenAiServer server = start(port, profile, StubChatModel.DEFAULT_CONTENT);
+        System.out.println("stub OpenAI server: " + server.baseUrl() + " " + profile);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        Thread.currentThread().join();
+    }
+
+    private static Duration duration(String value, Duration defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        String text = value.strip().toLowerCase();
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofMillis(Math.round(Double.parseDouble(text.substring(0, text.length() - 1)) * 1000));
+        }
+        return Duration.ofMillis(Long.parseLong(text));
+    }
+
+    /**
+     * 스텁 응답 방식
+     * 요청마다의 지연과 오류 여부는 seed와 요청 순번만으로 정해지므로 같은 설정이면 항상 같은 순서가 재현된다.
+     *
+     * @param medianLatency            첫 응답 바이트까지의 지연 중앙값
+     * @param latencySpread            로그 정규 분포의 표준편차 (0이면 항상 medianLatency, 0.5면 p99가 중앙값의 약 3.2배)
+     * @param tokensPerSecond          생성 속도 (0이면 첫 바이트 뒤 바로 전체 응답)
+     * @param chunkLength              스트리밍 조각 하나의 글자 수
+     * @param promptTokens             응답에 담을 입력 토큰 수
+     * @param completionTokens         응답에 담을 생성 토큰 수 (생성 시간 계산에도 사용)
+     * @param errorRate                500으로 응답할 비율
+     * @param rateLimitRate            429로 응답할 비율
+     * @param retryAfter               429 응답의 Retry-After
+     * @param seed                     지연과 오류 순서를 정하는 값
+     * @param promptCacheMinTokens     프롬프트 캐시를 흉내 낼 때 캐시하는 최소 앞부분 토큰 수 (0이면 흉내 내지 않음)
+     * @param prefillPerThousandTokens 캐시되지 않은 프롬프트 토큰 1000개마다 늘어나는 첫 바이트 지연
+     */
+    public record Profile(
+            Duration medianLatency,
+            double latencySpread,
+            double tokensPerSecond,
+            int chunkLength,
+            int promptTokens,
+            int completionTokens,
+            double errorRate,
+            double rateLimitRate,
+            Duration retryAfter,
+            long seed,
+            int promptCacheMinTokens,
+            Duration prefillPerThousandTokens
+    ) {
+
+        public Profile {
+            if (chunkLength <= 0) {
+                throw new IllegalArgumentException("chunkLength는 양수여야 합니다: " + chunkLength);
+            }
+            if (errorRate < 0 || rateLimitRate < 0 || errorRate + rateLimitRate > 1) {
+                throw new IllegalArgumentException("오류 비율의 합은 0 ~ 1이어야 합니다");
+            }
+        }
+
+        /**
+         * 고정 지연, 오류 없음, 생성 시간 없음
+         */
+        public static Profile fixed(Duration latency) {
+            return new Profile(latency, 0, 0, 8, 120, 80, 0, 0, Duration.ofSeconds(1), 42L, 0, Duration.ZERO);
+        }
+
+        /**
+         * 지연 분포 변경
+         */
+        public Profile withLatency(Duration median, double spread) {
+            return new Profile(median, spread, tokensPerSecond, chunkLength, promptTokens, completionTokens,
+                    errorRate, rateLimitRate, retryAfter, seed, promptCacheMinTokens, prefillPerThousandTokens);
+        }
+
+        /**
+         * 생성 속도와 스트리밍 조각 크기 변경
+         */
+        public Profile withTokenRate(double tokensPerSecond, int chunkLength) {
+            return new Profile(medianLatency, latencySpread, tokensPerSecond, chunkLength, promptTokens,
+                    completionTokens, errorRate, rateLimitRate, retryAfter, seed, promptCacheMinTokens,
+                    prefillPerThousandTokens);
+        }
+
+        /**
+         * 오류, 429 비율 변경
+         */
+        public Profile withFaults(double errorRate, double rateLimitRate, Duration retryAfter) {
+            return new Profile(medianLatency, latencySpread, tokensPerSecond, chunkLength, promptTokens,
+                    completionTokens, errorRate, rateLimitRate, retryAfter, seed, promptCacheMinTokens,
+                    prefillPerThousandTokens);
+        }
+
+        /**
+         * 프롬프트 앞부분 캐시 흉내 (실제 프롬프트로 토큰 수를 추정해 응답에 담음)
+         * OpenAI는 1024토큰 이상인 앞부분만 캐시한다.
+         */
+        public Profile withPromptCache(int minTokens, Duration prefillPerThousandTokens) {
+            return new Profile(medianLatency, latencySpread, tokensPerSecond, chunkLength, promptTokens,
+                    completionTokens, errorRate, rateLimitRate, retryAfter, seed, minTokens, prefillPerThousandTokens);
+        }
+
+        /**
+         * 생성 토큰을 모두 만드는 데 걸리는 시간
+         */
+        public Duration generationTime() {
+            if (tokensPerSecond <= 0) {
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos((long) (completionTokens / tokensPerSecond * 1_000_000_000L));
+        }
+
+        /**
+         * n번째 요청의 첫 바이트 지연 (로그 정규 분포)
+         */
+        public Duration latency(long sequence) {
+            if (latencySpread <= 0) {
+                return medianLatency;
+            }
+            // Box-Muller 변환으로 표준 정규 분포 값 생성
+            double u1 = Math.max(uniform(sequence, 0), 1e-12);
+            double u2 = uniform(sequence, 1);
+            double z = Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+            return Duration.ofNanos((long) (medianLatency.toNanos() * Math.exp(latencySpread * z)));
+        }
+
+        /**
+         * n번째 요청의 [0, 1) 균등 분포 값 (stream으로 용도 구분)
+         */
+        double uniform(long sequence, int stream) {
+            long z = seed + sequence * 0x9e3779b97f4a7c15L + stream * 0xd1b54a32d192ed03L;
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            z = z ^ (z >>> 31);
+            return (z >>> 11) * 0x1.0p-53;
+        }
+    }
+}
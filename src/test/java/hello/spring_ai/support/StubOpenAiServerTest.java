@@ -0,0 +1,164 @@
+package hello.spring_ai.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * StubOpenAiServer 테스트
+ */
+class StubOpenAiServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("일반 요청에는 지연 시간 뒤 본문과 토큰 사용량을 담아 응답한다")
+    void respondWithUsage() throws Exception {
+        // Given
+        try (var server = StubOpenAiServer.start(Duration.ofMillis(100))) {
+
+            // When
+            long start = System.nanoTime();
+            var response = client.send(request(server, false), HttpResponse.BodyHandlers.ofString());
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            // Then
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body())
+                    .contains("\"model\":\"gpt-4\"")
+                    .contains("\"finish_reason\":\"stop\"")
+                    .contains("\"prompt_tokens\":120", "\"completion_tokens\":80");
+            assertThat(elapsedMs).isGreaterThanOrEqualTo(100);
+            assertThat(server.requests()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("n을 주면 choice n개로 응답하고 생성 토큰만 n배로 청구한다")
+    void respondWithChoices() throws Exception {
+        // Given
+        try (var server = StubOpenAiServer.start(Duration.ZERO)) {
+
+            // When
+            var response = client.send(post(server,
+                    "{\"model\":\"gpt-4\",\"messages\":[{\"role\":\"user\",\"content\":\"안녕\"}],\"n\":3}"),
+                    HttpResponse.BodyHandlers.ofString());
+
+            // Then
+            assertThat(response.body())
+                    .contains("\"index\":0", "\"index\":1", "\"index\":2")
+                    .doesNotContain("\"index\":3")
+                    .contains("\"prompt_tokens\":120", "\"completion_tokens\":240", "\"total_tokens\":360");
+        }
+    }
+
+    @Test
+    @DisplayName("스트리밍 요청에는 생성 속도에 맞춰 조각을 보내고 사용량 조각과 [DONE]으로 끝낸다")
+    void streamChunksAtTokenRate() throws Exception {
+        // Given (생성 토큰 80개를 초당 400개로 만들면 200ms)
+        var profile = StubOpenAiServer.Profile.fixed(Duration.ofMillis(50)).withTokenRate(400, 16);
+        try (var server = StubOpenAiServer.start(profile)) {
+
+            // When
+            long start = System.nanoTime();
+            var response = client.send(request(server, true), HttpResponse.BodyHandlers.ofLines());
+            List<String> events = response.body().filter(line -> line.startsWith("data: ")).toList();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            // Then
+            assertThat(response.headers().firstValue("Content-Type")).hasValue("text/event-stream");
+            assertThat(events.size()).isGreaterThan(3);
+            assertThat(events.get(events.size() - 1)).isEqualTo("data: [DONE]");
+            assertThat(events.get(events.size() - 2)).contains("\"choices\":[]", "\"completion_tokens\":80");
+            assertThat(elapsedMs).isGreaterThanOrEqualTo(200);
+        }
+    }
+
+    @Test
+    @DisplayName("429 비율이 1이면 모든 요청에 Retry-After와 OpenAI 오류 본문으로 응답한다")
+    void injectRateLimit() throws Exception {
+        // Given
+        var profile = StubOpenAiServer.Profile.fixed(Duration.ZERO).withFaults(0, 1.0, Duration.ofMillis(1500));
+        try (var server = StubOpenAiServer.start(profile)) {
+
+            // When
+            var response = client.send(request(server, false), HttpResponse.BodyHandlers.ofString());
+
+            // Then
+            assertThat(response.statusCode()).isEqualTo(429);
+            assertThat(response.headers().firstValue("Retry-After")).hasValue("2");
+            assertThat(response.body()).contains("\"code\":\"rate_limit_exceeded\"");
+            assertThat(server.rateLimited()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("프롬프트 캐시를 흉내 내면 전에 받은 앞부분을 cached_tokens로 알려 준다")
+    void reportCachedPrefix() throws Exception {
+        // Given
+        var profile = StubOpenAiServer.Profile.fixed(Duration.ZERO).withPromptCache(1, Duration.ZERO);
+        String instructions = "다음 조건으로 한국어 읽기 자료를 작성해주세요. ".repeat(8);
+        try (var server = StubOpenAiServer.start(profile)) {
+
+            // When
+            var first = client.send(request(server, instructions + "주제: 과일"), HttpResponse.BodyHandlers.ofString());
+            var second = client.send(request(server, instructions + "주제: 학교"), HttpResponse.BodyHandlers.ofString());
+
+            // Then
+            assertThat(first.body()).contains("\"cached_tokens\":0");
+            assertThat(second.body()).containsPattern("\"cached_tokens\":[1-9]");
+        }
+    }
+
+    @Test
+    @DisplayName("같은 seed면 요청 순번마다 같은 지연이 나오고, 분포의 중앙값은 설정값 근처다")
+    void reproducibleLatency() {
+        // Given
+        var profile = StubOpenAiServer.Profile.fixed(Duration.ofMillis(800)).withLatency(Duration.ofMillis(800), 0.4);
+
+        // When
+        long[] latencies = new long[2001];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = profile.latency(i).toMillis();
+        }
+        Arrays.sort(latencies);
+
+        // Then
+        assertThat(profile.latency(7)).isEqualTo(profile.latency(7));
+        assertThat(latencies[latencies.length / 2]).isBetween(720L, 880L);
+    }
+
+    @Test
+    @DisplayName("오류 비율의 합이 1을 넘으면 예외가 발생한다")
+    void rejectInvalidFaultRates() {
+        // When & Then
+        assertThatThrownBy(() -> StubOpenAiServer.Profile.fixed(Duration.ZERO).withFaults(0.6, 0.6, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HttpRequest request(StubOpenAiServer server, boolean stream) {
+        String body = "{\"model\":\"gpt-4\",\"messages\":[{\"role\":\"user\",\"content\":\"안녕\"}],\"stream\":" + stream + "}";
+        return post(server, body);
+    }
+
+    private static HttpRequest request(StubOpenAiServer server, String content) {
+        return post(server, "{\"model\":\"gpt-4\",\"messages\":[{\"role\":\"user\",\"content\":\"" + content + "\"}]}");
+    }
+
+    private static HttpRequest post(StubOpenAiServer server, String body) {
+        return HttpRequest.newBuilder(URI.create(server.baseUrl() + "/v1/chat/completions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package hello.spring_ai.support;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 꼬리 지연이 있는 테스트용 ChatModel
+ * slowEvery번째 호출마다 slowLatency, 나머지는 fastLatency 후 StubChatModel의 기본 응답을 돌려준다.
+ * 예를 들어 slowEvery가 25면 4%의 호출이 느리므로 p95는 fastLatency가 된다.
+ * 호출 순번으로만 지연이 정해지므로 순서대로 호출하면 항상 같은 분포가 재현된다.
+ */
+public class TailLatencyStubChatModel implements ChatModel {
+
+    private final StubChatModel delegate = new StubChatModel(Duration.ZERO);
+    private final Duration fastLatency;
+    private final Duration slowLatency;
+    private final int slowEvery;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong interrupted = new AtomicLong();
+
+    public TailLatencyStubChatModel(Duration fastLatency, Duration slowLatency, int slowEvery) {
+        this.fastLatency = fastLatency;
+        this.slowLatency = slowLatency;
+        this.slowEvery = slowEvery;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        long call = calls.incrementAndGet();
+        try {
+            StubChatModel.sleep(call % slowEvery == 0 ? slowLatency : fastLatency);
+        } catch (IllegalStateException e) {
+            interrupted.incrementAndGet();
+            throw e;
+        }
+        return delegate.call(prompt);
+    }
+
+    /**
+     * 지금까지 호출된 횟수
+     */
+    public long calls() {
+        return calls.get();
+    }
+
+    /**
+     * 지연 중 취소(인터럽트)된 호출 수
+     */
+    public long interrupted() {
+        return interrupted.get();
+    }
+}